@@ -12,6 +12,23 @@ module org.itsallcode.openfasttrace.api
     exports org.itsallcode.openfasttrace.api.importer.tag.config;
     exports org.itsallcode.openfasttrace.api.exporter;
     exports org.itsallcode.openfasttrace.api.report;
+    exports org.itsallcode.openfasttrace.api.progress;
+
+    // Shared by core and the multi-file HTML report, not part of the plugin
+    // API.
+    exports org.itsallcode.openfasttrace.api.concurrent to
+            org.itsallcode.openfasttrace.core,
+            org.itsallcode.openfasttrace.report.html;
+
+    // Shared by core and the JSON Lines report, not part of the plugin API.
+    exports org.itsallcode.openfasttrace.api.json to
+            org.itsallcode.openfasttrace.core,
+            org.itsallcode.openfasttrace.report.jsonl;
+
+    // Shared by the oftbin exporter and importer, not part of the plugin API.
+    exports org.itsallcode.openfasttrace.api.oftbin to
+            org.itsallcode.openfasttrace.exporter.oftbin,
+            org.itsallcode.openfasttrace.importer.oftbin;
 
     requires java.logging;
 }
@@ -1,6 +1,7 @@
 package org.itsallcode.openfasttrace.api;
 
 import java.util.Collections;
+import java.util.List;
 import java.util.Set;
 
 /**
@@ -77,6 +78,36 @@ public final class FilterSettings
         return isArtifactTypeCriteriaSet() || isTagCriteriaSet();
     }
 
+    /**
+     * Check if the filter accepts an artifact type.
+     * 
+     * @param artifactType
+     *            the artifact type to check
+     * @return <code>true</code> if no artifact type filter is set or the
+     *         filter contains the artifact type
+     */
+    public boolean matchesArtifactType(final String artifactType)
+    {
+        return !isArtifactTypeCriteriaSet() || this.artifactTypes.contains(artifactType);
+    }
+
+    /**
+     * Check if the filter accepts an item with the given tags.
+     * 
+     * @param tags
+     *            the tags of the item
+     * @return <code>true</code> if no tag filter is set, the item has no tags
+     *         and the filter allows items without tags or the item has at
+     *         least one of the wanted tags
+     */
+    // [impl->dsn~filtering-by-tags-during-import~1]
+    // [impl->dsn~filtering-by-tags-or-no-tags-during-import~1]
+    public boolean matchesTags(final List<String> tags)
+    {
+        return !isTagCriteriaSet() || (this.withoutTags && tags.isEmpty())
+                || !Collections.disjoint(this.tags, tags);
+    }
+
     @Override
     public int hashCode()
     {
@@ -1,6 +1,7 @@
 package org.itsallcode.openfasttrace.api;
 
 import org.itsallcode.openfasttrace.api.core.Newline;
+import org.itsallcode.openfasttrace.api.progress.ProgressListener;
 import org.itsallcode.openfasttrace.api.report.ReportConstants;
 import org.itsallcode.openfasttrace.api.report.ReportVerbosity;
 
@@ -14,6 +15,7 @@ public class ReportSettings
     private final boolean showOrigin;
     private final String outputFormat;
     private final Newline newline;
+    private final ProgressListener progressListener;
 
     private ReportSettings(final Builder builder)
     {
@@ -21,6 +23,7 @@ public class ReportSettings
         this.showOrigin = builder.showOrigin;
         this.outputFormat = builder.outputFormat;
         this.newline = builder.newline;
+        this.progressListener = builder.progressListener;
     }
 
     /**
@@ -63,6 +66,16 @@ public class ReportSettings
         return this.newline;
     }
 
+    /**
+     * Get the listener that receives the progress
+     * 
+     * @return progress listener
+     */
+    public ProgressListener getProgressListener()
+    {
+        return this.progressListener;
+    }
+
     /**
      * Create default report settings
      * 
@@ -92,6 +105,7 @@ public class ReportSettings
         private String outputFormat = ReportConstants.DEFAULT_REPORT_FORMAT;
         private boolean showOrigin = false;
         private ReportVerbosity verbosity = ReportVerbosity.FAILURE_DETAILS;
+        private ProgressListener progressListener = ProgressListener.NONE;
 
         private Builder()
         {
@@ -160,5 +174,18 @@ public class ReportSettings
             this.newline = newline;
             return this;
         }
+
+        /**
+         * Set the listener that receives the progress
+         * 
+         * @param progressListener
+         *            progress listener
+         * @return <code>this</code> for fluent programming
+         */
+        public Builder progressListener(final ProgressListener progressListener)
+        {
+            this.progressListener = progressListener;
+            return this;
+        }
     }
 }
@@ -0,0 +1,93 @@
+package org.itsallcode.openfasttrace.api.concurrent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.function.BiFunction;
+
+/**
+ * Runs independent tasks on a temporary thread pool and waits for all of
+ * them.
+ * <p>
+ * The pool has at most one thread per available processor and is shut down
+ * when all tasks are done. Runtime exceptions thrown by a task are rethrown
+ * unchanged, so that callers see the same exceptions as when running the
+ * tasks one after the other.
+ * </p>
+ */
+public final class ConcurrentTasks
+{
+    private ConcurrentTasks()
+    {
+        // prevent instantiation
+    }
+
+    /**
+     * Run the given tasks concurrently and wait until all are done.
+     *
+     * @param <T>
+     *            result type of the tasks
+     * @param tasks
+     *            tasks to run
+     * @param activity
+     *            description of what the tasks do, e.g. "writing reports".
+     *            Used in error messages.
+     * @param exceptionFactory
+     *            creates the exception thrown when the calling thread is
+     *            interrupted or a task throws a checked exception. Receives
+     *            the message and the cause.
+     * @return the results of the tasks in the order of the tasks
+     */
+    public static <T> List<T> runAll(final List<? extends Callable<T>> tasks,
+            final String activity,
+            final BiFunction<String, Throwable, ? extends RuntimeException> exceptionFactory)
+    {
+        if (tasks.isEmpty())
+        {
+            return new ArrayList<>();
+        }
+        final ExecutorService executor = Executors.newFixedThreadPool(
+                Math.min(tasks.size(), Runtime.getRuntime().availableProcessors()));
+        try
+        {
+            final List<T> results = new ArrayList<>(tasks.size());
+            for (final Future<T> future : executor.invokeAll(tasks))
+            {
+                results.add(waitFor(future, activity, exceptionFactory));
+            }
+            return results;
+        }
+        catch (final InterruptedException exception)
+        {
+            Thread.currentThread().interrupt();
+            throw exceptionFactory.apply("Interrupted while " + activity, exception);
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+    }
+
+    private static <T> T waitFor(final Future<T> future, final String activity,
+            final BiFunction<String, Throwable, ? extends RuntimeException> exceptionFactory)
+            throws InterruptedException
+    {
+        try
+        {
+            return future.get();
+        }
+        catch (final ExecutionException exception)
+        {
+            final Throwable cause = exception.getCause();
+            if (cause instanceof RuntimeException)
+            {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error)
+            {
+                throw (Error) cause;
+            }
+            throw exceptionFactory.apply("Error while " + activity, cause);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package org.itsallcode.openfasttrace.api.core;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Registry that assigns a small number to each artifact type.
+ * <p>
+ * {@link LinkedSpecificationItem}s store the artifact types that cover them as
+ * bits indexed by these numbers, so that coverage checks compare bit masks
+ * instead of sets of strings. Items compared with each other should use the
+ * same registry, which is why the {@link #getDefault() default registry} is
+ * shared by all items that are created without a registry.
+ * </p>
+ * <p>
+ * This class is thread-safe.
+ * </p>
+ */
+public final class ArtifactTypeRegistry
+{
+    private static final ArtifactTypeRegistry DEFAULT = new ArtifactTypeRegistry();
+
+    private final Map<String, Integer> indexes = new ConcurrentHashMap<>();
+    private final List<String> artifactTypes = new CopyOnWriteArrayList<>();
+
+    /**
+     * Create an empty registry.
+     */
+    public ArtifactTypeRegistry()
+    {
+        // Artifact types are registered on first use.
+    }
+
+    /**
+     * Get the registry used by items that are created without a registry.
+     *
+     * @return the default registry
+     */
+    public static ArtifactTypeRegistry getDefault()
+    {
+        return DEFAULT;
+    }
+
+    /**
+     * Get the number of an artifact type and register the type if it is not
+     * known yet.
+     *
+     * @param artifactType
+     *            the artifact type
+     * @return the number of the artifact type, starting at zero
+     */
+    public int getIndex(final String artifactType)
+    {
+        final Integer index = this.indexes.get(artifactType);
+        return (index == null) ? register(artifactType) : index;
+    }
+
+    private synchronized int register(final String artifactType)
+    {
+        return this.indexes.computeIfAbsent(artifactType, key -> {
+            this.artifactTypes.add(key);
+            return this.artifactTypes.size() - 1;
+        });
+    }
+
+    /**
+     * Get the artifact type with the given number.
+     *
+     * @param index
+     *            number of the artifact type
+     * @return the artifact type
+     * @throws IndexOutOfBoundsException
+     *             if no artifact type with the given number is registered
+     */
+    public String getArtifactType(final int index)
+    {
+        return this.artifactTypes.get(index);
+    }
+
+    /**
+     * Get the number of registered artifact types.
+     *
+     * @return number of artifact types
+     */
+    public int size()
+    {
+        return this.artifactTypes.size();
+    }
+}
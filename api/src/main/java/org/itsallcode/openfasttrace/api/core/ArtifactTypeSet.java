@@ -0,0 +1,90 @@
+package org.itsallcode.openfasttrace.api.core;
+
+import java.util.*;
+
+/**
+ * Set of artifact types stored as bits indexed by the numbers of an
+ * {@link ArtifactTypeRegistry}.
+ * <p>
+ * Unlike {@link BitSet} this set checks if it contains all elements of another
+ * set without creating a copy.
+ * </p>
+ */
+final class ArtifactTypeSet
+{
+    private static final long[] NO_WORDS = new long[0];
+    private static final int ADDRESS_BITS_PER_WORD = 6;
+
+    private long[] words = NO_WORDS;
+    private Set<String> artifactTypes;
+
+    void add(final int index)
+    {
+        final int wordIndex = index >>> ADDRESS_BITS_PER_WORD;
+        if (wordIndex >= this.words.length)
+        {
+            this.words = Arrays.copyOf(this.words, wordIndex + 1);
+        }
+        final long bit = 1L << index;
+        if ((this.words[wordIndex] & bit) == 0)
+        {
+            this.words[wordIndex] |= bit;
+            this.artifactTypes = null;
+        }
+    }
+
+    boolean contains(final int index)
+    {
+        final int wordIndex = index >>> ADDRESS_BITS_PER_WORD;
+        return wordIndex < this.words.length && (this.words[wordIndex] & (1L << index)) != 0;
+    }
+
+    boolean containsAll(final ArtifactTypeSet other)
+    {
+        for (int wordIndex = 0; wordIndex < other.words.length; ++wordIndex)
+        {
+            final long word = (wordIndex < this.words.length) ? this.words[wordIndex] : 0L;
+            if ((other.words[wordIndex] & ~word) != 0)
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    void clear()
+    {
+        Arrays.fill(this.words, 0L);
+        this.artifactTypes = null;
+    }
+
+    // The names are decoded once after each change. Reporters running in
+    // parallel may both decode them, but the unmodifiable wrapper is published
+    // safely through its final field.
+    Set<String> toArtifactTypes(final ArtifactTypeRegistry registry)
+    {
+        Set<String> types = this.artifactTypes;
+        if (types == null)
+        {
+            types = Collections.unmodifiableSet(decode(registry));
+            this.artifactTypes = types;
+        }
+        return types;
+    }
+
+    private Set<String> decode(final ArtifactTypeRegistry registry)
+    {
+        final Set<String> artifactTypes = new LinkedHashSet<>();
+        for (int wordIndex = 0; wordIndex < this.words.length; ++wordIndex)
+        {
+            long word = this.words[wordIndex];
+            while (word != 0)
+            {
+                final int bit = Long.numberOfTrailingZeros(word);
+                artifactTypes.add(registry.getArtifactType((wordIndex << ADDRESS_BITS_PER_WORD) + bit));
+                word &= word - 1;
+            }
+        }
+        return artifactTypes;
+    }
+}
@@ -0,0 +1,440 @@
+package org.itsallcode.openfasttrace.api.core;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Temporary file that holds the texts and locations of specification items
+ * outside of the Java heap.
+ * <p>
+ * Linking and tracing only need the IDs, statuses, tags and coverage of the
+ * items. Items built with a payload store keep only these on the heap and
+ * write title, description, rationale, comment and location to the store.
+ * Their getters decode the values again on each call, so that reporters and
+ * exporters still get the full text. Code that needs several of the values
+ * should call {@link SpecificationItem#getPayload()}, which decodes them all
+ * at once.
+ * </p>
+ * <p>
+ * The file is memory-mapped in regions of fixed size as soon as a region is
+ * completely written, so that reading a value neither needs a system call nor
+ * occupies the Java heap. Only values in the last, incomplete region and
+ * values that span two regions are read with positional file reads.
+ * </p>
+ * <p>
+ * The store is append-only: items that are imported again are appended, while
+ * their old values stay in the file. Long-running processes that import
+ * repeatedly must move the items they still use to a new store from time to
+ * time (see {@link SpecificationItem.Builder#payloadStore(ItemPayloadStore)})
+ * and close the old one. The file is deleted when the store is closed or at
+ * the latest when the JVM exits. Items that use the store must not be read
+ * after it was closed. This class is thread-safe.
+ * </p>
+ */
+public final class ItemPayloadStore implements Closeable
+{
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int NULL_LENGTH = -1;
+    private static final int DEFAULT_REGION_SIZE = 32 * 1024 * 1024;
+
+    private final Path path;
+    private final FileChannel channel;
+    private final int regionSize;
+    private volatile MappedByteBuffer[] regions = new MappedByteBuffer[0];
+    private final ByteArrayOutputStream pending = new ByteArrayOutputStream(BUFFER_SIZE);
+    private final ByteArrayOutputStream record = new ByteArrayOutputStream();
+    private final DataOutputStream recordOutput = new DataOutputStream(this.record);
+    private volatile long flushedSize = 0;
+    private long size = 0;
+
+    private ItemPayloadStore(final Path path, final FileChannel channel, final int regionSize)
+    {
+        this.path = path;
+        this.channel = channel;
+        this.regionSize = regionSize;
+    }
+
+    /**
+     * Create a new, empty store in a temporary file in the given directory.
+     *
+     * @param directory
+     *            directory for the temporary file. It is created if it does
+     *            not exist.
+     * @return the new store
+     * @throws IOException
+     *             if the file could not be created
+     */
+    public static ItemPayloadStore create(final Path directory) throws IOException
+    {
+        return create(directory, DEFAULT_REGION_SIZE);
+    }
+
+    static ItemPayloadStore create(final Path directory, final int regionSize)
+            throws IOException
+    {
+        Files.createDirectories(directory);
+        final Path path = Files.createTempFile(directory, "oft-payloads-", ".spill");
+        try
+        {
+            return new ItemPayloadStore(path, FileChannel.open(path, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE, StandardOpenOption.DELETE_ON_CLOSE), regionSize);
+        }
+        catch (final IOException exception)
+        {
+            Files.deleteIfExists(path);
+            throw exception;
+        }
+    }
+
+    /**
+     * Get the path of the temporary file.
+     *
+     * @return path of the file
+     */
+    public Path getPath()
+    {
+        return this.path;
+    }
+
+    /**
+     * Get the number of bytes stored so far.
+     *
+     * @return size of the stored payloads in bytes
+     */
+    public synchronized long getSize()
+    {
+        return this.size;
+    }
+
+    /**
+     * Append the payload of an item.
+     *
+     * @return reference to the stored payload
+     */
+    synchronized Reference append(final String title, final String description,
+            final String rationale, final String comment, final Location location)
+    {
+        final long offset = this.size;
+        try
+        {
+            this.record.reset();
+            writeString(title);
+            writeString(description);
+            writeString(rationale);
+            writeString(comment);
+            writeLocation(location);
+            final DataOutputStream pendingOutput = new DataOutputStream(this.pending);
+            pendingOutput.writeInt(this.record.size());
+            this.record.writeTo(pendingOutput);
+            this.size += Integer.BYTES + this.record.size();
+            if (this.pending.size() >= BUFFER_SIZE)
+            {
+                flush();
+            }
+        }
+        catch (final IOException exception)
+        {
+            throw new UncheckedIOException("Error writing item payload to " + this.path,
+                    exception);
+        }
+        return new Reference(this, offset);
+    }
+
+    private void writeLocation(final Location location) throws IOException
+    {
+        if (location == null)
+        {
+            this.recordOutput.writeBoolean(false);
+        }
+        else
+        {
+            this.recordOutput.writeBoolean(true);
+            writeString(location.getPath());
+            this.recordOutput.writeInt(location.getLine());
+            this.recordOutput.writeInt(location.getColumn());
+        }
+    }
+
+    // DataOutput.writeUTF() is limited to 64 KiB, which is not enough for
+    // long descriptions.
+    private void writeString(final String string) throws IOException
+    {
+        if (string == null)
+        {
+            this.recordOutput.writeInt(NULL_LENGTH);
+        }
+        else
+        {
+            final byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+            this.recordOutput.writeInt(bytes.length);
+            this.recordOutput.write(bytes);
+        }
+    }
+
+    private synchronized void flush() throws IOException
+    {
+        if (this.pending.size() == 0)
+        {
+            return;
+        }
+        final ByteBuffer buffer = ByteBuffer.wrap(this.pending.toByteArray());
+        long position = this.flushedSize;
+        while (buffer.hasRemaining())
+        {
+            position += this.channel.write(buffer, position);
+        }
+        this.pending.reset();
+        this.flushedSize = position;
+    }
+
+    private Payload read(final long offset)
+    {
+        try
+        {
+            final DataInputStream input = new DataInputStream(
+                    new ByteArrayInputStream(readRecord(offset)));
+            return new Payload(readString(input), readString(input), readString(input),
+                    readString(input), readLocation(input));
+        }
+        catch (final IOException exception)
+        {
+            throw new UncheckedIOException("Error reading item payload from " + this.path,
+                    exception);
+        }
+    }
+
+    private byte[] readRecord(final long offset) throws IOException
+    {
+        final ByteBuffer region = getMappedRegion(offset);
+        final int start = (int) (offset % this.regionSize);
+        if (region != null && start + Integer.BYTES <= this.regionSize)
+        {
+            final int length = region.getInt(start);
+            if (start + Integer.BYTES + length <= this.regionSize)
+            {
+                final byte[] record = new byte[length];
+                // Duplicates have their own position, so that several threads
+                // can read at the same time.
+                region.duplicate().position(start + Integer.BYTES).get(record);
+                return record;
+            }
+        }
+        if (offset >= this.flushedSize)
+        {
+            flush();
+        }
+        final ByteBuffer header = readFully(offset, Integer.BYTES);
+        return readFully(offset + Integer.BYTES, header.getInt()).array();
+    }
+
+    private ByteBuffer getMappedRegion(final long offset) throws IOException
+    {
+        final int index = (int) (offset / this.regionSize);
+        final MappedByteBuffer[] mappedRegions = this.regions;
+        if (index < mappedRegions.length)
+        {
+            return mappedRegions[index];
+        }
+        if ((index + 1L) * this.regionSize > this.flushedSize)
+        {
+            return null;
+        }
+        return mapRegions(index);
+    }
+
+    private synchronized ByteBuffer mapRegions(final int lastIndex) throws IOException
+    {
+        final MappedByteBuffer[] mappedRegions = this.regions;
+        if (lastIndex < mappedRegions.length)
+        {
+            return mappedRegions[lastIndex];
+        }
+        final MappedByteBuffer[] grownRegions = Arrays.copyOf(mappedRegions, lastIndex + 1);
+        for (int index = mappedRegions.length; index <= lastIndex; ++index)
+        {
+            grownRegions[index] = this.channel.map(MapMode.READ_ONLY,
+                    (long) index * this.regionSize, this.regionSize);
+        }
+        this.regions = grownRegions;
+        return grownRegions[lastIndex];
+    }
+
+    // Positional reads don't change the channel's position, so that several
+    // threads can read at the same time.
+    private ByteBuffer readFully(final long position, final int length) throws IOException
+    {
+        final ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining())
+        {
+            if (this.channel.read(buffer, position + buffer.position()) < 0)
+            {
+                throw new EOFException("Unexpected end of item payload file");
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    private static Location readLocation(final DataInputStream input) throws IOException
+    {
+        if (!input.readBoolean())
+        {
+            return null;
+        }
+        return Location.builder() //
+                .path(readString(input)) //
+                .line(input.readInt()) //
+                .column(input.readInt()) //
+                .build();
+    }
+
+    private static String readString(final DataInputStream input) throws IOException
+    {
+        final int length = input.readInt();
+        if (length == NULL_LENGTH)
+        {
+            return null;
+        }
+        final byte[] bytes = new byte[length];
+        input.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public synchronized void close() throws IOException
+    {
+        this.pending.reset();
+        this.regions = new MappedByteBuffer[0];
+        this.channel.close();
+    }
+
+    /**
+     * Reference to the payload of one item in a store.
+     */
+    static final class Reference
+    {
+        private final ItemPayloadStore store;
+        private final long offset;
+
+        private Reference(final ItemPayloadStore store, final long offset)
+        {
+            this.store = store;
+            this.offset = offset;
+        }
+
+        Payload read()
+        {
+            return this.store.read(this.offset);
+        }
+
+        boolean isIn(final ItemPayloadStore payloadStore)
+        {
+            return this.store == payloadStore;
+        }
+    }
+
+    /**
+     * Title, description, rationale, comment and location of an item.
+     */
+    public static final class Payload
+    {
+        private final String title;
+        private final String description;
+        private final String rationale;
+        private final String comment;
+        private final Location location;
+
+        Payload(final String title, final String description, final String rationale,
+                final String comment, final Location location)
+        {
+            this.title = title;
+            this.description = description;
+            this.rationale = rationale;
+            this.comment = comment;
+            this.location = location;
+        }
+
+        /**
+         * Get the title.
+         *
+         * @return title
+         */
+        public String getTitle()
+        {
+            return this.title;
+        }
+
+        /**
+         * Get the description.
+         *
+         * @return description
+         */
+        public String getDescription()
+        {
+            return this.description;
+        }
+
+        /**
+         * Get the rationale.
+         *
+         * @return rationale
+         */
+        public String getRationale()
+        {
+            return this.rationale;
+        }
+
+        /**
+         * Get the comment.
+         *
+         * @return comment
+         */
+        public String getComment()
+        {
+            return this.comment;
+        }
+
+        /**
+         * Get the location.
+         *
+         * @return location
+         */
+        public Location getLocation()
+        {
+            return this.location;
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return Objects.hash(this.comment, this.description, this.location, this.rationale,
+                    this.title);
+        }
+
+        @Override
+        public boolean equals(final Object obj)
+        {
+            if (this == obj)
+            {
+                return true;
+            }
+            if (!(obj instanceof Payload))
+            {
+                return false;
+            }
+            final Payload other = (Payload) obj;
+            return Objects.equals(this.comment, other.comment)
+                    && Objects.equals(this.description, other.description)
+                    && Objects.equals(this.location, other.location)
+                    && Objects.equals(this.rationale, other.rationale)
+                    && Objects.equals(this.title, other.title);
+        }
+    }
+}
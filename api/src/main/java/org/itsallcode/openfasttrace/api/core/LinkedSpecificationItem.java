@@ -14,20 +14,41 @@ public class LinkedSpecificationItem
     private final SpecificationItem item;
     private final Map<LinkStatus, List<LinkedSpecificationItem>> links = new EnumMap<>(
             LinkStatus.class);
-    private final Set<String> coveredArtifactTypes = new HashSet<>();
-    private final Set<String> coveredArtifactTypesFromApprovedItems = new HashSet<>();
-    private final Set<String> overCoveredArtifactTypes = new HashSet<>();
+    private final ArtifactTypeRegistry artifactTypes;
+    private final ArtifactTypeSet coveredArtifactTypes = new ArtifactTypeSet();
+    private final ArtifactTypeSet coveredArtifactTypesFromApprovedItems = new ArtifactTypeSet();
+    private final ArtifactTypeSet overCoveredArtifactTypes = new ArtifactTypeSet();
+    private NeededArtifactTypes neededArtifactTypes;
 
     /**
-     * Create a new instance of class {@link LinkedSpecificationItem}.
+     * Create a new instance of class {@link LinkedSpecificationItem} that uses
+     * the {@link ArtifactTypeRegistry#getDefault() default artifact type
+     * registry}.
      *
      * @param item
      *            the actual specification item that is at the center of the
      *            links
      */
     public LinkedSpecificationItem(final SpecificationItem item)
+    {
+        this(item, ArtifactTypeRegistry.getDefault());
+    }
+
+    /**
+     * Create a new instance of class {@link LinkedSpecificationItem}.
+     *
+     * @param item
+     *            the actual specification item that is at the center of the
+     *            links
+     * @param artifactTypes
+     *            registry that numbers the artifact types of all items linked
+     *            in the same run
+     */
+    public LinkedSpecificationItem(final SpecificationItem item,
+            final ArtifactTypeRegistry artifactTypes)
     {
         this.item = item;
+        this.artifactTypes = artifactTypes;
     }
 
     /**
@@ -139,8 +160,7 @@ public class LinkedSpecificationItem
         switch (status)
         {
         case COVERED_SHALLOW:
-            cacheApprovedCoveredArtifactType(item);
-            coveredArtifactTypes.add(item.getArtifactType());
+            cacheCoveredArtifactType(item);
             addMyItemIdToCoveringItem(item);
             break;
         case COVERED_UNWANTED:
@@ -157,6 +177,55 @@ public class LinkedSpecificationItem
         }
     }
 
+    /**
+     * Remove a link to another item with a status.
+     * <p>
+     * This is the reverse of
+     * {@link #addLinkToItemWithStatus(LinkedSpecificationItem, LinkStatus)}.
+     * If the item is linked more than once with the same status, only one of
+     * the links is removed. Nothing happens if no such link exists.
+     * </p>
+     *
+     * @param item
+     *            the linked item
+     * @param status
+     *            the link status
+     */
+    public void removeLinkToItemWithStatus(final LinkedSpecificationItem item,
+            final LinkStatus status)
+    {
+        final List<LinkedSpecificationItem> linksWithStatus = this.links.get(status);
+        if (linksWithStatus == null || !linksWithStatus.remove(item))
+        {
+            return;
+        }
+        if (linksWithStatus.isEmpty())
+        {
+            this.links.remove(status);
+        }
+        if (status == LinkStatus.COVERED_SHALLOW || status == LinkStatus.COVERED_UNWANTED)
+        {
+            recalculateCoveredArtifactTypes();
+        }
+    }
+
+    private void recalculateCoveredArtifactTypes()
+    {
+        this.coveredArtifactTypes.clear();
+        this.coveredArtifactTypesFromApprovedItems.clear();
+        this.overCoveredArtifactTypes.clear();
+        for (final LinkedSpecificationItem coveringItem : getLinksByStatus(
+                LinkStatus.COVERED_SHALLOW))
+        {
+            cacheCoveredArtifactType(coveringItem);
+        }
+        for (final LinkedSpecificationItem coveringItem : getLinksByStatus(
+                LinkStatus.COVERED_UNWANTED))
+        {
+            cacheOverCoveredArtifactType(coveringItem);
+        }
+    }
+
     private void addMyItemIdToCoveringItem(LinkedSpecificationItem coveringItem)
     {
         if (coveringItem.getItem().getCoveredIds() != null
@@ -166,11 +235,16 @@ public class LinkedSpecificationItem
         }
     }
 
-    private void cacheApprovedCoveredArtifactType(final LinkedSpecificationItem coveringItem)
+    private void cacheCoveredArtifactType(final LinkedSpecificationItem coveringItem)
     {
-        if (coveringItem.isApproved())
+        if (coveringItem.getArtifactType() != null)
         {
-            coveredArtifactTypesFromApprovedItems.add(coveringItem.getArtifactType());
+            final int index = this.artifactTypes.getIndex(coveringItem.getArtifactType());
+            this.coveredArtifactTypes.add(index);
+            if (coveringItem.isApproved())
+            {
+                this.coveredArtifactTypesFromApprovedItems.add(index);
+            }
         }
     }
 
@@ -178,7 +252,8 @@ public class LinkedSpecificationItem
     {
         if (overcoveringItem.getArtifactType() != null)
         {
-            overCoveredArtifactTypes.add(overcoveringItem.getArtifactType());
+            this.overCoveredArtifactTypes
+                    .add(this.artifactTypes.getIndex(overcoveringItem.getArtifactType()));
         }
     }
 
@@ -247,32 +322,31 @@ public class LinkedSpecificationItem
     /**
      * Get the artifact type which are covered.
      *
-     * @return the list of covered artifact types.
+     * @return unmodifiable set of covered artifact types.
      */
     public Set<String> getCoveredArtifactTypes()
     {
-        return this.coveredArtifactTypes;
+        return this.coveredArtifactTypes.toArtifactTypes(this.artifactTypes);
     }
 
     /**
      * Get artifact types which are covered by items with status "approved".
      *
-     * @return approved covered attribute types
+     * @return unmodifiable set of approved covered attribute types
      */
     public Set<String> getCoveredApprovedArtifactTypes()
     {
-        return this.coveredArtifactTypesFromApprovedItems;
+        return this.coveredArtifactTypesFromApprovedItems.toArtifactTypes(this.artifactTypes);
     }
 
     /**
      * Get a list of all artifact types that have unwanted coverage.
      *
-     * @return list of over-covered artifact types.
+     * @return unmodifiable set of over-covered artifact types.
      */
     public Set<String> getOverCoveredArtifactTypes()
     {
-
-        return this.overCoveredArtifactTypes;
+        return this.overCoveredArtifactTypes.toArtifactTypes(this.artifactTypes);
     }
 
     /**
@@ -282,9 +356,7 @@ public class LinkedSpecificationItem
      */
     public List<String> getUncoveredArtifactTypes()
     {
-        final List<String> uncovered = new ArrayList<>(getNeedsArtifactTypes());
-        uncovered.removeAll(getCoveredArtifactTypes());
-        return uncovered;
+        return getNeededArtifactTypesMissingIn(this.coveredArtifactTypes);
     }
 
     /**
@@ -295,11 +367,40 @@ public class LinkedSpecificationItem
      */
     public List<String> getUncoveredApprovedArtifactTypes()
     {
-        final List<String> uncovered = new ArrayList<>(getNeedsArtifactTypes());
-        uncovered.removeAll(getCoveredApprovedArtifactTypes());
+        return getNeededArtifactTypesMissingIn(this.coveredArtifactTypesFromApprovedItems);
+    }
+
+    private List<String> getNeededArtifactTypesMissingIn(final ArtifactTypeSet covered)
+    {
+        final NeededArtifactTypes needed = getNeededArtifactTypes();
+        final List<String> uncovered = new ArrayList<>();
+        if (!covered.containsAll(needed.set))
+        {
+            for (int i = 0; i < needed.indexes.length; ++i)
+            {
+                if (!covered.contains(needed.indexes[i]))
+                {
+                    uncovered.add(needed.types.get(i));
+                }
+            }
+        }
         return uncovered;
     }
 
+    // Looks up the numbers of the needed artifact types only once as long as
+    // the item returns the same list.
+    private NeededArtifactTypes getNeededArtifactTypes()
+    {
+        final List<String> types = getNeedsArtifactTypes();
+        NeededArtifactTypes needed = this.neededArtifactTypes;
+        if (needed == null || needed.types != types)
+        {
+            needed = new NeededArtifactTypes(types, this.artifactTypes);
+            this.neededArtifactTypes = needed;
+        }
+        return needed;
+    }
+
     /**
      * Check if the item is covered shallow (i.e. if for all needed artifact
      * types coverage exists without recursive search).
@@ -443,12 +544,12 @@ public class LinkedSpecificationItem
 
     private boolean areAllArtifactTypesCovered()
     {
-        return this.getCoveredArtifactTypes().containsAll(this.getNeedsArtifactTypes());
+        return this.coveredArtifactTypes.containsAll(getNeededArtifactTypes().set);
     }
 
     private boolean areAllCoveredArtifactTypesApproved()
     {
-        return this.getCoveredApprovedArtifactTypes().containsAll(this.getNeedsArtifactTypes());
+        return this.coveredArtifactTypesFromApprovedItems.containsAll(getNeededArtifactTypes().set);
     }
 
     private boolean isApproved()
@@ -557,4 +658,22 @@ public class LinkedSpecificationItem
     {
         return this.item.getRevision();
     }
+
+    private static final class NeededArtifactTypes
+    {
+        private final List<String> types;
+        private final int[] indexes;
+        private final ArtifactTypeSet set = new ArtifactTypeSet();
+
+        private NeededArtifactTypes(final List<String> types, final ArtifactTypeRegistry registry)
+        {
+            this.types = types;
+            this.indexes = new int[types.size()];
+            for (int i = 0; i < this.indexes.length; ++i)
+            {
+                this.indexes[i] = registry.getIndex(types.get(i));
+                this.set.add(this.indexes[i]);
+            }
+        }
+    }
 }
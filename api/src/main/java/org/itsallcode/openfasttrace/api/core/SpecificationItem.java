@@ -25,13 +25,18 @@ public class SpecificationItem
     private final boolean forwards;
 
     private SpecificationItem(final Builder builder)
+    {
+        this(builder, true);
+    }
+
+    private SpecificationItem(final Builder builder, final boolean withPayload)
     {
         this.id = builder.id;
-        this.title = builder.title;
-        this.description = builder.description;
-        this.rationale = builder.rationale;
-        this.comment = builder.comment;
-        this.location = builder.location;
+        this.title = withPayload ? builder.title : null;
+        this.description = withPayload ? builder.description : null;
+        this.rationale = withPayload ? builder.rationale : null;
+        this.comment = withPayload ? builder.comment : null;
+        this.location = withPayload ? builder.location : null;
         this.status = builder.status;
         this.coveredIds = builder.coveredIds;
         this.dependOnIds = builder.dependOnIds;
@@ -191,6 +196,22 @@ public class SpecificationItem
         return this.location;
     }
 
+    /**
+     * Get title, description, rationale, comment and location at once.
+     * <p>
+     * Items that keep these values in an {@link ItemPayloadStore} read them
+     * from the store on each getter call. This method reads them only once, so
+     * use it when you need more than one of the values.
+     * </p>
+     *
+     * @return title, description, rationale, comment and location
+     */
+    public ItemPayloadStore.Payload getPayload()
+    {
+        return new ItemPayloadStore.Payload(this.title, this.description, this.rationale,
+                this.comment, this.location);
+    }
+
     /**
      * Get the maturity status of the specification item
      * 
@@ -220,27 +241,27 @@ public class SpecificationItem
         return this.forwards;
     }
 
+    // The payload is left out, because items in an ItemPayloadStore would
+    // have to read it from the store. Items with equal IDs and links but
+    // different texts are rare enough.
     @Override
     public final int hashCode()
     {
         final int prime = 31;
         int result = 1;
-        result = prime * result + ((this.comment == null) ? 0 : this.comment.hashCode());
         result = prime * result + ((this.coveredIds == null) ? 0 : this.coveredIds.hashCode());
         result = prime * result + ((this.dependOnIds == null) ? 0 : this.dependOnIds.hashCode());
-        result = prime * result + ((this.description == null) ? 0 : this.description.hashCode());
         result = prime * result + (this.forwards ? 1231 : 1237);
         result = prime * result + ((this.id == null) ? 0 : this.id.hashCode());
-        result = prime * result + ((this.location == null) ? 0 : this.location.hashCode());
         result = prime * result
                 + ((this.needsArtifactTypes == null) ? 0 : this.needsArtifactTypes.hashCode());
-        result = prime * result + ((this.rationale == null) ? 0 : this.rationale.hashCode());
         result = prime * result + ((this.status == null) ? 0 : this.status.hashCode());
         result = prime * result + ((this.tags == null) ? 0 : this.tags.hashCode());
-        result = prime * result + ((this.title == null) ? 0 : this.title.hashCode());
         return result;
     }
 
+    // The payload is compared last, because items in an ItemPayloadStore read
+    // it from the store.
     @Override
     public final boolean equals(final Object obj)
     {
@@ -257,125 +278,14 @@ public class SpecificationItem
             return false;
         }
         final SpecificationItem other = (SpecificationItem) obj;
-        if (this.comment == null)
-        {
-            if (other.comment != null)
-            {
-                return false;
-            }
-        }
-        else if (!this.comment.equals(other.comment))
-        {
-            return false;
-        }
-        if (this.coveredIds == null)
-        {
-            if (other.coveredIds != null)
-            {
-                return false;
-            }
-        }
-        else if (!this.coveredIds.equals(other.coveredIds))
-        {
-            return false;
-        }
-        if (this.dependOnIds == null)
-        {
-            if (other.dependOnIds != null)
-            {
-                return false;
-            }
-        }
-        else if (!this.dependOnIds.equals(other.dependOnIds))
-        {
-            return false;
-        }
-        if (this.description == null)
-        {
-            if (other.description != null)
-            {
-                return false;
-            }
-        }
-        else if (!this.description.equals(other.description))
-        {
-            return false;
-        }
-        if (this.forwards != other.forwards)
-        {
-            return false;
-        }
-        if (this.id == null)
-        {
-            if (other.id != null)
-            {
-                return false;
-            }
-        }
-        else if (!this.id.equals(other.id))
-        {
-            return false;
-        }
-        if (this.location == null)
-        {
-            if (other.location != null)
-            {
-                return false;
-            }
-        }
-        else if (!this.location.equals(other.location))
-        {
-            return false;
-        }
-        if (this.needsArtifactTypes == null)
-        {
-            if (other.needsArtifactTypes != null)
-            {
-                return false;
-            }
-        }
-        else if (!this.needsArtifactTypes.equals(other.needsArtifactTypes))
-        {
-            return false;
-        }
-        if (this.rationale == null)
-        {
-            if (other.rationale != null)
-            {
-                return false;
-            }
-        }
-        else if (!this.rationale.equals(other.rationale))
-        {
-            return false;
-        }
-        if (this.status != other.status)
-        {
-            return false;
-        }
-        if (this.tags == null)
-        {
-            if (other.tags != null)
-            {
-                return false;
-            }
-        }
-        else if (!this.tags.equals(other.tags))
-        {
-            return false;
-        }
-        if (this.title == null)
-        {
-            if (other.title != null)
-            {
-                return false;
-            }
-        }
-        else if (!this.title.equals(other.title))
-        {
-            return false;
-        }
-        return true;
+        return Objects.equals(this.id, other.id)
+                && (this.status == other.status)
+                && (this.forwards == other.forwards)
+                && Objects.equals(this.coveredIds, other.coveredIds)
+                && Objects.equals(this.dependOnIds, other.dependOnIds)
+                && Objects.equals(this.needsArtifactTypes, other.needsArtifactTypes)
+                && Objects.equals(this.tags, other.tags)
+                && getPayload().equals(other.getPayload());
     }
 
     /**
@@ -405,6 +315,8 @@ public class SpecificationItem
         private final List<String> neededArtifactTypes;
         private final List<String> tags;
         private boolean forwards;
+        private ItemPayloadStore payloadStore;
+        private ItemPayloadStore.Reference storedPayload;
 
         /**
          * Create a new instance of type {@link SpecificationItem.Builder}
@@ -465,6 +377,7 @@ public class SpecificationItem
          */
         public Builder title(final String title)
         {
+            detachStoredPayload();
             this.title = title;
             return this;
         }
@@ -478,6 +391,7 @@ public class SpecificationItem
          */
         public Builder description(final String description)
         {
+            detachStoredPayload();
             this.description = description;
             return this;
         }
@@ -491,6 +405,7 @@ public class SpecificationItem
          */
         public Builder rationale(final String rationale)
         {
+            detachStoredPayload();
             this.rationale = rationale;
             return this;
         }
@@ -504,6 +419,7 @@ public class SpecificationItem
          */
         public Builder comment(final String comment)
         {
+            detachStoredPayload();
             this.comment = comment;
             return this;
         }
@@ -623,6 +539,7 @@ public class SpecificationItem
          */
         public Builder location(final Location location)
         {
+            detachStoredPayload();
             this.location = location;
             return this;
         }
@@ -643,6 +560,61 @@ public class SpecificationItem
             return this.location(Location.create(path, line));
         }
 
+        /**
+         * Store title, description, rationale, comment and location of the
+         * item in the given store instead of the heap. Values taken from an
+         * item in another store with {@link #payloadFrom(SpecificationItem)}
+         * are copied to this store.
+         *
+         * @param payloadStore
+         *            the store or <code>null</code> to keep the values on the
+         *            heap
+         * @return this builder instance
+         */
+        public Builder payloadStore(final ItemPayloadStore payloadStore)
+        {
+            this.payloadStore = payloadStore;
+            return this;
+        }
+
+        /**
+         * Take title, description, rationale, comment and location from an
+         * existing item. If the item keeps them in an {@link ItemPayloadStore},
+         * the new item refers to the same stored values without reading them.
+         *
+         * @param item
+         *            the item to take the values from
+         * @return this builder instance
+         */
+        public Builder payloadFrom(final SpecificationItem item)
+        {
+            this.title = item.title;
+            this.description = item.description;
+            this.rationale = item.rationale;
+            this.comment = item.comment;
+            this.location = item.location;
+            this.storedPayload = (item instanceof StoredSpecificationItem)
+                    ? ((StoredSpecificationItem) item).payload
+                    : null;
+            return this;
+        }
+
+        // Changing one of the values after payloadFrom() requires the other
+        // values on the heap.
+        private void detachStoredPayload()
+        {
+            if (this.storedPayload != null)
+            {
+                final ItemPayloadStore.Payload payload = this.storedPayload.read();
+                this.storedPayload = null;
+                this.title = payload.getTitle();
+                this.description = payload.getDescription();
+                this.rationale = payload.getRationale();
+                this.comment = payload.getComment();
+                this.location = payload.getLocation();
+            }
+        }
+
         /**
          * Build a new instance of type {@link SpecificationItem}
          *
@@ -654,6 +626,17 @@ public class SpecificationItem
             {
                 throw new IllegalStateException("No id given");
             }
+            if (this.storedPayload != null && (this.payloadStore == null
+                    || this.storedPayload.isIn(this.payloadStore)))
+            {
+                return new StoredSpecificationItem(this, this.storedPayload);
+            }
+            detachStoredPayload();
+            if (this.payloadStore != null)
+            {
+                return new StoredSpecificationItem(this, this.payloadStore.append(this.title,
+                        this.description, this.rationale, this.comment, this.location));
+            }
             return new SpecificationItem(this);
         }
 
@@ -672,4 +655,54 @@ public class SpecificationItem
             return this;
         }
     }
-}
\ No newline at end of file
+
+    // Keeps title, description, rationale, comment and location in an
+    // ItemPayloadStore and decodes them again on each call.
+    private static final class StoredSpecificationItem extends SpecificationItem
+    {
+        private final ItemPayloadStore.Reference payload;
+
+        private StoredSpecificationItem(final Builder builder,
+                final ItemPayloadStore.Reference payload)
+        {
+            super(builder, false);
+            this.payload = payload;
+        }
+
+        @Override
+        public String getTitle()
+        {
+            return this.payload.read().getTitle();
+        }
+
+        @Override
+        public String getDescription()
+        {
+            return this.payload.read().getDescription();
+        }
+
+        @Override
+        public String getRationale()
+        {
+            return this.payload.read().getRationale();
+        }
+
+        @Override
+        public String getComment()
+        {
+            return this.payload.read().getComment();
+        }
+
+        @Override
+        public Location getLocation()
+        {
+            return this.payload.read().getLocation();
+        }
+
+        @Override
+        public ItemPayloadStore.Payload getPayload()
+        {
+            return this.payload.read();
+        }
+    }
+}
@@ -165,6 +165,19 @@ public class SpecificationItemId implements Comparable<SpecificationItemId>
                 .build();
     }
 
+    /**
+     * Create a copy of this ID with an equal artifact type, e.g. the canonical
+     * instance from a {@link SymbolTable}.
+     *
+     * @param equalArtifactType
+     *            artifact type equal to the one of this ID
+     * @return the copy
+     */
+    SpecificationItemId withArtifactType(final String equalArtifactType)
+    {
+        return new SpecificationItemId(this.name, equalArtifactType, this.revision);
+    }
+
     /**
      * Parse a string for a specification item ID
      *
@@ -0,0 +1,103 @@
+package org.itsallcode.openfasttrace.api.core;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Table of canonical instances for values that many specification items share,
+ * like artifact types, tags, file paths and specification item IDs.
+ * <p>
+ * Importers create a new string for each occurrence of such a value. A symbol
+ * table that lives as long as an import run maps equal values to the same
+ * instance, so that the imported items keep only one copy of each value.
+ * </p>
+ * <p>
+ * This class is thread-safe.
+ * </p>
+ */
+public final class SymbolTable
+{
+    private final Map<String, String> strings = new ConcurrentHashMap<>();
+    private final Map<SpecificationItemId, SpecificationItemId> ids = new ConcurrentHashMap<>();
+
+    /**
+     * Get the canonical instance of a string.
+     *
+     * @param value
+     *            the string or <code>null</code>
+     * @return the first string equal to the given one that was passed to this
+     *         table or <code>null</code> if the value is <code>null</code>
+     */
+    public String symbol(final String value)
+    {
+        if (value == null)
+        {
+            return null;
+        }
+        final String existing = this.strings.putIfAbsent(value, value);
+        return existing == null ? value : existing;
+    }
+
+    /**
+     * Get the canonical instance of a specification item ID.
+     *
+     * @param id
+     *            the ID or <code>null</code>
+     * @return an ID equal to the given one with the canonical artifact type
+     *         or <code>null</code> if the ID is <code>null</code>
+     */
+    public SpecificationItemId symbol(final SpecificationItemId id)
+    {
+        if (id == null)
+        {
+            return null;
+        }
+        final SpecificationItemId existing = this.ids.get(id);
+        if (existing != null)
+        {
+            return existing;
+        }
+        final String artifactType = symbol(id.getArtifactType());
+        final SpecificationItemId canonical = (artifactType == id.getArtifactType()) ? id
+                : id.withArtifactType(artifactType);
+        final SpecificationItemId previous = this.ids.putIfAbsent(canonical, canonical);
+        return previous == null ? canonical : previous;
+    }
+
+    /**
+     * Get a location with the canonical instance of its path.
+     *
+     * @param location
+     *            the location or <code>null</code>
+     * @return the given location if its path is already canonical, a copy
+     *         with the canonical path otherwise or <code>null</code> if the
+     *         location is <code>null</code>
+     */
+    public Location symbol(final Location location)
+    {
+        if (location == null)
+        {
+            return null;
+        }
+        final String path = symbol(location.getPath());
+        if (path == location.getPath())
+        {
+            return location;
+        }
+        return Location.builder() //
+                .path(path) //
+                .line(location.getLine()) //
+                .column(location.getColumn()) //
+                .build();
+    }
+
+    /**
+     * Get the number of canonical strings and IDs in this table.
+     *
+     * @return number of symbols
+     */
+    public int size()
+    {
+        return this.strings.size() + this.ids.size();
+    }
+}
@@ -5,7 +5,9 @@ import java.util.ArrayList;
 import java.util.List;
 
 import org.itsallcode.openfasttrace.api.FilterSettings;
+import org.itsallcode.openfasttrace.api.core.ItemPayloadStore;
 import org.itsallcode.openfasttrace.api.importer.tag.config.PathConfig;
+import org.itsallcode.openfasttrace.api.progress.ProgressListener;
 
 /**
  * Configuration for an {@link Importer}.
@@ -15,12 +17,22 @@ public class ImportSettings
     private final List<Path> inputs;
     private final FilterSettings filter;
     private final List<PathConfig> pathConfigs;
+    private final Path cacheDirectory;
+    private final boolean cacheChecksums;
+    private final ProgressListener progressListener;
+    private final ImportStatistics importStatistics;
+    private final ItemPayloadStore payloadStore;
 
     private ImportSettings(final Builder builder)
     {
         this.inputs = builder.inputs;
         this.filter = builder.filter;
         this.pathConfigs = builder.pathConfigs;
+        this.cacheDirectory = builder.cacheDirectory;
+        this.cacheChecksums = builder.cacheChecksums;
+        this.progressListener = builder.progressListener;
+        this.importStatistics = builder.importStatistics;
+        this.payloadStore = builder.payloadStore;
     }
 
     /**
@@ -54,6 +66,60 @@ public class ImportSettings
         return this.pathConfigs;
     }
 
+    /**
+     * Get the directory of the persistent import cache.
+     * 
+     * @return cache directory or <code>null</code> if the import cache is
+     *         disabled
+     */
+    public Path getCacheDirectory()
+    {
+        return this.cacheDirectory;
+    }
+
+    /**
+     * Check if the import cache validates entries with a checksum of the file
+     * content instead of the modification time.
+     * 
+     * @return <code>true</code> if the cache compares content checksums
+     */
+    public boolean isCacheChecksums()
+    {
+        return this.cacheChecksums;
+    }
+
+    /**
+     * Get the listener that receives the progress
+     * 
+     * @return progress listener
+     */
+    public ProgressListener getProgressListener()
+    {
+        return this.progressListener;
+    }
+
+    /**
+     * Get the collector for per-file import statistics
+     * 
+     * @return import statistics or <code>null</code> if no statistics are
+     *         collected
+     */
+    public ImportStatistics getImportStatistics()
+    {
+        return this.importStatistics;
+    }
+
+    /**
+     * Get the store for the texts and locations of imported items
+     * 
+     * @return payload store or <code>null</code> if the items keep their texts
+     *         and locations on the heap
+     */
+    public ItemPayloadStore getPayloadStore()
+    {
+        return this.payloadStore;
+    }
+
     /**
      * Create a the default import settings
      * 
@@ -82,6 +148,11 @@ public class ImportSettings
         private final List<Path> inputs = new ArrayList<>();
         private FilterSettings filter = FilterSettings.createAllowingEverything();
         private List<PathConfig> pathConfigs = new ArrayList<>();
+        private Path cacheDirectory = null;
+        private boolean cacheChecksums = false;
+        private ProgressListener progressListener = ProgressListener.NONE;
+        private ImportStatistics importStatistics = null;
+        private ItemPayloadStore payloadStore = null;
 
         private Builder()
         {
@@ -142,6 +213,35 @@ public class ImportSettings
             return this;
         }
 
+        /**
+         * Set the directory of the persistent import cache. Files that did not
+         * change since the last import are then read from the cache instead
+         * of being parsed again.
+         * 
+         * @param cacheDirectory
+         *            cache directory or <code>null</code> to disable the cache
+         * @return <code>this</code> for fluent programming
+         */
+        public Builder cacheDirectory(final Path cacheDirectory)
+        {
+            this.cacheDirectory = cacheDirectory;
+            return this;
+        }
+
+        /**
+         * Validate import cache entries with a checksum of the file content
+         * instead of the modification time.
+         * 
+         * @param cacheChecksums
+         *            <code>true</code> to compare content checksums
+         * @return <code>this</code> for fluent programming
+         */
+        public Builder cacheChecksums(final boolean cacheChecksums)
+        {
+            this.cacheChecksums = cacheChecksums;
+            return this;
+        }
+
         /**
          * Create a new instance of {@link ImportSettings}
          * 
@@ -151,5 +251,47 @@ public class ImportSettings
         {
             return new ImportSettings(this);
         }
+
+        /**
+         * Set the listener that receives the progress
+         * 
+         * @param progressListener
+         *            progress listener
+         * @return <code>this</code> for fluent programming
+         */
+        public Builder progressListener(final ProgressListener progressListener)
+        {
+            this.progressListener = progressListener;
+            return this;
+        }
+
+        /**
+         * Collect the import cost of each input file
+         * 
+         * @param importStatistics
+         *            collector for the statistics or <code>null</code> to
+         *            disable collecting
+         * @return <code>this</code> for fluent programming
+         */
+        public Builder importStatistics(final ImportStatistics importStatistics)
+        {
+            this.importStatistics = importStatistics;
+            return this;
+        }
+
+        /**
+         * Keep title, description, rationale, comment and location of the
+         * imported items in the given store instead of the heap
+         * 
+         * @param payloadStore
+         *            the store or <code>null</code> to keep the values on the
+         *            heap
+         * @return <code>this</code> for fluent programming
+         */
+        public Builder payloadStore(final ItemPayloadStore payloadStore)
+        {
+            this.payloadStore = payloadStore;
+            return this;
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,144 @@
+package org.itsallcode.openfasttrace.api.importer;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Collects the import cost of each input file.
+ * <p>
+ * Collecting is opt-in: pass an instance to
+ * {@link ImportSettings.Builder#importStatistics(ImportStatistics)} and read
+ * the collected {@link FileStatistics} after the import. Collecting the
+ * statistics reads each input file a second time to count its lines. This
+ * happens after the import time was measured, so it does not distort the
+ * import time. Files replayed from the import cache are not read again and
+ * report an unknown line count.
+ * </p>
+ */
+public class ImportStatistics
+{
+    private final List<FileStatistics> files = new ArrayList<>();
+
+    /**
+     * Add the statistics of an imported file.
+     *
+     * @param fileStatistics
+     *            statistics of the file
+     */
+    public synchronized void add(final FileStatistics fileStatistics)
+    {
+        this.files.add(fileStatistics);
+    }
+
+    /**
+     * Get the statistics of all files imported so far.
+     *
+     * @return statistics in the order in which the files were imported
+     */
+    public synchronized List<FileStatistics> getFiles()
+    {
+        return new ArrayList<>(this.files);
+    }
+
+    /**
+     * Import cost of a single input file.
+     */
+    public static final class FileStatistics
+    {
+        private final String path;
+        private final String importer;
+        private final long bytes;
+        private final long lines;
+        private final int items;
+        private final Duration duration;
+
+        /**
+         * Create statistics for a single file.
+         *
+         * @param path
+         *            path of the file
+         * @param importer
+         *            name of the importer that parsed the file
+         * @param bytes
+         *            size of the file or <code>-1</code> if unknown
+         * @param lines
+         *            number of lines of the file or <code>-1</code> if
+         *            unknown
+         * @param items
+         *            number of imported specification items
+         * @param duration
+         *            time spent importing the file
+         */
+        public FileStatistics(final String path, final String importer, final long bytes,
+                final long lines, final int items, final Duration duration)
+        {
+            this.path = path;
+            this.importer = importer;
+            this.bytes = bytes;
+            this.lines = lines;
+            this.items = items;
+            this.duration = duration;
+        }
+
+        /**
+         * Get the path of the file.
+         *
+         * @return path
+         */
+        public String getPath()
+        {
+            return this.path;
+        }
+
+        /**
+         * Get the name of the importer that parsed the file.
+         *
+         * @return importer name
+         */
+        public String getImporter()
+        {
+            return this.importer;
+        }
+
+        /**
+         * Get the size of the file.
+         *
+         * @return size in bytes or <code>-1</code> if unknown
+         */
+        public long getBytes()
+        {
+            return this.bytes;
+        }
+
+        /**
+         * Get the number of lines of the file.
+         *
+         * @return number of lines or <code>-1</code> if unknown
+         */
+        public long getLines()
+        {
+            return this.lines;
+        }
+
+        /**
+         * Get the number of imported specification items.
+         *
+         * @return number of items
+         */
+        public int getItems()
+        {
+            return this.items;
+        }
+
+        /**
+         * Get the time spent importing the file.
+         *
+         * @return duration
+         */
+        public Duration getDuration()
+        {
+            return this.duration;
+        }
+    }
+}
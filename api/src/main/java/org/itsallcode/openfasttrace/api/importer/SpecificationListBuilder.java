@@ -1,7 +1,6 @@
 package org.itsallcode.openfasttrace.api.importer;
 
-import java.util.Collections;
-
+import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
 
@@ -16,6 +15,8 @@ import org.itsallcode.openfasttrace.api.core.*;
 public class SpecificationListBuilder implements ImportEventListener
 {
     private final FilterSettings filterSettings;
+    private final SymbolTable symbols;
+    private final ItemPayloadStore payloadStore;
     private final List<SpecificationItem> items = new LinkedList<>();
     private SpecificationItem.Builder itemBuilder = null;
     private SpecificationItemId id = null;
@@ -23,10 +24,14 @@ public class SpecificationListBuilder implements ImportEventListener
     private StringBuilder rationale = new StringBuilder();
     private StringBuilder comment = new StringBuilder();
     private Location location;
+    private List<String> tags = new ArrayList<>();
 
-    private SpecificationListBuilder(final FilterSettings filterSettings)
+    private SpecificationListBuilder(final FilterSettings filterSettings,
+            final SymbolTable symbols, final ItemPayloadStore payloadStore)
     {
         this.filterSettings = filterSettings;
+        this.symbols = symbols;
+        this.payloadStore = payloadStore;
     }
 
     /**
@@ -36,7 +41,8 @@ public class SpecificationListBuilder implements ImportEventListener
      */
     public static SpecificationListBuilder create()
     {
-        return new SpecificationListBuilder(new FilterSettings.Builder().build());
+        return new SpecificationListBuilder(new FilterSettings.Builder().build(),
+                new SymbolTable(), null);
     }
 
     /**
@@ -49,13 +55,51 @@ public class SpecificationListBuilder implements ImportEventListener
      */
     public static SpecificationListBuilder createWithFilter(final FilterSettings filterSettings)
     {
-        return new SpecificationListBuilder(filterSettings);
+        return createWithFilter(filterSettings, new SymbolTable());
+    }
+
+    /**
+     * Creates a new {@link SpecificationListBuilder} with the given
+     * {@link FilterSettings} that stores artifact types, tags, paths and IDs
+     * as canonical instances from the given {@link SymbolTable}.
+     * 
+     * @param filterSettings
+     *            the filter settings for the new builder.
+     * @param symbols
+     *            symbol table shared by all builders of an import run
+     * @return a new {@link SpecificationListBuilder}.
+     */
+    public static SpecificationListBuilder createWithFilter(final FilterSettings filterSettings,
+            final SymbolTable symbols)
+    {
+        return createWithFilter(filterSettings, symbols, null);
+    }
+
+    /**
+     * Creates a new {@link SpecificationListBuilder} with the given
+     * {@link FilterSettings} that stores artifact types, tags, paths and IDs
+     * as canonical instances from the given {@link SymbolTable} and the texts
+     * and locations of the items in the given {@link ItemPayloadStore}.
+     * 
+     * @param filterSettings
+     *            the filter settings for the new builder.
+     * @param symbols
+     *            symbol table shared by all builders of an import run
+     * @param payloadStore
+     *            store for the texts and locations of the items or
+     *            <code>null</code> to keep them on the heap
+     * @return a new {@link SpecificationListBuilder}.
+     */
+    public static SpecificationListBuilder createWithFilter(final FilterSettings filterSettings,
+            final SymbolTable symbols, final ItemPayloadStore payloadStore)
+    {
+        return new SpecificationListBuilder(filterSettings, symbols, payloadStore);
     }
 
     @Override
     public void beginSpecificationItem()
     {
-        this.itemBuilder = SpecificationItem.builder();
+        this.itemBuilder = SpecificationItem.builder().payloadStore(this.payloadStore);
     }
 
     private void resetState()
@@ -66,12 +110,13 @@ public class SpecificationListBuilder implements ImportEventListener
         this.comment = new StringBuilder();
         this.location = null;
         this.id = null;
+        this.tags = new ArrayList<>();
     }
 
     @Override
     public void setId(final SpecificationItemId id)
     {
-        this.id = id;
+        this.id = this.symbols.symbol(id);
     }
 
     @Override
@@ -86,7 +131,7 @@ public class SpecificationListBuilder implements ImportEventListener
         // [impl->dsn~filtering-by-artifact-types-during-import~1]
         if (isAcceptedArtifactType(id.getArtifactType()))
         {
-            this.itemBuilder.addCoveredId(id);
+            this.itemBuilder.addCoveredId(this.symbols.symbol(id));
         }
     }
 
@@ -114,7 +159,7 @@ public class SpecificationListBuilder implements ImportEventListener
         // [impl->dsn~filtering-by-artifact-types-during-import~1]
         if (isAcceptedArtifactType(id.getArtifactType()))
         {
-            this.itemBuilder.addDependOnId(id);
+            this.itemBuilder.addDependOnId(this.symbols.symbol(id));
         }
     }
 
@@ -124,14 +169,16 @@ public class SpecificationListBuilder implements ImportEventListener
         // [impl->dsn~filtering-by-artifact-types-during-import~1]
         if (isAcceptedArtifactType(artifactType))
         {
-            this.itemBuilder.addNeedsArtifactType(artifactType);
+            this.itemBuilder.addNeedsArtifactType(this.symbols.symbol(artifactType));
         }
     }
 
     @Override
     public void addTag(final String tag)
     {
-        this.itemBuilder.addTag(tag);
+        final String symbol = this.symbols.symbol(tag);
+        this.tags.add(symbol);
+        this.itemBuilder.addTag(symbol);
     }
 
     /**
@@ -162,26 +209,24 @@ public class SpecificationListBuilder implements ImportEventListener
     @Override
     public void setLocation(final String path, final int line)
     {
-        this.setLocation(Location.create(path, line));
+        this.setLocation(Location.create(this.symbols.symbol(path), line));
     }
 
     @Override
     public void setLocation(final Location location)
     {
-        this.location = location;
+        this.location = this.symbols.symbol(location);
     }
 
     @Override
     public void endSpecificationItem()
     {
-        if (this.itemBuilder != null)
+        // [impl->dsn~filtering-by-artifact-types-during-import~1]
+        // Filter before building, so that rejected items never reach the
+        // payload store.
+        if (this.itemBuilder != null && isAccepted())
         {
-            final SpecificationItem item = createNewSpecificationItem();
-            // [impl->dsn~filtering-by-artifact-types-during-import~1]
-            if (isAccepted(item))
-            {
-                addNewItemToList(item);
-            }
+            addNewItemToList(createNewSpecificationItem());
         }
         resetState();
     }
@@ -197,25 +242,17 @@ public class SpecificationListBuilder implements ImportEventListener
                 .build();
     }
 
-    private boolean isAccepted(final SpecificationItem item)
-    {
-        return isAcceptedArtifactType(item.getArtifactType())
-                && matchesTagsCriteria(item.getTags());
-    }
-
-    // [impl->dsn~filtering-by-tags-during-import~1]
-    // [impl->dsn~filtering-by-tags-or-no-tags-during-import~1]
-    private boolean matchesTagsCriteria(final List<String> tags)
+    private boolean isAccepted()
     {
-        return !this.filterSettings.isTagCriteriaSet()
-                || (this.filterSettings.withoutTags() && tags.isEmpty())
-                || !Collections.disjoint(this.filterSettings.getTags(), tags);
+        // Items without ID are built anyway so that the item builder reports
+        // the missing ID.
+        return this.id == null || (isAcceptedArtifactType(this.id.getArtifactType())
+                && this.filterSettings.matchesTags(this.tags));
     }
 
     private boolean isAcceptedArtifactType(final String artifactType)
     {
-        return !this.filterSettings.isArtifactTypeCriteriaSet()
-                || this.filterSettings.getArtifactTypes().contains(artifactType);
+        return this.filterSettings.matchesArtifactType(artifactType);
     }
 
     private void addNewItemToList(final SpecificationItem item)
@@ -0,0 +1,101 @@
+package org.itsallcode.openfasttrace.api.json;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import org.itsallcode.openfasttrace.api.core.*;
+
+/**
+ * Writes traced specification items as JSON objects.
+ * <p>
+ * The JSON Lines report and the query server both use this format, so that
+ * consumers can read items from either source the same way.
+ * </p>
+ */
+public final class JsonItemWriter
+{
+    private JsonItemWriter()
+    {
+        // prevent instantiation
+    }
+
+    /**
+     * Write a traced specification item as JSON object.
+     * <p>
+     * The object contains the ID, title, status, deep coverage status, defect
+     * flag, location, tags, needed artifact types, uncovered artifact types
+     * and the links grouped by link status. The location is left out if it is
+     * unknown.
+     * </p>
+     *
+     * @param json
+     *            the JSON writer
+     * @param item
+     *            the item to write
+     * @throws IOException
+     *             if writing fails
+     */
+    public static void writeItem(final JsonWriter json, final LinkedSpecificationItem item)
+            throws IOException
+    {
+        json.beginObject();
+        json.name("id");
+        writeId(json, item.getId());
+        json.name("title").value(item.getTitle());
+        json.name("status").value(item.getStatus().toString());
+        json.name("deepCoverage").value(item.getDeepCoverageStatus().name());
+        json.name("defect").value(item.isDefect());
+        writeLocation(json, item.getLocation());
+        writeStrings(json, "tags", item.getTags());
+        writeStrings(json, "needs", item.getNeedsArtifactTypes());
+        writeStrings(json, "uncoveredTypes", item.getUncoveredArtifactTypes());
+        writeLinks(json, item.getLinks());
+        json.endObject();
+    }
+
+    private static void writeId(final JsonWriter json, final SpecificationItemId id)
+            throws IOException
+    {
+        json.idValue(id.getArtifactType(), id.getName(), id.getRevision());
+    }
+
+    private static void writeLocation(final JsonWriter json, final Location location)
+            throws IOException
+    {
+        if (location != null && location.getPath() != null && !location.getPath().isEmpty())
+        {
+            json.name("location").beginObject() //
+                    .name("path").value(location.getPath()) //
+                    .name("line").value(location.getLine()) //
+                    .endObject();
+        }
+    }
+
+    private static void writeStrings(final JsonWriter json, final String name,
+            final List<String> values) throws IOException
+    {
+        json.name(name).beginArray();
+        for (final String value : values)
+        {
+            json.value(value);
+        }
+        json.endArray();
+    }
+
+    private static void writeLinks(final JsonWriter json,
+            final Map<LinkStatus, List<LinkedSpecificationItem>> links) throws IOException
+    {
+        json.name("links").beginObject();
+        for (final Map.Entry<LinkStatus, List<LinkedSpecificationItem>> entry : links.entrySet())
+        {
+            json.name(entry.getKey().name()).beginArray();
+            for (final LinkedSpecificationItem linkedItem : entry.getValue())
+            {
+                writeId(json, linkedItem.getId());
+            }
+            json.endArray();
+        }
+        json.endObject();
+    }
+}
@@ -0,0 +1,304 @@
+package org.itsallcode.openfasttrace.api.json;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Minimal streaming JSON writer.
+ * <p>
+ * The writer only keeps track of the separators between values and escapes
+ * strings on the fly, so that writing a value does not create intermediate
+ * objects. It does not check that the written structure is well-formed.
+ * </p>
+ */
+public class JsonWriter
+{
+    private static final int MAX_DEPTH = 16;
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private final Writer writer;
+    private final boolean[] containsValues = new boolean[MAX_DEPTH];
+    private int depth = 0;
+    private boolean afterName = false;
+
+    /**
+     * Create a new {@link JsonWriter}.
+     *
+     * @param writer
+     *            the writer to which the JSON output is written
+     */
+    public JsonWriter(final Writer writer)
+    {
+        this.writer = writer;
+    }
+
+    /**
+     * Start a JSON object.
+     *
+     * @return this writer
+     * @throws IOException
+     *             if writing fails
+     */
+    public JsonWriter beginObject() throws IOException
+    {
+        beginContainer('{');
+        return this;
+    }
+
+    /**
+     * End the current JSON object.
+     *
+     * @return this writer
+     * @throws IOException
+     *             if writing fails
+     */
+    public JsonWriter endObject() throws IOException
+    {
+        endContainer('}');
+        return this;
+    }
+
+    /**
+     * Start a JSON array.
+     *
+     * @return this writer
+     * @throws IOException
+     *             if writing fails
+     */
+    public JsonWriter beginArray() throws IOException
+    {
+        beginContainer('[');
+        return this;
+    }
+
+    /**
+     * End the current JSON array.
+     *
+     * @return this writer
+     * @throws IOException
+     *             if writing fails
+     */
+    public JsonWriter endArray() throws IOException
+    {
+        endContainer(']');
+        return this;
+    }
+
+    private void beginContainer(final char bracket) throws IOException
+    {
+        if (this.depth == MAX_DEPTH)
+        {
+            throw new IllegalStateException("JSON nesting deeper than " + MAX_DEPTH + " levels");
+        }
+        beforeValue();
+        this.writer.write(bracket);
+        this.containsValues[this.depth] = false;
+        ++this.depth;
+    }
+
+    private void endContainer(final char bracket) throws IOException
+    {
+        --this.depth;
+        this.writer.write(bracket);
+    }
+
+    /**
+     * Write the name of the next object member.
+     *
+     * @param name
+     *            member name
+     * @return this writer
+     * @throws IOException
+     *             if writing fails
+     */
+    public JsonWriter name(final String name) throws IOException
+    {
+        beforeValue();
+        writeQuoted(name);
+        this.writer.write(':');
+        this.afterName = true;
+        return this;
+    }
+
+    /**
+     * Write a string value.
+     *
+     * @param value
+     *            the value, {@code null} is written as JSON {@code null}
+     * @return this writer
+     * @throws IOException
+     *             if writing fails
+     */
+    public JsonWriter value(final String value) throws IOException
+    {
+        beforeValue();
+        if (value == null)
+        {
+            this.writer.write("null");
+        }
+        else
+        {
+            writeQuoted(value);
+        }
+        return this;
+    }
+
+    /**
+     * Write a number value.
+     *
+     * @param value
+     *            the value
+     * @return this writer
+     * @throws IOException
+     *             if writing fails
+     */
+    public JsonWriter value(final int value) throws IOException
+    {
+        beforeValue();
+        this.writer.write(Integer.toString(value));
+        return this;
+    }
+
+    /**
+     * Write a number value.
+     *
+     * @param value
+     *            the value
+     * @return this writer
+     * @throws IOException
+     *             if writing fails
+     */
+    public JsonWriter value(final long value) throws IOException
+    {
+        beforeValue();
+        this.writer.write(Long.toString(value));
+        return this;
+    }
+
+    /**
+     * Write a boolean value.
+     *
+     * @param value
+     *            the value
+     * @return this writer
+     * @throws IOException
+     *             if writing fails
+     */
+    public JsonWriter value(final boolean value) throws IOException
+    {
+        beforeValue();
+        this.writer.write(value ? "true" : "false");
+        return this;
+    }
+
+    /**
+     * Write a specification item ID as string value without creating its
+     * string representation first.
+     *
+     * @param artifactType
+     *            artifact type of the ID
+     * @param name
+     *            name of the ID
+     * @param revision
+     *            revision of the ID
+     * @return this writer
+     * @throws IOException
+     *             if writing fails
+     */
+    public JsonWriter idValue(final String artifactType, final String name, final int revision)
+            throws IOException
+    {
+        beforeValue();
+        this.writer.write('"');
+        writeEscaped(artifactType);
+        this.writer.write('~');
+        writeEscaped(name);
+        this.writer.write('~');
+        this.writer.write(Integer.toString(revision));
+        this.writer.write('"');
+        return this;
+    }
+
+    /**
+     * Terminate the current top-level value with a line break.
+     *
+     * @throws IOException
+     *             if writing fails
+     */
+    public void endLine() throws IOException
+    {
+        this.writer.write('\n');
+    }
+
+    private void beforeValue() throws IOException
+    {
+        if (this.afterName)
+        {
+            this.afterName = false;
+            return;
+        }
+        if (this.depth > 0)
+        {
+            if (this.containsValues[this.depth - 1])
+            {
+                this.writer.write(',');
+            }
+            this.containsValues[this.depth - 1] = true;
+        }
+    }
+
+    private void writeQuoted(final String text) throws IOException
+    {
+        this.writer.write('"');
+        writeEscaped(text);
+        this.writer.write('"');
+    }
+
+    private void writeEscaped(final String text) throws IOException
+    {
+        int unescapedStart = 0;
+        final int length = text.length();
+        for (int i = 0; i < length; ++i)
+        {
+            final char c = text.charAt(i);
+            if (c == '"' || c == '\\' || c < 0x20)
+            {
+                this.writer.write(text, unescapedStart, i - unescapedStart);
+                writeEscapedChar(c);
+                unescapedStart = i + 1;
+            }
+        }
+        this.writer.write(text, unescapedStart, length - unescapedStart);
+    }
+
+    private void writeEscapedChar(final char c) throws IOException
+    {
+        this.writer.write('\\');
+        switch (c)
+        {
+        case '"':
+        case '\\':
+            this.writer.write(c);
+            break;
+        case '\n':
+            this.writer.write('n');
+            break;
+        case '\r':
+            this.writer.write('r');
+            break;
+        case '\t':
+            this.writer.write('t');
+            break;
+        case '\b':
+            this.writer.write('b');
+            break;
+        case '\f':
+            this.writer.write('f');
+            break;
+        default:
+            this.writer.write("u00");
+            this.writer.write(HEX_DIGITS[c >> 4]);
+            this.writer.write(HEX_DIGITS[c & 0xF]);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package org.itsallcode.openfasttrace.api.oftbin;
+
+/**
+ * Constants of the OFT binary snapshot format.
+ * <p>
+ * A snapshot starts with the {@link #MAGIC} bytes followed by the format
+ * {@link #VERSION} as varint. Then one record per specification item follows,
+ * each introduced by {@link #RECORD_ITEM}. The file ends with
+ * {@link #RECORD_END}.
+ * </p>
+ * <p>
+ * Strings that repeat across items (artifact types, names, tags, paths) and
+ * specification item IDs are stored in dictionaries that are built while
+ * writing: a reference of {@link #NEW_ENTRY} introduces a new entry inline,
+ * any other value {@code n} refers to the entry with index {@code n - 1}. All
+ * other strings are stored as varint length {@code + 1} followed by the UTF-8
+ * bytes, where a length of {@code 0} represents {@code null}. Signed numbers
+ * are zig-zag encoded.
+ * </p>
+ * <p>
+ * {@link OftbinOutput} and {@link OftbinInput} implement the encoding of the
+ * primitive values.
+ * </p>
+ */
+public final class OftbinFormat
+{
+    /** Bytes at the start of every snapshot */
+    public static final byte[] MAGIC = { 'O', 'F', 'T', 'B' };
+    /** Current format version */
+    public static final int VERSION = 1;
+    /** Record type that ends the snapshot */
+    public static final byte RECORD_END = 0;
+    /** Record type of a specification item */
+    public static final byte RECORD_ITEM = 1;
+    /** Item flag: the item has a location */
+    public static final int FLAG_LOCATION = 1;
+    /** Item flag: the item is forwarding */
+    public static final int FLAG_FORWARDS = 2;
+    /** Dictionary reference that introduces a new entry */
+    public static final int NEW_ENTRY = 0;
+
+    private OftbinFormat()
+    {
+        // prevent instantiation
+    }
+}
@@ -0,0 +1,96 @@
+package org.itsallcode.openfasttrace.api.oftbin;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reads the primitive values of the {@link OftbinFormat binary snapshot
+ * format} from a byte buffer.
+ * <p>
+ * Reading past the end of the buffer throws a
+ * {@link java.nio.BufferUnderflowException}, malformed numbers throw an
+ * {@link IllegalArgumentException}.
+ * </p>
+ */
+public class OftbinInput
+{
+    private final ByteBuffer buffer;
+    private byte[] stringBuffer = new byte[256];
+
+    /**
+     * Create a new {@link OftbinInput}.
+     *
+     * @param buffer
+     *            buffer to read from, e.g. a memory-mapped file
+     */
+    public OftbinInput(final ByteBuffer buffer)
+    {
+        this.buffer = buffer;
+    }
+
+    /**
+     * Read a single byte.
+     *
+     * @return the byte
+     */
+    public byte readByte()
+    {
+        return this.buffer.get();
+    }
+
+    /**
+     * Read a non-negative varint.
+     *
+     * @return the number
+     */
+    public int readVarint()
+    {
+        int value = 0;
+        int shift = 0;
+        byte current;
+        do
+        {
+            if (shift > 28)
+            {
+                throw new IllegalArgumentException("Varint is longer than five bytes");
+            }
+            current = this.buffer.get();
+            value |= (current & 0x7F) << shift;
+            shift += 7;
+        }
+        while ((current & 0x80) != 0);
+        return value;
+    }
+
+    /**
+     * Read a zig-zag encoded signed varint.
+     *
+     * @return the number
+     */
+    public int readSignedVarint()
+    {
+        final int value = readVarint();
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * Read a string that may be {@code null}.
+     *
+     * @return the string
+     */
+    public String readString()
+    {
+        final int encodedLength = readVarint();
+        if (encodedLength == 0)
+        {
+            return null;
+        }
+        final int length = encodedLength - 1;
+        if (length > this.stringBuffer.length)
+        {
+            this.stringBuffer = new byte[Math.max(length, this.stringBuffer.length * 2)];
+        }
+        this.buffer.get(this.stringBuffer, 0, length);
+        return new String(this.stringBuffer, 0, length, StandardCharsets.UTF_8);
+    }
+}
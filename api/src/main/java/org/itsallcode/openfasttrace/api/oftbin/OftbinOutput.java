@@ -0,0 +1,106 @@
+package org.itsallcode.openfasttrace.api.oftbin;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes the primitive values of the {@link OftbinFormat binary snapshot
+ * format} to an output stream.
+ */
+public class OftbinOutput
+{
+    private final OutputStream output;
+
+    /**
+     * Create a new {@link OftbinOutput}.
+     *
+     * @param output
+     *            stream to write to. Callers should pass a buffered stream
+     *            since values are written byte by byte.
+     */
+    public OftbinOutput(final OutputStream output)
+    {
+        this.output = output;
+    }
+
+    /**
+     * Write a single byte.
+     *
+     * @param value
+     *            the byte to write in the lowest eight bits
+     * @throws IOException
+     *             if writing fails
+     */
+    public void writeByte(final int value) throws IOException
+    {
+        this.output.write(value);
+    }
+
+    /**
+     * Write raw bytes.
+     *
+     * @param bytes
+     *            the bytes to write
+     * @throws IOException
+     *             if writing fails
+     */
+    public void writeBytes(final byte[] bytes) throws IOException
+    {
+        this.output.write(bytes);
+    }
+
+    /**
+     * Write a non-negative number as varint.
+     *
+     * @param value
+     *            the number to write
+     * @throws IOException
+     *             if writing fails
+     */
+    public void writeVarint(final int value) throws IOException
+    {
+        int remaining = value;
+        while ((remaining & ~0x7F) != 0)
+        {
+            this.output.write((remaining & 0x7F) | 0x80);
+            remaining >>>= 7;
+        }
+        this.output.write(remaining);
+    }
+
+    /**
+     * Write a signed number as zig-zag encoded varint.
+     *
+     * @param value
+     *            the number to write
+     * @throws IOException
+     *             if writing fails
+     */
+    public void writeSignedVarint(final int value) throws IOException
+    {
+        writeVarint((value << 1) ^ (value >> 31));
+    }
+
+    /**
+     * Write a string that may be {@code null}.
+     *
+     * @param string
+     *            the string to write
+     * @throws IOException
+     *             if writing fails
+     */
+    public void writeString(final String string) throws IOException
+    {
+        if (string == null)
+        {
+            writeVarint(0);
+        }
+        else
+        {
+            final byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+            writeVarint(bytes.length + 1);
+            this.output.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package org.itsallcode.openfasttrace.api.progress;
+
+/**
+ * Thrown when a {@link ProgressListener} cancelled the running operation.
+ */
+public class OperationCancelledException extends RuntimeException
+{
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Creates a new {@link OperationCancelledException}.
+     * 
+     * @param message
+     *            the message for the exception.
+     */
+    public OperationCancelledException(final String message)
+    {
+        super(message);
+    }
+}
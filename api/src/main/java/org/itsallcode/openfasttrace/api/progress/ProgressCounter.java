@@ -0,0 +1,75 @@
+package org.itsallcode.openfasttrace.api.progress;
+
+import org.itsallcode.openfasttrace.api.progress.ProgressListener.Counter;
+
+/**
+ * Counts the progress of a phase and reports it to the
+ * {@link ProgressListener} of a {@link ProgressMonitor}.
+ * <p>
+ * Incrementing is cheap enough for hot loops: the counter only reads the clock
+ * every 256 increments and calls the listener when the
+ * interval of the monitor has passed since the last callback.
+ * </p>
+ */
+public final class ProgressCounter
+{
+    static final int CHECK_INTERVAL = 256;
+    private static final int CHECK_MASK = CHECK_INTERVAL - 1;
+
+    private final ProgressMonitor monitor;
+    private final Counter counter;
+    private final long total;
+    private long count = 0;
+    private long lastReportNanos;
+
+    ProgressCounter(final ProgressMonitor monitor, final Counter counter, final long total)
+    {
+        this.monitor = monitor;
+        this.counter = counter;
+        this.total = total;
+        this.lastReportNanos = System.nanoTime();
+    }
+
+    /**
+     * Increment the counter by one.
+     *
+     * @throws OperationCancelledException
+     *             if the listener cancelled the operation
+     */
+    public void increment()
+    {
+        if ((++this.count & CHECK_MASK) == 0)
+        {
+            reportIfDue();
+        }
+    }
+
+    private void reportIfDue()
+    {
+        final long now = System.nanoTime();
+        if (now - this.lastReportNanos >= this.monitor.getIntervalNanos())
+        {
+            this.lastReportNanos = now;
+            this.monitor.getListener().progress(this.counter, this.count, this.total);
+            this.monitor.checkCancelled();
+        }
+    }
+
+    /**
+     * Report the final value of the counter.
+     */
+    public void finish()
+    {
+        this.monitor.getListener().progress(this.counter, this.count, this.total);
+    }
+
+    /**
+     * Get the current value of the counter.
+     *
+     * @return the number of increments
+     */
+    public long getCount()
+    {
+        return this.count;
+    }
+}
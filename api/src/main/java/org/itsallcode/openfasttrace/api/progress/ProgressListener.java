@@ -0,0 +1,111 @@
+package org.itsallcode.openfasttrace.api.progress;
+
+import java.time.Duration;
+
+/**
+ * Receives progress information while OFT imports, links, traces and reports
+ * specification items.
+ * <p>
+ * Embedders like build tool plugins implement this interface to show the
+ * progress of long running traces and to cancel them. All methods have empty
+ * default implementations, so that listeners only override the callbacks they
+ * need.
+ * </p>
+ * <p>
+ * {@link #progress(Counter, long, long)} is throttled by the
+ * {@link ProgressMonitor}, so that a listener is not called for each file or
+ * item. Reports in several formats are rendered concurrently, so the callbacks
+ * may be called from several threads during the {@link Phase#REPORT} phase.
+ * </p>
+ */
+public interface ProgressListener
+{
+    /** A listener that ignores all progress and never cancels. */
+    ProgressListener NONE = new ProgressListener()
+    {
+    };
+
+    /**
+     * Phase of the tracing pipeline.
+     */
+    enum Phase
+    {
+        /** Import specification items from the input files. */
+        IMPORT,
+        /** Link the imported items. */
+        LINK,
+        /** Trace the linked items. */
+        TRACE,
+        /** Render one or more reports. */
+        REPORT
+    }
+
+    /**
+     * Counter reported by {@link ProgressListener#progress(Counter, long, long)}.
+     */
+    enum Counter
+    {
+        /** Files found while walking the input directories. */
+        FILES_WALKED,
+        /** Files imported by an importer or from the import cache. */
+        FILES_IMPORTED,
+        /** Specification items linked. */
+        ITEMS_LINKED,
+        /** Specification items rendered by a reporter. */
+        ITEMS_RENDERED
+    }
+
+    /**
+     * Called when a phase starts.
+     *
+     * @param phase
+     *            the phase
+     */
+    default void phaseStarted(final Phase phase)
+    {
+        // empty by default
+    }
+
+    /**
+     * Called when a phase finished successfully.
+     *
+     * @param phase
+     *            the phase
+     * @param duration
+     *            the wall time of the phase
+     */
+    default void phaseFinished(final Phase phase, final Duration duration)
+    {
+        // empty by default
+    }
+
+    /**
+     * Called periodically while a phase is running and once more with the
+     * final count.
+     *
+     * @param counter
+     *            the counter that made progress
+     * @param count
+     *            the current value of the counter
+     * @param total
+     *            the expected final value of the counter or <code>-1</code> if
+     *            it is unknown
+     */
+    default void progress(final Counter counter, final long count, final long total)
+    {
+        // empty by default
+    }
+
+    /**
+     * Check if the running operation should be cancelled. OFT calls this at
+     * the start of each phase and together with
+     * {@link #progress(Counter, long, long)}. If it returns <code>true</code>,
+     * the running operation throws an {@link OperationCancelledException}.
+     *
+     * @return <code>true</code> if the operation should be cancelled
+     */
+    default boolean isCancelled()
+    {
+        return false;
+    }
+}
@@ -0,0 +1,150 @@
+package org.itsallcode.openfasttrace.api.progress;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+import org.itsallcode.openfasttrace.api.progress.ProgressListener.Counter;
+import org.itsallcode.openfasttrace.api.progress.ProgressListener.Phase;
+
+/**
+ * Forwards progress to a {@link ProgressListener}, measures the duration of
+ * phases and throttles the progress callbacks.
+ */
+public final class ProgressMonitor
+{
+    private static final Duration DEFAULT_INTERVAL = Duration.ofMillis(200);
+    private static final ProgressMonitor NONE = new ProgressMonitor(ProgressListener.NONE,
+            DEFAULT_INTERVAL);
+
+    private final ProgressListener listener;
+    private final long intervalNanos;
+
+    private ProgressMonitor(final ProgressListener listener, final Duration interval)
+    {
+        this.listener = Objects.requireNonNull(listener, "listener");
+        this.intervalNanos = interval.toNanos();
+    }
+
+    /**
+     * Create a {@link ProgressMonitor} that reports progress at most every
+     * 200 milliseconds.
+     *
+     * @param listener
+     *            the listener that receives the progress
+     * @return a new monitor
+     */
+    public static ProgressMonitor create(final ProgressListener listener)
+    {
+        return create(listener, DEFAULT_INTERVAL);
+    }
+
+    /**
+     * Create a {@link ProgressMonitor}.
+     *
+     * @param listener
+     *            the listener that receives the progress
+     * @param interval
+     *            the minimum time between two progress callbacks for the same
+     *            counter
+     * @return a new monitor
+     */
+    public static ProgressMonitor create(final ProgressListener listener,
+            final Duration interval)
+    {
+        return listener == ProgressListener.NONE ? NONE : new ProgressMonitor(listener, interval);
+    }
+
+    /**
+     * Get a {@link ProgressMonitor} that ignores all progress.
+     *
+     * @return a monitor without listener
+     */
+    public static ProgressMonitor none()
+    {
+        return NONE;
+    }
+
+    /**
+     * Run a phase and report its start and its duration.
+     *
+     * @param <T>
+     *            result type of the phase
+     * @param phase
+     *            the phase
+     * @param action
+     *            the action that runs the phase
+     * @return the result of the action
+     * @throws OperationCancelledException
+     *             if the listener cancelled the operation
+     */
+    public <T> T runPhase(final Phase phase, final Supplier<T> action)
+    {
+        checkCancelled();
+        this.listener.phaseStarted(phase);
+        final long startNanos = System.nanoTime();
+        final T result = action.get();
+        this.listener.phaseFinished(phase, Duration.ofNanos(System.nanoTime() - startNanos));
+        return result;
+    }
+
+    /**
+     * Run a phase without result and report its start and its duration.
+     *
+     * @param phase
+     *            the phase
+     * @param action
+     *            the action that runs the phase
+     * @throws OperationCancelledException
+     *             if the listener cancelled the operation
+     */
+    public void runPhase(final Phase phase, final Runnable action)
+    {
+        runPhase(phase, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    /**
+     * Create a counter that reports its progress to the listener.
+     * <p>
+     * A counter must only be incremented by one thread.
+     * </p>
+     *
+     * @param counter
+     *            the kind of progress that is counted
+     * @param total
+     *            the expected final value or <code>-1</code> if it is unknown
+     * @return a new counter starting at zero
+     */
+    public ProgressCounter startCounter(final Counter counter, final long total)
+    {
+        return new ProgressCounter(this, counter, total);
+    }
+
+    /**
+     * Throw an {@link OperationCancelledException} if the listener cancelled
+     * the operation.
+     *
+     * @throws OperationCancelledException
+     *             if the listener cancelled the operation
+     */
+    public void checkCancelled()
+    {
+        if (this.listener.isCancelled())
+        {
+            throw new OperationCancelledException("Operation was cancelled");
+        }
+    }
+
+    ProgressListener getListener()
+    {
+        return this.listener;
+    }
+
+    long getIntervalNanos()
+    {
+        return this.intervalNanos;
+    }
+}
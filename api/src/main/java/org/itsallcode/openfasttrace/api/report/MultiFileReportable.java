@@ -0,0 +1,23 @@
+package org.itsallcode.openfasttrace.api.report;
+
+import java.nio.file.Path;
+
+/**
+ * Interface for coverage reports that consist of more than one file.
+ * <p>
+ * Reports of this kind still support rendering to a single stream (e.g. for
+ * standard out), but when an output path is given, they write all their files
+ * into that directory instead.
+ * </p>
+ */
+public interface MultiFileReportable extends Reportable
+{
+    /**
+     * Render the report into a directory.
+     *
+     * @param outputDirectory
+     *            directory to which the report files are written. The
+     *            directory is created if it does not exist.
+     */
+    void renderToDirectory(final Path outputDirectory);
+}
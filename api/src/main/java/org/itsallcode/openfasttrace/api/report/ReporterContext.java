@@ -1,6 +1,7 @@
 package org.itsallcode.openfasttrace.api.report;
 
 import org.itsallcode.openfasttrace.api.ReportSettings;
+import org.itsallcode.openfasttrace.api.progress.ProgressMonitor;
 
 /**
  * Common context shared by all {@link ReporterFactory}s. This allows reporters
@@ -31,4 +32,15 @@ public class ReporterContext
     {
         return settings;
     }
+
+    /**
+     * Get a monitor that reports the rendering progress to the listener
+     * configured in the settings.
+     * 
+     * @return the progress monitor for this context.
+     */
+    public ProgressMonitor getProgressMonitor()
+    {
+        return ProgressMonitor.create(this.settings.getProgressListener());
+    }
 }
@@ -0,0 +1,59 @@
+package org.itsallcode.openfasttrace.api.concurrent;
+
+import static java.util.Arrays.asList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import org.junit.jupiter.api.Test;
+
+class TestConcurrentTasks
+{
+    @Test
+    void testResultsKeepTaskOrder()
+    {
+        final List<Callable<Integer>> tasks = asList(() -> 1, () -> 2, () -> 3);
+        assertThat(ConcurrentTasks.runAll(tasks, "counting", IllegalStateException::new),
+                contains(1, 2, 3));
+    }
+
+    @Test
+    void testNoTasks()
+    {
+        assertThat(ConcurrentTasks.runAll(List.<Callable<Void>> of(), "nothing",
+                IllegalStateException::new), empty());
+    }
+
+    @Test
+    void testRuntimeExceptionIsRethrownUnchanged()
+    {
+        final IllegalArgumentException expected = new IllegalArgumentException("expected");
+        final List<Callable<Void>> tasks = asList(() -> null, () -> {
+            throw expected;
+        });
+        final IllegalArgumentException actual = assertThrows(IllegalArgumentException.class,
+                () -> ConcurrentTasks.runAll(tasks, "failing", IllegalStateException::new));
+        assertThat(actual, sameInstance(expected));
+    }
+
+    @Test
+    void testCheckedExceptionIsWrapped()
+    {
+        final List<Callable<Void>> tasks = asList(() -> {
+            throw new IOException("expected");
+        });
+        final IllegalStateException actual = assertThrows(IllegalStateException.class,
+                () -> ConcurrentTasks.runAll(tasks, "reading", IllegalStateException::new));
+        assertAll(() -> assertThat(actual.getMessage(), equalTo("Error while reading")),
+                () -> assertThat(actual.getCause(), instanceOf(IOException.class)));
+    }
+}
@@ -0,0 +1,75 @@
+package org.itsallcode.openfasttrace.api.core;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+class TestArtifactTypeRegistry
+{
+    private final ArtifactTypeRegistry registry = new ArtifactTypeRegistry();
+
+    @Test
+    void testNumbersArtifactTypesInOrderOfRegistration()
+    {
+        assertAll(() -> assertThat(this.registry.getIndex("req"), equalTo(0)),
+                () -> assertThat(this.registry.getIndex("impl"), equalTo(1)),
+                () -> assertThat(this.registry.getIndex("req"), equalTo(0)),
+                () -> assertThat(this.registry.getArtifactType(1), equalTo("impl")),
+                () -> assertThat(this.registry.size(), equalTo(2)));
+    }
+
+    @Test
+    void testGetUnknownArtifactTypeThrowsException()
+    {
+        assertThrows(IndexOutOfBoundsException.class, () -> this.registry.getArtifactType(0));
+    }
+
+    @Test
+    void testArtifactTypeSetBeyondFirstWord()
+    {
+        final ArtifactTypeSet needed = new ArtifactTypeSet();
+        final ArtifactTypeSet covered = new ArtifactTypeSet();
+        for (int i = 0; i < 70; ++i)
+        {
+            this.registry.getIndex("type" + i);
+        }
+        needed.add(3);
+        needed.add(67);
+        covered.add(3);
+        assertThat(covered.containsAll(needed), equalTo(false));
+        covered.add(67);
+        assertAll(() -> assertThat(covered.containsAll(needed), equalTo(true)),
+                () -> assertThat(needed.containsAll(covered), equalTo(true)),
+                () -> assertThat(covered.toArtifactTypes(this.registry),
+                        contains("type3", "type67")));
+    }
+
+    @Test
+    void testArtifactTypeSetDecodesNamesOnlyAfterChanges()
+    {
+        final ArtifactTypeSet covered = new ArtifactTypeSet();
+        this.registry.getIndex("req");
+        this.registry.getIndex("impl");
+        covered.add(0);
+        final Set<String> first = covered.toArtifactTypes(this.registry);
+        final Set<String> unchanged = covered.toArtifactTypes(this.registry);
+        covered.add(0);
+        final Set<String> sameBitAdded = covered.toArtifactTypes(this.registry);
+        covered.add(1);
+        final Set<String> changed = covered.toArtifactTypes(this.registry);
+        covered.clear();
+        assertAll(() -> assertThat(unchanged, sameInstance(first)),
+                () -> assertThat(sameBitAdded, sameInstance(first)),
+                () -> assertThat(changed, contains("req", "impl")),
+                () -> assertThat(covered.toArtifactTypes(this.registry).isEmpty(), equalTo(true)),
+                () -> assertThrows(UnsupportedOperationException.class,
+                        () -> first.add("dsn")));
+    }
+}
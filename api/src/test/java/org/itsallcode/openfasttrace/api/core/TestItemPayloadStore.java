@@ -0,0 +1,188 @@
+package org.itsallcode.openfasttrace.api.core;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class TestItemPayloadStore
+{
+    private ItemPayloadStore store;
+
+    @BeforeEach
+    void beforeEach(@TempDir final Path tempDir) throws IOException
+    {
+        this.store = ItemPayloadStore.create(tempDir.resolve("spill"));
+    }
+
+    @AfterEach
+    void afterEach() throws IOException
+    {
+        this.store.close();
+    }
+
+    @Test
+    void testStoredItemEqualsItemOnHeap()
+    {
+        final SpecificationItem.Builder builder = createBuilder();
+        final SpecificationItem onHeap = builder.build();
+        final SpecificationItem stored = builder.payloadStore(this.store).build();
+        assertAll(() -> assertThat(stored, equalTo(onHeap)),
+                () -> assertThat(stored.hashCode(), equalTo(onHeap.hashCode())),
+                () -> assertThat(stored.getTitle(), equalTo("Title")),
+                () -> assertThat(stored.getDescription(), equalTo("Description")),
+                () -> assertThat(stored.getRationale(), equalTo("Rationale")),
+                () -> assertThat(stored.getComment(), equalTo("Comment")),
+                () -> assertThat(stored.getLocation(), equalTo(Location.create("a.md", 3))),
+                () -> assertThat(this.store.getSize(), greaterThan(0L)));
+    }
+
+    private static SpecificationItem.Builder createBuilder()
+    {
+        return SpecificationItem.builder() //
+                .id(SpecificationItemId.parseId("req~payload~1")) //
+                .title("Title") //
+                .description("Description") //
+                .rationale("Rationale") //
+                .comment("Comment") //
+                .location("a.md", 3);
+    }
+
+    @Test
+    void testStoreNullValuesAndLongTexts()
+    {
+        final String longDescription = "x".repeat(200_000);
+        final SpecificationItem item = SpecificationItem.builder() //
+                .id(SpecificationItemId.parseId("req~long~1")) //
+                .title(null) //
+                .description(longDescription) //
+                .payloadStore(this.store) //
+                .build();
+        assertAll(() -> assertThat(item.getTitle(), nullValue()),
+                () -> assertThat(item.getDescription(), equalTo(longDescription)),
+                () -> assertThat(item.getLocation(), nullValue()));
+    }
+
+    @Test
+    void testReadItemsFromMappedRegions(@TempDir final Path tempDir) throws IOException
+    {
+        try (final ItemPayloadStore smallRegionStore = ItemPayloadStore
+                .create(tempDir.resolve("regions"), 100))
+        {
+            final List<SpecificationItem> items = new ArrayList<>();
+            for (int i = 0; i < 500; ++i)
+            {
+                items.add(SpecificationItem.builder() //
+                        .id(SpecificationItemId.createId("req", "item" + i, 1)) //
+                        .title("Title " + i) //
+                        .description("d".repeat(i % 150)) //
+                        .payloadStore(smallRegionStore) //
+                        .build());
+            }
+            for (int i = items.size() - 1; i >= 0; --i)
+            {
+                final ItemPayloadStore.Payload payload = items.get(i).getPayload();
+                assertThat(payload.getTitle(), equalTo("Title " + i));
+                assertThat(payload.getDescription(), equalTo("d".repeat(i % 150)));
+            }
+        }
+    }
+
+    @Test
+    void testReadManyItems()
+    {
+        final SpecificationItem[] items = new SpecificationItem[5000];
+        for (int i = 0; i < items.length; ++i)
+        {
+            items[i] = SpecificationItem.builder() //
+                    .id(SpecificationItemId.parseId("req~item" + i + "~1")) //
+                    .description("Description " + i) //
+                    .payloadStore(this.store) //
+                    .build();
+        }
+        assertAll(() -> assertThat(items[0].getDescription(), equalTo("Description 0")),
+                () -> assertThat(items[4999].getDescription(), equalTo("Description 4999")),
+                () -> assertThat(items[2500].getDescription(), equalTo("Description 2500")));
+    }
+
+    @Test
+    void testPayloadFromSharesStoredPayload()
+    {
+        final SpecificationItem stored = createBuilder().payloadStore(this.store).build();
+        final long size = this.store.getSize();
+        final SpecificationItem copy = SpecificationItem.builder() //
+                .id(stored.getId()) //
+                .payloadFrom(stored) //
+                .build();
+        assertAll(() -> assertThat(copy, equalTo(stored)),
+                () -> assertThat(this.store.getSize(), equalTo(size)));
+    }
+
+    @Test
+    void testChangingCopiedPayloadKeepsOtherValues()
+    {
+        final SpecificationItem stored = createBuilder().payloadStore(this.store).build();
+        final SpecificationItem copy = SpecificationItem.builder() //
+                .id(stored.getId()) //
+                .payloadFrom(stored) //
+                .title("Changed") //
+                .build();
+        assertAll(() -> assertThat(copy.getTitle(), equalTo("Changed")),
+                () -> assertThat(copy.getDescription(), equalTo("Description")),
+                () -> assertThat(copy.getLocation(), equalTo(stored.getLocation())));
+    }
+
+    @Test
+    void testGetPayloadReturnsAllValues()
+    {
+        final ItemPayloadStore.Payload payload = createBuilder().payloadStore(this.store).build()
+                .getPayload();
+        assertAll(() -> assertThat(payload.getTitle(), equalTo("Title")),
+                () -> assertThat(payload.getDescription(), equalTo("Description")),
+                () -> assertThat(payload.getRationale(), equalTo("Rationale")),
+                () -> assertThat(payload.getComment(), equalTo("Comment")),
+                () -> assertThat(payload.getLocation(), equalTo(Location.create("a.md", 3))),
+                () -> assertThat(payload, equalTo(createBuilder().build().getPayload())));
+    }
+
+    @Test
+    void testPayloadFromOtherStoreIsCopied(@TempDir final Path tempDir) throws IOException
+    {
+        final SpecificationItem stored = createBuilder().payloadStore(this.store).build();
+        try (ItemPayloadStore otherStore = ItemPayloadStore.create(tempDir.resolve("other")))
+        {
+            final SpecificationItem copy = SpecificationItem.builder() //
+                    .id(stored.getId()) //
+                    .payloadFrom(stored) //
+                    .payloadStore(otherStore) //
+                    .build();
+            this.store.close();
+            assertAll(() -> assertThat(otherStore.getSize(), greaterThan(0L)),
+                    () -> assertThat(copy.getTitle(), equalTo("Title")),
+                    () -> assertThat(copy.getLocation(), equalTo(Location.create("a.md", 3))));
+        }
+    }
+
+    @Test
+    void testCloseDeletesFile() throws IOException
+    {
+        final SpecificationItem stored = createBuilder().payloadStore(this.store).build();
+        this.store.close();
+        assertAll(() -> assertThat(Files.exists(this.store.getPath()), equalTo(false)),
+                () -> assertThrows(UncheckedIOException.class, stored::getTitle));
+    }
+}
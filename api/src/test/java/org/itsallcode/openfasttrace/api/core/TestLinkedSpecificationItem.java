@@ -335,4 +335,30 @@ class TestLinkedSpecificationItem
         when(this.itemMock.getRevision()).thenReturn(expectedRevision);
         assertThat(this.linkedItem.getRevision(), equalTo(expectedRevision));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testItemsOfTheSameRunShareArtifactTypeRegistry()
+    {
+        final ArtifactTypeRegistry registry = new ArtifactTypeRegistry();
+        final LinkedSpecificationItem item = new LinkedSpecificationItem(this.itemMock, registry);
+        when(this.itemMock.getNeedsArtifactTypes()).thenReturn(Arrays.asList(UMAN, IMPL));
+        when(this.coveredItemMock.getArtifactType()).thenReturn(IMPL);
+        item.addLinkToItemWithStatus(this.coveredLinkedItem, LinkStatus.COVERED_SHALLOW);
+        assertAll(() -> assertItemCoveredShallow(item, false),
+                () -> assertItemHasUncoveredArtifactTypes(item, UMAN),
+                () -> assertThat(registry.size(), equalTo(2)));
+    }
+
+    @Test
+    void testRemoveLinkRecalculatesCoveredArtifactTypes()
+    {
+        when(this.itemMock.getNeedsArtifactTypes()).thenReturn(List.of(IMPL));
+        when(this.coveredItemMock.getArtifactType()).thenReturn(IMPL);
+        this.linkedItem.addLinkToItemWithStatus(this.coveredLinkedItem, LinkStatus.COVERED_SHALLOW);
+        assertItemCoveredShallow(this.linkedItem, true);
+        this.linkedItem.removeLinkToItemWithStatus(this.coveredLinkedItem,
+                LinkStatus.COVERED_SHALLOW);
+        assertAll(() -> assertItemCoveredShallow(this.linkedItem, false),
+                () -> assertThat(this.linkedItem.getCoveredApprovedArtifactTypes(), empty()));
+    }
+}
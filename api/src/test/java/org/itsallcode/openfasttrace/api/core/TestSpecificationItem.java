@@ -3,12 +3,17 @@ package org.itsallcode.openfasttrace.api.core;
 import org.junit.jupiter.api.Test;
 
 import nl.jqno.equalsverifier.EqualsVerifier;
+import nl.jqno.equalsverifier.Warning;
 
 class TestSpecificationItem
 {
     @Test
     void equalsContract()
     {
-        EqualsVerifier.forClass(SpecificationItem.class).verify();
+        // hashCode() leaves out the texts and the location, so that hashing
+        // items in an ItemPayloadStore does not read the store.
+        EqualsVerifier.forClass(SpecificationItem.class) //
+                .suppress(Warning.STRICT_HASHCODE) //
+                .verify();
     }
 }
@@ -0,0 +1,57 @@
+package org.itsallcode.openfasttrace.api.core;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+import org.junit.jupiter.api.Test;
+
+class TestSymbolTable
+{
+    private final SymbolTable symbols = new SymbolTable();
+
+    @Test
+    void testEqualStringsShareInstance()
+    {
+        final String first = this.symbols.symbol(new String("impl"));
+        assertThat(this.symbols.symbol(new String("impl")), sameInstance(first));
+    }
+
+    @Test
+    void testNullStaysNull()
+    {
+        assertAll(() -> assertThat(this.symbols.symbol((String) null), nullValue()),
+                () -> assertThat(this.symbols.symbol((SpecificationItemId) null), nullValue()),
+                () -> assertThat(this.symbols.symbol((Location) null), nullValue()));
+    }
+
+    @Test
+    void testIdsShareArtifactType()
+    {
+        final String artifactType = this.symbols.symbol("impl");
+        final SpecificationItemId id = this.symbols
+                .symbol(SpecificationItemId.parseId("impl~foo~1"));
+        assertAll(() -> assertThat(id, equalTo(SpecificationItemId.parseId("impl~foo~1"))),
+                () -> assertThat(id.getArtifactType(), sameInstance(artifactType)),
+                () -> assertThat(this.symbols.symbol(SpecificationItemId.parseId("impl~foo~1")),
+                        sameInstance(id)));
+    }
+
+    @Test
+    void testLocationsSharePath()
+    {
+        final Location first = this.symbols.symbol(Location.create(new String("a.java"), 1));
+        final Location second = this.symbols.symbol(Location.create(new String("a.java"), 2, 3));
+        assertAll(() -> assertThat(second, equalTo(Location.create("a.java", 2, 3))),
+                () -> assertThat(second.getPath(), sameInstance(first.getPath())));
+    }
+
+    @Test
+    void testLocationWithCanonicalPathIsKept()
+    {
+        final Location location = Location.create(this.symbols.symbol("a.java"), 1);
+        assertThat(this.symbols.symbol(location), sameInstance(location));
+    }
+}
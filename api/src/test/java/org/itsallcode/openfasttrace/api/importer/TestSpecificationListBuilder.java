@@ -2,17 +2,25 @@ package org.itsallcode.openfasttrace.api.importer;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.emptyIterableOf;
 
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertAll;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.*;
 import java.util.stream.Collectors;
 
 import org.itsallcode.openfasttrace.api.FilterSettings;
+import org.itsallcode.openfasttrace.api.core.ItemPayloadStore;
 import org.itsallcode.openfasttrace.api.core.ItemStatus;
 import org.itsallcode.openfasttrace.api.core.SpecificationItem;
 import org.itsallcode.openfasttrace.api.core.SpecificationItemId;
+import org.itsallcode.openfasttrace.api.core.SymbolTable;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 class TestSpecificationListBuilder
 {
@@ -208,4 +216,59 @@ class TestSpecificationListBuilder
         assertThat(items.stream().map(SpecificationItem::getName).collect(Collectors.toList()),
                 containsInAnyOrder("in-A", "in-B", "in-D"));
     }
+
+    @Test
+    void testFilteredItemsDoNotReachPayloadStore(@TempDir final Path tempDir) throws IOException
+    {
+        final FilterSettings filterSettings = new FilterSettings.Builder() //
+                .artifactTypes(new HashSet<>(Arrays.asList("impl"))) //
+                .tags(new HashSet<>(Arrays.asList("client"))) //
+                .withoutTags(false) //
+                .build();
+        try (final ItemPayloadStore store = ItemPayloadStore.create(tempDir))
+        {
+            final SpecificationListBuilder builder = SpecificationListBuilder
+                    .createWithFilter(filterSettings, new SymbolTable(), store);
+            addItemWithLocation(builder, "dsn~wrong-type~1", "src/A.java");
+            builder.beginSpecificationItem();
+            builder.setId(SpecificationItemId.parseId("impl~wrong-tag~1"));
+            builder.addTag("server");
+            builder.setTitle("Rejected title");
+            builder.setLocation("src/B.java", 1);
+            builder.endSpecificationItem();
+            assertAll(() -> assertThat(builder.build(), emptyIterableOf(SpecificationItem.class)),
+                    () -> assertThat(store.getSize(), equalTo(0L)));
+        }
+    }
+
+    @Test
+    void testBuildersOfImportRunShareSymbols()
+    {
+        final SymbolTable symbols = new SymbolTable();
+        final SpecificationListBuilder builderA = SpecificationListBuilder
+                .createWithFilter(FilterSettings.createAllowingEverything(), symbols);
+        final SpecificationListBuilder builderB = SpecificationListBuilder
+                .createWithFilter(FilterSettings.createAllowingEverything(), symbols);
+        addItemWithLocation(builderA, "impl~a~1", "src/A.java");
+        addItemWithLocation(builderB, "impl~b~1", "src/A.java");
+        final SpecificationItem itemA = builderA.build().get(0);
+        final SpecificationItem itemB = builderB.build().get(0);
+        assertAll(() -> assertThat(itemB.getArtifactType(), sameInstance(itemA.getArtifactType())),
+                () -> assertThat(itemB.getTags().get(0), sameInstance(itemA.getTags().get(0))),
+                () -> assertThat(itemB.getLocation().getPath(),
+                        sameInstance(itemA.getLocation().getPath())),
+                () -> assertThat(itemB.getCoveredIds().get(0),
+                        sameInstance(itemA.getCoveredIds().get(0))));
+    }
+
+    private void addItemWithLocation(final SpecificationListBuilder builder, final String id,
+            final String path)
+    {
+        builder.beginSpecificationItem();
+        builder.setId(SpecificationItemId.parseId(id));
+        builder.setLocation(new String(path), 1);
+        builder.addTag(new String("tag"));
+        builder.addCoveredId(SpecificationItemId.parseId("dsn~covered~1"));
+        builder.endSpecificationItem();
+    }
 }
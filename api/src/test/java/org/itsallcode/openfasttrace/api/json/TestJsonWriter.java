@@ -0,0 +1,80 @@
+package org.itsallcode.openfasttrace.api.json;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class TestJsonWriter
+{
+    private StringWriter output;
+    private JsonWriter json;
+
+    @BeforeEach
+    void prepareEachTest()
+    {
+        this.output = new StringWriter();
+        this.json = new JsonWriter(this.output);
+    }
+
+    @Test
+    void testEmptyObject() throws IOException
+    {
+        this.json.beginObject().endObject();
+        assertThat(this.output.toString(), equalTo("{}"));
+    }
+
+    @Test
+    void testObjectWithValues() throws IOException
+    {
+        this.json.beginObject() //
+                .name("string").value("text") //
+                .name("number").value(42) //
+                .name("flag").value(false) //
+                .name("nothing").value((String) null) //
+                .endObject();
+        assertThat(this.output.toString(),
+                equalTo("{\"string\":\"text\",\"number\":42,\"flag\":false,\"nothing\":null}"));
+    }
+
+    @Test
+    void testNestedContainers() throws IOException
+    {
+        this.json.beginObject() //
+                .name("empty").beginArray().endArray() //
+                .name("array").beginArray().value(1).beginObject().endObject().value(2).endArray() //
+                .name("object").beginObject().name("a").value(true).endObject() //
+                .endObject();
+        assertThat(this.output.toString(),
+                equalTo("{\"empty\":[],\"array\":[1,{},2],\"object\":{\"a\":true}}"));
+    }
+
+    @Test
+    void testEscapesStrings() throws IOException
+    {
+        this.json.value("quote\" backslash\\ newline\n tab\t control\u0001 umlautä");
+        assertThat(this.output.toString(), equalTo(
+                "\"quote\\\" backslash\\\\ newline\\n tab\\t control\\u0001 umlautä\""));
+    }
+
+    @Test
+    void testIdValue() throws IOException
+    {
+        this.json.beginArray().idValue("req", "na\"me", 3).endArray();
+        assertThat(this.output.toString(), equalTo("[\"req~na\\\"me~3\"]"));
+    }
+
+    @Test
+    void testTopLevelValuesOnSeparateLines() throws IOException
+    {
+        this.json.beginObject().endObject();
+        this.json.endLine();
+        this.json.beginObject().endObject();
+        this.json.endLine();
+        assertThat(this.output.toString(), equalTo("{}\n{}\n"));
+    }
+}
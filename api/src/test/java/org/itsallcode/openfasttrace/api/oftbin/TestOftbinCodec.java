@@ -0,0 +1,90 @@
+package org.itsallcode.openfasttrace.api.oftbin;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+
+import org.junit.jupiter.api.Test;
+
+class TestOftbinCodec
+{
+    @Test
+    void testVarintRoundTrip() throws IOException
+    {
+        final OftbinInput input = roundTrip(output -> {
+            output.writeVarint(0);
+            output.writeVarint(127);
+            output.writeVarint(128);
+            output.writeVarint(Integer.MAX_VALUE);
+        });
+        assertAll(() -> assertThat(input.readVarint(), equalTo(0)),
+                () -> assertThat(input.readVarint(), equalTo(127)),
+                () -> assertThat(input.readVarint(), equalTo(128)),
+                () -> assertThat(input.readVarint(), equalTo(Integer.MAX_VALUE)));
+    }
+
+    @Test
+    void testSignedVarintRoundTrip() throws IOException
+    {
+        final OftbinInput input = roundTrip(output -> {
+            output.writeSignedVarint(-1);
+            output.writeSignedVarint(Integer.MIN_VALUE);
+            output.writeSignedVarint(42);
+        });
+        assertAll(() -> assertThat(input.readSignedVarint(), equalTo(-1)),
+                () -> assertThat(input.readSignedVarint(), equalTo(Integer.MIN_VALUE)),
+                () -> assertThat(input.readSignedVarint(), equalTo(42)));
+    }
+
+    @Test
+    void testStringRoundTrip() throws IOException
+    {
+        final String longString = "x".repeat(1000);
+        final OftbinInput input = roundTrip(output -> {
+            output.writeString(null);
+            output.writeString("");
+            output.writeString("Grüße");
+            output.writeString(longString);
+        });
+        assertAll(() -> assertThat(input.readString(), nullValue()),
+                () -> assertThat(input.readString(), equalTo("")),
+                () -> assertThat(input.readString(), equalTo("Grüße")),
+                () -> assertThat(input.readString(), equalTo(longString)));
+    }
+
+    @Test
+    void testTooLongVarintIsRejected()
+    {
+        final OftbinInput input = new OftbinInput(ByteBuffer
+                .wrap(new byte[] { (byte) 0x80, (byte) 0x80, (byte) 0x80, (byte) 0x80,
+                        (byte) 0x80, 1 }));
+        assertThrows(IllegalArgumentException.class, input::readVarint);
+    }
+
+    @Test
+    void testReadingPastEndFails()
+    {
+        final OftbinInput input = new OftbinInput(ByteBuffer.wrap(new byte[] { (byte) 0x80 }));
+        assertThrows(BufferUnderflowException.class, input::readVarint);
+    }
+
+    private static OftbinInput roundTrip(final Writer writer) throws IOException
+    {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        writer.write(new OftbinOutput(bytes));
+        return new OftbinInput(ByteBuffer.wrap(bytes.toByteArray()));
+    }
+
+    @FunctionalInterface
+    private interface Writer
+    {
+        void write(OftbinOutput output) throws IOException;
+    }
+}
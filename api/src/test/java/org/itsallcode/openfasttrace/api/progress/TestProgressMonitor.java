@@ -0,0 +1,132 @@
+package org.itsallcode.openfasttrace.api.progress;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.itsallcode.openfasttrace.api.progress.ProgressListener.Counter;
+import org.itsallcode.openfasttrace.api.progress.ProgressListener.Phase;
+import org.junit.jupiter.api.Test;
+
+class TestProgressMonitor
+{
+    private final RecordingListener listener = new RecordingListener();
+
+    @Test
+    void testCreateWithoutListenerReturnsSharedMonitor()
+    {
+        assertThat(ProgressMonitor.create(ProgressListener.NONE),
+                sameInstance(ProgressMonitor.none()));
+    }
+
+    @Test
+    void testRunPhaseReportsStartAndFinish()
+    {
+        final String result = ProgressMonitor.create(this.listener).runPhase(Phase.LINK,
+                () -> {
+                    this.listener.events.add("running");
+                    return "result";
+                });
+        assertAll(() -> assertThat(result, equalTo("result")),
+                () -> assertThat(this.listener.events,
+                        contains("started LINK", "running", "finished LINK")));
+    }
+
+    @Test
+    void testRunPhaseDoesNotReportFinishOnFailure()
+    {
+        final ProgressMonitor monitor = ProgressMonitor.create(this.listener);
+        assertThrows(IllegalStateException.class, () -> monitor.runPhase(Phase.TRACE, () -> {
+            throw new IllegalStateException("expected");
+        }));
+        assertThat(this.listener.events, contains("started TRACE"));
+    }
+
+    @Test
+    void testRunPhaseThrowsWhenCancelled()
+    {
+        this.listener.cancelled = true;
+        final ProgressMonitor monitor = ProgressMonitor.create(this.listener);
+        assertThrows(OperationCancelledException.class,
+                () -> monitor.runPhase(Phase.IMPORT, () -> this.listener.events.add("running")));
+        assertThat(this.listener.events, empty());
+    }
+
+    @Test
+    void testCounterReportsFinalCount()
+    {
+        final ProgressCounter counter = ProgressMonitor.create(this.listener, Duration.ofHours(1))
+                .startCounter(Counter.ITEMS_LINKED, 3);
+        counter.increment();
+        counter.increment();
+        counter.increment();
+        counter.finish();
+        assertAll(() -> assertThat(counter.getCount(), equalTo(3L)),
+                () -> assertThat(this.listener.events, contains("ITEMS_LINKED 3/3")));
+    }
+
+    @Test
+    void testCounterThrottlesCallbacks()
+    {
+        final ProgressCounter counter = ProgressMonitor.create(this.listener, Duration.ZERO)
+                .startCounter(Counter.ITEMS_RENDERED, -1);
+        for (int i = 0; i < ProgressCounter.CHECK_INTERVAL * 2 + 1; ++i)
+        {
+            counter.increment();
+        }
+        assertThat(this.listener.events,
+                contains("ITEMS_RENDERED 256/-1", "ITEMS_RENDERED 512/-1"));
+    }
+
+    @Test
+    void testCounterThrowsWhenCancelled()
+    {
+        final ProgressCounter counter = ProgressMonitor.create(this.listener, Duration.ZERO)
+                .startCounter(Counter.FILES_IMPORTED, -1);
+        this.listener.cancelled = true;
+        assertThrows(OperationCancelledException.class, () -> {
+            for (int i = 0; i < ProgressCounter.CHECK_INTERVAL; ++i)
+            {
+                counter.increment();
+            }
+        });
+    }
+
+    private static class RecordingListener implements ProgressListener
+    {
+        private final List<String> events = new ArrayList<>();
+        private boolean cancelled = false;
+
+        @Override
+        public void phaseStarted(final Phase phase)
+        {
+            this.events.add("started " + phase);
+        }
+
+        @Override
+        public void phaseFinished(final Phase phase, final Duration duration)
+        {
+            this.events.add("finished " + phase);
+        }
+
+        @Override
+        public void progress(final Counter counter, final long count, final long total)
+        {
+            this.events.add(counter + " " + count + "/" + total);
+        }
+
+        @Override
+        public boolean isCancelled()
+        {
+            return this.cancelled;
+        }
+    }
+}
@@ -4,6 +4,7 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.sameInstance;
 
 import org.itsallcode.openfasttrace.api.ReportSettings;
+import org.itsallcode.openfasttrace.api.progress.ProgressMonitor;
 import org.junit.jupiter.api.Test;
 
 class TestReporterContext
@@ -14,4 +15,11 @@ class TestReporterContext
         final ReportSettings settings = ReportSettings.createDefault();
         assertThat(new ReporterContext(settings).getSettings(), sameInstance(settings));
     }
+
+    @Test
+    void testGetProgressMonitorWithoutListener()
+    {
+        assertThat(new ReporterContext(ReportSettings.createDefault()).getProgressMonitor(),
+                sameInstance(ProgressMonitor.none()));
+    }
 }
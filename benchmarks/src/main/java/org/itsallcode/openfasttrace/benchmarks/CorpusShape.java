@@ -0,0 +1,43 @@
+package org.itsallcode.openfasttrace.benchmarks;
+
+/**
+ * Shape of the coverage trees in a {@link SpecificationCorpus}.
+ */
+public enum CorpusShape
+{
+    /** Four artifact types, each item covered by exactly one item. */
+    CHAIN(4, 1),
+    /** Three artifact types, each item covered by eight items. */
+    FAN_OUT(3, 8),
+    /** Ten artifact types, each item covered by exactly one item. */
+    DEEP(10, 1);
+
+    private final int depth;
+    private final int fanOut;
+
+    CorpusShape(final int depth, final int fanOut)
+    {
+        this.depth = depth;
+        this.fanOut = fanOut;
+    }
+
+    /**
+     * Get the number of artifact types in a coverage tree.
+     *
+     * @return the depth of a tree
+     */
+    public int getDepth()
+    {
+        return this.depth;
+    }
+
+    /**
+     * Get the number of items that cover an item that is not a leaf.
+     *
+     * @return the number of covering items
+     */
+    public int getFanOut()
+    {
+        return this.fanOut;
+    }
+}
@@ -0,0 +1,111 @@
+package org.itsallcode.openfasttrace.benchmarks;
+
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.itsallcode.openfasttrace.api.core.SpecificationItem;
+import org.itsallcode.openfasttrace.api.importer.*;
+import org.itsallcode.openfasttrace.importer.markdown.MarkdownImporterFactory;
+import org.itsallcode.openfasttrace.importer.specobject.SpecobjectImporterFactory;
+import org.itsallcode.openfasttrace.importer.tag.TagImporterFactory;
+import org.itsallcode.openfasttrace.testutil.importer.input.StreamInput;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Benchmarks for the importers.
+ * <p>
+ * The tag importer measures the scanning of source lines for coverage tags,
+ * the Markdown importer the line stepping of the Markdown state machine and
+ * the specobject importer the XML parsing. Each benchmark imports the
+ * rendered corpus from memory, so that file system access is not measured.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ImporterBenchmark
+{
+    @Param({ "1000", "10000", "100000" })
+    public int itemCount;
+
+    @Param({ "CHAIN", "FAN_OUT", "DEEP" })
+    public CorpusShape shape;
+
+    private String taggedSource;
+    private String markdown;
+    private String specobjectXml;
+    private ImporterFactory tagImporterFactory;
+    private ImporterFactory markdownImporterFactory;
+    private ImporterFactory specobjectImporterFactory;
+
+    /**
+     * Render the corpus in all input formats and create the importer
+     * factories.
+     */
+    @Setup
+    public void setUp()
+    {
+        final SpecificationCorpus corpus = SpecificationCorpus.create(this.itemCount, this.shape);
+        this.taggedSource = corpus.toTaggedSource();
+        this.markdown = corpus.toMarkdown();
+        this.specobjectXml = corpus.toSpecobjectXml();
+        this.tagImporterFactory = initFactory(new TagImporterFactory());
+        this.markdownImporterFactory = initFactory(new MarkdownImporterFactory());
+        this.specobjectImporterFactory = initFactory(new SpecobjectImporterFactory());
+    }
+
+    private static ImporterFactory initFactory(final ImporterFactory factory)
+    {
+        factory.init(new ImporterContext(ImportSettings.createDefault()));
+        return factory;
+    }
+
+    /**
+     * Import coverage tags from source code.
+     *
+     * @return the imported items
+     */
+    @Benchmark
+    public List<SpecificationItem> importTags()
+    {
+        return runImport(this.tagImporterFactory, SpecificationCorpus.getSourcePath(),
+                this.taggedSource);
+    }
+
+    /**
+     * Import a Markdown specification.
+     *
+     * @return the imported items
+     */
+    @Benchmark
+    public List<SpecificationItem> importMarkdown()
+    {
+        return runImport(this.markdownImporterFactory, SpecificationCorpus.getMarkdownPath(),
+                this.markdown);
+    }
+
+    /**
+     * Import a specobject XML document.
+     *
+     * @return the imported items
+     */
+    @Benchmark
+    public List<SpecificationItem> importSpecobject()
+    {
+        return runImport(this.specobjectImporterFactory, SpecificationCorpus.getSpecobjectPath(),
+                this.specobjectXml);
+    }
+
+    private static List<SpecificationItem> runImport(final ImporterFactory factory,
+            final String path, final String content)
+    {
+        final SpecificationListBuilder builder = SpecificationListBuilder.create();
+        factory.createImporter(StreamInput.forContent(Paths.get(path), content), builder)
+                .runImport();
+        return builder.build();
+    }
+}
@@ -0,0 +1,86 @@
+package org.itsallcode.openfasttrace.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.itsallcode.openfasttrace.api.core.LinkedSpecificationItem;
+import org.itsallcode.openfasttrace.api.core.SpecificationItem;
+import org.itsallcode.openfasttrace.core.LinkedItemIndex;
+import org.itsallcode.openfasttrace.core.Linker;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks for building the item index, linking and the deep coverage
+ * check.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LinkingBenchmark
+{
+    @Param({ "1000", "10000", "100000" })
+    public int itemCount;
+
+    @Param({ "CHAIN", "FAN_OUT", "DEEP" })
+    public CorpusShape shape;
+
+    private List<SpecificationItem> items;
+    private List<LinkedSpecificationItem> linkedItems;
+
+    /**
+     * Create and link the items.
+     * <p>
+     * Linking adds the IDs of outdated and predated items to the covered IDs of
+     * the covering items. This happens only once, so the items can be linked
+     * again in every invocation.
+     * </p>
+     */
+    @Setup
+    public void setUp()
+    {
+        final SpecificationCorpus corpus = SpecificationCorpus.create(this.itemCount, this.shape);
+        this.items = corpus.createItems();
+        this.linkedItems = new Linker(corpus.createItems()).link();
+    }
+
+    /**
+     * Build the index of the items by ID.
+     *
+     * @return the index
+     */
+    @Benchmark
+    public LinkedItemIndex createIndex()
+    {
+        return LinkedItemIndex.create(this.items);
+    }
+
+    /**
+     * Link all items.
+     *
+     * @return the linked items
+     */
+    @Benchmark
+    public List<LinkedSpecificationItem> link()
+    {
+        return new Linker(this.items).link();
+    }
+
+    /**
+     * Get the deep coverage status of all linked items.
+     *
+     * @param blackhole
+     *            consumes the coverage status
+     */
+    @Benchmark
+    public void getDeepCoverageStatus(final Blackhole blackhole)
+    {
+        for (final LinkedSpecificationItem item : this.linkedItems)
+        {
+            blackhole.consume(item.getDeepCoverageStatus());
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package org.itsallcode.openfasttrace.benchmarks;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.itsallcode.openfasttrace.api.ReportSettings;
+import org.itsallcode.openfasttrace.api.core.Trace;
+import org.itsallcode.openfasttrace.api.report.MultiFileReportable;
+import org.itsallcode.openfasttrace.api.report.ReportVerbosity;
+import org.itsallcode.openfasttrace.api.report.Reportable;
+import org.itsallcode.openfasttrace.api.report.ReporterContext;
+import org.itsallcode.openfasttrace.core.Linker;
+import org.itsallcode.openfasttrace.core.Tracer;
+import org.itsallcode.openfasttrace.core.report.ReporterFactoryLoader;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Benchmark for rendering the trace with each report format.
+ * <p>
+ * The reports are written to a stream that discards the output, so that only
+ * the rendering is measured. Multi-file reports like {@code htmldir} can not
+ * be written to a stream and are written to a temporary directory instead.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReporterBenchmark
+{
+    @Param({ "plain", "html", "htmldir", "aspec", "aspec-compact", "aspec-gz", "jsonl" })
+    public String outputFormat;
+
+    @Param({ "FAILURE_DETAILS", "ALL" })
+    public ReportVerbosity verbosity;
+
+    @Param({ "1000", "10000" })
+    public int itemCount;
+
+    @Param({ "CHAIN", "FAN_OUT", "DEEP" })
+    public CorpusShape shape;
+
+    private Reportable report;
+    private Path outputDirectory;
+
+    /**
+     * Link and trace the items and create the report.
+     *
+     * @throws IOException
+     *             if creating the output directory fails
+     */
+    @Setup
+    public void setUp() throws IOException
+    {
+        final SpecificationCorpus corpus = SpecificationCorpus.create(this.itemCount, this.shape);
+        final Trace trace = new Tracer().trace(new Linker(corpus.createItems()).link());
+        final ReportSettings settings = ReportSettings.builder() //
+                .outputFormat(this.outputFormat) //
+                .verbosity(this.verbosity) //
+                .build();
+        this.report = new ReporterFactoryLoader(new ReporterContext(settings))
+                .getReporterFactory(this.outputFormat) //
+                .createImporter(trace);
+        if (this.report instanceof MultiFileReportable)
+        {
+            this.outputDirectory = Files.createTempDirectory("oft-report-benchmark");
+        }
+    }
+
+    /**
+     * Delete the output directory of multi-file reports.
+     *
+     * @throws IOException
+     *             if deleting fails
+     */
+    @TearDown
+    public void tearDown() throws IOException
+    {
+        if (this.outputDirectory != null)
+        {
+            try (Stream<Path> paths = Files.walk(this.outputDirectory))
+            {
+                paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+            }
+        }
+    }
+
+    /**
+     * Render the report.
+     */
+    @Benchmark
+    public void renderReport()
+    {
+        if (this.outputDirectory != null)
+        {
+            ((MultiFileReportable) this.report).renderToDirectory(this.outputDirectory);
+        }
+        else
+        {
+            this.report.renderToStream(OutputStream.nullOutputStream());
+        }
+    }
+}
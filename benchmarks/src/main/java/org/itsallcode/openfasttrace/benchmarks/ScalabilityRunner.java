@@ -0,0 +1,382 @@
+package org.itsallcode.openfasttrace.benchmarks;
+
+import java.io.*;
+import java.lang.management.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.time.Instant;
+import java.util.*;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.management.*;
+import javax.management.openmbean.CompositeData;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+import com.sun.management.GcInfo;
+
+import org.itsallcode.openfasttrace.api.ReportSettings;
+import org.itsallcode.openfasttrace.api.core.*;
+import org.itsallcode.openfasttrace.api.importer.ImportSettings;
+import org.itsallcode.openfasttrace.core.Oft;
+import org.itsallcode.openfasttrace.testutil.corpus.CorpusGenerator;
+import org.itsallcode.openfasttrace.testutil.corpus.CorpusSettings;
+
+/**
+ * Runs the complete OFT pipeline on generated corpora of increasing size and
+ * records the resources used by each stage.
+ * <p>
+ * For each item count the runner writes a corpus with the
+ * {@link CorpusGenerator}, then imports, links, traces and reports it with
+ * {@link Oft}. Each stage produces one line of JSON with the wall time, the
+ * bytes allocated by all threads and the peak heap usage. Both memory values
+ * are derived from the garbage collection notifications, so they include
+ * worker threads such as concurrent report rendering. Before each stage the
+ * runner requests a garbage collection. The results are appended to the
+ * output file, so that the file collects the results of several runs for
+ * trend tracking.
+ * </p>
+ * <p>
+ * Usage:
+ * <code>ScalabilityRunner [--items 10000,100000] [--depth 4] [--fan-out 2]
+ * [--cycle-rate 0] [--duplicate-rate 0] [--orphan-rate 0] [--seed 1]
+ * [--format plain] [--work-dir DIR] [--output FILE]</code>
+ * </p>
+ */
+public final class ScalabilityRunner
+{
+    private static final Logger LOG = Logger.getLogger(ScalabilityRunner.class.getName());
+
+    private final List<Integer> itemCounts = new ArrayList<>(List.of(10_000, 100_000));
+    private final CorpusSettings.Builder corpusSettings = CorpusSettings.builder();
+    private final Map<String, String> corpusParameters = new LinkedHashMap<>();
+    private final Instant startTime = Instant.now();
+    private String outputFormat = "plain";
+    private Path workDirectory = null;
+    private Path outputFile = null;
+
+    private ScalabilityRunner()
+    {
+    }
+
+    /**
+     * Run the pipeline with the given options.
+     *
+     * @param args
+     *            command line options
+     * @throws IOException
+     *             if writing the corpus or the results fails
+     */
+    public static void main(final String[] args) throws IOException
+    {
+        final ScalabilityRunner runner = new ScalabilityRunner();
+        runner.parseArguments(args);
+        runner.run();
+    }
+
+    private void parseArguments(final String[] args)
+    {
+        this.corpusParameters.put("chainDepth", "4");
+        this.corpusParameters.put("fanOut", "2");
+        this.corpusParameters.put("cycleRate", "0.0");
+        this.corpusParameters.put("duplicateRate", "0.0");
+        this.corpusParameters.put("orphanRate", "0.0");
+        this.corpusParameters.put("seed", "1");
+        for (int i = 0; i < args.length; i += 2)
+        {
+            if (i + 1 >= args.length)
+            {
+                throw new IllegalArgumentException("Missing value for option '" + args[i] + "'");
+            }
+            parseOption(args[i], args[i + 1]);
+        }
+    }
+
+    private void parseOption(final String option, final String value)
+    {
+        switch (option)
+        {
+        case "--items":
+            this.itemCounts.clear();
+            for (final String itemCount : value.split(","))
+            {
+                this.itemCounts.add(Integer.parseInt(itemCount.trim()));
+            }
+            break;
+        case "--depth":
+            this.corpusSettings.chainDepth(Integer.parseInt(value));
+            this.corpusParameters.put("chainDepth", value);
+            break;
+        case "--fan-out":
+            this.corpusSettings.fanOut(Integer.parseInt(value));
+            this.corpusParameters.put("fanOut", value);
+            break;
+        case "--cycle-rate":
+            this.corpusSettings.cycleRate(Double.parseDouble(value));
+            this.corpusParameters.put("cycleRate", value);
+            break;
+        case "--duplicate-rate":
+            this.corpusSettings.duplicateRate(Double.parseDouble(value));
+            this.corpusParameters.put("duplicateRate", value);
+            break;
+        case "--orphan-rate":
+            this.corpusSettings.orphanRate(Double.parseDouble(value));
+            this.corpusParameters.put("orphanRate", value);
+            break;
+        case "--seed":
+            this.corpusSettings.seed(Long.parseLong(value));
+            this.corpusParameters.put("seed", value);
+            break;
+        case "--format":
+            this.outputFormat = value;
+            break;
+        case "--work-dir":
+            this.workDirectory = Paths.get(value);
+            break;
+        case "--output":
+            this.outputFile = Paths.get(value);
+            break;
+        default:
+            throw new IllegalArgumentException("Unknown option '" + option + "'");
+        }
+    }
+
+    private void run() throws IOException
+    {
+        final Path workDirectory = this.workDirectory == null
+                ? Files.createTempDirectory("oft-scalability")
+                : Files.createDirectories(this.workDirectory);
+        try (final PrintStream output = createOutput())
+        {
+            for (final int itemCount : this.itemCounts)
+            {
+                runPipeline(workDirectory, itemCount, output);
+            }
+        }
+    }
+
+    private PrintStream createOutput() throws IOException
+    {
+        if (this.outputFile == null)
+        {
+            return new PrintStream(new FileOutputStream(FileDescriptor.out), true,
+                    StandardCharsets.UTF_8);
+        }
+        return new PrintStream(Files.newOutputStream(this.outputFile, StandardOpenOption.CREATE,
+                StandardOpenOption.APPEND), true, StandardCharsets.UTF_8);
+    }
+
+    private void runPipeline(final Path workDirectory, final int itemCount,
+            final PrintStream output) throws IOException
+    {
+        final Path corpusDirectory = workDirectory.resolve("corpus-" + itemCount);
+        deleteRecursively(corpusDirectory);
+        final CorpusGenerator generator = new CorpusGenerator(
+                this.corpusSettings.itemCount(itemCount).build());
+        LOG.info(() -> "Writing corpus with " + itemCount + " items to " + corpusDirectory);
+        generator.writeFiles(corpusDirectory);
+        final Oft oft = Oft.create();
+        final ImportSettings importSettings = ImportSettings.builder()
+                .addInputs(corpusDirectory).build();
+        final List<SpecificationItem> items = measure("import", itemCount, output,
+                () -> oft.importItems(importSettings), List::size);
+        final List<LinkedSpecificationItem> linkedItems = measure("link", itemCount, output,
+                () -> oft.link(items), List::size);
+        final Trace trace = measure("trace", itemCount, output, () -> oft.trace(linkedItems),
+                Trace::count);
+        final Path reportPath = workDirectory.resolve("report-" + itemCount + "."
+                + this.outputFormat);
+        final ReportSettings reportSettings = ReportSettings.builder()
+                .outputFormat(this.outputFormat).build();
+        measure("report", itemCount, output, () -> {
+            oft.reportToPath(trace, reportPath, reportSettings);
+            return trace;
+        }, Trace::count);
+    }
+
+    private <T> T measure(final String stage, final int itemCount, final PrintStream output,
+            final Supplier<T> action, final ToIntFunction<T> resultSize)
+    {
+        final StageMeasurement measurement = StageMeasurement.start();
+        final T result = action.get();
+        measurement.stop();
+        final Map<String, String> values = new LinkedHashMap<>();
+        values.put("timestamp", quote(this.startTime.toString()));
+        values.put("itemCount", Integer.toString(itemCount));
+        values.putAll(this.corpusParameters);
+        values.put("format", quote(this.outputFormat));
+        values.put("stage", quote(stage));
+        values.put("resultSize", Integer.toString(resultSize.applyAsInt(result)));
+        values.put("wallTimeMillis", Long.toString(measurement.getWallTimeMillis()));
+        values.put("allocatedBytes", Long.toString(measurement.getAllocatedBytes()));
+        values.put("peakHeapBytes", Long.toString(measurement.getPeakHeapBytes()));
+        output.println(values.entrySet().stream() //
+                .map(entry -> quote(entry.getKey()) + ":" + entry.getValue()) //
+                .collect(Collectors.joining(",", "{", "}")));
+        return result;
+    }
+
+    private static String quote(final String value)
+    {
+        return "\"" + value.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+    }
+
+    private static void deleteRecursively(final Path directory) throws IOException
+    {
+        if (!Files.exists(directory))
+        {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(directory))
+        {
+            for (final Path path : paths.sorted(Comparator.reverseOrder())
+                    .collect(Collectors.toList()))
+            {
+                Files.delete(path);
+            }
+        }
+    }
+
+    /**
+     * Measures a stage across all threads with the notifications sent after
+     * each garbage collection.
+     * <p>
+     * Between two collections the heap only grows by the allocations of all
+     * threads. So the allocated bytes are the growth of the heap during the
+     * stage plus the bytes freed by each collection, and the peak heap usage is
+     * reached either right before a collection or at the end of the stage. The
+     * usage before a collection is a snapshot of all heap pools at the same
+     * moment, so the peak is not overstated by pools peaking at different
+     * times.
+     * </p>
+     */
+    private static final class StageMeasurement implements NotificationListener
+    {
+        private final Set<String> heapPoolNames = getHeapPoolNames();
+        private final long startUptimeMillis;
+        private final long startHeapBytes;
+        private final long startNanos;
+        private long freedBytes = 0;
+        private long peakHeapBytes;
+        private long wallTimeMillis;
+        private long allocatedBytes;
+
+        private StageMeasurement()
+        {
+            this.startUptimeMillis = ManagementFactory.getRuntimeMXBean().getUptime();
+            this.startHeapBytes = readHeapBytes();
+            this.peakHeapBytes = this.startHeapBytes;
+            this.startNanos = System.nanoTime();
+        }
+
+        private static StageMeasurement start()
+        {
+            System.gc();
+            final StageMeasurement measurement = new StageMeasurement();
+            for (final GarbageCollectorMXBean collector : ManagementFactory
+                    .getGarbageCollectorMXBeans())
+            {
+                if (collector instanceof NotificationEmitter)
+                {
+                    ((NotificationEmitter) collector).addNotificationListener(measurement, null,
+                            null);
+                }
+            }
+            return measurement;
+        }
+
+        private void stop()
+        {
+            this.wallTimeMillis = (System.nanoTime() - this.startNanos) / 1_000_000;
+            final long endHeapBytes = readHeapBytes();
+            for (final GarbageCollectorMXBean collector : ManagementFactory
+                    .getGarbageCollectorMXBeans())
+            {
+                if (collector instanceof NotificationEmitter)
+                {
+                    removeListener((NotificationEmitter) collector);
+                }
+            }
+            synchronized (this)
+            {
+                this.allocatedBytes = endHeapBytes - this.startHeapBytes + this.freedBytes;
+                this.peakHeapBytes = Math.max(this.peakHeapBytes, endHeapBytes);
+            }
+        }
+
+        private void removeListener(final NotificationEmitter emitter)
+        {
+            try
+            {
+                emitter.removeNotificationListener(this);
+            }
+            catch (final ListenerNotFoundException exception)
+            {
+                // the collector did not accept the listener in the first place
+            }
+        }
+
+        @Override
+        public void handleNotification(final Notification notification, final Object handback)
+        {
+            if (!GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION
+                    .equals(notification.getType()))
+            {
+                return;
+            }
+            final GcInfo gcInfo = GarbageCollectionNotificationInfo
+                    .from((CompositeData) notification.getUserData()).getGcInfo();
+            // Notifications arrive asynchronously, skip the collection requested before the stage
+            if (gcInfo.getStartTime() < this.startUptimeMillis)
+            {
+                return;
+            }
+            final long beforeBytes = sumHeapUsage(gcInfo.getMemoryUsageBeforeGc());
+            final long afterBytes = sumHeapUsage(gcInfo.getMemoryUsageAfterGc());
+            synchronized (this)
+            {
+                this.freedBytes += beforeBytes - afterBytes;
+                this.peakHeapBytes = Math.max(this.peakHeapBytes, beforeBytes);
+            }
+        }
+
+        private long sumHeapUsage(final Map<String, MemoryUsage> usageByPool)
+        {
+            return usageByPool.entrySet().stream() //
+                    .filter(entry -> this.heapPoolNames.contains(entry.getKey())) //
+                    .mapToLong(entry -> entry.getValue().getUsed()) //
+                    .sum();
+        }
+
+        private static Set<String> getHeapPoolNames()
+        {
+            return ManagementFactory.getMemoryPoolMXBeans().stream() //
+                    .filter(pool -> pool.getType() == MemoryType.HEAP) //
+                    .map(MemoryPoolMXBean::getName) //
+                    .collect(Collectors.toSet());
+        }
+
+        private static long readHeapBytes()
+        {
+            return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+        }
+
+        private long getWallTimeMillis()
+        {
+            return this.wallTimeMillis;
+        }
+
+        private synchronized long getAllocatedBytes()
+        {
+            return this.allocatedBytes;
+        }
+
+        private synchronized long getPeakHeapBytes()
+        {
+            return this.peakHeapBytes;
+        }
+    }
+}
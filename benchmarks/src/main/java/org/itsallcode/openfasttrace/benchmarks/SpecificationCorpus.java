@@ -0,0 +1,179 @@
+package org.itsallcode.openfasttrace.benchmarks;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+import org.itsallcode.openfasttrace.api.core.SpecificationItem;
+import org.itsallcode.openfasttrace.testutil.corpus.*;
+
+/**
+ * Generated specification items used as input for the benchmarks.
+ * <p>
+ * The corpus consists of coverage trees of the given {@link CorpusShape}.
+ * Five percent of the items cover a non-existing item instead of their
+ * parent, so that the corpus also contains defect items.
+ * </p>
+ * <p>
+ * The corpus can be rendered as Markdown, specobject XML and source code with
+ * coverage tags, so that the importers read the same items that the linker
+ * and the reporters work on.
+ * </p>
+ */
+public final class SpecificationCorpus
+{
+    private static final double ORPHAN_RATE = 0.05;
+    private static final String SOURCE_PATH = "src/Sample.java";
+    private static final String MARKDOWN_PATH = "doc/spec.md";
+    private static final String SPECOBJECT_PATH = "doc/spec.xml";
+
+    private final CorpusShape shape;
+    private final CorpusGenerator generator;
+
+    private SpecificationCorpus(final CorpusShape shape, final CorpusGenerator generator)
+    {
+        this.shape = shape;
+        this.generator = generator;
+    }
+
+    /**
+     * Create a corpus.
+     *
+     * @param itemCount
+     *            the number of items
+     * @param shape
+     *            the shape of the coverage trees
+     * @return the new corpus
+     */
+    public static SpecificationCorpus create(final int itemCount, final CorpusShape shape)
+    {
+        final CorpusSettings settings = CorpusSettings.builder() //
+                .itemCount(itemCount) //
+                .chainDepth(shape.getDepth()) //
+                .fanOut(shape.getFanOut()) //
+                .orphanRate(ORPHAN_RATE) //
+                .build();
+        return new SpecificationCorpus(shape, new CorpusGenerator(settings));
+    }
+
+    /**
+     * Create the items of the corpus.
+     * <p>
+     * Each call creates new instances, because linking modifies the items.
+     * </p>
+     *
+     * @return the items in depth-first order of the coverage trees
+     */
+    public List<SpecificationItem> createItems()
+    {
+        return this.generator.generateItems();
+    }
+
+    /**
+     * Get the path used for the Markdown rendering.
+     *
+     * @return the path of the Markdown document
+     */
+    public static String getMarkdownPath()
+    {
+        return MARKDOWN_PATH;
+    }
+
+    /**
+     * Get the path used for the specobject rendering.
+     *
+     * @return the path of the XML document
+     */
+    public static String getSpecobjectPath()
+    {
+        return SPECOBJECT_PATH;
+    }
+
+    /**
+     * Get the path used for the rendering as source code.
+     *
+     * @return the path of the source file
+     */
+    public static String getSourcePath()
+    {
+        return SOURCE_PATH;
+    }
+
+    /**
+     * Render all items as a Markdown specification.
+     *
+     * @return the Markdown document
+     */
+    public String toMarkdown()
+    {
+        final StringWriter writer = new StringWriter();
+        try (final CorpusFileWriter markdownWriter = CorpusFileWriter.createMarkdownWriter(writer))
+        {
+            this.generator.generate(item -> write(markdownWriter, item));
+        }
+        catch (final IOException exception)
+        {
+            throw new UncheckedIOException(exception);
+        }
+        return writer.toString();
+    }
+
+    /**
+     * Render all items as a specobject XML document.
+     *
+     * @return the XML document
+     */
+    public String toSpecobjectXml()
+    {
+        final StringWriter writer = new StringWriter();
+        try (final CorpusFileWriter specobjectWriter = CorpusFileWriter
+                .createSpecobjectWriter(writer))
+        {
+            this.generator.generate(item -> write(specobjectWriter, item));
+        }
+        catch (final IOException exception)
+        {
+            throw new UncheckedIOException(exception);
+        }
+        return writer.toString();
+    }
+
+    /**
+     * Render the leaves of the coverage trees as coverage tags in Java source
+     * code.
+     *
+     * @return the source code
+     */
+    public String toTaggedSource()
+    {
+        final String leafType = CorpusGenerator.getArtifactType(this.shape.getDepth() - 1);
+        final StringWriter writer = new StringWriter();
+        try (final CorpusFileWriter tagWriter = CorpusFileWriter.createTagWriter(writer))
+        {
+            this.generator.generate(item -> {
+                if (item.getArtifactType().equals(leafType))
+                {
+                    write(tagWriter, item);
+                }
+            });
+        }
+        catch (final IOException exception)
+        {
+            throw new UncheckedIOException(exception);
+        }
+        return writer.toString();
+    }
+
+    private static void write(final CorpusFileWriter writer, final SpecificationItem item)
+    {
+        try
+        {
+            writer.write(item);
+        }
+        catch (final IOException exception)
+        {
+            throw new UncheckedIOException(exception);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package org.itsallcode.openfasttrace.benchmarks;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+import org.itsallcode.openfasttrace.api.core.SpecificationItemId;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks for parsing and hashing specification item IDs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SpecificationItemIdBenchmark
+{
+    @Param({ "1000", "100000" })
+    public int idCount;
+
+    @Param({ "8", "64" })
+    public int nameLength;
+
+    private List<String> idTexts;
+    private List<SpecificationItemId> ids;
+
+    /**
+     * Create the ID texts and the parsed IDs.
+     * <p>
+     * The names consist of dot-separated segments, like the names in a typical
+     * specification.
+     * </p>
+     */
+    @Setup
+    public void setUp()
+    {
+        this.idTexts = new ArrayList<>(this.idCount);
+        this.ids = new ArrayList<>(this.idCount);
+        for (int i = 0; i < this.idCount; ++i)
+        {
+            final String idText = "req~" + createName(i) + "~" + (i % 3 + 1);
+            this.idTexts.add(idText);
+            this.ids.add(SpecificationItemId.parseId(idText));
+        }
+    }
+
+    private String createName(final int number)
+    {
+        final StringBuilder name = new StringBuilder("item-").append(number);
+        int segment = 0;
+        while (name.length() < this.nameLength)
+        {
+            name.append(".segment").append(segment++);
+        }
+        return name.toString();
+    }
+
+    /**
+     * Parse IDs from text.
+     *
+     * @param blackhole
+     *            consumes the parsed IDs
+     */
+    @Benchmark
+    public void parseIds(final Blackhole blackhole)
+    {
+        for (final String idText : this.idTexts)
+        {
+            blackhole.consume(SpecificationItemId.parseId(idText));
+        }
+    }
+
+    /**
+     * Put IDs into a hash set, which is what the index does.
+     *
+     * @return the set of IDs
+     */
+    @Benchmark
+    public Set<SpecificationItemId> hashIds()
+    {
+        return new HashSet<>(this.ids);
+    }
+}
@@ -16,6 +16,8 @@ module org.itsallcode.openfasttrace.core
     exports org.itsallcode.openfasttrace.core.serviceloader;
 
     requires java.logging;
+    requires jdk.httpserver;
+    requires jdk.jfr;
     requires transitive org.itsallcode.openfasttrace.api;
 
     uses org.itsallcode.openfasttrace.api.exporter.ExporterFactory;
@@ -0,0 +1,97 @@
+package org.itsallcode.openfasttrace.core;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.itsallcode.openfasttrace.api.FilterSettings;
+import org.itsallcode.openfasttrace.api.core.SpecificationItem;
+import org.itsallcode.openfasttrace.api.core.SpecificationItemId;
+
+/**
+ * Applies {@link FilterSettings} to items that were imported without a filter.
+ * <p>
+ * The result is the same as if the filter was used during the import: items
+ * with an unwanted artifact type or without a wanted tag are dropped, and
+ * covered IDs, dependencies and needed artifact types of unwanted artifact
+ * types are removed from the remaining items.
+ * </p>
+ * <p>
+ * The filter always returns copies of the accepted items. Linking adds the IDs
+ * of outdated and predated covered items to the covering item, so the items of
+ * a filter result must not be shared between traces. The copies still share
+ * IDs, texts and locations with the original items, also if the texts are kept
+ * in an {@link org.itsallcode.openfasttrace.api.core.ItemPayloadStore}.
+ * </p>
+ */
+public class ItemFilter
+{
+    private final FilterSettings settings;
+
+    /**
+     * Create a new {@link ItemFilter}.
+     *
+     * @param settings
+     *            the filter settings
+     */
+    public ItemFilter(final FilterSettings settings)
+    {
+        this.settings = settings;
+    }
+
+    /**
+     * Filter the given items.
+     *
+     * @param items
+     *            the items to filter. They are not modified.
+     * @return copies of the accepted items in their original order
+     */
+    // [impl->dsn~filtering-by-artifact-types-during-import~1]
+    public List<SpecificationItem> filter(final List<SpecificationItem> items)
+    {
+        final List<SpecificationItem> filteredItems = new ArrayList<>();
+        for (final SpecificationItem item : items)
+        {
+            if (this.settings.matchesArtifactType(item.getArtifactType())
+                    && this.settings.matchesTags(item.getTags()))
+            {
+                filteredItems.add(copy(item));
+            }
+        }
+        return filteredItems;
+    }
+
+    private SpecificationItem copy(final SpecificationItem item)
+    {
+        final SpecificationItem.Builder builder = SpecificationItem.builder() //
+                .id(item.getId()) //
+                .payloadFrom(item) //
+                .status(item.getStatus()) //
+                .forwards(item.isForwarding());
+        for (final SpecificationItemId coveredId : item.getCoveredIds())
+        {
+            if (this.settings.matchesArtifactType(coveredId.getArtifactType()))
+            {
+                builder.addCoveredId(coveredId);
+            }
+        }
+        for (final SpecificationItemId dependOnId : item.getDependOnIds())
+        {
+            if (this.settings.matchesArtifactType(dependOnId.getArtifactType()))
+            {
+                builder.addDependOnId(dependOnId);
+            }
+        }
+        for (final String neededArtifactType : item.getNeedsArtifactTypes())
+        {
+            if (this.settings.matchesArtifactType(neededArtifactType))
+            {
+                builder.addNeedsArtifactType(neededArtifactType);
+            }
+        }
+        for (final String tag : item.getTags())
+        {
+            builder.addTag(tag);
+        }
+        return builder.build();
+    }
+}
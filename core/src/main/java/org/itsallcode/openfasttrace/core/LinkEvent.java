@@ -0,0 +1,38 @@
+package org.itsallcode.openfasttrace.core;
+
+import java.util.List;
+
+import org.itsallcode.openfasttrace.api.core.LinkedSpecificationItem;
+
+import jdk.jfr.*;
+
+/**
+ * Flight recorder event for linking all specification items.
+ */
+@Name("org.itsallcode.openfasttrace.Link")
+@Label("Link")
+@Category({ "OpenFastTrace", "Link" })
+@Description("Linking of all specification items")
+@StackTrace(false)
+class LinkEvent extends Event
+{
+    @Label("Items")
+    int items;
+
+    @Label("Links")
+    @Description("Number of links between the items in both directions")
+    int links;
+
+    static int countLinks(final List<LinkedSpecificationItem> linkedItems)
+    {
+        int count = 0;
+        for (final LinkedSpecificationItem item : linkedItems)
+        {
+            for (final List<LinkedSpecificationItem> linksWithStatus : item.getLinks().values())
+            {
+                count += linksWithStatus.size();
+            }
+        }
+        return count;
+    }
+}
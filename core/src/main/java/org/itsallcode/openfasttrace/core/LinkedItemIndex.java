@@ -1,5 +1,6 @@
 package org.itsallcode.openfasttrace.core;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -80,6 +81,63 @@ public class LinkedItemIndex
         return item1;
     }
 
+    /**
+     * Add an item to the index.
+     * <p>
+     * If the index already contains an item with the same ID, both items are
+     * linked as duplicates.
+     * </p>
+     *
+     * @param item
+     *            the item to add
+     */
+    void add(final LinkedSpecificationItem item)
+    {
+        this.idIndexIgnoringVersion //
+                .computeIfAbsent(new SpecificationItemIdWithoutVersion(item),
+                        key -> new ArrayList<>()) //
+                .add(item);
+        this.idIndex.merge(item.getId(), item, LinkedItemIndex::handleDuplicates);
+    }
+
+    /**
+     * Remove an item from the index.
+     * <p>
+     * The caller must remove the links to the item before. If the item was the
+     * first of several items with the same ID, the next one takes its place
+     * and is linked as duplicate to the remaining items.
+     * </p>
+     *
+     * @param item
+     *            the item to remove
+     */
+    void remove(final LinkedSpecificationItem item)
+    {
+        final SpecificationItemIdWithoutVersion key = new SpecificationItemIdWithoutVersion(item);
+        final List<LinkedSpecificationItem> itemsIgnoringVersion = this.idIndexIgnoringVersion
+                .get(key);
+        if (itemsIgnoringVersion == null || !itemsIgnoringVersion.remove(item))
+        {
+            return;
+        }
+        if (itemsIgnoringVersion.isEmpty())
+        {
+            this.idIndexIgnoringVersion.remove(key);
+        }
+        if (this.idIndex.get(item.getId()) == item)
+        {
+            this.idIndex.remove(item.getId());
+            for (final LinkedSpecificationItem otherItem : itemsIgnoringVersion)
+            {
+                if (otherItem.getId().equals(item.getId()))
+                {
+                    this.idIndex.merge(otherItem.getId(), otherItem,
+                            LinkedItemIndex::handleDuplicates);
+                }
+            }
+        }
+    }
+
     /**
      * @return the total number of items in this index.
      */
@@ -1,22 +1,36 @@
 package org.itsallcode.openfasttrace.core;
 
-import java.util.HashMap;
-
-import java.util.List;
-import java.util.Map;
+import java.util.*;
 import java.util.stream.Collectors;
 
 import org.itsallcode.openfasttrace.api.core.*;
+import org.itsallcode.openfasttrace.api.progress.ProgressCounter;
+import org.itsallcode.openfasttrace.api.progress.ProgressListener.Counter;
+import org.itsallcode.openfasttrace.api.progress.ProgressMonitor;
+import org.itsallcode.openfasttrace.core.LinkedItemIndex.SpecificationItemIdWithoutVersion;
+import org.itsallcode.openfasttrace.core.jfr.FlightRecording;
 
 /**
  * Links a given list of {@link SpecificationItem}s and returns
  * {@link LinkedSpecificationItem}s.
+ * <p>
+ * After linking, {@link #update(Collection, Collection)} updates the links
+ * when items are removed, added or changed, without linking all items again.
+ * </p>
  */
 public class Linker
 {
+    private final ArtifactTypeRegistry artifactTypes = new ArtifactTypeRegistry();
     private final List<LinkedSpecificationItem> linkedItems;
     private final LinkedItemIndex index;
     private final Map<SpecificationItemId, LinkedSpecificationItem> staleIndex;
+    // Linking appends the IDs of outdated and predated items to the covered IDs
+    // of the covering item. The number of IDs the item had originally allows
+    // restoring them before linking the item again.
+    private final Map<LinkedSpecificationItem, Integer> declaredCoveredIdCounts;
+    private Map<SpecificationItem, LinkedSpecificationItem> wrappersByItem;
+    private Map<SpecificationItemIdWithoutVersion, Set<LinkedSpecificationItem>> coveringItemsByCoveredId;
+    private boolean linked = false;
 
     /**
      * Create a {@link Linker} for specification items.
@@ -29,13 +43,20 @@ public class Linker
         this.linkedItems = wrapItems(items);
         this.index = LinkedItemIndex.createFromWrappedItems(this.linkedItems);
         this.staleIndex = new HashMap<>();
+        this.declaredCoveredIdCounts = new IdentityHashMap<>(this.linkedItems.size() * 2);
+        this.linkedItems.forEach(this::rememberDeclaredCoveredIds);
     }
 
-    private List<LinkedSpecificationItem> wrapItems(final List<SpecificationItem> items)
+    private List<LinkedSpecificationItem> wrapItems(final Collection<SpecificationItem> items)
     {
         return items.stream() //
-                .map(LinkedSpecificationItem::new) //
-                .collect(Collectors.toList());
+                .map(item -> new LinkedSpecificationItem(item, this.artifactTypes)) //
+                .collect(Collectors.toCollection(ArrayList::new));
+    }
+
+    private void rememberDeclaredCoveredIds(final LinkedSpecificationItem item)
+    {
+        this.declaredCoveredIdCounts.put(item, item.getItem().getCoveredIds().size());
     }
 
     /**
@@ -43,17 +64,286 @@ public class Linker
      *
      * @return a list of {@link LinkedSpecificationItem}s.
      */
-    // [impl->dsn~tracing.needed-coverage-status~1]
     public List<LinkedSpecificationItem> link()
     {
+        return link(ProgressMonitor.none());
+    }
 
+    /**
+     * Turn the items into linked items and report the number of linked items.
+     *
+     * @param progressMonitor
+     *            monitor that receives the number of linked items
+     * @return a list of {@link LinkedSpecificationItem}s.
+     * @throws org.itsallcode.openfasttrace.api.progress.OperationCancelledException
+     *             if the progress listener cancelled linking
+     */
+    // [impl->dsn~tracing.needed-coverage-status~1]
+    public List<LinkedSpecificationItem> link(final ProgressMonitor progressMonitor)
+    {
+        if (!this.linked)
+        {
+            if (FlightRecording.isActive())
+            {
+                linkAllRecorded(progressMonitor);
+            }
+            else
+            {
+                linkAll(progressMonitor);
+            }
+        }
+        return this.linkedItems;
+    }
+
+    private void linkAllRecorded(final ProgressMonitor progressMonitor)
+    {
+        final LinkEvent event = new LinkEvent();
+        event.begin();
+        linkAll(progressMonitor);
+        event.end();
+        if (event.shouldCommit())
+        {
+            event.items = this.linkedItems.size();
+            event.links = LinkEvent.countLinks(this.linkedItems);
+            event.commit();
+        }
+    }
+
+    private void linkAll(final ProgressMonitor progressMonitor)
+    {
+        final ProgressCounter linkedItemCount = progressMonitor
+                .startCounter(Counter.ITEMS_LINKED, this.linkedItems.size());
         for (final LinkedSpecificationItem linkedItem : this.linkedItems)
+        {
+            linkItem(linkedItem);
+            linkedItemCount.increment();
+        }
+        linkedItemCount.finish();
+        this.linked = true;
+    }
+
+    /**
+     * Update the links after items were removed, added or changed.
+     * <p>
+     * A changed item is passed as removed item with its old content and as
+     * added item with its new content. Only the added items and the items
+     * covering an ID of an added or removed item (ignoring the revision) are
+     * linked again. This updates duplicates, orphaned links and outdated or
+     * predated coverage the same way as linking all items again would. All
+     * other linked items keep their links and their instances.
+     * </p>
+     * <p>
+     * Links the items first if {@link #link()} was not called yet.
+     * </p>
+     *
+     * @param removedItems
+     *            linked items that are no longer present
+     * @param addedItems
+     *            new items
+     * @return a list of all {@link LinkedSpecificationItem}s after the update.
+     */
+    public List<LinkedSpecificationItem> update(final Collection<SpecificationItem> removedItems,
+            final Collection<SpecificationItem> addedItems)
+    {
+        link();
+        createIncrementalIndexes();
+        final Set<SpecificationItemIdWithoutVersion> changedIds = new HashSet<>();
+        final Set<LinkedSpecificationItem> removedLinkedItems = Collections
+                .newSetFromMap(new IdentityHashMap<>());
+        for (final SpecificationItem item : removedItems)
+        {
+            final LinkedSpecificationItem linkedItem = this.wrappersByItem.remove(item);
+            if (linkedItem == null)
+            {
+                throw new IllegalArgumentException("Can't remove item \"" + item.getId()
+                        + "\" because it was not linked by this linker.");
+            }
+            removedLinkedItems.add(linkedItem);
+            changedIds.add(new SpecificationItemIdWithoutVersion(linkedItem));
+        }
+        final List<LinkedSpecificationItem> addedLinkedItems = wrapItems(addedItems);
+        for (final LinkedSpecificationItem linkedItem : addedLinkedItems)
+        {
+            changedIds.add(new SpecificationItemIdWithoutVersion(linkedItem));
+        }
+        final Set<LinkedSpecificationItem> itemsToLink = findItemsCoveringAnyOf(changedIds);
+        itemsToLink.removeAll(removedLinkedItems);
+        for (final LinkedSpecificationItem linkedItem : removedLinkedItems)
+        {
+            removeItem(linkedItem);
+        }
+        this.linkedItems.removeIf(removedLinkedItems::contains);
+        for (final LinkedSpecificationItem linkedItem : itemsToLink)
+        {
+            unlinkOutgoing(linkedItem);
+        }
+        this.staleIndex.keySet()
+                .removeIf(id -> changedIds.contains(new SpecificationItemIdWithoutVersion(id)));
+        for (final LinkedSpecificationItem linkedItem : addedLinkedItems)
+        {
+            addItem(linkedItem);
+            itemsToLink.add(linkedItem);
+        }
+        for (final LinkedSpecificationItem linkedItem : itemsToLink)
         {
             linkItem(linkedItem);
         }
         return this.linkedItems;
     }
 
+    private void createIncrementalIndexes()
+    {
+        if (this.wrappersByItem == null)
+        {
+            this.wrappersByItem = new IdentityHashMap<>(this.linkedItems.size() * 2);
+            this.coveringItemsByCoveredId = new HashMap<>();
+            for (final LinkedSpecificationItem linkedItem : this.linkedItems)
+            {
+                this.wrappersByItem.put(linkedItem.getItem(), linkedItem);
+                addToCoveringIndex(linkedItem);
+            }
+        }
+    }
+
+    private List<SpecificationItemId> getDeclaredCoveredIds(final LinkedSpecificationItem item)
+    {
+        return item.getItem().getCoveredIds().subList(0,
+                this.declaredCoveredIdCounts.get(item));
+    }
+
+    private void addToCoveringIndex(final LinkedSpecificationItem item)
+    {
+        for (final SpecificationItemId id : getDeclaredCoveredIds(item))
+        {
+            this.coveringItemsByCoveredId
+                    .computeIfAbsent(new SpecificationItemIdWithoutVersion(id),
+                            key -> new LinkedHashSet<>()) //
+                    .add(item);
+        }
+    }
+
+    private void removeFromCoveringIndex(final LinkedSpecificationItem item)
+    {
+        for (final SpecificationItemId id : getDeclaredCoveredIds(item))
+        {
+            final SpecificationItemIdWithoutVersion key = new SpecificationItemIdWithoutVersion(id);
+            final Set<LinkedSpecificationItem> coveringItems = this.coveringItemsByCoveredId
+                    .get(key);
+            if (coveringItems != null)
+            {
+                coveringItems.remove(item);
+                if (coveringItems.isEmpty())
+                {
+                    this.coveringItemsByCoveredId.remove(key);
+                }
+            }
+        }
+    }
+
+    private Set<LinkedSpecificationItem> findItemsCoveringAnyOf(
+            final Set<SpecificationItemIdWithoutVersion> ids)
+    {
+        final Set<LinkedSpecificationItem> coveringItems = new LinkedHashSet<>();
+        for (final SpecificationItemIdWithoutVersion id : ids)
+        {
+            coveringItems.addAll(
+                    this.coveringItemsByCoveredId.getOrDefault(id, Collections.emptySet()));
+        }
+        return coveringItems;
+    }
+
+    private void addItem(final LinkedSpecificationItem item)
+    {
+        rememberDeclaredCoveredIds(item);
+        this.wrappersByItem.put(item.getItem(), item);
+        this.linkedItems.add(item);
+        this.index.add(item);
+        addToCoveringIndex(item);
+    }
+
+    private void removeItem(final LinkedSpecificationItem item)
+    {
+        for (final Map.Entry<LinkStatus, List<LinkedSpecificationItem>> entry : copyLinks(item))
+        {
+            final LinkStatus reverseStatus = getReverseStatus(entry.getKey());
+            for (final LinkedSpecificationItem other : entry.getValue())
+            {
+                if (reverseStatus != null)
+                {
+                    other.removeLinkToItemWithStatus(item, reverseStatus);
+                }
+            }
+        }
+        removeFromCoveringIndex(item);
+        this.index.remove(item);
+        restoreDeclaredCoveredIds(item);
+        this.declaredCoveredIdCounts.remove(item);
+    }
+
+    private void unlinkOutgoing(final LinkedSpecificationItem item)
+    {
+        for (final Map.Entry<LinkStatus, List<LinkedSpecificationItem>> entry : copyLinks(item))
+        {
+            final LinkStatus status = entry.getKey();
+            if (status.isOutgoing())
+            {
+                final LinkStatus reverseStatus = getReverseStatus(status);
+                for (final LinkedSpecificationItem other : entry.getValue())
+                {
+                    item.removeLinkToItemWithStatus(other, status);
+                    if (reverseStatus != null)
+                    {
+                        other.removeLinkToItemWithStatus(item, reverseStatus);
+                    }
+                }
+            }
+        }
+        restoreDeclaredCoveredIds(item);
+    }
+
+    private static List<Map.Entry<LinkStatus, List<LinkedSpecificationItem>>> copyLinks(
+            final LinkedSpecificationItem item)
+    {
+        return item.getLinks().entrySet().stream() //
+                .map(entry -> Map.entry(entry.getKey(), List.copyOf(entry.getValue()))) //
+                .collect(Collectors.toList());
+    }
+
+    private void restoreDeclaredCoveredIds(final LinkedSpecificationItem item)
+    {
+        final List<SpecificationItemId> coveredIds = item.getItem().getCoveredIds();
+        coveredIds.subList(this.declaredCoveredIdCounts.get(item), coveredIds.size()).clear();
+    }
+
+    // Returns the status of the link in the opposite direction or null for
+    // links that only exist on one side.
+    private static LinkStatus getReverseStatus(final LinkStatus status)
+    {
+        switch (status)
+        {
+        case COVERS:
+            return LinkStatus.COVERED_SHALLOW;
+        case COVERED_SHALLOW:
+            return LinkStatus.COVERS;
+        case UNWANTED:
+            return LinkStatus.COVERED_UNWANTED;
+        case COVERED_UNWANTED:
+            return LinkStatus.UNWANTED;
+        case OUTDATED:
+            return LinkStatus.COVERED_OUTDATED;
+        case COVERED_OUTDATED:
+            return LinkStatus.OUTDATED;
+        case PREDATED:
+            return LinkStatus.COVERED_PREDATED;
+        case COVERED_PREDATED:
+            return LinkStatus.PREDATED;
+        case DUPLICATE:
+            return LinkStatus.DUPLICATE;
+        default:
+            return null;
+        }
+    }
+
     private void linkItem(final LinkedSpecificationItem item)
     {
         for (final SpecificationItemId id : item.getCoveredIds())
@@ -123,7 +413,8 @@ public class Linker
     private LinkedSpecificationItem findOrCreateStaleItem(final SpecificationItemId id)
     {
         this.staleIndex.computeIfAbsent(id,
-                key -> new LinkedSpecificationItem(SpecificationItem.builder().id(id).build()));
+                key -> new LinkedSpecificationItem(SpecificationItem.builder().id(id).build(),
+                        this.artifactTypes));
         return this.staleIndex.get(id);
     }
 
@@ -153,4 +444,4 @@ public class Linker
             }
         }
     }
-}
\ No newline at end of file
+}
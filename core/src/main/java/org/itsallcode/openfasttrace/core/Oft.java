@@ -2,10 +2,14 @@ package org.itsallcode.openfasttrace.core;
 
 import java.nio.file.Path;
 import java.util.List;
+import java.util.Map;
 
+import org.itsallcode.openfasttrace.api.FilterSettings;
 import org.itsallcode.openfasttrace.api.ReportSettings;
 import org.itsallcode.openfasttrace.api.core.*;
 import org.itsallcode.openfasttrace.api.importer.ImportSettings;
+import org.itsallcode.openfasttrace.api.progress.ProgressListener;
+import org.itsallcode.openfasttrace.core.importer.IncrementalImporter;
 
 /**
  * Import requirements (e.g. from ReqM2 to Markdown)
@@ -21,6 +25,10 @@ public interface Oft
 
     /**
      * Run an import
+     * <p>
+     * Reports the import phase and the number of walked and imported files
+     * to the progress listener of the settings.
+     * </p>
      * 
      * @param settings
      *            import stage settings
@@ -29,6 +37,32 @@ public interface Oft
      */
     List<SpecificationItem> importItems(ImportSettings settings);
 
+    /**
+     * Create an importer that keeps the imported items grouped by file, so
+     * that single files can be imported again after they changed.
+     * 
+     * @param settings
+     *            import stage settings
+     * 
+     * @return incremental importer for the inputs given in the settings
+     */
+    IncrementalImporter createIncrementalImporter(ImportSettings settings);
+
+    /**
+     * Filter items that were imported without a filter
+     * <p>
+     * This allows importing the inputs once and tracing different subsets of
+     * the items. The result is the same as importing with the filter.
+     * </p>
+     * 
+     * @param items
+     *            specification items to be filtered
+     * @param settings
+     *            filter settings
+     * @return copies of the items accepted by the filter
+     */
+    List<SpecificationItem> filter(List<SpecificationItem> items, FilterSettings settings);
+
     /**
      * Link specification items
      * 
@@ -38,6 +72,39 @@ public interface Oft
      */
     List<LinkedSpecificationItem> link(List<SpecificationItem> items);
 
+    /**
+     * Link specification items and report the progress
+     * 
+     * @param items
+     *            specification items to be interlinked
+     * @param progressListener
+     *            listener that receives the link phase and the number of
+     *            linked items
+     * @return list of linked specification items
+     */
+    List<LinkedSpecificationItem> link(List<SpecificationItem> items,
+            ProgressListener progressListener);
+
+    /**
+     * Create a linker for specification items that can update the links
+     * after items were added, removed or changed.
+     * 
+     * @param items
+     *            specification items to be interlinked
+     * @return linker for the items
+     */
+    Linker createLinker(List<SpecificationItem> items);
+
+    /**
+     * Create a linker that links only the items connected to a set of root
+     * items, e.g. the items defined in changed files.
+     * 
+     * @param items
+     *            all specification items
+     * @return linker for subgraphs of the items
+     */
+    SubgraphLinker createSubgraphLinker(List<SpecificationItem> items);
+
     /**
      * Trace a list of linked specification items
      * 
@@ -47,6 +114,17 @@ public interface Oft
      */
     Trace trace(List<LinkedSpecificationItem> linkedItems);
 
+    /**
+     * Trace a list of linked specification items and report the progress
+     * 
+     * @param linkedItems
+     *            items to be traced
+     * @param progressListener
+     *            listener that receives the trace phase
+     * @return trace result
+     */
+    Trace trace(List<LinkedSpecificationItem> linkedItems, ProgressListener progressListener);
+
     /**
      * Export items with default settings
      * 
@@ -116,6 +194,25 @@ public interface Oft
      */
     void reportToPath(Trace trace, Path outputPath, ReportSettings settings);
 
+    /**
+     * Generate reports in several formats from the same trace
+     * <p>
+     * The reports are rendered concurrently.
+     * </p>
+     * 
+     * @param trace
+     *            specification item trace to be turned into reports
+     * 
+     * @param outputPathsByFormat
+     *            path each report should be written to (or file in case this
+     *            is a single-file report) by report format
+     *
+     * @param settings
+     *            report settings. The output format of the settings is
+     *            ignored.
+     */
+    void reportToPaths(Trace trace, Map<String, Path> outputPathsByFormat, ReportSettings settings);
+
     /**
      * Create a new instance of a object implementing the {@link Oft} interface
      * 
@@ -2,12 +2,18 @@ package org.itsallcode.openfasttrace.core;
 
 import java.nio.file.Path;
 import java.util.List;
+import java.util.Map;
 
+import org.itsallcode.openfasttrace.api.FilterSettings;
 import org.itsallcode.openfasttrace.api.ReportSettings;
 import org.itsallcode.openfasttrace.api.core.LinkedSpecificationItem;
 import org.itsallcode.openfasttrace.api.core.SpecificationItem;
 import org.itsallcode.openfasttrace.api.core.Trace;
 import org.itsallcode.openfasttrace.api.importer.ImportSettings;
+import org.itsallcode.openfasttrace.api.progress.ProgressListener;
+import org.itsallcode.openfasttrace.api.progress.ProgressListener.Phase;
+import org.itsallcode.openfasttrace.api.progress.ProgressMonitor;
+import org.itsallcode.openfasttrace.core.importer.IncrementalImporter;
 
 /**
  * Provides convenient methods for importing, tracing and reporting.
@@ -30,10 +36,17 @@ public class OftRunner implements Oft
     @Override
     public List<SpecificationItem> importItems(final ImportSettings settings)
     {
-        return serviceFactory.createImporterService(settings) //
-                .createImporter() //
-                .importAny(settings.getInputs()) //
-                .getImportedItems();
+        return ProgressMonitor.create(settings.getProgressListener()).runPhase(Phase.IMPORT,
+                () -> serviceFactory.createImporterService(settings) //
+                        .createImporter() //
+                        .importAny(settings.getInputs()) //
+                        .getImportedItems());
+    }
+
+    @Override
+    public IncrementalImporter createIncrementalImporter(final ImportSettings settings)
+    {
+        return serviceFactory.createIncrementalImporter(settings);
     }
 
     @Override
@@ -42,18 +55,54 @@ public class OftRunner implements Oft
         return importItems(ImportSettings.createDefault());
     }
 
+    @Override
+    public List<SpecificationItem> filter(final List<SpecificationItem> items,
+            final FilterSettings settings)
+    {
+        return serviceFactory.createItemFilter(settings).filter(items);
+    }
+
     @Override
     public List<LinkedSpecificationItem> link(final List<SpecificationItem> items)
     {
         return serviceFactory.createLinker(items).link();
     }
 
+    @Override
+    public List<LinkedSpecificationItem> link(final List<SpecificationItem> items,
+            final ProgressListener progressListener)
+    {
+        final ProgressMonitor progressMonitor = ProgressMonitor.create(progressListener);
+        return progressMonitor.runPhase(Phase.LINK,
+                () -> serviceFactory.createLinker(items).link(progressMonitor));
+    }
+
+    @Override
+    public Linker createLinker(final List<SpecificationItem> items)
+    {
+        return serviceFactory.createLinker(items);
+    }
+
+    @Override
+    public SubgraphLinker createSubgraphLinker(final List<SpecificationItem> items)
+    {
+        return serviceFactory.createSubgraphLinker(items);
+    }
+
     @Override
     public Trace trace(final List<LinkedSpecificationItem> linkedItems)
     {
         return serviceFactory.createTracer().trace(linkedItems);
     }
 
+    @Override
+    public Trace trace(final List<LinkedSpecificationItem> linkedItems,
+            final ProgressListener progressListener)
+    {
+        return ProgressMonitor.create(progressListener).runPhase(Phase.TRACE,
+                () -> trace(linkedItems));
+    }
+
     @Override
     public void exportToPath(final List<SpecificationItem> items, final Path path)
     {
@@ -78,8 +127,8 @@ public class OftRunner implements Oft
     @Override
     public void reportToStdOut(final Trace trace, final ReportSettings settings)
     {
-        serviceFactory.createReportService(settings).reportTraceToStdOut(trace,
-                settings.getOutputFormat());
+        runReportPhase(settings, () -> serviceFactory.createReportService(settings)
+                .reportTraceToStdOut(trace, settings.getOutputFormat()));
     }
 
     @Override
@@ -94,7 +143,20 @@ public class OftRunner implements Oft
     public void reportToPath(final Trace trace, final Path outputPath,
             final ReportSettings settings)
     {
-        serviceFactory.createReportService(settings).reportTraceToPath(trace, outputPath,
-                settings.getOutputFormat());
+        runReportPhase(settings, () -> serviceFactory.createReportService(settings)
+                .reportTraceToPath(trace, outputPath, settings.getOutputFormat()));
+    }
+
+    @Override
+    public void reportToPaths(final Trace trace, final Map<String, Path> outputPathsByFormat,
+            final ReportSettings settings)
+    {
+        runReportPhase(settings, () -> serviceFactory.createReportService(settings)
+                .reportTraceToPaths(trace, outputPathsByFormat));
+    }
+
+    private static void runReportPhase(final ReportSettings settings, final Runnable report)
+    {
+        ProgressMonitor.create(settings.getProgressListener()).runPhase(Phase.REPORT, report);
     }
 }
@@ -2,6 +2,7 @@ package org.itsallcode.openfasttrace.core;
 
 import java.util.List;
 
+import org.itsallcode.openfasttrace.api.FilterSettings;
 import org.itsallcode.openfasttrace.api.ReportSettings;
 import org.itsallcode.openfasttrace.api.core.SpecificationItem;
 import org.itsallcode.openfasttrace.api.exporter.ExporterContext;
@@ -11,6 +12,7 @@ import org.itsallcode.openfasttrace.core.exporter.ExporterFactoryLoader;
 import org.itsallcode.openfasttrace.core.exporter.ExporterService;
 import org.itsallcode.openfasttrace.core.importer.ImporterFactoryLoader;
 import org.itsallcode.openfasttrace.core.importer.ImporterServiceImpl;
+import org.itsallcode.openfasttrace.core.importer.IncrementalImporter;
 import org.itsallcode.openfasttrace.core.report.ReportService;
 import org.itsallcode.openfasttrace.core.report.ReporterFactoryLoader;
 import org.itsallcode.openfasttrace.core.serviceloader.InitializingServiceLoader;
@@ -23,21 +25,41 @@ class ServiceFactory
     }
 
     ImporterService createImporterService(final ImportSettings settings)
+    {
+        return createImporterServiceImpl(settings);
+    }
+
+    IncrementalImporter createIncrementalImporter(final ImportSettings settings)
+    {
+        return createImporterServiceImpl(settings).createIncrementalImporter();
+    }
+
+    private static ImporterServiceImpl createImporterServiceImpl(final ImportSettings settings)
     {
         final ImporterContext context = new ImporterContext(settings);
         final InitializingServiceLoader<ImporterFactory, ImporterContext> serviceLoader = InitializingServiceLoader
                 .load(ImporterFactory.class, context);
-        final ImporterService service = new ImporterServiceImpl(
+        final ImporterServiceImpl service = new ImporterServiceImpl(
                 new ImporterFactoryLoader(serviceLoader), settings);
         context.setImporterService(service);
         return service;
     }
 
+    ItemFilter createItemFilter(final FilterSettings settings)
+    {
+        return new ItemFilter(settings);
+    }
+
     Linker createLinker(List<SpecificationItem> items)
     {
         return new Linker(items);
     }
 
+    SubgraphLinker createSubgraphLinker(final List<SpecificationItem> items)
+    {
+        return new SubgraphLinker(items);
+    }
+
     Tracer createTracer()
     {
         return new Tracer();
@@ -0,0 +1,198 @@
+package org.itsallcode.openfasttrace.core;
+
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.logging.Logger;
+
+import org.itsallcode.openfasttrace.api.core.*;
+import org.itsallcode.openfasttrace.core.LinkedItemIndex.SpecificationItemIdWithoutVersion;
+
+/**
+ * Links only the part of the specification items that is connected to a set
+ * of root items.
+ * <p>
+ * The selected subgraph consists of the roots, the items they cover directly
+ * or indirectly (upstream) and the items that cover them directly or
+ * indirectly (downstream). Items are connected if their IDs match ignoring the
+ * revision, so that outdated and predated links are part of the subgraph.
+ * </p>
+ * <p>
+ * To get the same link and coverage status for the selected items as when
+ * linking all items, the linker also links everything that covers a selected
+ * item directly or indirectly and the items covered by those. These items are
+ * not part of the result.
+ * </p>
+ */
+public class SubgraphLinker
+{
+    private static final Logger LOG = Logger.getLogger(SubgraphLinker.class.getName());
+
+    private final List<SpecificationItem> items;
+    private final Map<SpecificationItemIdWithoutVersion, List<Integer>> positionsById = new HashMap<>();
+    private final Map<SpecificationItemIdWithoutVersion, Set<SpecificationItemIdWithoutVersion>> coveringIdsByCoveredId = new HashMap<>();
+
+    /**
+     * Create a {@link SubgraphLinker} for specification items.
+     *
+     * @param items
+     *            all specification items.
+     */
+    public SubgraphLinker(final List<SpecificationItem> items)
+    {
+        this.items = items;
+        for (int i = 0; i < items.size(); ++i)
+        {
+            final SpecificationItem item = items.get(i);
+            final SpecificationItemIdWithoutVersion id = new SpecificationItemIdWithoutVersion(
+                    item.getId());
+            this.positionsById.computeIfAbsent(id, key -> new ArrayList<>()).add(i);
+            for (final SpecificationItemId coveredId : item.getCoveredIds())
+            {
+                this.coveringIdsByCoveredId.computeIfAbsent(
+                        new SpecificationItemIdWithoutVersion(coveredId), key -> new HashSet<>())
+                        .add(id);
+            }
+        }
+    }
+
+    /**
+     * Find the IDs of the items defined in the given files.
+     *
+     * @param files
+     *            paths of the files. Relative paths are resolved against the
+     *            current directory.
+     * @return IDs of the items whose location is in one of the files
+     */
+    public Set<SpecificationItemId> findIdsInFiles(final Collection<Path> files)
+    {
+        final Set<String> normalizedFiles = new HashSet<>();
+        for (final Path file : files)
+        {
+            normalizedFiles.add(file.toAbsolutePath().normalize().toString());
+        }
+        final Set<SpecificationItemId> ids = new LinkedHashSet<>();
+        for (final SpecificationItem item : this.items)
+        {
+            final Location location = item.getLocation();
+            if (location != null && location.getPath() != null
+                    && normalizedFiles.contains(normalizePath(location.getPath())))
+            {
+                ids.add(item.getId());
+            }
+        }
+        return ids;
+    }
+
+    private static String normalizePath(final String path)
+    {
+        try
+        {
+            return Path.of(path).toAbsolutePath().normalize().toString();
+        }
+        catch (final InvalidPathException exception)
+        {
+            return path;
+        }
+    }
+
+    /**
+     * Link the subgraph connected to the given root items.
+     *
+     * @param rootIds
+     *            IDs of the root items. The revision is ignored.
+     * @return the linked items of the subgraph in the order of the original
+     *         items.
+     */
+    public List<LinkedSpecificationItem> link(final Collection<SpecificationItemId> rootIds)
+    {
+        final Set<SpecificationItemIdWithoutVersion> roots = new HashSet<>();
+        for (final SpecificationItemId rootId : rootIds)
+        {
+            roots.add(new SpecificationItemIdWithoutVersion(rootId));
+        }
+        final Set<SpecificationItemIdWithoutVersion> selectedIds = collectCoveredIds(roots);
+        selectedIds.addAll(collectCoveringIds(roots));
+        final Set<SpecificationItemIdWithoutVersion> linkedIds = collectCoveringIds(selectedIds);
+        linkedIds.addAll(getCoveredIds(linkedIds));
+        final List<SpecificationItem> linkedItems = new ArrayList<>();
+        for (final int position : getPositions(linkedIds))
+        {
+            linkedItems.add(this.items.get(position));
+        }
+        LOG.fine(() -> "Linking " + linkedItems.size() + " of " + this.items.size()
+                + " items for the subgraph of " + rootIds.size() + " root items");
+        final List<LinkedSpecificationItem> selectedItems = new ArrayList<>();
+        for (final LinkedSpecificationItem linkedItem : new Linker(linkedItems).link())
+        {
+            if (selectedIds.contains(new SpecificationItemIdWithoutVersion(linkedItem.getId())))
+            {
+                selectedItems.add(linkedItem);
+            }
+        }
+        return selectedItems;
+    }
+
+    private Set<SpecificationItemIdWithoutVersion> collectCoveredIds(
+            final Set<SpecificationItemIdWithoutVersion> startIds)
+    {
+        final Set<SpecificationItemIdWithoutVersion> collectedIds = new HashSet<>(startIds);
+        Set<SpecificationItemIdWithoutVersion> pendingIds = startIds;
+        while (!pendingIds.isEmpty())
+        {
+            final Set<SpecificationItemIdWithoutVersion> nextIds = new HashSet<>();
+            for (final SpecificationItemIdWithoutVersion coveredId : getCoveredIds(pendingIds))
+            {
+                if (collectedIds.add(coveredId))
+                {
+                    nextIds.add(coveredId);
+                }
+            }
+            pendingIds = nextIds;
+        }
+        return collectedIds;
+    }
+
+    private Set<SpecificationItemIdWithoutVersion> getCoveredIds(
+            final Set<SpecificationItemIdWithoutVersion> ids)
+    {
+        final Set<SpecificationItemIdWithoutVersion> coveredIds = new HashSet<>();
+        for (final int position : getPositions(ids))
+        {
+            for (final SpecificationItemId coveredId : this.items.get(position).getCoveredIds())
+            {
+                coveredIds.add(new SpecificationItemIdWithoutVersion(coveredId));
+            }
+        }
+        return coveredIds;
+    }
+
+    private Set<SpecificationItemIdWithoutVersion> collectCoveringIds(
+            final Set<SpecificationItemIdWithoutVersion> startIds)
+    {
+        final Set<SpecificationItemIdWithoutVersion> collectedIds = new HashSet<>(startIds);
+        final Deque<SpecificationItemIdWithoutVersion> pendingIds = new ArrayDeque<>(startIds);
+        while (!pendingIds.isEmpty())
+        {
+            for (final SpecificationItemIdWithoutVersion coveringId : this.coveringIdsByCoveredId
+                    .getOrDefault(pendingIds.remove(), Collections.emptySet()))
+            {
+                if (collectedIds.add(coveringId))
+                {
+                    pendingIds.add(coveringId);
+                }
+            }
+        }
+        return collectedIds;
+    }
+
+    private SortedSet<Integer> getPositions(final Set<SpecificationItemIdWithoutVersion> ids)
+    {
+        final SortedSet<Integer> positions = new TreeSet<>();
+        for (final SpecificationItemIdWithoutVersion id : ids)
+        {
+            positions.addAll(this.positionsById.getOrDefault(id, Collections.emptyList()));
+        }
+        return positions;
+    }
+}
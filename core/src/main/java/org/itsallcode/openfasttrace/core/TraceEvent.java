@@ -0,0 +1,20 @@
+package org.itsallcode.openfasttrace.core;
+
+import jdk.jfr.*;
+
+/**
+ * Flight recorder event for tracing the linked specification items.
+ */
+@Name("org.itsallcode.openfasttrace.Trace")
+@Label("Trace")
+@Category({ "OpenFastTrace", "Trace" })
+@Description("Evaluation of the coverage of all linked specification items")
+@StackTrace(false)
+class TraceEvent extends Event
+{
+    @Label("Items")
+    int items;
+
+    @Label("Defects")
+    int defects;
+}
@@ -5,6 +5,7 @@ import java.util.stream.Collectors;
 
 import org.itsallcode.openfasttrace.api.core.LinkedSpecificationItem;
 import org.itsallcode.openfasttrace.api.core.Trace;
+import org.itsallcode.openfasttrace.core.jfr.FlightRecording;
 
 /**
  * Traces a given list of {@link LinkedSpecificationItem}s and returns a
@@ -20,6 +21,26 @@ public class Tracer
      * @return the result {@link Trace}.
      */
     public Trace trace(final List<LinkedSpecificationItem> items)
+    {
+        return FlightRecording.isActive() ? traceRecorded(items) : buildTrace(items);
+    }
+
+    private static Trace traceRecorded(final List<LinkedSpecificationItem> items)
+    {
+        final TraceEvent event = new TraceEvent();
+        event.begin();
+        final Trace trace = buildTrace(items);
+        event.end();
+        if (event.shouldCommit())
+        {
+            event.items = trace.count();
+            event.defects = trace.countDefects();
+            event.commit();
+        }
+        return trace;
+    }
+
+    private static Trace buildTrace(final List<LinkedSpecificationItem> items)
     {
         final Trace.Builder builder = Trace.builder();
         builder.items(items);
@@ -2,10 +2,15 @@ package org.itsallcode.openfasttrace.core.cli;
 
 import static java.util.Arrays.asList;
 
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
+import org.itsallcode.openfasttrace.api.core.SpecificationItemId;
 import org.itsallcode.openfasttrace.api.report.ReportVerbosity;
 import org.itsallcode.openfasttrace.core.cli.commands.*;
 import org.itsallcode.openfasttrace.core.exporter.ExporterFactoryLoader;
@@ -17,7 +22,9 @@ import org.itsallcode.openfasttrace.core.exporter.ExporterFactoryLoader;
 public class ArgumentValidator
 {
     private static final List<String> AVAILABLE_COMMANDS = asList(HelpCommand.COMMAND_NAME, ConvertCommand.COMMAND_NAME,
-            TraceCommand.COMMAND_NAME);
+            TraceCommand.COMMAND_NAME, WatchCommand.COMMAND_NAME, ServeCommand.COMMAND_NAME);
+
+    private static final int MAX_PORT = 65535;
 
     private final CliArguments arguments;
     private String error = "";
@@ -51,7 +58,16 @@ public class ArgumentValidator
         }
         else if (TraceCommand.COMMAND_NAME.equals(command.get()))
         {
-            ok = validateTraceCommand();
+            ok = (this.arguments.getProfilesFile() == null) ? validateTraceCommand()
+                    : validateProfiles();
+        }
+        else if (WatchCommand.COMMAND_NAME.equals(command.get()))
+        {
+            ok = validateTraceOnlyOptions() && validateTraceCommand();
+        }
+        else if (ServeCommand.COMMAND_NAME.equals(command.get()))
+        {
+            ok = validateTraceOnlyOptions() && validateTraceCommand() && validatePort();
         }
         else if (ConvertCommand.COMMAND_NAME.equals(command.get()))
         {
@@ -77,11 +93,173 @@ public class ArgumentValidator
         }
         else
         {
-            ok = true;
+            ok = validateReports() && validateRootIds();
         }
         return ok;
     }
 
+    private boolean validateRootIds()
+    {
+        for (final String rootId : this.arguments.getRootIds())
+        {
+            try
+            {
+                SpecificationItemId.parseId(rootId);
+            }
+            catch (final IllegalStateException | IllegalArgumentException exception)
+            {
+                this.error = "root ID '" + rootId + "' is not a valid specification item ID.";
+                this.suggestion = "use IDs in the form '<artifact type>~<name>~<revision>'.";
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean validateReports()
+    {
+        final Set<String> formats = new HashSet<>();
+        if (this.arguments.getOutputPath() != null)
+        {
+            formats.add(this.arguments.getOutputFormat());
+        }
+        for (final String report : this.arguments.getReports())
+        {
+            final int separatorIndex = report.indexOf(CliArguments.REPORT_FORMAT_SEPARATOR);
+            if (separatorIndex <= 0 || separatorIndex == report.length() - 1)
+            {
+                this.error = "report '" + report + "' does not specify format and output path.";
+                this.suggestion = "use '--report <format>=<path>'.";
+                return false;
+            }
+            final String format = report.substring(0, separatorIndex);
+            if (!formats.add(format))
+            {
+                this.error = "report format '" + format + "' is given more than once.";
+                this.suggestion = "write each report format to only one output path.";
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean validateTraceOnlyOptions()
+    {
+        if (this.arguments.getProfilesFile() != null)
+        {
+            this.error = "profiles are only supported by the '" + TraceCommand.COMMAND_NAME
+                    + "' command.";
+            this.suggestion = "remove the profiles parameter.";
+            return false;
+        }
+        if (this.arguments.isSubgraphSelected())
+        {
+            this.error = "root items are only supported by the '" + TraceCommand.COMMAND_NAME
+                    + "' command.";
+            this.suggestion = "remove the root ID and root file parameters.";
+            return false;
+        }
+        return true;
+    }
+
+    private boolean validateProfiles()
+    {
+        if (this.arguments.getOutputPath() != null || !this.arguments.getReports().isEmpty()
+                || !this.arguments.getWantedArtifactTypes().isEmpty()
+                || !this.arguments.getWantedTags().isEmpty()
+                || this.arguments.isSubgraphSelected())
+        {
+            this.error = "filters and output files are set per profile when using profiles.";
+            this.suggestion = "move the filter, root and output options into the profile file.";
+            return false;
+        }
+        final List<TraceProfile> profiles;
+        try
+        {
+            profiles = TraceProfile.readFile(this.arguments.getProfilesFile());
+        }
+        catch (final CliException exception)
+        {
+            this.error = exception.getMessage() + ".";
+            this.suggestion = "write one profile per line in the form '<name>: <options>'.";
+            return false;
+        }
+        if (profiles.isEmpty())
+        {
+            this.error = "profile file '" + this.arguments.getProfilesFile()
+                    + "' does not contain any profile.";
+            this.suggestion = "add one profile per line in the form '<name>: <options>'.";
+            return false;
+        }
+        final Set<Path> outputPaths = new HashSet<>();
+        for (final TraceProfile profile : profiles)
+        {
+            if (!validateProfile(profile, outputPaths))
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean validateProfile(final TraceProfile profile, final Set<Path> outputPaths)
+    {
+        final CliArguments profileArguments = profile.getArguments();
+        if (profileArguments.getOutputPath() == null)
+        {
+            this.error = "profile '" + profile.getName() + "' does not specify an output file.";
+            this.suggestion = "add '-f <path>' to the profile.";
+            return false;
+        }
+        if (profileArguments.getProfilesFile() != null)
+        {
+            this.error = "profile '" + profile.getName() + "' refers to another profile file.";
+            this.suggestion = "remove the profiles parameter from the profile.";
+            return false;
+        }
+        final ArgumentValidator profileValidator = new ArgumentValidator(profileArguments);
+        if (!profileValidator.isValid())
+        {
+            this.error = "profile '" + profile.getName() + "': " + profileValidator.getError();
+            this.suggestion = profileValidator.getSuggestion();
+            return false;
+        }
+        final List<Path> profileOutputPaths = new ArrayList<>();
+        profileOutputPaths.add(profileArguments.getOutputPath());
+        profileOutputPaths.addAll(profileArguments.getAdditionalReports().values());
+        for (final Path outputPath : profileOutputPaths)
+        {
+            if (!outputPaths.add(outputPath.toAbsolutePath().normalize()))
+            {
+                this.error = "output path '" + outputPath + "' of profile '" + profile.getName()
+                        + "' is used by more than one report.";
+                this.suggestion = "write each report to its own output path.";
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean validatePort()
+    {
+        int port;
+        try
+        {
+            port = this.arguments.getPort();
+        }
+        catch (final NumberFormatException exception)
+        {
+            port = -1;
+        }
+        if (port < 0 || port > MAX_PORT)
+        {
+            this.error = "port must be a number between 0 and " + MAX_PORT + ".";
+            this.suggestion = "use '--port 0' to let the system choose a free port.";
+            return false;
+        }
+        return true;
+    }
+
     private boolean validateConvertCommand()
     {
         boolean ok = false;
@@ -11,7 +11,9 @@ import org.itsallcode.openfasttrace.api.core.Newline;
 import org.itsallcode.openfasttrace.api.report.ReportConstants;
 import org.itsallcode.openfasttrace.api.report.ReportVerbosity;
 import org.itsallcode.openfasttrace.core.cli.commands.ConvertCommand;
+import org.itsallcode.openfasttrace.core.cli.commands.ServeCommand;
 import org.itsallcode.openfasttrace.core.cli.commands.TraceCommand;
+import org.itsallcode.openfasttrace.core.cli.commands.WatchCommand;
 import org.itsallcode.openfasttrace.core.exporter.ExporterConstants;
 
 /**
@@ -22,6 +24,11 @@ public class CliArguments
 {
     /** Filter in command line arguments matching items with no tags. */
     public static final String NO_TAGS_MARKER = "_";
+    /** Separates report format and output path in a report argument. */
+    public static final String REPORT_FORMAT_SEPARATOR = "=";
+    /** Import statistics destination that stands for standard error. */
+    public static final String STANDARD_ERROR = "-";
+    private static final int DEFAULT_IMPORT_STATS_TOP = 10;
     // [impl->dsn~cli.default-newline-format~1]
     private Newline newline = Newline.fromRepresentation(System.lineSeparator());
     private List<String> unnamedValues;
@@ -30,12 +37,22 @@ public class CliArguments
     private ReportVerbosity reportVerbosity;
     private Set<String> wantedArtifactTypes = Collections.emptySet();
     private Set<String> wantedTags = Collections.emptySet();
+    private final List<String> reports = new ArrayList<>();
 
     // [impl->dsn~reporting.plain-text.specification-item-origin~1]]
     // [impl->dsn~reporting.plain-text.linked-specification-item-origin~1]
     // [impl->dsn~reporting.html.specification-item-origin~1]
     // [impl->dsn~reporting.html.linked-specification-item-origin~1]
     private boolean showOrigin;
+    private Path cacheDirectory;
+    private boolean cacheChecksums;
+    private String importStats;
+    private String importStatsTop;
+    private Path spillDirectory;
+    private String port;
+    private Path profilesFile;
+    private final List<String> rootIds = new ArrayList<>();
+    private final List<Path> rootFiles = new ArrayList<>();
     private final DirectoryService directoryService;
 
     /**
@@ -141,7 +158,9 @@ public class CliArguments
         if (this.outputFormat == null)
         {
             final Optional<String> command = this.getCommand();
-            if (command.isPresent() && command.get().equals(TraceCommand.COMMAND_NAME))
+            if (command.isPresent() && (command.get().equals(TraceCommand.COMMAND_NAME)
+                    || command.get().equals(WatchCommand.COMMAND_NAME)
+                    || command.get().equals(ServeCommand.COMMAND_NAME)))
             {
                 return ReportConstants.DEFAULT_REPORT_FORMAT;
             }
@@ -181,6 +200,55 @@ public class CliArguments
         setOutputFormat(outputFormat);
     }
 
+    /**
+     * Get the additional report arguments as given on the command line
+     * 
+     * @return list of additional reports in the form
+     *         <code>format=path</code>
+     */
+    public List<String> getReports()
+    {
+        return Collections.unmodifiableList(this.reports);
+    }
+
+    /**
+     * Get the output paths of the additional reports by report format
+     * <p>
+     * Report arguments that do not consist of a format and a path are
+     * ignored. Use {@link ArgumentValidator} to detect them.
+     * </p>
+     * 
+     * @return output path for each additional report format in the order the
+     *         reports were given
+     */
+    public Map<String, Path> getAdditionalReports()
+    {
+        final Map<String, Path> additionalReports = new LinkedHashMap<>();
+        for (final String report : this.reports)
+        {
+            final int separatorIndex = report.indexOf(REPORT_FORMAT_SEPARATOR);
+            if (separatorIndex > 0 && separatorIndex < report.length() - 1)
+            {
+                additionalReports.put(report.substring(0, separatorIndex),
+                        Paths.get(report.substring(separatorIndex + 1)));
+            }
+        }
+        return additionalReports;
+    }
+
+    /**
+     * Add a report that is generated in addition to the one selected with the
+     * output format and output file
+     * 
+     * @param report
+     *            report format and output path in the form
+     *            <code>format=path</code>
+     */
+    public void setReport(final String report)
+    {
+        this.reports.add(report);
+    }
+
     /**
      * Get the stream verbosity of a stream
      * 
@@ -349,4 +417,217 @@ public class CliArguments
     {
         setShowOrigin(showOrigin);
     }
+
+    /**
+     * Get the directory of the persistent import cache.
+     * 
+     * @return cache directory or <code>null</code> if the import cache is
+     *         disabled
+     */
+    public Path getCacheDirectory()
+    {
+        return this.cacheDirectory;
+    }
+
+    /**
+     * Set the directory of the persistent import cache.
+     * 
+     * @param cacheDirectory
+     *            cache directory
+     */
+    public void setCacheDirectory(final String cacheDirectory)
+    {
+        this.cacheDirectory = Paths.get(cacheDirectory);
+    }
+
+    /**
+     * Check if the import cache should compare content checksums instead of
+     * modification times.
+     * 
+     * @return <code>true</code> if the import cache compares checksums
+     */
+    public boolean getCacheChecksums()
+    {
+        return this.cacheChecksums;
+    }
+
+    /**
+     * Choose whether the import cache should compare content checksums
+     * instead of modification times.
+     * 
+     * @param cacheChecksums
+     *            <code>true</code> if the import cache should compare
+     *            checksums
+     */
+    public void setCacheChecksums(final boolean cacheChecksums)
+    {
+        this.cacheChecksums = cacheChecksums;
+    }
+
+    /**
+     * Get the destination of the per-file import statistics.
+     * 
+     * @return output file, {@value #STANDARD_ERROR} for standard error or
+     *         <code>null</code> if no statistics are collected
+     */
+    public String getImportStats()
+    {
+        return this.importStats;
+    }
+
+    /**
+     * Set the destination of the per-file import statistics.
+     * 
+     * @param importStats
+     *            output file or {@value #STANDARD_ERROR} for standard error
+     */
+    public void setImportStats(final String importStats)
+    {
+        this.importStats = importStats;
+    }
+
+    /**
+     * Get the number of files listed in each ranking of the import statistics.
+     * 
+     * @return number of files, defaults to 10
+     * @throws NumberFormatException
+     *             if the number of files is not a number
+     */
+    public int getImportStatsTop()
+    {
+        return this.importStatsTop == null ? DEFAULT_IMPORT_STATS_TOP
+                : Integer.parseInt(this.importStatsTop);
+    }
+
+    /**
+     * Set the number of files listed in each ranking of the import statistics.
+     * 
+     * @param importStatsTop
+     *            number of files
+     */
+    public void setImportStatsTop(final String importStatsTop)
+    {
+        this.importStatsTop = importStatsTop;
+    }
+
+    /**
+     * Get the directory for the temporary file that holds the texts and
+     * locations of the imported items.
+     * 
+     * @return spill directory or <code>null</code> if the items keep their
+     *         texts and locations on the heap
+     */
+    public Path getSpillDirectory()
+    {
+        return this.spillDirectory;
+    }
+
+    /**
+     * Set the directory for the temporary file that holds the texts and
+     * locations of the imported items.
+     * 
+     * @param spillDirectory
+     *            spill directory
+     */
+    public void setSpillDirectory(final String spillDirectory)
+    {
+        this.spillDirectory = Paths.get(spillDirectory);
+    }
+
+    /**
+     * Get the port on which the serve command answers queries.
+     * 
+     * @return the port or 0 to let the system choose a free port
+     * @throws NumberFormatException
+     *             if the port is not a number
+     */
+    public int getPort()
+    {
+        return this.port == null ? 0 : Integer.parseInt(this.port);
+    }
+
+    /**
+     * Set the port on which the serve command answers queries.
+     * 
+     * @param port
+     *            the port
+     */
+    public void setPort(final String port)
+    {
+        this.port = port;
+    }
+
+    /**
+     * Get the file that defines the profiles of a batch trace run.
+     * 
+     * @return profile file or <code>null</code> if the trace command runs
+     *         only once with the options from the command line
+     */
+    public Path getProfilesFile()
+    {
+        return this.profilesFile;
+    }
+
+    /**
+     * Set the file that defines the profiles of a batch trace run.
+     * 
+     * @param profilesFile
+     *            profile file
+     */
+    public void setProfiles(final String profilesFile)
+    {
+        this.profilesFile = Paths.get(profilesFile);
+    }
+
+    /**
+     * Get the IDs of the items that span the subgraph to trace.
+     * 
+     * @return root item IDs as given on the command line
+     */
+    public List<String> getRootIds()
+    {
+        return Collections.unmodifiableList(this.rootIds);
+    }
+
+    /**
+     * Add an item that spans the subgraph to trace.
+     * 
+     * @param rootId
+     *            ID of the root item
+     */
+    public void setRootId(final String rootId)
+    {
+        this.rootIds.add(rootId);
+    }
+
+    /**
+     * Get the files whose items span the subgraph to trace.
+     * 
+     * @return root files
+     */
+    public List<Path> getRootFiles()
+    {
+        return Collections.unmodifiableList(this.rootFiles);
+    }
+
+    /**
+     * Add a file whose items span the subgraph to trace.
+     * 
+     * @param rootFile
+     *            path of the root file
+     */
+    public void setRootFile(final String rootFile)
+    {
+        this.rootFiles.add(Paths.get(rootFile));
+    }
+
+    /**
+     * Check if only a subgraph of the items should be traced.
+     * 
+     * @return <code>true</code> if root items or root files are given
+     */
+    public boolean isSubgraphSelected()
+    {
+        return !this.rootIds.isEmpty() || !this.rootFiles.isEmpty();
+    }
 }
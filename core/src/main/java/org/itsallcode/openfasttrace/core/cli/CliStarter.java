@@ -105,6 +105,12 @@ public class CliStarter
         case TraceCommand.COMMAND_NAME:
             performable = new TraceCommand(this.arguments);
             break;
+        case WatchCommand.COMMAND_NAME:
+            performable = new WatchCommand(this.arguments);
+            break;
+        case ServeCommand.COMMAND_NAME:
+            performable = new ServeCommand(this.arguments);
+            break;
         case HelpCommand.COMMAND_NAME:
             performable = new HelpCommand();
             break;
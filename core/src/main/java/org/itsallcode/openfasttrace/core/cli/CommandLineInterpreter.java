@@ -230,7 +230,8 @@ public class CommandLineInterpreter
 
     private boolean isParamterName(final String text)
     {
-        return text.startsWith(SINGLE_CHAR_ARG_PREFIX);
+        // A single dash is a value, e.g. for standard error
+        return text.startsWith(SINGLE_CHAR_ARG_PREFIX) && !text.equals(SINGLE_CHAR_ARG_PREFIX);
     }
 
     private void assignUnnamedArgument(final List<String> unnamedArguments) throws CliException
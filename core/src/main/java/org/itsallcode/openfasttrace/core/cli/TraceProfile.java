@@ -0,0 +1,144 @@
+package org.itsallcode.openfasttrace.core.cli;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.itsallcode.openfasttrace.core.cli.commands.TraceCommand;
+
+/**
+ * A named set of filter and report options for one trace run in a batch of
+ * trace runs over the same inputs.
+ * <p>
+ * A profile file contains one profile per line in the form
+ * <code>&lt;name&gt;: &lt;options&gt;</code>. The options use the same syntax
+ * as on the command line. Options that contain spaces can be enclosed in
+ * double quotes. Empty lines and lines starting with <code>#</code> are
+ * ignored.
+ * </p>
+ */
+public final class TraceProfile
+{
+    private static final String COMMENT_PREFIX = "#";
+    private static final char NAME_SEPARATOR = ':';
+    private static final Pattern OPTION_PATTERN = Pattern.compile("\"([^\"]*)\"|(\\S+)");
+
+    private final String name;
+    private final CliArguments arguments;
+
+    private TraceProfile(final String name, final CliArguments arguments)
+    {
+        this.name = name;
+        this.arguments = arguments;
+    }
+
+    /**
+     * Get the name of the profile.
+     *
+     * @return the name
+     */
+    public String getName()
+    {
+        return this.name;
+    }
+
+    /**
+     * Get the options of the profile.
+     *
+     * @return the options as arguments of a trace command without inputs
+     */
+    public CliArguments getArguments()
+    {
+        return this.arguments;
+    }
+
+    /**
+     * Read all profiles from a profile file.
+     *
+     * @param file
+     *            the profile file
+     * @return the profiles in the order of the file
+     * @throws CliException
+     *             if the file can't be read or contains an invalid profile
+     */
+    public static List<TraceProfile> readFile(final Path file) throws CliException
+    {
+        final List<String> lines = readLines(file);
+        final List<TraceProfile> profiles = new ArrayList<>();
+        final Set<String> names = new HashSet<>();
+        for (int i = 0; i < lines.size(); ++i)
+        {
+            final String line = lines.get(i).trim();
+            if (!line.isEmpty() && !line.startsWith(COMMENT_PREFIX))
+            {
+                final TraceProfile profile = parseLine(file, i + 1, line);
+                if (!names.add(profile.getName()))
+                {
+                    throw new CliException("Profile '" + profile.getName()
+                            + "' is defined more than once in profile file '" + file + "'");
+                }
+                profiles.add(profile);
+            }
+        }
+        return profiles;
+    }
+
+    private static List<String> readLines(final Path file) throws CliException
+    {
+        try
+        {
+            return Files.readAllLines(file, StandardCharsets.UTF_8);
+        }
+        catch (final IOException exception)
+        {
+            throw new CliException("Error reading profile file '" + file + "'", exception);
+        }
+    }
+
+    private static TraceProfile parseLine(final Path file, final int lineNumber, final String line)
+            throws CliException
+    {
+        final int separatorIndex = line.indexOf(NAME_SEPARATOR);
+        if (separatorIndex <= 0)
+        {
+            throw new CliException("Line " + lineNumber + " of profile file '" + file
+                    + "' does not start with a profile name followed by '" + NAME_SEPARATOR
+                    + "'");
+        }
+        final String name = line.substring(0, separatorIndex).trim();
+        final CliArguments arguments = new CliArguments(new StandardDirectoryService());
+        try
+        {
+            new CommandLineInterpreter(splitOptions(line.substring(separatorIndex + 1)),
+                    arguments).parse();
+        }
+        catch (final CliException exception)
+        {
+            throw new CliException("Profile '" + name + "': " + exception.getMessage(),
+                    exception);
+        }
+        if (arguments.getCommand().isPresent())
+        {
+            throw new CliException("Profile '" + name + "' contains the value '"
+                    + arguments.getCommand().get()
+                    + "' that is not an option. Profiles must not contain commands or inputs");
+        }
+        arguments.setUnnamedValues(List.of(TraceCommand.COMMAND_NAME));
+        return new TraceProfile(name, arguments);
+    }
+
+    private static String[] splitOptions(final String options)
+    {
+        final List<String> splitOptions = new ArrayList<>();
+        final Matcher matcher = OPTION_PATTERN.matcher(options);
+        while (matcher.find())
+        {
+            splitOptions.add(matcher.group(1) != null ? matcher.group(1) : matcher.group(2));
+        }
+        return splitOptions.toArray(new String[0]);
+    }
+}
@@ -1,6 +1,9 @@
 
 package org.itsallcode.openfasttrace.core.cli.commands;
 
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
@@ -8,10 +11,14 @@ import java.util.List;
 import java.util.Set;
 
 import org.itsallcode.openfasttrace.api.FilterSettings;
+import org.itsallcode.openfasttrace.api.core.ItemPayloadStore;
 import org.itsallcode.openfasttrace.api.core.SpecificationItem;
 import org.itsallcode.openfasttrace.api.importer.ImportSettings;
+import org.itsallcode.openfasttrace.api.importer.ImportStatistics;
+import org.itsallcode.openfasttrace.api.importer.ImporterException;
 import org.itsallcode.openfasttrace.core.Oft;
 import org.itsallcode.openfasttrace.core.cli.CliArguments;
+import org.itsallcode.openfasttrace.core.importer.ImportStatisticsReport;
 
 /**
  * This class is the abstract base class for all commands that process a list of
@@ -23,6 +30,7 @@ public abstract class AbstractCommand implements Performable
     protected CliArguments arguments;
     /** The OFT instance for executing commands. */
     protected final Oft oft;
+    private ItemPayloadStore payloadStore;
 
     /**
      * Creates a new instance.
@@ -46,26 +54,35 @@ public abstract class AbstractCommand implements Performable
         return inputsAsPaths;
     }
 
-    private FilterSettings createFilterSettingsFromArguments()
+    /**
+     * Create filter settings from command line arguments.
+     * 
+     * @param filterArguments
+     *            the command line arguments that contain the filter options
+     * @return the filter settings.
+     */
+    protected static FilterSettings createFilterSettings(final CliArguments filterArguments)
     {
         final FilterSettings.Builder builder = new FilterSettings.Builder();
-        setAttributeTypeFilter(builder);
-        setTagFilter(builder);
+        setAttributeTypeFilter(builder, filterArguments);
+        setTagFilter(builder, filterArguments);
         return builder.build();
     }
 
-    private void setAttributeTypeFilter(final FilterSettings.Builder builder)
+    private static void setAttributeTypeFilter(final FilterSettings.Builder builder,
+            final CliArguments filterArguments)
     {
-        if (this.arguments.getWantedArtifactTypes() != null
-                && !this.arguments.getWantedArtifactTypes().isEmpty())
+        if (filterArguments.getWantedArtifactTypes() != null
+                && !filterArguments.getWantedArtifactTypes().isEmpty())
         {
-            builder.artifactTypes(this.arguments.getWantedArtifactTypes());
+            builder.artifactTypes(filterArguments.getWantedArtifactTypes());
         }
     }
 
-    private void setTagFilter(final FilterSettings.Builder builder)
+    private static void setTagFilter(final FilterSettings.Builder builder,
+            final CliArguments filterArguments)
     {
-        final Set<String> wantedTags = this.arguments.getWantedTags();
+        final Set<String> wantedTags = filterArguments.getWantedTags();
         if (wantedTags != null && !wantedTags.isEmpty())
         {
             if (wantedTags.contains(CliArguments.NO_TAGS_MARKER))
@@ -88,11 +105,131 @@ public abstract class AbstractCommand implements Performable
      */
     protected List<SpecificationItem> importItems()
     {
-        final ImportSettings importSettings = ImportSettings
+        final String importStatsDestination = this.arguments.getImportStats();
+        if (importStatsDestination == null)
+        {
+            return this.oft.importItems(createImportSettings());
+        }
+        final ImportStatistics statistics = new ImportStatistics();
+        final List<SpecificationItem> items = this.oft.importItems(
+                createImportSettingsBuilder().importStatistics(statistics).build());
+        writeImportStatistics(statistics, importStatsDestination);
+        return items;
+    }
+
+    private void writeImportStatistics(final ImportStatistics statistics,
+            final String destination)
+    {
+        final ImportStatisticsReport report = new ImportStatisticsReport(statistics);
+        final int top = this.arguments.getImportStatsTop();
+        if (CliArguments.STANDARD_ERROR.equals(destination))
+        {
+            report.writeSummary(new OutputStreamWriter(System.err, StandardCharsets.UTF_8), top);
+        }
+        else
+        {
+            report.writeToPath(Paths.get(destination), top);
+        }
+    }
+
+    /**
+     * Create import settings from the command line arguments.
+     * 
+     * @return the import settings.
+     */
+    protected ImportSettings createImportSettings()
+    {
+        return createImportSettingsBuilder().build();
+    }
+
+    private ImportSettings.Builder createImportSettingsBuilder()
+    {
+        return ImportSettings
                 .builder()
                 .addInputs(this.toPaths(this.arguments.getInputs()))
-                .filter(createFilterSettingsFromArguments())
-                .build();
-        return this.oft.importItems(importSettings);
+                .filter(createFilterSettings(this.arguments))
+                .cacheDirectory(this.arguments.getCacheDirectory())
+                .cacheChecksums(this.arguments.getCacheChecksums())
+                .payloadStore(getPayloadStore());
+    }
+
+    /**
+     * Get the store for the texts and locations of the imported items. All
+     * imports of a command share one store. It lives until the command closes
+     * it or the JVM exits, because reporting still reads from it.
+     *
+     * @return the store or <code>null</code> if the user selected no spill
+     *         directory
+     */
+    protected ItemPayloadStore getPayloadStore()
+    {
+        final Path spillDirectory = this.arguments.getSpillDirectory();
+        if (spillDirectory != null && this.payloadStore == null)
+        {
+            try
+            {
+                this.payloadStore = ItemPayloadStore.create(spillDirectory);
+            }
+            catch (final IOException exception)
+            {
+                throw new ImporterException(
+                        "Error creating spill file in directory " + spillDirectory, exception);
+            }
+        }
+        return this.payloadStore;
+    }
+
+    /**
+     * Replace the store for the texts and locations of the imported items with
+     * a new one. The caller must close the old store once the items that use
+     * it are not read any more.
+     *
+     * @return the old store
+     */
+    protected ItemPayloadStore replacePayloadStore()
+    {
+        final ItemPayloadStore oldStore = this.payloadStore;
+        this.payloadStore = null;
+        getPayloadStore();
+        return oldStore;
+    }
+
+    /**
+     * Close the store for the texts and locations of the imported items, if
+     * the user selected a spill directory. The imported items can't be read
+     * afterwards.
+     */
+    protected void closePayloadStore()
+    {
+        try
+        {
+            closePayloadStore(this.payloadStore);
+        }
+        finally
+        {
+            this.payloadStore = null;
+        }
+    }
+
+    /**
+     * Close a store for the texts and locations of imported items.
+     *
+     * @param store
+     *            the store to close or <code>null</code>
+     */
+    protected static void closePayloadStore(final ItemPayloadStore store)
+    {
+        if (store != null)
+        {
+            try
+            {
+                store.close();
+            }
+            catch (final IOException exception)
+            {
+                throw new ImporterException("Error closing spill file " + store.getPath(),
+                        exception);
+            }
+        }
     }
-}
\ No newline at end of file
+}
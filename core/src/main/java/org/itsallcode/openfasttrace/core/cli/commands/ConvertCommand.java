@@ -29,9 +29,16 @@ public class ConvertCommand extends AbstractCommand implements Performable
     @Override
     public boolean run()
     {
-        final List<SpecificationItem> items = importItems();
-        convert(items);
-        return true;
+        try
+        {
+            final List<SpecificationItem> items = importItems();
+            convert(items);
+            return true;
+        }
+        finally
+        {
+            closePayloadStore();
+        }
     }
 
     private void convert(final List<SpecificationItem> items)
@@ -0,0 +1,71 @@
+package org.itsallcode.openfasttrace.core.cli.commands;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+import org.itsallcode.openfasttrace.api.core.Trace;
+import org.itsallcode.openfasttrace.core.cli.CliArguments;
+import org.itsallcode.openfasttrace.core.serve.TraceServer;
+
+/**
+ * Handler for the serve CLI command.
+ * <p>
+ * The command keeps the trace of the inputs in memory and answers queries
+ * about it via HTTP on the loopback interface. Like the watch command it
+ * updates the trace when inputs change. It does not write reports.
+ * </p>
+ */
+public class ServeCommand extends WatchCommand
+{
+    /** The command line action for running this command. */
+    @SuppressWarnings("hiding")
+    public static final String COMMAND_NAME = "serve";
+
+    private TraceServer server;
+
+    /**
+     * Create a {@link ServeCommand}.
+     *
+     * @param arguments
+     *            command line arguments.
+     */
+    public ServeCommand(final CliArguments arguments)
+    {
+        super(arguments);
+    }
+
+    @Override
+    public boolean run()
+    {
+        try
+        {
+            this.server = new TraceServer(this.arguments.getPort());
+        }
+        catch (final IOException exception)
+        {
+            throw new UncheckedIOException(
+                    "Error starting server on port " + this.arguments.getPort(), exception);
+        }
+        this.server.start();
+        try
+        {
+            return super.run();
+        }
+        finally
+        {
+            this.server.stop();
+        }
+    }
+
+    @Override
+    protected void traceAndReport(final int changedFileCount, final boolean linkAllItems)
+    {
+        this.server.update(() -> super.traceAndReport(changedFileCount, linkAllItems));
+    }
+
+    @Override
+    protected void processTrace(final Trace trace)
+    {
+        this.server.setTrace(trace);
+    }
+}
@@ -2,14 +2,21 @@
 package org.itsallcode.openfasttrace.core.cli.commands;
 
 import java.nio.file.Path;
-import java.util.List;
+import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.logging.Logger;
 
 import org.itsallcode.openfasttrace.api.ReportSettings;
+import org.itsallcode.openfasttrace.api.concurrent.ConcurrentTasks;
 import org.itsallcode.openfasttrace.api.core.LinkedSpecificationItem;
 import org.itsallcode.openfasttrace.api.core.SpecificationItem;
+import org.itsallcode.openfasttrace.api.core.SpecificationItemId;
 import org.itsallcode.openfasttrace.api.core.Trace;
 import org.itsallcode.openfasttrace.core.Oft;
+import org.itsallcode.openfasttrace.core.SubgraphLinker;
 import org.itsallcode.openfasttrace.core.cli.CliArguments;
+import org.itsallcode.openfasttrace.core.cli.CliException;
+import org.itsallcode.openfasttrace.core.cli.TraceProfile;
 
 /**
  * Handler for requirement tracing CLI command.
@@ -18,6 +25,7 @@ public class TraceCommand extends AbstractCommand
 {
     /** The command line action for running this command. */
     public static final String COMMAND_NAME = "trace";
+    private static final Logger LOG = Logger.getLogger(TraceCommand.class.getName());
 
     /**
      * Create a {@link TraceCommand}.
@@ -33,16 +41,84 @@ public class TraceCommand extends AbstractCommand
     @Override
     public boolean run()
     {
+        try
+        {
+            if (this.arguments.getProfilesFile() != null)
+            {
+                return traceProfiles();
+            }
+            final List<SpecificationItem> items = importItems();
+            final List<LinkedSpecificationItem> linkedItems = linkItems(items, this.arguments);
+            final Trace trace = traceItems(linkedItems);
+            report(this.oft, trace);
+            return trace.hasNoDefects();
+        }
+        finally
+        {
+            closePayloadStore();
+        }
+    }
+
+    // The inputs are imported once without a filter. Each profile then
+    // filters its own copies of the items, so that the profiles can be linked,
+    // traced and reported concurrently.
+    private boolean traceProfiles()
+    {
+        final List<TraceProfile> profiles = readProfiles();
         final List<SpecificationItem> items = importItems();
-        final List<LinkedSpecificationItem> linkedItems = linkItems(items);
-        final Trace trace = traceItems(linkedItems);
-        report(this.oft, trace);
+        final List<Callable<Boolean>> tasks = new ArrayList<>(profiles.size());
+        for (final TraceProfile profile : profiles)
+        {
+            tasks.add(() -> traceProfile(items, profile));
+        }
+        boolean noDefects = true;
+        for (final boolean profileHasNoDefects : ConcurrentTasks.runAll(tasks,
+                "tracing profiles", IllegalStateException::new))
+        {
+            noDefects &= profileHasNoDefects;
+        }
+        return noDefects;
+    }
+
+    private List<TraceProfile> readProfiles()
+    {
+        try
+        {
+            return TraceProfile.readFile(this.arguments.getProfilesFile());
+        }
+        catch (final CliException exception)
+        {
+            throw new IllegalArgumentException(exception.getMessage(), exception);
+        }
+    }
+
+    private boolean traceProfile(final List<SpecificationItem> items, final TraceProfile profile)
+    {
+        final CliArguments profileArguments = profile.getArguments();
+        final List<SpecificationItem> filteredItems = this.oft.filter(items,
+                createFilterSettings(profileArguments));
+        final Trace trace = traceItems(linkItems(filteredItems, profileArguments));
+        LOG.fine(() -> "Profile '" + profile.getName() + "' traced " + trace.count()
+                + " items with " + trace.countDefects() + " defects");
+        report(this.oft, trace, profileArguments);
         return trace.hasNoDefects();
     }
 
-    private List<LinkedSpecificationItem> linkItems(final List<SpecificationItem> items)
+    private List<LinkedSpecificationItem> linkItems(final List<SpecificationItem> items,
+            final CliArguments linkArguments)
     {
-        return this.oft.link(items);
+        if (!linkArguments.isSubgraphSelected())
+        {
+            return this.oft.link(items);
+        }
+        final SubgraphLinker linker = this.oft.createSubgraphLinker(items);
+        final Set<SpecificationItemId> rootIds = new LinkedHashSet<>();
+        for (final String rootId : linkArguments.getRootIds())
+        {
+            rootIds.add(SpecificationItemId.parseId(rootId));
+        }
+        rootIds.addAll(linker.findIdsInFiles(linkArguments.getRootFiles()));
+        return linker.link(rootIds);
     }
 
     private Trace traceItems(final List<LinkedSpecificationItem> linkedItems)
@@ -50,27 +126,67 @@ public class TraceCommand extends AbstractCommand
         return this.oft.trace(linkedItems);
     }
 
-    private void report(final Oft oft, final Trace trace)
+    /**
+     * Write the reports selected by the command line arguments.
+     * 
+     * @param oft
+     *            the OFT instance used for reporting
+     * @param trace
+     *            the trace to report
+     */
+    protected void report(final Oft oft, final Trace trace)
     {
-        final Path outputPath = this.arguments.getOutputPath();
-        final ReportSettings reportSettings = convertCommandLineArgumentsToReportSettings();
-        if (null == outputPath)
+        report(oft, trace, this.arguments);
+    }
+
+    private static void report(final Oft oft, final Trace trace,
+            final CliArguments reportArguments)
+    {
+        final Path outputPath = reportArguments.getOutputPath();
+        final ReportSettings reportSettings = convertCommandLineArgumentsToReportSettings(
+                reportArguments);
+        final Map<String, Path> additionalReports = reportArguments.getAdditionalReports();
+        if (!additionalReports.isEmpty())
+        {
+            reportToSeveralPaths(oft, trace, reportSettings, outputPath, additionalReports);
+        }
+        else if (null == outputPath)
         {
             oft.reportToStdOut(trace, reportSettings);
         }
         else
         {
-            oft.reportToPath(trace, this.arguments.getOutputPath(), reportSettings);
+            oft.reportToPath(trace, outputPath, reportSettings);
+        }
+    }
+
+    // All file reports are rendered concurrently. A report without output
+    // file still goes to standard out afterwards.
+    private static void reportToSeveralPaths(final Oft oft, final Trace trace,
+            final ReportSettings reportSettings, final Path outputPath,
+            final Map<String, Path> additionalReports)
+    {
+        final Map<String, Path> outputPathsByFormat = new LinkedHashMap<>();
+        if (null != outputPath)
+        {
+            outputPathsByFormat.put(reportSettings.getOutputFormat(), outputPath);
+        }
+        outputPathsByFormat.putAll(additionalReports);
+        oft.reportToPaths(trace, outputPathsByFormat, reportSettings);
+        if (null == outputPath)
+        {
+            oft.reportToStdOut(trace, reportSettings);
         }
     }
 
-    private ReportSettings convertCommandLineArgumentsToReportSettings()
+    private static ReportSettings convertCommandLineArgumentsToReportSettings(
+            final CliArguments reportArguments)
     {
         return ReportSettings.builder() //
-                .outputFormat(this.arguments.getOutputFormat()) //
-                .verbosity(this.arguments.getReportVerbosity()) //
-                .newline(this.arguments.getNewline()) //
-                .showOrigin(this.arguments.getShowOrigin()) //
+                .outputFormat(reportArguments.getOutputFormat()) //
+                .verbosity(reportArguments.getReportVerbosity()) //
+                .newline(reportArguments.getNewline()) //
+                .showOrigin(reportArguments.getShowOrigin()) //
                 .build();
     }
-}
\ No newline at end of file
+}
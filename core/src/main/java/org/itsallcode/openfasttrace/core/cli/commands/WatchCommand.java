@@ -0,0 +1,332 @@
+package org.itsallcode.openfasttrace.core.cli.commands;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.itsallcode.openfasttrace.api.core.ItemPayloadStore;
+import org.itsallcode.openfasttrace.api.core.LinkedSpecificationItem;
+import org.itsallcode.openfasttrace.api.core.SpecificationItem;
+import org.itsallcode.openfasttrace.api.core.Trace;
+import org.itsallcode.openfasttrace.api.importer.ImportSettings;
+import org.itsallcode.openfasttrace.api.importer.ImporterException;
+import org.itsallcode.openfasttrace.core.Linker;
+import org.itsallcode.openfasttrace.core.cli.CliArguments;
+import org.itsallcode.openfasttrace.core.importer.IncrementalImporter;
+
+/**
+ * Handler for the watch CLI command.
+ * <p>
+ * The command traces the inputs like the trace command and then keeps
+ * running. It watches the input directories for changes, imports only the
+ * changed files again, updates the links of the changed items and rewrites the
+ * reports. The command runs until it is interrupted.
+ * </p>
+ */
+public class WatchCommand extends TraceCommand
+{
+    /** The command line action for running this command. */
+    @SuppressWarnings("hiding")
+    public static final String COMMAND_NAME = "watch";
+    private static final Logger LOG = Logger.getLogger(WatchCommand.class.getName());
+    // Editors often write a file in several steps. Waiting until no more
+    // events arrive for this time avoids tracing intermediate states.
+    private static final long QUIET_PERIOD_MILLIS = 50;
+    private static final long MIN_PAYLOAD_COMPACTION_SIZE = 16L * 1024 * 1024;
+
+    private final Map<WatchKey, Path> watchedDirectories = new HashMap<>();
+    private IncrementalImporter importer;
+    private Linker linker;
+    private List<SpecificationItem> items;
+    private List<LinkedSpecificationItem> linkedItems;
+    private List<Path> ignoredPaths;
+    private long compactedPayloadSize;
+
+    /**
+     * Create a {@link WatchCommand}.
+     *
+     * @param arguments
+     *            command line arguments.
+     */
+    public WatchCommand(final CliArguments arguments)
+    {
+        super(arguments);
+    }
+
+    @Override
+    public boolean run()
+    {
+        final ImportSettings settings = createImportSettings();
+        this.importer = this.oft.createIncrementalImporter(settings);
+        this.ignoredPaths = getIgnoredPaths(settings);
+        try (WatchService watchService = FileSystems.getDefault().newWatchService())
+        {
+            for (final Path input : this.importer.getInputs())
+            {
+                registerInput(watchService, input);
+            }
+            this.importer.importAll();
+            this.compactedPayloadSize = getPayloadSize();
+            traceAndReport(this.importer.getFileCount(), true);
+            while (true)
+            {
+                final Set<Path> changedPaths = new LinkedHashSet<>();
+                final boolean overflow = waitForChanges(watchService, changedPaths);
+                update(changedPaths, overflow);
+            }
+        }
+        catch (final InterruptedException exception)
+        {
+            Thread.currentThread().interrupt();
+            LOG.info("Stopped watching inputs");
+            return true;
+        }
+        catch (final IOException exception)
+        {
+            throw new UncheckedIOException("Error watching inputs", exception);
+        }
+        finally
+        {
+            closePayloadStore();
+        }
+    }
+
+    private List<Path> getIgnoredPaths(final ImportSettings settings)
+    {
+        final List<Path> paths = new ArrayList<>(this.arguments.getAdditionalReports().values());
+        if (this.arguments.getOutputPath() != null)
+        {
+            paths.add(this.arguments.getOutputPath());
+        }
+        if (settings.getCacheDirectory() != null)
+        {
+            paths.add(settings.getCacheDirectory());
+        }
+        return paths.stream() //
+                .map(path -> path.toAbsolutePath().normalize()) //
+                .collect(Collectors.toList());
+    }
+
+    private void registerInput(final WatchService watchService, final Path input)
+            throws IOException
+    {
+        if (Files.isDirectory(input))
+        {
+            registerDirectoryTree(watchService, input);
+        }
+        else if (input.getParent() != null && Files.isDirectory(input.getParent()))
+        {
+            register(watchService, input.getParent());
+        }
+        else
+        {
+            LOG.warning(() -> "Can't watch input \"" + input + "\". Skipping.");
+        }
+    }
+
+    private void registerDirectoryTree(final WatchService watchService, final Path directory)
+            throws IOException
+    {
+        final List<Path> directories;
+        try (Stream<Path> paths = Files.walk(directory))
+        {
+            directories = paths.filter(Files::isDirectory).collect(Collectors.toList());
+        }
+        for (final Path subDirectory : directories)
+        {
+            register(watchService, subDirectory);
+        }
+    }
+
+    private void register(final WatchService watchService, final Path directory)
+            throws IOException
+    {
+        final WatchKey key = directory.register(watchService, ENTRY_CREATE, ENTRY_DELETE,
+                ENTRY_MODIFY);
+        this.watchedDirectories.put(key, directory);
+    }
+
+    private boolean waitForChanges(final WatchService watchService, final Set<Path> changedPaths)
+            throws InterruptedException, IOException
+    {
+        boolean overflow = processEvents(watchService, watchService.take(), changedPaths);
+        WatchKey key = watchService.poll(QUIET_PERIOD_MILLIS, TimeUnit.MILLISECONDS);
+        while (key != null)
+        {
+            overflow |= processEvents(watchService, key, changedPaths);
+            key = watchService.poll(QUIET_PERIOD_MILLIS, TimeUnit.MILLISECONDS);
+        }
+        return overflow;
+    }
+
+    private boolean processEvents(final WatchService watchService, final WatchKey key,
+            final Set<Path> changedPaths) throws IOException
+    {
+        boolean overflow = false;
+        final Path directory = this.watchedDirectories.get(key);
+        for (final WatchEvent<?> event : key.pollEvents())
+        {
+            if (event.kind() == OVERFLOW)
+            {
+                overflow = true;
+            }
+            else if (directory != null)
+            {
+                final Path path = directory.resolve((Path) event.context());
+                if (!isIgnored(path))
+                {
+                    if (event.kind() == ENTRY_CREATE && Files.isDirectory(path)
+                            && this.importer.isInput(path))
+                    {
+                        registerDirectoryTree(watchService, path);
+                    }
+                    changedPaths.add(path);
+                }
+            }
+        }
+        if (!key.reset())
+        {
+            this.watchedDirectories.remove(key);
+        }
+        return overflow;
+    }
+
+    private boolean isIgnored(final Path path)
+    {
+        final Path normalizedPath = path.toAbsolutePath().normalize();
+        return this.ignoredPaths.stream().anyMatch(normalizedPath::startsWith);
+    }
+
+    private void update(final Set<Path> changedPaths, final boolean overflow)
+    {
+        final long start = System.nanoTime();
+        try
+        {
+            boolean itemsChanged = false;
+            if (overflow)
+            {
+                this.importer.importAll();
+                itemsChanged = true;
+            }
+            else
+            {
+                for (final Path path : changedPaths)
+                {
+                    itemsChanged |= this.importer.update(path);
+                }
+            }
+            if (itemsChanged)
+            {
+                final ItemPayloadStore oldPayloadStore = compactPayloadStoreIfNeeded();
+                traceAndReport(overflow ? this.importer.getFileCount() : changedPaths.size(),
+                        overflow || oldPayloadStore != null);
+                closePayloadStore(oldPayloadStore);
+                LOG.info(() -> "Updated trace in "
+                        + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + " ms");
+            }
+        }
+        catch (final ImporterException exception)
+        {
+            LOG.log(Level.WARNING, exception,
+                    () -> "Error importing changed files. Waiting for next change.");
+        }
+    }
+
+    // Each import appends the texts of the imported items to the spill file,
+    // also for items that replace or equal earlier ones. Once the file has
+    // doubled since the last compaction, the items still in use move to a new
+    // file. The old file is closed after the trace no longer uses its items.
+    private ItemPayloadStore compactPayloadStoreIfNeeded()
+    {
+        final long size = getPayloadSize();
+        if (size <= Math.max(MIN_PAYLOAD_COMPACTION_SIZE, 2 * this.compactedPayloadSize))
+        {
+            return null;
+        }
+        final ItemPayloadStore oldStore = replacePayloadStore();
+        this.importer.movePayloads(getPayloadStore());
+        this.compactedPayloadSize = getPayloadSize();
+        LOG.fine(() -> "Compacted spill file from " + size + " to " + this.compactedPayloadSize
+                + " bytes");
+        return oldStore;
+    }
+
+    private long getPayloadSize()
+    {
+        final ItemPayloadStore store = getPayloadStore();
+        return (store == null) ? 0 : store.getSize();
+    }
+
+    /**
+     * Link and trace the imported items and process the trace.
+     *
+     * @param changedFileCount
+     *            number of files that changed since the last trace
+     * @param linkAllItems
+     *            <code>true</code> if all items must be linked again,
+     *            <code>false</code> if only the links of changed items are
+     *            updated
+     */
+    protected void traceAndReport(final int changedFileCount, final boolean linkAllItems)
+    {
+        final List<SpecificationItem> items = this.importer.getItems();
+        if (linkAllItems)
+        {
+            this.linker = this.oft.createLinker(items);
+            this.linkedItems = this.linker.link();
+        }
+        else
+        {
+            this.linkedItems = updateLinks(items);
+        }
+        this.items = items;
+        final Trace trace = this.oft.trace(this.linkedItems);
+        processTrace(trace);
+        LOG.info(() -> "Traced " + trace.count() + " items after changes in " + changedFileCount
+                + " files: " + trace.countDefects() + " defects");
+    }
+
+    /**
+     * Process a new trace. The default implementation writes the reports.
+     *
+     * @param trace
+     *            the trace
+     */
+    protected void processTrace(final Trace trace)
+    {
+        report(this.oft, trace);
+    }
+
+    // Items of unchanged files keep their instances, so comparing the
+    // instances finds the removed and added items.
+    private List<LinkedSpecificationItem> updateLinks(final List<SpecificationItem> items)
+    {
+        final Set<SpecificationItem> previousItems = identitySetOf(this.items);
+        final Set<SpecificationItem> currentItems = identitySetOf(items);
+        final List<SpecificationItem> removedItems = this.items.stream() //
+                .filter(item -> !currentItems.contains(item)) //
+                .collect(Collectors.toList());
+        final List<SpecificationItem> addedItems = items.stream() //
+                .filter(item -> !previousItems.contains(item)) //
+                .collect(Collectors.toList());
+        return this.linker.update(removedItems, addedItems);
+    }
+
+    private static Set<SpecificationItem> identitySetOf(final List<SpecificationItem> items)
+    {
+        final Set<SpecificationItem> set = Collections.newSetFromMap(new IdentityHashMap<>());
+        set.addAll(items);
+        return set;
+    }
+}
@@ -4,7 +4,6 @@ import static java.util.stream.Collectors.toList;
 
 import java.nio.file.Path;
 import java.util.List;
-import java.util.stream.StreamSupport;
 
 import org.itsallcode.openfasttrace.api.exporter.ExporterContext;
 import org.itsallcode.openfasttrace.api.exporter.ExporterException;
@@ -66,7 +65,7 @@ public class ExporterFactoryLoader
 
     private List<ExporterFactory> getMatchingFactories(final String format)
     {
-        return StreamSupport.stream(this.serviceLoader.spliterator(), false) //
+        return this.serviceLoader.getCandidates(format).stream() //
                 .filter(f -> f.supportsFormat(format)) //
                 .collect(toList());
     }
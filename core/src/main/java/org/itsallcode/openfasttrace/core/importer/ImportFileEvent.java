@@ -0,0 +1,30 @@
+package org.itsallcode.openfasttrace.core.importer;
+
+import jdk.jfr.*;
+
+/**
+ * Flight recorder event for the import of a single file.
+ */
+@Name("org.itsallcode.openfasttrace.ImportFile")
+@Label("Import File")
+@Category({ "OpenFastTrace", "Import" })
+@Description("Import of the specification items from one input file")
+@StackTrace(false)
+class ImportFileEvent extends Event
+{
+    @Label("Path")
+    String path;
+
+    @Label("Importer")
+    @Description("Type of the importer or 'cache' if the items were replayed from the import cache")
+    String importer;
+
+    @Label("Size")
+    @Description("Size of the file or -1 if the input is not a real file")
+    @DataAmount
+    long size;
+
+    @Label("Items")
+    @Description("Number of imported items or 0 if the importer does not collect the items")
+    int items;
+}
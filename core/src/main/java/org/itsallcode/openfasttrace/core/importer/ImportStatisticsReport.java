@@ -0,0 +1,229 @@
+package org.itsallcode.openfasttrace.core.importer;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.*;
+
+import org.itsallcode.openfasttrace.api.importer.ImportStatistics;
+import org.itsallcode.openfasttrace.api.importer.ImportStatistics.FileStatistics;
+import org.itsallcode.openfasttrace.api.importer.ImporterException;
+import org.itsallcode.openfasttrace.api.json.JsonWriter;
+
+/**
+ * Renders collected {@link ImportStatistics} as text summary, CSV or JSON.
+ * <p>
+ * The summary lists the slowest and the largest files and the totals per
+ * importer. CSV and JSON contain all files, so that they can be analyzed with
+ * other tools.
+ * </p>
+ */
+public class ImportStatisticsReport
+{
+    private static final String CSV_EXTENSION = ".csv";
+    private static final String JSON_EXTENSION = ".json";
+    private static final String TABLE_FORMAT = "%10s %12s %10s %8s  %-24s %s%n";
+    private static final String TOTALS_FORMAT = "%-24s %8s %10s %12s %10s %8s%n";
+
+    private final List<FileStatistics> files;
+
+    /**
+     * Create a new report.
+     *
+     * @param statistics
+     *            the collected statistics
+     */
+    public ImportStatisticsReport(final ImportStatistics statistics)
+    {
+        this.files = statistics.getFiles();
+    }
+
+    /**
+     * Write the report to a file. The format is chosen by the file extension:
+     * <code>.csv</code> for CSV, <code>.json</code> for JSON and the text
+     * summary otherwise.
+     *
+     * @param path
+     *            the output file
+     * @param top
+     *            number of files listed in each ranking of the summary
+     */
+    public void writeToPath(final Path path, final int top)
+    {
+        final String fileName = path.getFileName().toString().toLowerCase(Locale.ROOT);
+        try (Writer writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8))
+        {
+            if (fileName.endsWith(CSV_EXTENSION))
+            {
+                writeCsv(writer);
+            }
+            else if (fileName.endsWith(JSON_EXTENSION))
+            {
+                writeJson(writer);
+            }
+            else
+            {
+                writeSummary(writer, top);
+            }
+        }
+        catch (final IOException exception)
+        {
+            throw new ImporterException("Error writing import statistics to " + path, exception);
+        }
+    }
+
+    /**
+     * Write the text summary.
+     *
+     * @param writer
+     *            the output
+     * @param top
+     *            number of files listed in each ranking
+     */
+    public void writeSummary(final Writer writer, final int top)
+    {
+        final PrintWriter out = new PrintWriter(writer);
+        final Totals total = new Totals();
+        this.files.forEach(total::add);
+        out.printf("Import statistics: %d files, %d bytes, %d lines, %d items in %d ms%n",
+                total.files, total.bytes, total.lines, total.items, total.getMillis());
+        writeRanking(out, "Slowest files",
+                Comparator.comparing(FileStatistics::getDuration).reversed(), top);
+        writeRanking(out, "Largest files",
+                Comparator.comparingLong(FileStatistics::getBytes).reversed(), top);
+        out.println();
+        out.println("Importer totals:");
+        out.printf(TOTALS_FORMAT, "importer", "files", "ms", "bytes", "lines", "items");
+        for (final Map.Entry<String, Totals> entry : getTotalsByImporter().entrySet())
+        {
+            final Totals totals = entry.getValue();
+            out.printf(TOTALS_FORMAT, entry.getKey(), totals.files, totals.getMillis(), totals.bytes,
+                    totals.lines, totals.items);
+        }
+        out.flush();
+    }
+
+    private void writeRanking(final PrintWriter out, final String title,
+            final Comparator<FileStatistics> order, final int top)
+    {
+        out.println();
+        out.println(title + ":");
+        out.printf(TABLE_FORMAT, "ms", "bytes", "lines", "items", "importer", "path");
+        this.files.stream() //
+                .sorted(order) //
+                .limit(top) //
+                .forEachOrdered(file -> out.printf(TABLE_FORMAT, file.getDuration().toMillis(),
+                        file.getBytes(), file.getLines(), file.getItems(), file.getImporter(),
+                        file.getPath()));
+    }
+
+    private Map<String, Totals> getTotalsByImporter()
+    {
+        final Map<String, Totals> totalsByImporter = new TreeMap<>();
+        for (final FileStatistics file : this.files)
+        {
+            totalsByImporter.computeIfAbsent(file.getImporter(), key -> new Totals()).add(file);
+        }
+        return totalsByImporter;
+    }
+
+    /**
+     * Write all files as CSV with a header line.
+     *
+     * @param writer
+     *            the output
+     * @throws IOException
+     *             if writing fails
+     */
+    public void writeCsv(final Writer writer) throws IOException
+    {
+        writer.write("path,importer,bytes,lines,items,millis\n");
+        for (final FileStatistics file : this.files)
+        {
+            writer.write(String.join(",", quoteCsv(file.getPath()), quoteCsv(file.getImporter()),
+                    Long.toString(file.getBytes()), Long.toString(file.getLines()),
+                    Integer.toString(file.getItems()),
+                    Long.toString(file.getDuration().toMillis())));
+            writer.write('\n');
+        }
+        writer.flush();
+    }
+
+    private static String quoteCsv(final String value)
+    {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0)
+        {
+            return value;
+        }
+        return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+
+    /**
+     * Write all files and the totals per importer as JSON object.
+     *
+     * @param writer
+     *            the output
+     * @throws IOException
+     *             if writing fails
+     */
+    public void writeJson(final Writer writer) throws IOException
+    {
+        final JsonWriter json = new JsonWriter(writer);
+        json.beginObject();
+        json.name("files").beginArray();
+        for (final FileStatistics file : this.files)
+        {
+            json.beginObject();
+            json.name("path").value(file.getPath());
+            json.name("importer").value(file.getImporter());
+            json.name("bytes").value(file.getBytes());
+            json.name("lines").value(file.getLines());
+            json.name("items").value(file.getItems());
+            json.name("millis").value(file.getDuration().toMillis());
+            json.endObject();
+        }
+        json.endArray();
+        json.name("importers").beginArray();
+        for (final Map.Entry<String, Totals> entry : getTotalsByImporter().entrySet())
+        {
+            final Totals totals = entry.getValue();
+            json.beginObject();
+            json.name("importer").value(entry.getKey());
+            json.name("files").value(totals.files);
+            json.name("bytes").value(totals.bytes);
+            json.name("lines").value(totals.lines);
+            json.name("items").value(totals.items);
+            json.name("millis").value(totals.getMillis());
+            json.endObject();
+        }
+        json.endArray();
+        json.endObject();
+        writer.write('\n');
+        writer.flush();
+    }
+
+    private static class Totals
+    {
+        private int files = 0;
+        private long bytes = 0;
+        private long lines = 0;
+        private long items = 0;
+        private Duration duration = Duration.ZERO;
+
+        private void add(final FileStatistics file)
+        {
+            ++this.files;
+            this.bytes += Math.max(0, file.getBytes());
+            this.lines += Math.max(0, file.getLines());
+            this.items += file.getItems();
+            this.duration = this.duration.plus(file.getDuration());
+        }
+
+        private long getMillis()
+        {
+            return this.duration.toMillis();
+        }
+    }
+}
@@ -6,7 +6,6 @@ import java.nio.file.Path;
 import java.util.List;
 import java.util.Optional;
 import java.util.logging.Logger;
-import java.util.stream.StreamSupport;
 
 import org.itsallcode.openfasttrace.api.importer.ImporterContext;
 import org.itsallcode.openfasttrace.api.importer.ImporterException;
@@ -81,8 +80,15 @@ public class ImporterFactoryLoader
 
     private List<ImporterFactory> getMatchingFactories(final InputFile file)
     {
-        return StreamSupport.stream(this.serviceLoader.spliterator(), false) //
+        return this.serviceLoader.getCandidates(getExtension(file.getPath())).stream() //
                 .filter(f -> f.supportsFile(file)) //
                 .collect(toList());
     }
+
+    private static String getExtension(final String path)
+    {
+        final int fileNameStart = Math.max(path.lastIndexOf('/'), path.lastIndexOf('\\')) + 1;
+        final int extensionStart = path.lastIndexOf('.');
+        return extensionStart > fileNameStart ? path.substring(extensionStart + 1) : "";
+    }
 }
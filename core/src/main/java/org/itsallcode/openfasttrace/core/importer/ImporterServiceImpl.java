@@ -2,8 +2,11 @@ package org.itsallcode.openfasttrace.core.importer;
 import java.util.List;
 
 import org.itsallcode.openfasttrace.api.core.SpecificationItem;
+import org.itsallcode.openfasttrace.api.core.SymbolTable;
 import org.itsallcode.openfasttrace.api.importer.*;
 import org.itsallcode.openfasttrace.api.importer.input.InputFile;
+import org.itsallcode.openfasttrace.api.progress.ProgressMonitor;
+import org.itsallcode.openfasttrace.core.importer.cache.ImportCache;
 
 /**
  * An implementation of the {@link ImporterService} interface. This service
@@ -14,6 +17,8 @@ public class ImporterServiceImpl implements ImporterService
 {
     private final ImporterFactoryLoader factoryLoader;
     private final ImportSettings settings;
+    private final ImportCache cache;
+    private final SymbolTable symbols = new SymbolTable();
 
     /**
      * Create a new instance of an {@link ImporterServiceImpl}
@@ -28,6 +33,7 @@ public class ImporterServiceImpl implements ImporterService
     {
         this.factoryLoader = factoryLoader;
         this.settings = settings;
+        this.cache = settings.getCacheDirectory() == null ? null : ImportCache.create(settings);
     }
 
     @Override
@@ -39,15 +45,30 @@ public class ImporterServiceImpl implements ImporterService
     }
 
     @Override
-    public MultiFileImporterImpl createImporter(final ImportEventListener builder)
+    public MultiFileImporterImpl createImporter(final ImportEventListener listener)
     {
-        return new MultiFileImporterImpl((SpecificationListBuilder) builder, this.factoryLoader);
+        return new MultiFileImporterImpl(listener, this.factoryLoader);
     }
 
     @Override
     public MultiFileImporter createImporter()
     {
-        return createImporter(
-                SpecificationListBuilder.createWithFilter(this.settings.getFilters()));
+        return new MultiFileImporterImpl(
+                SpecificationListBuilder.createWithFilter(this.settings.getFilters(), this.symbols,
+                        this.settings.getPayloadStore()),
+                this.factoryLoader, this.cache,
+                ProgressMonitor.create(this.settings.getProgressListener()),
+                this.settings.getImportStatistics());
     }
-}
\ No newline at end of file
+
+    /**
+     * Create an importer that keeps the imported items grouped by file.
+     * 
+     * @return incremental importer for the inputs given in the import
+     *         settings
+     */
+    public IncrementalImporter createIncrementalImporter()
+    {
+        return new IncrementalImporter(this.factoryLoader, this.settings, this.cache);
+    }
+}
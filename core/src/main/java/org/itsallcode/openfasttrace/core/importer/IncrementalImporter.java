@@ -0,0 +1,345 @@
+package org.itsallcode.openfasttrace.core.importer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.itsallcode.openfasttrace.api.core.*;
+import org.itsallcode.openfasttrace.api.importer.*;
+import org.itsallcode.openfasttrace.api.importer.input.InputFile;
+import org.itsallcode.openfasttrace.api.importer.input.RealFileInput;
+import org.itsallcode.openfasttrace.core.importer.cache.ImportCache;
+
+/**
+ * Importer that keeps the imported {@link SpecificationItem}s grouped by the
+ * file they came from, so that single files can be imported again after they
+ * changed without importing all inputs.
+ * <p>
+ * The importer factories are loaded only once, which makes repeated imports
+ * of single files cheap. The imported items keep the order in which their
+ * files were first imported. Items of files that did not change keep their
+ * instances, so that a {@link org.itsallcode.openfasttrace.core.Linker} can
+ * update only the links of changed items.
+ * </p>
+ * <p>
+ * Each call of {@link #importAll()} or {@link #update(Path)} shares repeated
+ * values through its own {@link SymbolTable}. A table that lived as long as
+ * the importer would keep the values of removed and renamed items reachable.
+ * </p>
+ * <p>
+ * Linking adds the IDs of items reached by forwarded coverage to the covered
+ * IDs of the covering items. The importer therefore remembers the covered IDs
+ * each item declared and compares a file with its previous import on those.
+ * </p>
+ */
+public class IncrementalImporter
+{
+    private static final Logger LOG = Logger.getLogger(IncrementalImporter.class.getName());
+
+    private final ImporterFactoryLoader factoryLoader;
+    private final ImportSettings settings;
+    private final ImportCache cache;
+    private final List<Path> inputs;
+    private final Map<Path, ImportedFile> filesByPath = new LinkedHashMap<>();
+    private ItemPayloadStore payloadStore;
+
+    IncrementalImporter(final ImporterFactoryLoader factoryLoader, final ImportSettings settings,
+            final ImportCache cache)
+    {
+        this.factoryLoader = factoryLoader;
+        this.settings = settings;
+        this.cache = cache;
+        this.payloadStore = settings.getPayloadStore();
+        this.inputs = settings.getInputs().stream() //
+                .map(IncrementalImporter::normalize) //
+                .collect(Collectors.toList());
+    }
+
+    private static Path normalize(final Path path)
+    {
+        return path.toAbsolutePath().normalize();
+    }
+
+    /**
+     * Import all files from the inputs given in the import settings,
+     * replacing all previously imported items.
+     */
+    public void importAll()
+    {
+        this.filesByPath.clear();
+        final SymbolTable symbols = new SymbolTable();
+        for (final Path input : this.inputs)
+        {
+            if (Files.isDirectory(input))
+            {
+                importDirectory(input, symbols);
+            }
+            else if (Files.exists(input))
+            {
+                importFile(input, symbols);
+            }
+            else
+            {
+                LOG.warning(() -> "No such input file or directory \"" + input + "\". Skipping.");
+            }
+        }
+    }
+
+    private boolean importDirectory(final Path directory, final SymbolTable symbols)
+    {
+        final List<Path> files;
+        try (Stream<Path> paths = Files.walk(directory))
+        {
+            files = paths.filter(Files::isRegularFile) //
+                    .map(IncrementalImporter::normalize) //
+                    .filter(this::isSupported) //
+                    .collect(Collectors.toList());
+        }
+        catch (final IOException | UncheckedIOException exception)
+        {
+            throw new ImporterException("Error walking directory " + directory, exception);
+        }
+        boolean changed = false;
+        for (final Path file : files)
+        {
+            changed |= importFile(file, symbols);
+        }
+        return changed;
+    }
+
+    private boolean isSupported(final Path file)
+    {
+        return this.factoryLoader.supportsFile(toInput(file));
+    }
+
+    private static InputFile toInput(final Path file)
+    {
+        return RealFileInput.forPath(file, StandardCharsets.UTF_8);
+    }
+
+    // The file is parsed to the heap first, so that importing an unchanged
+    // file again does not append its payloads to the store.
+    private boolean importFile(final Path file, final SymbolTable symbols)
+    {
+        final SpecificationListBuilder builder = SpecificationListBuilder
+                .createWithFilter(this.settings.getFilters(), symbols);
+        new MultiFileImporterImpl(builder, this.factoryLoader, this.cache)
+                .importFile(toInput(file));
+        final List<SpecificationItem> items = builder.build();
+        final ImportedFile previousImport = this.filesByPath.get(file);
+        if (previousImport != null && previousImport.hasSameItems(items))
+        {
+            return false;
+        }
+        this.filesByPath.put(file, new ImportedFile(items, this.payloadStore));
+        return true;
+    }
+
+    /**
+     * Update the imported items after a file or directory was created,
+     * modified or deleted.
+     * <p>
+     * A modified file is imported again. The items of a deleted file or of all
+     * files in a deleted directory are removed. All supported files of a
+     * created directory are imported. Paths outside of the inputs are
+     * ignored.
+     * </p>
+     *
+     * @param path
+     *            the changed file or directory
+     * @return <code>true</code> if the imported items changed
+     */
+    public boolean update(final Path path)
+    {
+        final Path normalizedPath = normalize(path);
+        if (!isInput(normalizedPath))
+        {
+            return false;
+        }
+        if (Files.isDirectory(normalizedPath))
+        {
+            return importDirectory(normalizedPath, new SymbolTable());
+        }
+        if (Files.exists(normalizedPath) && isSupported(normalizedPath))
+        {
+            return importFile(normalizedPath, new SymbolTable());
+        }
+        return remove(normalizedPath);
+    }
+
+    private boolean remove(final Path path)
+    {
+        boolean removedItems = false;
+        final Iterator<Map.Entry<Path, ImportedFile>> entries = this.filesByPath.entrySet()
+                .iterator();
+        while (entries.hasNext())
+        {
+            final Map.Entry<Path, ImportedFile> entry = entries.next();
+            if (entry.getKey().startsWith(path))
+            {
+                removedItems |= !entry.getValue().items.isEmpty();
+                entries.remove();
+            }
+        }
+        return removedItems;
+    }
+
+    /**
+     * Move the texts and locations of all imported items to another store.
+     * <p>
+     * The store is append-only, so it keeps the values of replaced items as
+     * well. Moving the items that are still in use to a new store allows
+     * closing the old one. All items get new instances and must be linked
+     * again. Following imports use the new store.
+     * </p>
+     *
+     * @param newPayloadStore
+     *            the new store
+     */
+    public void movePayloads(final ItemPayloadStore newPayloadStore)
+    {
+        this.payloadStore = newPayloadStore;
+        for (final ImportedFile importedFile : this.filesByPath.values())
+        {
+            importedFile.moveTo(newPayloadStore);
+        }
+    }
+
+    /**
+     * Check if a path is one of the inputs or inside an input directory.
+     *
+     * @param path
+     *            the path
+     * @return <code>true</code> if the path belongs to the inputs
+     */
+    public boolean isInput(final Path path)
+    {
+        final Path normalizedPath = normalize(path);
+        return this.inputs.stream().anyMatch(normalizedPath::startsWith);
+    }
+
+    /**
+     * Get the inputs given in the import settings as absolute paths.
+     *
+     * @return the inputs
+     */
+    public List<Path> getInputs()
+    {
+        return Collections.unmodifiableList(this.inputs);
+    }
+
+    /**
+     * Get the number of imported files.
+     *
+     * @return number of files
+     */
+    public int getFileCount()
+    {
+        return this.filesByPath.size();
+    }
+
+    /**
+     * Get the items imported from all files.
+     *
+     * @return the imported items
+     */
+    public List<SpecificationItem> getItems()
+    {
+        return this.filesByPath.values().stream() //
+                .flatMap(importedFile -> importedFile.items.stream()) //
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * The items imported from one file together with the covered IDs they
+     * declared.
+     */
+    private static final class ImportedFile
+    {
+        private final List<List<SpecificationItemId>> declaredCoveredIds;
+        private List<SpecificationItem> items;
+
+        private ImportedFile(final List<SpecificationItem> parsedItems,
+                final ItemPayloadStore payloadStore)
+        {
+            this.declaredCoveredIds = parsedItems.stream() //
+                    .map(item -> List.copyOf(item.getCoveredIds())) //
+                    .collect(Collectors.toList());
+            this.items = (payloadStore == null) ? parsedItems
+                    : copyAll(parsedItems, payloadStore);
+        }
+
+        private boolean hasSameItems(final List<SpecificationItem> parsedItems)
+        {
+            if (parsedItems.size() != this.items.size())
+            {
+                return false;
+            }
+            for (int i = 0; i < parsedItems.size(); ++i)
+            {
+                if (!isSameItem(parsedItems.get(i), this.items.get(i),
+                        this.declaredCoveredIds.get(i)))
+                {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        // The payload is compared last, because items in an ItemPayloadStore
+        // read it from disk.
+        private static boolean isSameItem(final SpecificationItem parsedItem,
+                final SpecificationItem importedItem,
+                final List<SpecificationItemId> declaredCoveredIds)
+        {
+            return parsedItem.getId().equals(importedItem.getId())
+                    && (parsedItem.getStatus() == importedItem.getStatus())
+                    && (parsedItem.isForwarding() == importedItem.isForwarding())
+                    && parsedItem.getCoveredIds().equals(declaredCoveredIds)
+                    && parsedItem.getDependOnIds().equals(importedItem.getDependOnIds())
+                    && parsedItem.getNeedsArtifactTypes()
+                            .equals(importedItem.getNeedsArtifactTypes())
+                    && parsedItem.getTags().equals(importedItem.getTags())
+                    && parsedItem.getPayload().equals(importedItem.getPayload());
+        }
+
+        private void moveTo(final ItemPayloadStore payloadStore)
+        {
+            this.items = copyAll(this.items, payloadStore);
+        }
+
+        private List<SpecificationItem> copyAll(final List<SpecificationItem> items,
+                final ItemPayloadStore payloadStore)
+        {
+            final List<SpecificationItem> copies = new ArrayList<>(items.size());
+            for (int i = 0; i < items.size(); ++i)
+            {
+                copies.add(copyTo(items.get(i), this.declaredCoveredIds.get(i), payloadStore));
+            }
+            return copies;
+        }
+
+        private static SpecificationItem copyTo(final SpecificationItem item,
+                final List<SpecificationItemId> declaredCoveredIds,
+                final ItemPayloadStore payloadStore)
+        {
+            final SpecificationItem.Builder builder = SpecificationItem.builder() //
+                    .id(item.getId()) //
+                    .payloadFrom(item) //
+                    .payloadStore(payloadStore) //
+                    .status(item.getStatus()) //
+                    .forwards(item.isForwarding());
+            declaredCoveredIds.forEach(builder::addCoveredId);
+            item.getDependOnIds().forEach(builder::addDependOnId);
+            item.getNeedsArtifactTypes().forEach(builder::addNeedsArtifactType);
+            item.getTags().forEach(builder::addTag);
+            return builder.build();
+        }
+    }
+}
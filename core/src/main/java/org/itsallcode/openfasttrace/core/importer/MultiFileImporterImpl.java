@@ -2,11 +2,13 @@ package org.itsallcode.openfasttrace.core.importer;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.PathMatcher;
+import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -17,6 +19,12 @@ import org.itsallcode.openfasttrace.api.core.SpecificationItem;
 import org.itsallcode.openfasttrace.api.importer.*;
 import org.itsallcode.openfasttrace.api.importer.input.InputFile;
 import org.itsallcode.openfasttrace.api.importer.input.RealFileInput;
+import org.itsallcode.openfasttrace.api.progress.ProgressCounter;
+import org.itsallcode.openfasttrace.api.progress.ProgressListener.Counter;
+import org.itsallcode.openfasttrace.api.progress.ProgressMonitor;
+import org.itsallcode.openfasttrace.core.importer.cache.CacheRecorder;
+import org.itsallcode.openfasttrace.core.importer.cache.ImportCache;
+import org.itsallcode.openfasttrace.core.jfr.FlightRecording;
 
 /**
  * This class allows you to import and collect {@link SpecificationItem}s from
@@ -29,23 +37,79 @@ public class MultiFileImporterImpl implements MultiFileImporter
     private static final Logger LOG = Logger.getLogger(MultiFileImporterImpl.class.getName());
     private static final Charset DEFAULT_CHARSET = StandardCharsets.UTF_8;
     private static final String ALL_RECURSIVE_GLOB = "**/*";
+    private static final String CACHE_IMPORTER_TYPE = "cache";
+    private static final int LINE_COUNT_BUFFER_SIZE = 64 * 1024;
 
+    private final ImportEventListener listener;
     private final SpecificationListBuilder specItemBuilder;
     private final ImporterFactoryLoader factoryLoader;
+    private final ImportCache cache;
+    private final ProgressCounter walkedFiles;
+    private final ProgressCounter importedFiles;
+    private final ImportStatistics statistics;
 
-    MultiFileImporterImpl(final SpecificationListBuilder specItemBuilder,
+    MultiFileImporterImpl(final ImportEventListener listener,
             final ImporterFactoryLoader factoryLoader)
     {
-        this.specItemBuilder = specItemBuilder;
+        this(listener, factoryLoader, null);
+    }
+
+    /**
+     * Create a new {@link MultiFileImporterImpl}.
+     *
+     * @param listener
+     *            listener that receives the import events. If this is a
+     *            {@link SpecificationListBuilder}, the importer also collects
+     *            the imported items.
+     * @param factoryLoader
+     *            loader for importer factories
+     * @param cache
+     *            persistent import cache or <code>null</code> to always parse
+     *            the files
+     */
+    MultiFileImporterImpl(final ImportEventListener listener,
+            final ImporterFactoryLoader factoryLoader, final ImportCache cache)
+    {
+        this(listener, factoryLoader, cache, ProgressMonitor.none(), null);
+    }
+
+    /**
+     * Create a new {@link MultiFileImporterImpl} that reports the walked and
+     * imported files and optionally collects their import statistics.
+     *
+     * @param listener
+     *            listener that receives the import events
+     * @param factoryLoader
+     *            loader for importer factories
+     * @param cache
+     *            persistent import cache or <code>null</code> to always parse
+     *            the files
+     * @param progressMonitor
+     *            monitor that receives the number of walked and imported files
+     * @param statistics
+     *            collector for per-file import statistics or <code>null</code>
+     */
+    MultiFileImporterImpl(final ImportEventListener listener,
+            final ImporterFactoryLoader factoryLoader, final ImportCache cache,
+            final ProgressMonitor progressMonitor, final ImportStatistics statistics)
+    {
+        this.listener = listener;
+        this.specItemBuilder = listener instanceof SpecificationListBuilder
+                ? (SpecificationListBuilder) listener
+                : null;
         this.factoryLoader = factoryLoader;
+        this.cache = cache;
+        this.walkedFiles = progressMonitor.startCounter(Counter.FILES_WALKED, -1);
+        this.importedFiles = progressMonitor.startCounter(Counter.FILES_IMPORTED, -1);
+        this.statistics = statistics;
     }
 
     @Override
     public MultiFileImporterImpl importFile(final InputFile file)
     {
-        final int itemCountBefore = this.specItemBuilder.getItemCount();
-        createImporterIfPossible(file, this.specItemBuilder).ifPresent(Importer::runImport);
-        final int itemCountImported = this.specItemBuilder.getItemCount() - itemCountBefore;
+        final int itemCountBefore = getItemCount();
+        runImport(file);
+        final int itemCountImported = getItemCount() - itemCountBefore;
         LOG.fine(() -> "Imported " + itemCountImported + " items from '" + file + "'.");
         return this;
     }
@@ -73,6 +137,8 @@ public class MultiFileImporterImpl implements MultiFileImporter
                         + "\". Skipping.");
             }
         }
+        this.walkedFiles.finish();
+        this.importedFiles.finish();
         return this;
     }
 
@@ -82,15 +148,15 @@ public class MultiFileImporterImpl implements MultiFileImporter
     {
         final PathMatcher matcher = dir.getFileSystem().getPathMatcher("glob:" + glob);
         final AtomicInteger fileCount = new AtomicInteger(0);
-        final int itemCountBefore = this.specItemBuilder.getItemCount();
+        final int itemCountBefore = getItemCount();
         try (Stream<Path> fileStream = Files.walk(dir))
         {
-            fileStream.filter(path -> !path.toFile().isDirectory()) //
+            fileStream.filter(this::countIfFile) //
                     .filter(matcher::matches) //
                     .map(path -> RealFileInput.forPath(path, DEFAULT_CHARSET))
                     .filter(this.factoryLoader::supportsFile)
-                    .map(file -> createImporterIfPossible(file, this.specItemBuilder)).forEach(importer -> {
-                        importer.ifPresent(Importer::runImport);
+                    .forEach(file -> {
+                        runImport(file);
                         fileCount.incrementAndGet();
                     });
         }
@@ -98,23 +164,171 @@ public class MultiFileImporterImpl implements MultiFileImporter
         {
             throw new ImporterException("Error walking directory " + dir, e);
         }
-        final int itemCountImported = this.specItemBuilder.getItemCount() - itemCountBefore;
+        final int itemCountImported = getItemCount() - itemCountBefore;
         LOG.fine(() -> "Imported " + fileCount + " files containing " + itemCountImported
                 + " items from '" + dir + "'.");
         return this;
     }
 
+    private boolean countIfFile(final Path path)
+    {
+        if (path.toFile().isDirectory())
+        {
+            return false;
+        }
+        this.walkedFiles.increment();
+        return true;
+    }
+
     @Override
     public List<SpecificationItem> getImportedItems()
     {
+        if (this.specItemBuilder == null)
+        {
+            throw new IllegalStateException(
+                    "Importer forwards events to a listener and does not collect items");
+        }
         return this.specItemBuilder.build();
     }
 
-    private Optional<Importer> createImporterIfPossible(final InputFile file, final SpecificationListBuilder builder)
+    private int getItemCount()
+    {
+        return this.specItemBuilder == null ? 0 : this.specItemBuilder.getItemCount();
+    }
+
+    private void runImport(final InputFile file)
+    {
+        if (FlightRecording.isActive())
+        {
+            runRecordedImport(file);
+        }
+        else
+        {
+            runImportWithStatistics(file);
+        }
+    }
+
+    private void runRecordedImport(final InputFile file)
+    {
+        final ImportFileEvent event = new ImportFileEvent();
+        event.begin();
+        final int itemCountBefore = getItemCount();
+        final Optional<String> importerType = runImportWithStatistics(file);
+        event.end();
+        if (importerType.isPresent() && event.shouldCommit())
+        {
+            event.path = file.getPath();
+            event.importer = importerType.get();
+            event.size = getSize(file);
+            event.items = getItemCount() - itemCountBefore;
+            event.commit();
+        }
+    }
+
+    private Optional<String> runImportWithStatistics(final InputFile file)
+    {
+        final int itemCountBefore = getItemCount();
+        final long startNanos = System.nanoTime();
+        final Optional<String> importerType = (this.cache != null && file.isRealFile())
+                ? runCachedImport(file)
+                : runImporter(file, this.listener);
+        final Duration duration = Duration.ofNanos(System.nanoTime() - startNanos);
+        if (importerType.isEmpty())
+        {
+            return importerType;
+        }
+        this.importedFiles.increment();
+        if (this.statistics != null)
+        {
+            final String type = importerType.get();
+            // Replayed files were not read, so counting their lines would
+            // add a full read that the import itself did not need.
+            final long lines = CACHE_IMPORTER_TYPE.equals(type) ? -1 : countLines(file);
+            this.statistics.add(new ImportStatistics.FileStatistics(file.getPath(), type,
+                    getSize(file), lines, getItemCount() - itemCountBefore, duration));
+        }
+        return importerType;
+    }
+
+    private Optional<String> runImporter(final InputFile file,
+            final ImportEventListener eventListener)
+    {
+        final Optional<Importer> importer = createImporterIfPossible(file, eventListener);
+        importer.ifPresent(Importer::runImport);
+        return importer.map(presentImporter -> presentImporter.getClass().getSimpleName());
+    }
+
+    private Optional<String> runCachedImport(final InputFile file)
+    {
+        if (!this.factoryLoader.supportsFile(file))
+        {
+            return Optional.empty();
+        }
+        final Path path = file.toPath();
+        if (this.cache.replay(path, this.listener))
+        {
+            LOG.finest(() -> "Replayed file '" + file + "' from import cache");
+            return Optional.of(CACHE_IMPORTER_TYPE);
+        }
+        final CacheRecorder recorder = this.cache.record(path, this.listener);
+        final Optional<String> importerType = runImporter(file, recorder);
+        recorder.commit();
+        return importerType;
+    }
+
+    private static long getSize(final InputFile file)
+    {
+        if (!file.isRealFile())
+        {
+            return -1;
+        }
+        try
+        {
+            return Files.size(file.toPath());
+        }
+        catch (final IOException exception)
+        {
+            return -1;
+        }
+    }
+
+    private static long countLines(final InputFile file)
+    {
+        if (!file.isRealFile())
+        {
+            return -1;
+        }
+        try (InputStream stream = Files.newInputStream(file.toPath()))
+        {
+            final byte[] buffer = new byte[LINE_COUNT_BUFFER_SIZE];
+            long lines = 0;
+            byte last = '\n';
+            int length;
+            while ((length = stream.read(buffer)) > 0)
+            {
+                for (int i = 0; i < length; ++i)
+                {
+                    if (buffer[i] == '\n')
+                    {
+                        ++lines;
+                    }
+                }
+                last = buffer[length - 1];
+            }
+            return last == '\n' ? lines : lines + 1;
+        }
+        catch (final IOException exception)
+        {
+            return -1;
+        }
+    }
+
+    private Optional<Importer> createImporterIfPossible(final InputFile file,
+            final ImportEventListener eventListener)
     {
         final Optional<ImporterFactory> importerFactory = this.factoryLoader.getImporterFactory(file);
         final Optional<Importer> importer = importerFactory.isPresent()
-                ? Optional.of(importerFactory.get().createImporter(file, builder))
+                ? Optional.of(importerFactory.get().createImporter(file, eventListener))
                 : Optional.empty();
 
         LOG.fine(() -> (importer.isPresent() ? "Created importer of type '" + importer.getClass().getSimpleName()
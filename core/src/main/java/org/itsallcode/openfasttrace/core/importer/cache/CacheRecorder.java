@@ -0,0 +1,191 @@
+package org.itsallcode.openfasttrace.core.importer.cache;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+
+import org.itsallcode.openfasttrace.api.core.*;
+import org.itsallcode.openfasttrace.api.importer.ImportEventListener;
+
+/**
+ * {@link ImportEventListener} that forwards all events to a delegate and
+ * records them for storing them in the {@link ImportCache}.
+ * <p>
+ * The recorded events are only stored when the import finished successfully
+ * and {@link #commit()} is called.
+ * </p>
+ */
+public class CacheRecorder implements ImportEventListener
+{
+    private final ImportCache cache;
+    private final Path file;
+    private final FileState state;
+    private final ImportEventListener delegate;
+    private final ByteArrayOutputStream events = new ByteArrayOutputStream();
+    private final DataOutputStream output = new DataOutputStream(this.events);
+
+    CacheRecorder(final ImportCache cache, final Path file, final FileState state,
+            final ImportEventListener delegate)
+    {
+        this.cache = cache;
+        this.file = file;
+        this.state = state;
+        this.delegate = delegate;
+    }
+
+    /**
+     * Store the recorded events in the cache.
+     */
+    public void commit()
+    {
+        if (this.state != null)
+        {
+            this.cache.store(this.file, this.state, this.events.toByteArray());
+        }
+    }
+
+    @Override
+    public void beginSpecificationItem()
+    {
+        writeEventType(RecordedEvents.BEGIN_ITEM);
+        this.delegate.beginSpecificationItem();
+    }
+
+    @Override
+    public void setId(final SpecificationItemId id)
+    {
+        writeEventType(RecordedEvents.SET_ID);
+        write(() -> RecordedEvents.writeId(this.output, id));
+        this.delegate.setId(id);
+    }
+
+    @Override
+    public void setTitle(final String title)
+    {
+        writeStringEvent(RecordedEvents.SET_TITLE, title);
+        this.delegate.setTitle(title);
+    }
+
+    @Override
+    public void setStatus(final ItemStatus status)
+    {
+        writeEventType(RecordedEvents.SET_STATUS);
+        write(() -> this.output.writeByte(status == null ? -1 : status.ordinal()));
+        this.delegate.setStatus(status);
+    }
+
+    @Override
+    public void appendDescription(final String fragment)
+    {
+        writeStringEvent(RecordedEvents.APPEND_DESCRIPTION, fragment);
+        this.delegate.appendDescription(fragment);
+    }
+
+    @Override
+    public void appendRationale(final String fragment)
+    {
+        writeStringEvent(RecordedEvents.APPEND_RATIONALE, fragment);
+        this.delegate.appendRationale(fragment);
+    }
+
+    @Override
+    public void appendComment(final String fragment)
+    {
+        writeStringEvent(RecordedEvents.APPEND_COMMENT, fragment);
+        this.delegate.appendComment(fragment);
+    }
+
+    @Override
+    public void addCoveredId(final SpecificationItemId id)
+    {
+        writeEventType(RecordedEvents.ADD_COVERED_ID);
+        write(() -> RecordedEvents.writeId(this.output, id));
+        this.delegate.addCoveredId(id);
+    }
+
+    @Override
+    public void addDependsOnId(final SpecificationItemId id)
+    {
+        writeEventType(RecordedEvents.ADD_DEPENDS_ON_ID);
+        write(() -> RecordedEvents.writeId(this.output, id));
+        this.delegate.addDependsOnId(id);
+    }
+
+    @Override
+    public void addNeededArtifactType(final String artifactType)
+    {
+        writeStringEvent(RecordedEvents.ADD_NEEDED_ARTIFACT_TYPE, artifactType);
+        this.delegate.addNeededArtifactType(artifactType);
+    }
+
+    @Override
+    public void addTag(final String tag)
+    {
+        writeStringEvent(RecordedEvents.ADD_TAG, tag);
+        this.delegate.addTag(tag);
+    }
+
+    @Override
+    public void setLocation(final String path, final int line)
+    {
+        writeStringEvent(RecordedEvents.SET_PATH_AND_LINE, path);
+        write(() -> this.output.writeInt(line));
+        this.delegate.setLocation(path, line);
+    }
+
+    @Override
+    public void setLocation(final Location location)
+    {
+        writeEventType(RecordedEvents.SET_LOCATION);
+        write(() -> RecordedEvents.writeLocation(this.output, location));
+        this.delegate.setLocation(location);
+    }
+
+    @Override
+    public void setForwards(final boolean forwards)
+    {
+        writeEventType(RecordedEvents.SET_FORWARDS);
+        write(() -> this.output.writeBoolean(forwards));
+        this.delegate.setForwards(forwards);
+    }
+
+    @Override
+    public void endSpecificationItem()
+    {
+        writeEventType(RecordedEvents.END_ITEM);
+        this.delegate.endSpecificationItem();
+    }
+
+    private void writeStringEvent(final byte eventType, final String string)
+    {
+        writeEventType(eventType);
+        write(() -> RecordedEvents.writeString(this.output, string));
+    }
+
+    private void writeEventType(final byte eventType)
+    {
+        write(() -> this.output.writeByte(eventType));
+    }
+
+    // Writing to a ByteArrayOutputStream never fails, so the exception is
+    // only declared because of the DataOutput interface.
+    private static void write(final EventWriter writer)
+    {
+        try
+        {
+            writer.write();
+        }
+        catch (final IOException exception)
+        {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    @FunctionalInterface
+    private interface EventWriter
+    {
+        void write() throws IOException;
+    }
+}
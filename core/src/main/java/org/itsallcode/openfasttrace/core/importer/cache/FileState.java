@@ -0,0 +1,141 @@
+package org.itsallcode.openfasttrace.core.importer.cache;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Optional;
+import java.util.zip.CRC32C;
+
+/**
+ * Size, modification time and optionally a fingerprint of the content of an
+ * imported file at the time it was imported.
+ * <p>
+ * The content fingerprint is the Git blob object ID if the file is tracked by
+ * Git and unchanged, otherwise a CRC32C checksum of the content if checksums
+ * are enabled. The fingerprint is prefixed with its kind, so that only
+ * fingerprints of the same kind are compared.
+ * </p>
+ */
+final class FileState
+{
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final String GIT_BLOB_PREFIX = "git:";
+    private static final String CRC32C_PREFIX = "crc32c:";
+
+    private final long size;
+    private final long lastModified;
+    private final String contentId;
+
+    FileState(final long size, final long lastModified, final String contentId)
+    {
+        this.size = size;
+        this.lastModified = lastModified;
+        this.contentId = contentId;
+    }
+
+    /**
+     * Read the current state of a file.
+     *
+     * @param file
+     *            the file
+     * @param withChecksum
+     *            <code>true</code> if the checksum of the file content should
+     *            be calculated when Git does not know the content
+     * @param gitWorkTrees
+     *            Git work trees used for looking up blob object IDs or
+     *            <code>null</code> to not use Git
+     * @return the current state of the file
+     * @throws IOException
+     *             if the file can not be read
+     */
+    static FileState read(final Path file, final boolean withChecksum,
+            final GitWorkTrees gitWorkTrees) throws IOException
+    {
+        final long size = Files.size(file);
+        final FileTime lastModified = Files.getLastModifiedTime(file);
+        final Optional<String> blobId = gitWorkTrees == null ? Optional.empty()
+                : gitWorkTrees.getUnchangedBlobId(file, size, lastModified);
+        final String contentId;
+        if (blobId.isPresent())
+        {
+            contentId = GIT_BLOB_PREFIX + blobId.get();
+        }
+        else if (withChecksum)
+        {
+            contentId = CRC32C_PREFIX + Long.toHexString(calculateChecksum(file));
+        }
+        else
+        {
+            contentId = null;
+        }
+        return new FileState(size, lastModified.toMillis(), contentId);
+    }
+
+    private static long calculateChecksum(final Path file) throws IOException
+    {
+        final CRC32C crc = new CRC32C();
+        final byte[] buffer = new byte[BUFFER_SIZE];
+        try (InputStream input = Files.newInputStream(file))
+        {
+            int count = input.read(buffer);
+            while (count >= 0)
+            {
+                crc.update(buffer, 0, count);
+                count = input.read(buffer);
+            }
+        }
+        return crc.getValue();
+    }
+
+    long getSize()
+    {
+        return this.size;
+    }
+
+    long getLastModified()
+    {
+        return this.lastModified;
+    }
+
+    String getContentId()
+    {
+        return this.contentId;
+    }
+
+    /**
+     * Check if a file is unchanged compared to a cached state.
+     * <p>
+     * If both states have a content fingerprint of the same kind, the
+     * modification time is ignored so that a fresh clone or a checkout that
+     * only touches files does not invalidate the cache. Otherwise the
+     * modification times are compared, unless checksums are enabled.
+     * </p>
+     *
+     * @param cached
+     *            state stored in the cache
+     * @param compareChecksums
+     *            <code>true</code> if files without comparable content
+     *            fingerprints count as changed
+     * @return <code>true</code> if the file is unchanged
+     */
+    boolean isUnchangedSince(final FileState cached, final boolean compareChecksums)
+    {
+        if (this.size != cached.size)
+        {
+            return false;
+        }
+        if (this.contentId != null && cached.contentId != null
+                && getKind(this.contentId).equals(getKind(cached.contentId)))
+        {
+            return this.contentId.equals(cached.contentId);
+        }
+        return !compareChecksums && this.lastModified == cached.lastModified;
+    }
+
+    private static String getKind(final String contentId)
+    {
+        return contentId.substring(0, contentId.indexOf(':') + 1);
+    }
+}
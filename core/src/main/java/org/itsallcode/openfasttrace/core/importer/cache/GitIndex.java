@@ -0,0 +1,281 @@
+package org.itsallcode.openfasttrace.core.importer.cache;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Read-only view of the index file (<code>.git/index</code>) of a Git work
+ * tree.
+ * <p>
+ * The index contains the object ID of the blob for each tracked file together
+ * with the size and modification time the file had when Git last looked at
+ * it. If a file still has that size and modification time, its content is the
+ * blob, so the object ID can be used as a content fingerprint without reading
+ * the file. This works after a fresh clone where modification times are
+ * meaningless on their own, because Git records the times of the checkout.
+ * </p>
+ * <p>
+ * This parser supports index versions 2 to 4 of repositories using SHA-1
+ * object IDs. It ignores extensions and does not verify the trailing checksum
+ * of the index.
+ * </p>
+ */
+final class GitIndex
+{
+    private static final int SIGNATURE = 0x44495243; // "DIRC"
+    private static final int MIN_VERSION = 2;
+    private static final int MAX_VERSION = 4;
+    private static final int OBJECT_ID_LENGTH = 20;
+    private static final int FLAG_ASSUME_VALID = 0x8000;
+    private static final int FLAG_EXTENDED = 0x4000;
+    private static final int FLAG_STAGE_MASK = 0x3000;
+    private static final int EXTENDED_FLAG_SKIP_WORKTREE = 0x4000;
+    private static final int EXTENDED_FLAG_INTENT_TO_ADD = 0x2000;
+    private static final int MODE_TYPE_MASK = 0170000;
+    private static final int MODE_REGULAR_FILE = 0100000;
+
+    private final Path workTree;
+    private final Instant indexModified;
+    private final Map<String, Entry> entries;
+
+    private GitIndex(final Path workTree, final Instant indexModified,
+            final Map<String, Entry> entries)
+    {
+        this.workTree = workTree;
+        this.indexModified = indexModified;
+        this.entries = entries;
+    }
+
+    /**
+     * Read the index of a Git work tree.
+     *
+     * @param workTree
+     *            root directory of the work tree
+     * @param indexFile
+     *            the index file of the work tree
+     * @return the index
+     * @throws IOException
+     *             if the index can not be read or has an unsupported format
+     */
+    static GitIndex read(final Path workTree, final Path indexFile) throws IOException
+    {
+        final Instant indexModified = Files.getLastModifiedTime(indexFile).toInstant();
+        final ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(indexFile));
+        try
+        {
+            return new GitIndex(workTree, indexModified, readEntries(buffer));
+        }
+        catch (final BufferUnderflowException | IndexOutOfBoundsException
+                | IllegalArgumentException exception)
+        {
+            throw new IOException("Git index '" + indexFile + "' is truncated", exception);
+        }
+    }
+
+    private static Map<String, Entry> readEntries(final ByteBuffer buffer) throws IOException
+    {
+        if (buffer.getInt() != SIGNATURE)
+        {
+            throw new IOException("Invalid signature");
+        }
+        final int version = buffer.getInt();
+        if (version < MIN_VERSION || version > MAX_VERSION)
+        {
+            throw new IOException("Unsupported index version " + version);
+        }
+        final int entryCount = buffer.getInt();
+        final Map<String, Entry> entries = new HashMap<>(entryCount * 2);
+        byte[] previousPath = new byte[0];
+        for (int i = 0; i < entryCount; ++i)
+        {
+            final int entryStart = buffer.position();
+            buffer.position(entryStart + 8); // ctime
+            final int modifiedSeconds = buffer.getInt();
+            final int modifiedNanos = buffer.getInt();
+            buffer.position(buffer.position() + 8); // device and inode
+            final int mode = buffer.getInt();
+            buffer.position(buffer.position() + 8); // uid and gid
+            final int size = buffer.getInt();
+            final byte[] objectId = new byte[OBJECT_ID_LENGTH];
+            buffer.get(objectId);
+            final int flags = Short.toUnsignedInt(buffer.getShort());
+            int extendedFlags = 0;
+            if (version >= 3 && (flags & FLAG_EXTENDED) != 0)
+            {
+                extendedFlags = Short.toUnsignedInt(buffer.getShort());
+            }
+            final byte[] path;
+            if (version == 4)
+            {
+                path = readPrefixCompressedPath(buffer, previousPath);
+            }
+            else
+            {
+                path = readNulTerminated(buffer, new byte[0]);
+                final int fixedLength = buffer.position() - entryStart - path.length - 1;
+                buffer.position(entryStart + ((fixedLength + path.length + 8) & ~7));
+            }
+            previousPath = path;
+            if (isUsable(mode, flags, extendedFlags))
+            {
+                entries.put(new String(path, StandardCharsets.UTF_8),
+                        new Entry(size, modifiedSeconds, modifiedNanos, toHex(objectId)));
+            }
+        }
+        return entries;
+    }
+
+    private static boolean isUsable(final int mode, final int flags, final int extendedFlags)
+    {
+        return (mode & MODE_TYPE_MASK) == MODE_REGULAR_FILE //
+                && (flags & (FLAG_ASSUME_VALID | FLAG_STAGE_MASK)) == 0 //
+                && (extendedFlags & (EXTENDED_FLAG_SKIP_WORKTREE
+                        | EXTENDED_FLAG_INTENT_TO_ADD)) == 0;
+    }
+
+    // Version 4 stores the number of bytes to remove from the end of the
+    // previous path followed by the new suffix.
+    private static byte[] readPrefixCompressedPath(final ByteBuffer buffer,
+            final byte[] previousPath) throws IOException
+    {
+        final int stripLength = readOffsetVarint(buffer);
+        if (stripLength > previousPath.length)
+        {
+            throw new IOException("Invalid path compression");
+        }
+        final byte[] prefix = new byte[previousPath.length - stripLength];
+        System.arraycopy(previousPath, 0, prefix, 0, prefix.length);
+        return readNulTerminated(buffer, prefix);
+    }
+
+    private static int readOffsetVarint(final ByteBuffer buffer)
+    {
+        int current = Byte.toUnsignedInt(buffer.get());
+        int value = current & 0x7F;
+        while ((current & 0x80) != 0)
+        {
+            current = Byte.toUnsignedInt(buffer.get());
+            value = ((value + 1) << 7) | (current & 0x7F);
+        }
+        return value;
+    }
+
+    private static byte[] readNulTerminated(final ByteBuffer buffer, final byte[] prefix)
+    {
+        final int start = buffer.position();
+        int end = start;
+        while (buffer.get(end) != 0)
+        {
+            ++end;
+        }
+        final byte[] path = new byte[prefix.length + end - start];
+        System.arraycopy(prefix, 0, path, 0, prefix.length);
+        buffer.get(path, prefix.length, end - start);
+        buffer.get(); // terminating NUL
+        return path;
+    }
+
+    /**
+     * Get the blob object ID of a file if the file did not change since Git
+     * recorded it in the index.
+     * <p>
+     * A file is unchanged if size and modification time are the same as in
+     * the index. Files modified at or after the time the index was written
+     * are treated as changed, because a change within the timestamp
+     * resolution of the file system could go unnoticed ("racy Git").
+     * </p>
+     *
+     * @param file
+     *            absolute, normalized path of the file
+     * @param size
+     *            current size of the file
+     * @param lastModified
+     *            current modification time of the file
+     * @return the object ID of the file's blob or an empty {@link Optional}
+     *         if the file is not tracked or may have changed
+     */
+    Optional<String> getUnchangedBlobId(final Path file, final long size,
+            final FileTime lastModified)
+    {
+        if (!file.startsWith(this.workTree))
+        {
+            return Optional.empty();
+        }
+        final Entry entry = this.entries.get(toIndexPath(this.workTree.relativize(file)));
+        if (entry == null || entry.size != (int) size || entry.isRacy(this.indexModified)
+                || !entry.isModifiedAt(lastModified.toInstant()))
+        {
+            return Optional.empty();
+        }
+        return Optional.of(entry.objectId);
+    }
+
+    private static String toIndexPath(final Path relativePath)
+    {
+        final StringBuilder builder = new StringBuilder();
+        for (final Path element : relativePath)
+        {
+            if (builder.length() > 0)
+            {
+                builder.append('/');
+            }
+            builder.append(element);
+        }
+        return builder.toString();
+    }
+
+    private static String toHex(final byte[] bytes)
+    {
+        final StringBuilder builder = new StringBuilder(bytes.length * 2);
+        for (final byte b : bytes)
+        {
+            builder.append(Character.forDigit((b >> 4) & 0xF, 16))
+                    .append(Character.forDigit(b & 0xF, 16));
+        }
+        return builder.toString();
+    }
+
+    private static final class Entry
+    {
+        private final int size;
+        private final int modifiedSeconds;
+        private final int modifiedNanos;
+        private final String objectId;
+
+        private Entry(final int size, final int modifiedSeconds, final int modifiedNanos,
+                final String objectId)
+        {
+            this.size = size;
+            this.modifiedSeconds = modifiedSeconds;
+            this.modifiedNanos = modifiedNanos;
+            this.objectId = objectId;
+        }
+
+        // Git stores seconds as unsigned 32 bit value and may be built without
+        // nanosecond support, in which case the nanoseconds are zero.
+        private boolean isModifiedAt(final Instant time)
+        {
+            return (int) time.getEpochSecond() == this.modifiedSeconds
+                    && (this.modifiedNanos == 0 || time.getNano() == this.modifiedNanos);
+        }
+
+        private boolean isRacy(final Instant indexModified)
+        {
+            final long seconds = Integer.toUnsignedLong(this.modifiedSeconds);
+            if (seconds != indexModified.getEpochSecond())
+            {
+                return seconds > indexModified.getEpochSecond();
+            }
+            return this.modifiedNanos == 0 || this.modifiedNanos >= indexModified.getNano();
+        }
+    }
+}
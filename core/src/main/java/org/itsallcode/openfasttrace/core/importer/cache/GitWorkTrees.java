@@ -0,0 +1,123 @@
+package org.itsallcode.openfasttrace.core.importer.cache;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Finds the Git work trees that contain imported files and loads their
+ * indexes once per import.
+ */
+class GitWorkTrees
+{
+    private static final Logger LOG = Logger.getLogger(GitWorkTrees.class.getName());
+    private static final String GIT_DIR = ".git";
+    private static final String GIT_DIR_PREFIX = "gitdir:";
+    private static final String SHA256_OBJECT_FORMAT = "objectformat = sha256";
+
+    private final Map<Path, Optional<GitIndex>> indexByDirectory = new HashMap<>();
+
+    /**
+     * Get the blob object ID of a file if it is tracked by Git and did not
+     * change since Git recorded it.
+     *
+     * @param file
+     *            the file
+     * @param size
+     *            current size of the file
+     * @param lastModified
+     *            current modification time of the file
+     * @return the object ID of the file's blob or an empty {@link Optional}
+     */
+    Optional<String> getUnchangedBlobId(final Path file, final long size,
+            final FileTime lastModified)
+    {
+        final Path absoluteFile = file.toAbsolutePath().normalize();
+        final Path directory = absoluteFile.getParent();
+        if (directory == null)
+        {
+            return Optional.empty();
+        }
+        return findIndex(directory)
+                .flatMap(index -> index.getUnchangedBlobId(absoluteFile, size, lastModified));
+    }
+
+    private synchronized Optional<GitIndex> findIndex(final Path directory)
+    {
+        final Optional<GitIndex> cached = this.indexByDirectory.get(directory);
+        if (cached != null)
+        {
+            return cached;
+        }
+        final Optional<GitIndex> index = locateIndex(directory);
+        this.indexByDirectory.put(directory, index);
+        return index;
+    }
+
+    private Optional<GitIndex> locateIndex(final Path directory)
+    {
+        final Path gitDir = directory.resolve(GIT_DIR);
+        if (Files.exists(gitDir))
+        {
+            return loadIndex(directory, gitDir);
+        }
+        final Path parent = directory.getParent();
+        return parent == null ? Optional.empty() : findIndex(parent);
+    }
+
+    private static Optional<GitIndex> loadIndex(final Path workTree, final Path gitDir)
+    {
+        try
+        {
+            final Path repositoryDir = Files.isDirectory(gitDir) ? gitDir
+                    : resolveGitDirFile(workTree, gitDir);
+            final Path indexFile = repositoryDir.resolve("index");
+            if (!Files.exists(indexFile) || usesSha256(repositoryDir))
+            {
+                return Optional.empty();
+            }
+            final GitIndex index = GitIndex.read(workTree, indexFile);
+            LOG.fine(() -> "Using Git index '" + indexFile + "' for change detection");
+            return Optional.of(index);
+        }
+        catch (final IOException exception)
+        {
+            LOG.log(Level.WARNING, exception,
+                    () -> "Error reading Git index of '" + workTree + "'. Ignoring it.");
+            return Optional.empty();
+        }
+    }
+
+    // Work trees created by "git worktree" and submodules have a file that
+    // points to the actual repository directory.
+    private static Path resolveGitDirFile(final Path workTree, final Path gitDirFile)
+            throws IOException
+    {
+        final String content = Files.readString(gitDirFile, StandardCharsets.UTF_8).trim();
+        if (!content.startsWith(GIT_DIR_PREFIX))
+        {
+            throw new IOException("Invalid file '" + gitDirFile + "'");
+        }
+        return workTree.resolve(content.substring(GIT_DIR_PREFIX.length()).trim()).normalize();
+    }
+
+    private static boolean usesSha256(final Path repositoryDir) throws IOException
+    {
+        final Path config = repositoryDir.resolve("config");
+        if (!Files.exists(config))
+        {
+            return false;
+        }
+        final List<String> lines = Files.readAllLines(config, StandardCharsets.UTF_8);
+        return lines.stream().anyMatch(
+                line -> line.trim().replaceAll("\\s+", " ").equalsIgnoreCase(SHA256_OBJECT_FORMAT));
+    }
+}
@@ -0,0 +1,328 @@
+package org.itsallcode.openfasttrace.core.importer.cache;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+
+import org.itsallcode.openfasttrace.api.importer.ImportEventListener;
+import org.itsallcode.openfasttrace.api.importer.ImportSettings;
+import org.itsallcode.openfasttrace.api.importer.tag.config.PathConfig;
+
+/**
+ * Persistent cache for the results of importing single files.
+ * <p>
+ * For each imported file the cache stores the events the importer sent to its
+ * {@link ImportEventListener}. When the file did not change since, the events
+ * are replayed from the cache without parsing the file again.
+ * </p>
+ * <p>
+ * A file counts as unchanged if its size and content fingerprint are the
+ * same. For files tracked by Git the fingerprint is the blob object ID from
+ * the Git index, which is available without reading the file as long as the
+ * file matches the index. For other files the fingerprint is a content
+ * checksum if checksums are enabled. Without a fingerprint the modification
+ * time is compared instead.
+ * </p>
+ * <p>
+ * Each entry also contains a fingerprint of the OFT version and of all import
+ * settings that influence the importers. Entries with a different fingerprint
+ * are ignored. Filters are not part of the fingerprint, since the cache stores
+ * the events before filtering.
+ * </p>
+ * <p>
+ * Errors reading or writing the cache are logged and treated like a missing
+ * entry, so that a broken cache never breaks the import.
+ * </p>
+ */
+public class ImportCache
+{
+    private static final Logger LOG = Logger.getLogger(ImportCache.class.getName());
+    private static final int MAGIC = 0x4F465443; // "OFTC"
+    private static final int FORMAT_VERSION = 2;
+    private static final String ENTRY_SUFFIX = ".entry";
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final String VERSION_RESOURCE = "version.properties";
+    private static final String UNKNOWN_VERSION = "unknown";
+
+    private final Path directory;
+    private final boolean checksums;
+    private final byte[] fingerprint;
+    private final GitWorkTrees gitWorkTrees = new GitWorkTrees();
+
+    ImportCache(final Path directory, final boolean checksums, final String settingsDescription)
+    {
+        this.directory = directory;
+        this.checksums = checksums;
+        this.fingerprint = sha256(settingsDescription);
+    }
+
+    /**
+     * Create a new {@link ImportCache} for the given import settings.
+     *
+     * @param settings
+     *            import settings containing the cache directory
+     * @return the import cache
+     */
+    public static ImportCache create(final ImportSettings settings)
+    {
+        return new ImportCache(settings.getCacheDirectory(), settings.isCacheChecksums(),
+                describeSettings(settings, getOftVersion()));
+    }
+
+    static String describeSettings(final ImportSettings settings, final String oftVersion)
+    {
+        final StringBuilder description = new StringBuilder();
+        description.append("format=").append(FORMAT_VERSION) //
+                .append("\nversion=").append(oftVersion);
+        for (final PathConfig pathConfig : settings.getPathConfigs())
+        {
+            description.append('\n').append(pathConfig);
+        }
+        return description.toString();
+    }
+
+    // Read from a resource filtered by the build, because only the manifest
+    // of the product jar contains an implementation version.
+    static String getOftVersion()
+    {
+        try (InputStream stream = ImportCache.class.getResourceAsStream(VERSION_RESOURCE))
+        {
+            if (stream != null)
+            {
+                final Properties properties = new Properties();
+                properties.load(stream);
+                return properties.getProperty("version", UNKNOWN_VERSION);
+            }
+        }
+        catch (final IOException exception)
+        {
+            LOG.log(Level.WARNING, exception,
+                    () -> "Unable to read OFT version from " + VERSION_RESOURCE);
+        }
+        return UNKNOWN_VERSION;
+    }
+
+    /**
+     * Replay the cached import events of a file.
+     *
+     * @param file
+     *            the imported file
+     * @param listener
+     *            the listener that receives the cached events
+     * @return <code>true</code> if a valid entry was found and replayed,
+     *         <code>false</code> if the file must be imported
+     */
+    public boolean replay(final Path file, final ImportEventListener listener)
+    {
+        final Path entry = getEntryPath(file);
+        if (!Files.exists(entry))
+        {
+            return false;
+        }
+        try
+        {
+            final Optional<byte[]> events = readEvents(entry, file);
+            if (events.isPresent())
+            {
+                RecordedEvents.replay(events.get(), listener);
+                return true;
+            }
+        }
+        catch (final IOException exception)
+        {
+            LOG.log(Level.WARNING, exception,
+                    () -> "Error reading import cache entry '" + entry + "' for file '" + file
+                            + "'. Importing file.");
+        }
+        return false;
+    }
+
+    private Optional<byte[]> readEvents(final Path entry, final Path file) throws IOException
+    {
+        try (DataInputStream input = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(entry), BUFFER_SIZE)))
+        {
+            if (input.readInt() != MAGIC || input.readInt() != FORMAT_VERSION)
+            {
+                return Optional.empty();
+            }
+            final byte[] entryFingerprint = new byte[this.fingerprint.length];
+            input.readFully(entryFingerprint);
+            if (!Arrays.equals(entryFingerprint, this.fingerprint)
+                    || !getKey(file).equals(RecordedEvents.readString(input)))
+            {
+                return Optional.empty();
+            }
+            final FileState cached = new FileState(input.readLong(), input.readLong(),
+                    RecordedEvents.readString(input));
+            if (!readState(file).isUnchangedSince(cached, this.checksums))
+            {
+                return Optional.empty();
+            }
+            return Optional.of(readPayload(input));
+        }
+    }
+
+    private static byte[] readPayload(final DataInputStream input) throws IOException
+    {
+        final int length = input.readInt();
+        final long expectedCrc = input.readLong();
+        if (length < 0)
+        {
+            throw new IOException("Invalid payload length " + length);
+        }
+        final byte[] payload = new byte[length];
+        input.readFully(payload);
+        final CRC32 crc = new CRC32();
+        crc.update(payload);
+        if (crc.getValue() != expectedCrc)
+        {
+            throw new IOException("Checksum mismatch");
+        }
+        return payload;
+    }
+
+    /**
+     * Create a listener that records the import events of a file while
+     * forwarding them to the given delegate.
+     *
+     * @param file
+     *            the file that is imported
+     * @param delegate
+     *            the listener that receives the events
+     * @return the recording listener
+     */
+    public CacheRecorder record(final Path file, final ImportEventListener delegate)
+    {
+        FileState state = null;
+        try
+        {
+            // Read the state before importing so that changes made during the
+            // import invalidate the entry.
+            state = readState(file);
+        }
+        catch (final IOException exception)
+        {
+            LOG.log(Level.WARNING, exception,
+                    () -> "Error reading state of file '" + file + "'. Not caching it.");
+        }
+        return new CacheRecorder(this, file, state, delegate);
+    }
+
+    void store(final Path file, final FileState state, final byte[] events)
+    {
+        final Path entry = getEntryPath(file);
+        Path tempFile = null;
+        try
+        {
+            Files.createDirectories(this.directory);
+            tempFile = Files.createTempFile(this.directory, "import-", ".tmp");
+            writeEntry(tempFile, file, state, events);
+            moveAtomically(tempFile, entry);
+        }
+        catch (final IOException exception)
+        {
+            LOG.log(Level.WARNING, exception,
+                    () -> "Error writing import cache entry '" + entry + "' for file '" + file
+                            + "'.");
+            deleteQuietly(tempFile);
+        }
+    }
+
+    private void writeEntry(final Path entry, final Path file, final FileState state,
+            final byte[] events) throws IOException
+    {
+        final CRC32 crc = new CRC32();
+        crc.update(events);
+        try (DataOutputStream output = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(entry), BUFFER_SIZE)))
+        {
+            output.writeInt(MAGIC);
+            output.writeInt(FORMAT_VERSION);
+            output.write(this.fingerprint);
+            RecordedEvents.writeString(output, getKey(file));
+            output.writeLong(state.getSize());
+            output.writeLong(state.getLastModified());
+            RecordedEvents.writeString(output, state.getContentId());
+            output.writeInt(events.length);
+            output.writeLong(crc.getValue());
+            output.write(events);
+        }
+    }
+
+    private FileState readState(final Path file) throws IOException
+    {
+        return FileState.read(file, this.checksums, this.gitWorkTrees);
+    }
+
+    private static void moveAtomically(final Path source, final Path target) throws IOException
+    {
+        try
+        {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE,
+                    StandardCopyOption.REPLACE_EXISTING);
+        }
+        catch (final AtomicMoveNotSupportedException exception)
+        {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static void deleteQuietly(final Path file)
+    {
+        if (file == null)
+        {
+            return;
+        }
+        try
+        {
+            Files.deleteIfExists(file);
+        }
+        catch (final IOException exception)
+        {
+            LOG.log(Level.FINE, exception, () -> "Error deleting '" + file + "'.");
+        }
+    }
+
+    private Path getEntryPath(final Path file)
+    {
+        return this.directory.resolve(toHex(sha256(getKey(file))) + ENTRY_SUFFIX);
+    }
+
+    private static String getKey(final Path file)
+    {
+        return file.toAbsolutePath().normalize().toString();
+    }
+
+    private static byte[] sha256(final String text)
+    {
+        try
+        {
+            return MessageDigest.getInstance("SHA-256")
+                    .digest(text.getBytes(StandardCharsets.UTF_8));
+        }
+        catch (final NoSuchAlgorithmException exception)
+        {
+            throw new IllegalStateException("SHA-256 is not supported by this JVM", exception);
+        }
+    }
+
+    private static String toHex(final byte[] bytes)
+    {
+        final StringBuilder builder = new StringBuilder(bytes.length * 2);
+        for (final byte b : bytes)
+        {
+            builder.append(Character.forDigit((b >> 4) & 0xF, 16))
+                    .append(Character.forDigit(b & 0xF, 16));
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,222 @@
+package org.itsallcode.openfasttrace.core.importer.cache;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+
+import org.itsallcode.openfasttrace.api.core.*;
+import org.itsallcode.openfasttrace.api.importer.ImportEventListener;
+
+/**
+ * Binary encoding of the events an importer sent to its
+ * {@link ImportEventListener}.
+ * <p>
+ * Each event starts with a one byte event type followed by the event's
+ * arguments. Strings are stored as their UTF-8 length followed by the bytes,
+ * with a length of -1 for <code>null</code>.
+ * </p>
+ */
+final class RecordedEvents
+{
+    static final byte BEGIN_ITEM = 1;
+    static final byte SET_ID = 2;
+    static final byte SET_TITLE = 3;
+    static final byte SET_STATUS = 4;
+    static final byte APPEND_DESCRIPTION = 5;
+    static final byte APPEND_RATIONALE = 6;
+    static final byte APPEND_COMMENT = 7;
+    static final byte ADD_COVERED_ID = 8;
+    static final byte ADD_DEPENDS_ON_ID = 9;
+    static final byte ADD_NEEDED_ARTIFACT_TYPE = 10;
+    static final byte ADD_TAG = 11;
+    static final byte SET_PATH_AND_LINE = 12;
+    static final byte SET_LOCATION = 13;
+    static final byte SET_FORWARDS = 14;
+    static final byte END_ITEM = 15;
+
+    private static final int NULL_LENGTH = -1;
+    private static final ItemStatus[] STATUS_VALUES = ItemStatus.values();
+
+    private RecordedEvents()
+    {
+        // prevent instantiation
+    }
+
+    static void writeId(final DataOutput output, final SpecificationItemId id)
+            throws IOException
+    {
+        if (id == null)
+        {
+            output.writeBoolean(false);
+        }
+        else
+        {
+            output.writeBoolean(true);
+            writeString(output, id.getArtifactType());
+            writeString(output, id.getName());
+            output.writeInt(id.getRevision());
+        }
+    }
+
+    static void writeLocation(final DataOutput output, final Location location)
+            throws IOException
+    {
+        if (location == null)
+        {
+            output.writeBoolean(false);
+        }
+        else
+        {
+            output.writeBoolean(true);
+            writeString(output, location.getPath());
+            output.writeInt(location.getLine());
+            output.writeInt(location.getColumn());
+        }
+    }
+
+    static void writeString(final DataOutput output, final String string) throws IOException
+    {
+        if (string == null)
+        {
+            output.writeInt(NULL_LENGTH);
+        }
+        else
+        {
+            final byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+            output.writeInt(bytes.length);
+            output.write(bytes);
+        }
+    }
+
+    /**
+     * Send the recorded events to a listener.
+     *
+     * @param events
+     *            the recorded events
+     * @param listener
+     *            the listener that receives the events
+     * @throws IOException
+     *             if the recorded events are invalid
+     */
+    static void replay(final byte[] events, final ImportEventListener listener)
+            throws IOException
+    {
+        final DataInputStream input = new DataInputStream(new ByteArrayInputStream(events));
+        int eventType = input.read();
+        while (eventType >= 0)
+        {
+            replayEvent(input, (byte) eventType, listener);
+            eventType = input.read();
+        }
+    }
+
+    private static void replayEvent(final DataInput input, final byte eventType,
+            final ImportEventListener listener) throws IOException
+    {
+        switch (eventType)
+        {
+        case BEGIN_ITEM:
+            listener.beginSpecificationItem();
+            break;
+        case SET_ID:
+            listener.setId(readId(input));
+            break;
+        case SET_TITLE:
+            listener.setTitle(readString(input));
+            break;
+        case SET_STATUS:
+            listener.setStatus(readStatus(input));
+            break;
+        case APPEND_DESCRIPTION:
+            listener.appendDescription(readString(input));
+            break;
+        case APPEND_RATIONALE:
+            listener.appendRationale(readString(input));
+            break;
+        case APPEND_COMMENT:
+            listener.appendComment(readString(input));
+            break;
+        case ADD_COVERED_ID:
+            listener.addCoveredId(readId(input));
+            break;
+        case ADD_DEPENDS_ON_ID:
+            listener.addDependsOnId(readId(input));
+            break;
+        case ADD_NEEDED_ARTIFACT_TYPE:
+            listener.addNeededArtifactType(readString(input));
+            break;
+        case ADD_TAG:
+            listener.addTag(readString(input));
+            break;
+        case SET_PATH_AND_LINE:
+            listener.setLocation(readString(input), input.readInt());
+            break;
+        case SET_LOCATION:
+            listener.setLocation(readLocation(input));
+            break;
+        case SET_FORWARDS:
+            listener.setForwards(input.readBoolean());
+            break;
+        case END_ITEM:
+            listener.endSpecificationItem();
+            break;
+        default:
+            throw new IOException("Unknown import event type " + eventType);
+        }
+    }
+
+    private static ItemStatus readStatus(final DataInput input) throws IOException
+    {
+        final int ordinal = input.readByte();
+        if (ordinal == NULL_LENGTH)
+        {
+            return null;
+        }
+        if (ordinal < 0 || ordinal >= STATUS_VALUES.length)
+        {
+            throw new IOException("Unknown item status " + ordinal);
+        }
+        return STATUS_VALUES[ordinal];
+    }
+
+    private static SpecificationItemId readId(final DataInput input) throws IOException
+    {
+        if (!input.readBoolean())
+        {
+            return null;
+        }
+        return new SpecificationItemId.Builder() //
+                .artifactType(readString(input)) //
+                .name(readString(input)) //
+                .revision(input.readInt()) //
+                .build();
+    }
+
+    private static Location readLocation(final DataInput input) throws IOException
+    {
+        if (!input.readBoolean())
+        {
+            return null;
+        }
+        return Location.builder() //
+                .path(readString(input)) //
+                .line(input.readInt()) //
+                .column(input.readInt()) //
+                .build();
+    }
+
+    static String readString(final DataInput input) throws IOException
+    {
+        final int length = input.readInt();
+        if (length == NULL_LENGTH)
+        {
+            return null;
+        }
+        if (length < 0)
+        {
+            throw new IOException("Invalid string length " + length);
+        }
+        final byte[] bytes = new byte[length];
+        input.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,32 @@
+package org.itsallcode.openfasttrace.core.jfr;
+
+import jdk.jfr.FlightRecorder;
+
+/**
+ * Tells whether OpenFastTrace's flight recorder events need to be created.
+ * <p>
+ * Loading the first event class initializes about a hundred classes of the
+ * flight recorder, even if no recording is running. Short CLI runs would pay
+ * for this on every start, so the events are only created after a recording
+ * was started, either with <code>-XX:StartFlightRecording</code> or later with
+ * <code>jcmd &lt;pid&gt; JFR.start</code>. The check itself only loads
+ * {@link FlightRecorder}.
+ * </p>
+ */
+public final class FlightRecording
+{
+    private FlightRecording()
+    {
+        // prevent instantiation
+    }
+
+    /**
+     * Check if the flight recorder was started in this JVM.
+     *
+     * @return <code>true</code> if events may be recorded
+     */
+    public static boolean isActive()
+    {
+        return FlightRecorder.isInitialized();
+    }
+}
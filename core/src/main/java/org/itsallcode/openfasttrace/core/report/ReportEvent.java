@@ -0,0 +1,24 @@
+package org.itsallcode.openfasttrace.core.report;
+
+import jdk.jfr.*;
+
+/**
+ * Flight recorder event for rendering a report.
+ */
+@Name("org.itsallcode.openfasttrace.Report")
+@Label("Report")
+@Category({ "OpenFastTrace", "Report" })
+@Description("Rendering of a report in one output format")
+@StackTrace(false)
+class ReportEvent extends Event
+{
+    @Label("Format")
+    String format;
+
+    @Label("Output")
+    @Description("Path of the report or 'stdout'")
+    String output;
+
+    @Label("Items")
+    int items;
+}
@@ -4,11 +4,18 @@ import java.io.OutputStream;
 import java.io.PrintStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
 
+import org.itsallcode.openfasttrace.api.concurrent.ConcurrentTasks;
 import org.itsallcode.openfasttrace.api.core.Trace;
+import org.itsallcode.openfasttrace.api.report.MultiFileReportable;
 import org.itsallcode.openfasttrace.api.report.ReportException;
 import org.itsallcode.openfasttrace.api.report.Reportable;
 import org.itsallcode.openfasttrace.api.report.ReporterFactory;
+import org.itsallcode.openfasttrace.core.jfr.FlightRecording;
 
 /**
  * This service provides convenient methods to create a report for a given
@@ -16,6 +23,8 @@ import org.itsallcode.openfasttrace.api.report.ReporterFactory;
  */
 public class ReportService
 {
+    private static final String STD_OUT_OUTPUT = "stdout";
+
     private final ReporterFactoryLoader reporterFactoryLoader;
 
     /**
@@ -34,6 +43,11 @@ public class ReportService
     /**
      * Generate a report for the given {@link Trace} in the given output format
      * and write it to a file.
+     * <p>
+     * If the reporter for the output format produces a
+     * {@link MultiFileReportable}, the output path is used as directory
+     * instead.
+     * </p>
      * 
      * @param trace
      *            the content of the report.
@@ -45,10 +59,62 @@ public class ReportService
      */
     public void reportTraceToPath(final Trace trace, final Path outputPath,
             final String outputFormat)
+    {
+        final Reportable report = createReport(trace, outputFormat);
+        recordRendering(trace, outputFormat, outputPath.toString(),
+                () -> renderToPath(report, outputPath));
+    }
+
+    /**
+     * Generate reports for the given {@link Trace} in several output formats
+     * and write each of them to its own path.
+     * <p>
+     * All reporters are created before the first report is written, so that
+     * an unsupported format is detected early. The reports are then rendered
+     * concurrently from the same trace.
+     * </p>
+     *
+     * @param trace
+     *            the content of the reports.
+     * @param outputPathsByFormat
+     *            output path for each report format. The formats must be
+     *            values supported by
+     *            {@link ReporterFactory#supportsFormat(String)}.
+     */
+    public void reportTraceToPaths(final Trace trace, final Map<String, Path> outputPathsByFormat)
+    {
+        final List<Callable<Void>> tasks = new ArrayList<>(outputPathsByFormat.size());
+        for (final Map.Entry<String, Path> entry : outputPathsByFormat.entrySet())
+        {
+            final String outputFormat = entry.getKey();
+            final Reportable report = createReport(trace, outputFormat);
+            final Path outputPath = entry.getValue();
+            tasks.add(() -> {
+                recordRendering(trace, outputFormat, outputPath.toString(),
+                        () -> renderToPath(report, outputPath));
+                return null;
+            });
+        }
+        ConcurrentTasks.runAll(tasks, "generating reports", ReportException::new);
+    }
+
+    private void renderToPath(final Reportable report, final Path outputPath)
+    {
+        if (report instanceof MultiFileReportable)
+        {
+            ((MultiFileReportable) report).renderToDirectory(outputPath);
+        }
+        else
+        {
+            reportToFile(report, outputPath);
+        }
+    }
+
+    private void reportToFile(final Reportable report, final Path outputPath)
     {
         try (OutputStream outputStream = Files.newOutputStream(outputPath))
         {
-            reportTraceToStream(trace, outputStream, outputFormat);
+            renderToStream(report, outputStream);
         }
         catch (final IOException e)
         {
@@ -82,6 +148,33 @@ public class ReportService
             final String outputFormat)
     {
         final Reportable report = createReport(trace, outputFormat);
+        recordRendering(trace, outputFormat, STD_OUT_OUTPUT,
+                () -> renderToStream(report, outputStream));
+    }
+
+    private static void recordRendering(final Trace trace, final String outputFormat,
+            final String output, final Runnable rendering)
+    {
+        if (!FlightRecording.isActive())
+        {
+            rendering.run();
+            return;
+        }
+        final ReportEvent event = new ReportEvent();
+        event.begin();
+        rendering.run();
+        event.end();
+        if (event.shouldCommit())
+        {
+            event.format = outputFormat;
+            event.output = output;
+            event.items = trace.count();
+            event.commit();
+        }
+    }
+
+    private void renderToStream(final Reportable report, final OutputStream outputStream)
+    {
         report.renderToStream(outputStream);
         try
         {
@@ -3,7 +3,6 @@ package org.itsallcode.openfasttrace.core.report;
 import static java.util.stream.Collectors.toList;
 
 import java.util.List;
-import java.util.stream.StreamSupport;
 
 import org.itsallcode.openfasttrace.api.exporter.ExporterException;
 import org.itsallcode.openfasttrace.api.report.ReportException;
@@ -67,7 +66,7 @@ public class ReporterFactoryLoader
 
     private List<ReporterFactory> getMatchingFactories(final String format)
     {
-        return StreamSupport.stream(this.serviceLoader.spliterator(), false) //
+        return this.serviceLoader.getCandidates(format).stream() //
                 .filter(factory -> factory.supportsFormat(format)) //
                 .collect(toList());
     }
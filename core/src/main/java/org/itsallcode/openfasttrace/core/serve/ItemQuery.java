@@ -0,0 +1,186 @@
+package org.itsallcode.openfasttrace.core.serve;
+
+import org.itsallcode.openfasttrace.api.core.SpecificationItemId;
+
+/**
+ * Criteria for selecting linked specification items from a
+ * {@link TraceIndex}.
+ * <p>
+ * All criteria that are set must match. Criteria that are not set match all
+ * items.
+ * </p>
+ */
+final class ItemQuery
+{
+    private final SpecificationItemId id;
+    private final SpecificationItemId covers;
+    private final SpecificationItemId below;
+    private final String path;
+    private final String tag;
+    private final String artifactType;
+    private final Boolean defect;
+    private final Boolean uncovered;
+
+    private ItemQuery(final Builder builder)
+    {
+        this.id = builder.id;
+        this.covers = builder.covers;
+        this.below = builder.below;
+        this.path = builder.path;
+        this.tag = builder.tag;
+        this.artifactType = builder.artifactType;
+        this.defect = builder.defect;
+        this.uncovered = builder.uncovered;
+    }
+
+    /**
+     * @return ID of the wanted item or <code>null</code>
+     */
+    SpecificationItemId getId()
+    {
+        return this.id;
+    }
+
+    /**
+     * @return ID of the item that wanted items cover directly or
+     *         <code>null</code>
+     */
+    SpecificationItemId getCovers()
+    {
+        return this.covers;
+    }
+
+    /**
+     * @return ID of the item that wanted items cover directly or indirectly
+     *         or <code>null</code>
+     */
+    SpecificationItemId getBelow()
+    {
+        return this.below;
+    }
+
+    /**
+     * @return path of the file containing the wanted items or
+     *         <code>null</code>
+     */
+    String getPath()
+    {
+        return this.path;
+    }
+
+    /**
+     * @return tag of the wanted items or <code>null</code>
+     */
+    String getTag()
+    {
+        return this.tag;
+    }
+
+    /**
+     * @return artifact type of the wanted items or <code>null</code>
+     */
+    String getArtifactType()
+    {
+        return this.artifactType;
+    }
+
+    /**
+     * @return wanted defect state or <code>null</code>
+     */
+    Boolean getDefect()
+    {
+        return this.defect;
+    }
+
+    /**
+     * @return <code>true</code> for items that are not covered deeply,
+     *         <code>false</code> for deeply covered items or
+     *         <code>null</code>
+     */
+    Boolean getUncovered()
+    {
+        return this.uncovered;
+    }
+
+    /**
+     * Create a new builder for {@link ItemQuery}.
+     *
+     * @return a new builder
+     */
+    static Builder builder()
+    {
+        return new Builder();
+    }
+
+    /**
+     * Builder for {@link ItemQuery}.
+     */
+    static final class Builder
+    {
+        private SpecificationItemId id;
+        private SpecificationItemId covers;
+        private SpecificationItemId below;
+        private String path;
+        private String tag;
+        private String artifactType;
+        private Boolean defect;
+        private Boolean uncovered;
+
+        private Builder()
+        {
+        }
+
+        Builder id(final SpecificationItemId id)
+        {
+            this.id = id;
+            return this;
+        }
+
+        Builder covers(final SpecificationItemId covers)
+        {
+            this.covers = covers;
+            return this;
+        }
+
+        Builder below(final SpecificationItemId below)
+        {
+            this.below = below;
+            return this;
+        }
+
+        Builder path(final String path)
+        {
+            this.path = path;
+            return this;
+        }
+
+        Builder tag(final String tag)
+        {
+            this.tag = tag;
+            return this;
+        }
+
+        Builder artifactType(final String artifactType)
+        {
+            this.artifactType = artifactType;
+            return this;
+        }
+
+        Builder defect(final boolean defect)
+        {
+            this.defect = defect;
+            return this;
+        }
+
+        Builder uncovered(final boolean uncovered)
+        {
+            this.uncovered = uncovered;
+            return this;
+        }
+
+        ItemQuery build()
+        {
+            return new ItemQuery(this);
+        }
+    }
+}
@@ -0,0 +1,239 @@
+package org.itsallcode.openfasttrace.core.serve;
+
+import java.nio.file.InvalidPathException;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.itsallcode.openfasttrace.api.core.*;
+
+/**
+ * Secondary indexes over the items of a {@link Trace} that allow answering
+ * {@link ItemQuery queries} without scanning all items.
+ * <p>
+ * The index is immutable. The items must not be linked again while the index
+ * is in use.
+ * </p>
+ */
+final class TraceIndex
+{
+    private final Trace trace;
+    private final Map<LinkedSpecificationItem, Integer> positions;
+    private final Set<LinkedSpecificationItem> defectItems;
+    private final Map<SpecificationItemId, List<LinkedSpecificationItem>> itemsById = new HashMap<>();
+    private final Map<SpecificationItemId, List<LinkedSpecificationItem>> coveringItemsById = new HashMap<>();
+    private final Map<String, List<LinkedSpecificationItem>> itemsByPath = new HashMap<>();
+    private final Map<String, List<LinkedSpecificationItem>> itemsByTag = new HashMap<>();
+    private final Map<String, List<LinkedSpecificationItem>> itemsByArtifactType = new HashMap<>();
+
+    /**
+     * Create the index for a trace.
+     *
+     * @param trace
+     *            the trace
+     */
+    TraceIndex(final Trace trace)
+    {
+        this.trace = trace;
+        this.positions = new IdentityHashMap<>(trace.count() * 2);
+        this.defectItems = identitySetOf(trace.getDefectItems());
+        final List<LinkedSpecificationItem> items = trace.getItems();
+        for (int i = 0; i < items.size(); ++i)
+        {
+            final LinkedSpecificationItem item = items.get(i);
+            this.positions.put(item, i);
+            addToIndexes(item);
+        }
+    }
+
+    private static Set<LinkedSpecificationItem> identitySetOf(
+            final Collection<LinkedSpecificationItem> items)
+    {
+        final Set<LinkedSpecificationItem> set = Collections
+                .newSetFromMap(new IdentityHashMap<>(items.size() * 2));
+        set.addAll(items);
+        return set;
+    }
+
+    private void addToIndexes(final LinkedSpecificationItem item)
+    {
+        add(this.itemsById, item.getId(), item);
+        add(this.itemsByArtifactType, item.getArtifactType(), item);
+        for (final String tag : item.getTags())
+        {
+            add(this.itemsByTag, tag, item);
+        }
+        final Location location = item.getLocation();
+        if (location != null && location.getPath() != null)
+        {
+            add(this.itemsByPath, normalizePath(location.getPath()), item);
+        }
+        for (final Map.Entry<LinkStatus, List<LinkedSpecificationItem>> entry : item.getLinks()
+                .entrySet())
+        {
+            if (entry.getKey().isOutgoing())
+            {
+                for (final LinkedSpecificationItem coveredItem : entry.getValue())
+                {
+                    add(this.coveringItemsById, coveredItem.getId(), item);
+                }
+            }
+        }
+    }
+
+    // An item may be added for the same key several times, e.g. when it has
+    // an outdated and an orphaned link for the same covered ID.
+    private static <K> void add(final Map<K, List<LinkedSpecificationItem>> index, final K key,
+            final LinkedSpecificationItem item)
+    {
+        final List<LinkedSpecificationItem> items = index.computeIfAbsent(key,
+                k -> new ArrayList<>());
+        if (items.isEmpty() || items.get(items.size() - 1) != item)
+        {
+            items.add(item);
+        }
+    }
+
+    /**
+     * Normalize a path so that relative and absolute paths of the same file
+     * are equal.
+     *
+     * @param path
+     *            the path
+     * @return the normalized path
+     */
+    static String normalizePath(final String path)
+    {
+        try
+        {
+            return Paths.get(path).toAbsolutePath().normalize().toString();
+        }
+        catch (final InvalidPathException exception)
+        {
+            return path;
+        }
+    }
+
+    /**
+     * Find the items matching a query.
+     *
+     * @param query
+     *            the query
+     * @return matching items in the order of the trace
+     */
+    List<LinkedSpecificationItem> find(final ItemQuery query)
+    {
+        final List<Collection<LinkedSpecificationItem>> selections = selectByIndexes(query);
+        if (selections.isEmpty())
+        {
+            return filter(this.trace.getItems().stream(), query).collect(Collectors.toList());
+        }
+        selections.sort(Comparator.comparingInt(Collection::size));
+        Stream<LinkedSpecificationItem> items = selections.get(0).stream();
+        for (final Collection<LinkedSpecificationItem> selection : selections.subList(1,
+                selections.size()))
+        {
+            final Set<LinkedSpecificationItem> selected = identitySetOf(selection);
+            items = items.filter(selected::contains);
+        }
+        return filter(items, query) //
+                .sorted(Comparator.comparingInt(this.positions::get)) //
+                .collect(Collectors.toList());
+    }
+
+    private Stream<LinkedSpecificationItem> filter(final Stream<LinkedSpecificationItem> items,
+            final ItemQuery query)
+    {
+        Stream<LinkedSpecificationItem> filteredItems = items;
+        if (query.getDefect() != null)
+        {
+            final boolean defect = query.getDefect();
+            filteredItems = filteredItems
+                    .filter(item -> this.defectItems.contains(item) == defect);
+        }
+        if (query.getUncovered() != null)
+        {
+            final boolean uncovered = query.getUncovered();
+            filteredItems = filteredItems.filter(item -> (item
+                    .getDeepCoverageStatus() != DeepCoverageStatus.COVERED) == uncovered);
+        }
+        return filteredItems;
+    }
+
+    private List<Collection<LinkedSpecificationItem>> selectByIndexes(final ItemQuery query)
+    {
+        final List<Collection<LinkedSpecificationItem>> selections = new ArrayList<>();
+        addSelection(selections, this.itemsById, query.getId());
+        addSelection(selections, this.coveringItemsById, query.getCovers());
+        addSelection(selections, this.itemsByTag, query.getTag());
+        addSelection(selections, this.itemsByArtifactType, query.getArtifactType());
+        if (query.getPath() != null)
+        {
+            addSelection(selections, this.itemsByPath, normalizePath(query.getPath()));
+        }
+        if (query.getBelow() != null)
+        {
+            selections.add(findItemsBelow(query.getBelow()));
+        }
+        return selections;
+    }
+
+    private static <K> void addSelection(final List<Collection<LinkedSpecificationItem>> selections,
+            final Map<K, List<LinkedSpecificationItem>> index, final K key)
+    {
+        if (key != null)
+        {
+            selections.add(index.getOrDefault(key, Collections.emptyList()));
+        }
+    }
+
+    private Collection<LinkedSpecificationItem> findItemsBelow(final SpecificationItemId id)
+    {
+        final Set<LinkedSpecificationItem> below = identitySetOf(Collections.emptyList());
+        final Deque<SpecificationItemId> pending = new ArrayDeque<>();
+        final Set<SpecificationItemId> visited = new HashSet<>();
+        pending.add(id);
+        visited.add(id);
+        while (!pending.isEmpty())
+        {
+            for (final LinkedSpecificationItem coveringItem : this.coveringItemsById
+                    .getOrDefault(pending.remove(), Collections.emptyList()))
+            {
+                below.add(coveringItem);
+                if (visited.add(coveringItem.getId()))
+                {
+                    pending.add(coveringItem.getId());
+                }
+            }
+        }
+        return below;
+    }
+
+    /**
+     * Count the items of each artifact type.
+     *
+     * @return number of items by artifact type
+     */
+    Map<String, Integer> countByArtifactType()
+    {
+        final Map<String, Integer> counts = new TreeMap<>();
+        for (final Map.Entry<String, List<LinkedSpecificationItem>> entry : this.itemsByArtifactType
+                .entrySet())
+        {
+            if (entry.getKey() != null)
+            {
+                counts.put(entry.getKey(), entry.getValue().size());
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * @return the trace
+     */
+    Trace getTrace()
+    {
+        return this.trace;
+    }
+}
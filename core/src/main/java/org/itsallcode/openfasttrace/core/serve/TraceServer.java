@@ -0,0 +1,335 @@
+package org.itsallcode.openfasttrace.core.serve;
+
+import java.io.*;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.itsallcode.openfasttrace.api.core.*;
+import org.itsallcode.openfasttrace.api.json.JsonItemWriter;
+import org.itsallcode.openfasttrace.api.json.JsonWriter;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * HTTP server that answers queries about a trace kept in memory.
+ * <p>
+ * The server only listens on the loopback interface. It answers
+ * <code>GET</code> requests with JSON:
+ * </p>
+ * <dl>
+ * <dt><code>/summary</code></dt>
+ * <dd>number of items, defects and items per artifact type</dd>
+ * <dt><code>/items</code></dt>
+ * <dd>items matching all given query parameters: <code>id</code>,
+ * <code>covers</code> (items covering the given ID), <code>below</code> (items
+ * covering the given ID directly or indirectly), <code>path</code>,
+ * <code>tag</code>, <code>type</code>, <code>defect</code> and
+ * <code>uncovered</code> (<code>true</code> or <code>false</code>)</dd>
+ * </dl>
+ * <p>
+ * Callers that change the linked items of the current trace must do so in
+ * {@link #update(Runnable)}, so that no query reads the items at the same
+ * time.
+ * </p>
+ */
+public class TraceServer
+{
+    private static final Logger LOG = Logger.getLogger(TraceServer.class.getName());
+    private static final int HTTP_OK = 200;
+    private static final int HTTP_BAD_REQUEST = 400;
+    private static final int HTTP_BAD_METHOD = 405;
+    private static final int HTTP_UNAVAILABLE = 503;
+
+    private final HttpServer server;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private TraceIndex index;
+
+    /**
+     * Create a new {@link TraceServer} listening on the loopback interface.
+     *
+     * @param port
+     *            the port or 0 to choose a free port
+     * @throws IOException
+     *             if the server can't listen on the port
+     */
+    public TraceServer(final int port) throws IOException
+    {
+        this.server = HttpServer
+                .create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        this.server.createContext("/summary", exchange -> handle(exchange, this::writeSummary));
+        this.server.createContext("/items", exchange -> handle(exchange, this::writeItems));
+    }
+
+    /**
+     * Start answering requests in a background thread.
+     */
+    public void start()
+    {
+        this.server.start();
+        LOG.info(() -> "Serving trace at http://" + getAddress().getHostString() + ":" + getPort()
+                + "/");
+    }
+
+    /**
+     * Stop the server.
+     */
+    public void stop()
+    {
+        this.server.stop(0);
+    }
+
+    private InetSocketAddress getAddress()
+    {
+        return this.server.getAddress();
+    }
+
+    /**
+     * Get the port the server listens on.
+     *
+     * @return the port
+     */
+    public int getPort()
+    {
+        return getAddress().getPort();
+    }
+
+    /**
+     * Run an update of the linked items without answering queries at the
+     * same time.
+     *
+     * @param update
+     *            the update
+     */
+    public void update(final Runnable update)
+    {
+        this.lock.writeLock().lock();
+        try
+        {
+            update.run();
+        }
+        finally
+        {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Set the trace used to answer queries.
+     *
+     * @param trace
+     *            the trace
+     */
+    public void setTrace(final Trace trace)
+    {
+        final TraceIndex newIndex = new TraceIndex(trace);
+        update(() -> this.index = newIndex);
+    }
+
+    private void handle(final HttpExchange exchange, final ResponseWriter responseWriter)
+    {
+        try
+        {
+            if (!"GET".equals(exchange.getRequestMethod()))
+            {
+                sendError(exchange, HTTP_BAD_METHOD, "Only GET requests are supported");
+                return;
+            }
+            final Map<String, String> parameters = parseParameters(
+                    exchange.getRequestURI().getRawQuery());
+            final ByteArrayOutputStream body = new ByteArrayOutputStream();
+            this.lock.readLock().lock();
+            try
+            {
+                if (this.index == null)
+                {
+                    sendError(exchange, HTTP_UNAVAILABLE, "Trace is not ready yet");
+                    return;
+                }
+                final Writer writer = new OutputStreamWriter(body, StandardCharsets.UTF_8);
+                responseWriter.write(this.index, parameters, new JsonWriter(writer));
+                writer.flush();
+            }
+            finally
+            {
+                this.lock.readLock().unlock();
+            }
+            send(exchange, HTTP_OK, body.toByteArray());
+        }
+        catch (final IllegalArgumentException exception)
+        {
+            sendError(exchange, HTTP_BAD_REQUEST, exception.getMessage());
+        }
+        catch (final IOException exception)
+        {
+            LOG.log(Level.WARNING, exception, () -> "Error answering request");
+        }
+        finally
+        {
+            exchange.close();
+        }
+    }
+
+    private static Map<String, String> parseParameters(final String query)
+    {
+        final Map<String, String> parameters = new HashMap<>();
+        if (query == null || query.isEmpty())
+        {
+            return parameters;
+        }
+        for (final String parameter : query.split("&"))
+        {
+            final int separatorIndex = parameter.indexOf('=');
+            if (separatorIndex < 0)
+            {
+                parameters.put(decode(parameter), "");
+            }
+            else
+            {
+                parameters.put(decode(parameter.substring(0, separatorIndex)),
+                        decode(parameter.substring(separatorIndex + 1)));
+            }
+        }
+        return parameters;
+    }
+
+    private static String decode(final String text)
+    {
+        return URLDecoder.decode(text, StandardCharsets.UTF_8);
+    }
+
+    private void writeSummary(final TraceIndex traceIndex, final Map<String, String> parameters,
+            final JsonWriter json) throws IOException
+    {
+        checkParameters(parameters, Collections.emptySet());
+        final Trace trace = traceIndex.getTrace();
+        json.beginObject() //
+                .name("items").value(trace.count()) //
+                .name("defects").value(trace.countDefects()) //
+                .name("artifactTypes").beginObject();
+        for (final Map.Entry<String, Integer> entry : traceIndex.countByArtifactType().entrySet())
+        {
+            json.name(entry.getKey()).value(entry.getValue());
+        }
+        json.endObject().endObject();
+    }
+
+    private void writeItems(final TraceIndex traceIndex, final Map<String, String> parameters,
+            final JsonWriter json) throws IOException
+    {
+        final ItemQuery query = createQuery(parameters);
+        json.beginArray();
+        for (final LinkedSpecificationItem item : traceIndex.find(query))
+        {
+            JsonItemWriter.writeItem(json, item);
+        }
+        json.endArray();
+    }
+
+    private static ItemQuery createQuery(final Map<String, String> parameters)
+    {
+        checkParameters(parameters, Set.of("id", "covers", "below", "path", "tag", "type",
+                "defect", "uncovered"));
+        final ItemQuery.Builder builder = ItemQuery.builder() //
+                .id(parseId(parameters.get("id"))) //
+                .covers(parseId(parameters.get("covers"))) //
+                .below(parseId(parameters.get("below"))) //
+                .path(parameters.get("path")) //
+                .tag(parameters.get("tag")) //
+                .artifactType(parameters.get("type"));
+        if (parameters.containsKey("defect"))
+        {
+            builder.defect(parseBoolean("defect", parameters.get("defect")));
+        }
+        if (parameters.containsKey("uncovered"))
+        {
+            builder.uncovered(parseBoolean("uncovered", parameters.get("uncovered")));
+        }
+        return builder.build();
+    }
+
+    private static void checkParameters(final Map<String, String> parameters,
+            final Set<String> supportedParameters)
+    {
+        for (final String parameter : parameters.keySet())
+        {
+            if (!supportedParameters.contains(parameter))
+            {
+                throw new IllegalArgumentException("Unsupported parameter '" + parameter + "'");
+            }
+        }
+    }
+
+    private static SpecificationItemId parseId(final String id)
+    {
+        if (id == null)
+        {
+            return null;
+        }
+        try
+        {
+            return SpecificationItemId.parseId(id);
+        }
+        catch (final IllegalStateException | IllegalArgumentException exception)
+        {
+            throw new IllegalArgumentException("Invalid specification item ID '" + id + "'",
+                    exception);
+        }
+    }
+
+    private static boolean parseBoolean(final String name, final String value)
+    {
+        if ("true".equals(value) || value.isEmpty())
+        {
+            return true;
+        }
+        if ("false".equals(value))
+        {
+            return false;
+        }
+        throw new IllegalArgumentException(
+                "Parameter '" + name + "' must be 'true' or 'false' but was '" + value + "'");
+    }
+
+    private static void send(final HttpExchange exchange, final int status, final byte[] body)
+            throws IOException
+    {
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream stream = exchange.getResponseBody())
+        {
+            stream.write(body);
+        }
+    }
+
+    private static void sendError(final HttpExchange exchange, final int status,
+            final String message)
+    {
+        final ByteArrayOutputStream body = new ByteArrayOutputStream();
+        try
+        {
+            final Writer writer = new OutputStreamWriter(body, StandardCharsets.UTF_8);
+            new JsonWriter(writer).beginObject().name("error").value(message).endObject();
+            writer.flush();
+            send(exchange, status, body.toByteArray());
+        }
+        catch (final IOException exception)
+        {
+            LOG.log(Level.WARNING, exception, () -> "Error sending error response");
+        }
+    }
+
+    @FunctionalInterface
+    private interface ResponseWriter
+    {
+        void write(TraceIndex index, Map<String, String> parameters, JsonWriter json)
+                throws IOException;
+    }
+}
@@ -1,12 +1,20 @@
 package org.itsallcode.openfasttrace.core.serviceloader;
 import java.util.*;
+import java.util.ServiceLoader.Provider;
+import java.util.stream.Collectors;
 
 import org.itsallcode.openfasttrace.api.core.serviceloader.Initializable;
 
 /**
  * This service loader is similar to Java's {@link ServiceLoader} but
  * additionally initializes services with a given context.
- * 
+ * <p>
+ * Services are instantiated and initialized on first use only. Use
+ * {@link #getCandidates(String)} to get only the services that may support a
+ * given format or file extension according to the service index in
+ * <code>META-INF/openfasttrace/index</code>.
+ * </p>
+ *
  * @param <T>
  *            initializable object
  * @param <C>
@@ -15,18 +23,23 @@ import org.itsallcode.openfasttrace.api.core.serviceloader.Initializable;
 public class InitializingServiceLoader<T extends Initializable<C>, C> implements Iterable<T>
 {
     private final ServiceLoader<T> serviceLoader;
+    private final ServiceIndex index;
     private final C context;
+    private final Map<Class<? extends T>, T> initializedServices = new HashMap<>();
+    private List<Provider<T>> providers;
     private List<T> services;
 
-    private InitializingServiceLoader(final ServiceLoader<T> serviceLoader, final C context)
+    private InitializingServiceLoader(final ServiceLoader<T> serviceLoader,
+            final ServiceIndex index, final C context)
     {
         this.serviceLoader = serviceLoader;
+        this.index = index;
         this.context = context;
     }
 
     /**
      * Create a new {@link InitializingServiceLoader}.
-     * 
+     *
      * @param <T>
      *            service type.
      * @param <C>
@@ -41,27 +54,61 @@ public class InitializingServiceLoader<T extends Initializable<C>, C> implements
     public static <T extends Initializable<C>, C> InitializingServiceLoader<T, C> load(
             final Class<T> serviceType, final C context)
     {
-        return new InitializingServiceLoader<>(ServiceLoader.load(serviceType), context);
+        final ClassLoader classLoader = getClassLoader(serviceType);
+        return new InitializingServiceLoader<>(ServiceLoader.load(serviceType, classLoader),
+                ServiceIndex.load(serviceType, classLoader), context);
+    }
+
+    private static ClassLoader getClassLoader(final Class<?> serviceType)
+    {
+        final ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+        return contextClassLoader == null ? serviceType.getClassLoader() : contextClassLoader;
     }
 
     @Override
-    public Iterator<T> iterator()
+    public synchronized Iterator<T> iterator()
     {
         if (this.services == null)
         {
-            this.services = loadServices();
+            this.services = getProviders().stream() //
+                    .map(this::getInitializedService) //
+                    .collect(Collectors.toList());
         }
         return this.services.iterator();
     }
 
-    private List<T> loadServices()
+    /**
+     * Get the services that may support the given key according to the service
+     * index. Services are instantiated and initialized only if they are
+     * candidates, so that plugins that are not needed are never initialized.
+     *
+     * @param key
+     *            the requested format or file extension
+     * @return services that may support the key in registration order
+     */
+    public synchronized List<T> getCandidates(final String key)
     {
-        final List<T> initializedServices = new ArrayList<>();
-        for (final T service : this.serviceLoader)
+        return getProviders().stream() //
+                .filter(provider -> this.index.mayProvide(provider.type().getName(), key)) //
+                .map(this::getInitializedService) //
+                .collect(Collectors.toList());
+    }
+
+    private List<Provider<T>> getProviders()
+    {
+        if (this.providers == null)
         {
-            service.init(this.context);
-            initializedServices.add(service);
+            this.providers = this.serviceLoader.stream().collect(Collectors.toList());
         }
-        return initializedServices;
+        return this.providers;
+    }
+
+    private T getInitializedService(final Provider<T> provider)
+    {
+        return this.initializedServices.computeIfAbsent(provider.type(), type -> {
+            final T service = provider.get();
+            service.init(this.context);
+            return service;
+        });
     }
 }
@@ -0,0 +1,120 @@
+package org.itsallcode.openfasttrace.core.serviceloader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.util.*;
+
+/**
+ * Index of the keys supported by the providers of a service, e.g. the output
+ * formats of reporters or the file extensions of importers.
+ * <p>
+ * Plugins list their providers in the resource
+ * <code>META-INF/openfasttrace/index/&lt;service type&gt;.properties</code>
+ * next to their service registration. Each entry maps the class name of a
+ * provider to a comma-separated list of keys. The key <code>*</code> matches
+ * all keys. Providers that are not listed in any index match all keys, so that
+ * plugins without an index still work. The product jar merges the index files
+ * of all plugins into one.
+ * </p>
+ */
+final class ServiceIndex
+{
+    static final String RESOURCE_PREFIX = "META-INF/openfasttrace/index/";
+    static final String ANY_KEY = "*";
+    private static final String KEY_SEPARATOR = ",";
+
+    private final Map<String, Set<String>> keysByProvider;
+
+    private ServiceIndex(final Map<String, Set<String>> keysByProvider)
+    {
+        this.keysByProvider = keysByProvider;
+    }
+
+    /**
+     * Read the index of the given service type from all resources visible to
+     * the class loader.
+     *
+     * @param serviceType
+     *            type of the service
+     * @param classLoader
+     *            class loader that finds the index resources
+     * @return the index
+     */
+    static ServiceIndex load(final Class<?> serviceType, final ClassLoader classLoader)
+    {
+        final Map<String, Set<String>> keysByProvider = new HashMap<>();
+        final String resourceName = RESOURCE_PREFIX + serviceType.getName() + ".properties";
+        try
+        {
+            final Enumeration<URL> resources = classLoader.getResources(resourceName);
+            while (resources.hasMoreElements())
+            {
+                readIndex(resources.nextElement(), keysByProvider);
+            }
+        }
+        catch (final IOException exception)
+        {
+            throw new UncheckedIOException("Error reading service index " + resourceName,
+                    exception);
+        }
+        return new ServiceIndex(keysByProvider);
+    }
+
+    private static void readIndex(final URL resource, final Map<String, Set<String>> keysByProvider)
+            throws IOException
+    {
+        final Properties properties = new Properties();
+        try (InputStream stream = resource.openStream())
+        {
+            properties.load(stream);
+        }
+        for (final String providerName : properties.stringPropertyNames())
+        {
+            final Set<String> keys = keysByProvider.computeIfAbsent(providerName,
+                    name -> new HashSet<>());
+            for (final String key : properties.getProperty(providerName).split(KEY_SEPARATOR))
+            {
+                keys.add(normalize(key));
+            }
+        }
+    }
+
+    private static String normalize(final String key)
+    {
+        return key.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Get the keys of a provider.
+     *
+     * @param providerName
+     *            class name of the provider
+     * @return the keys in lower case or an empty set if the provider is not
+     *         indexed
+     */
+    Set<String> getKeys(final String providerName)
+    {
+        return Collections.unmodifiableSet(
+                this.keysByProvider.getOrDefault(providerName, Collections.emptySet()));
+    }
+
+    /**
+     * Check if a provider may support the given key. Keys are compared ignoring
+     * case.
+     *
+     * @param providerName
+     *            class name of the provider
+     * @param key
+     *            the requested key
+     * @return <code>true</code> if the provider is not indexed or if its index
+     *         entry contains the key or the wildcard <code>*</code>
+     */
+    boolean mayProvide(final String providerName, final String key)
+    {
+        final Set<String> keys = this.keysByProvider.get(providerName);
+        return keys == null || keys.contains(ANY_KEY)
+                || (key != null && keys.contains(normalize(key)));
+    }
+}
@@ -0,0 +1,175 @@
+package org.itsallcode.openfasttrace.core;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import org.itsallcode.openfasttrace.api.core.*;
+import org.itsallcode.openfasttrace.api.importer.*;
+import org.itsallcode.openfasttrace.api.importer.input.InputFile;
+import org.itsallcode.openfasttrace.api.importer.input.RealFileInput;
+import org.itsallcode.openfasttrace.api.report.ReporterFactory;
+import org.itsallcode.openfasttrace.core.importer.ImporterFactoryLoader;
+import org.itsallcode.openfasttrace.core.importer.ImporterServiceImpl;
+import org.itsallcode.openfasttrace.core.report.ReportService;
+import org.itsallcode.openfasttrace.core.report.ReporterFactoryLoader;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+class TestFlightRecorderEvents
+{
+    private static final String LINK_EVENT = "org.itsallcode.openfasttrace.Link";
+    private static final String TRACE_EVENT = "org.itsallcode.openfasttrace.Trace";
+    private static final String IMPORT_FILE_EVENT = "org.itsallcode.openfasttrace.ImportFile";
+    private static final String REPORT_EVENT = "org.itsallcode.openfasttrace.Report";
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testLinkAndTraceEventsAreRecorded() throws IOException
+    {
+        final SpecificationItem requirement = SpecificationItem.builder() //
+                .id(SpecificationItemId.parseId("req~a~1")) //
+                .addNeedsArtifactType("dsn") //
+                .build();
+        final SpecificationItem design = SpecificationItem.builder() //
+                .id(SpecificationItemId.parseId("dsn~b~1")) //
+                .addCoveredId(SpecificationItemId.parseId("req~a~1")) //
+                .build();
+        final List<RecordedEvent> events = record(() -> {
+            final List<LinkedSpecificationItem> linkedItems = new Linker(
+                    Arrays.asList(requirement, design)).link();
+            new Tracer().trace(linkedItems);
+        });
+        final List<RecordedEvent> linkEvents = filter(events, LINK_EVENT);
+        final List<RecordedEvent> traceEvents = filter(events, TRACE_EVENT);
+        assertAll(() -> assertThat(linkEvents, hasSize(1)),
+                () -> assertThat(linkEvents.get(0).getInt("items"), equalTo(2)),
+                () -> assertThat(linkEvents.get(0).getInt("links"), equalTo(2)),
+                () -> assertThat(traceEvents, hasSize(1)),
+                () -> assertThat(traceEvents.get(0).getInt("items"), equalTo(2)),
+                () -> assertThat(traceEvents.get(0).getInt("defects"), equalTo(0)));
+    }
+
+    @Test
+    void testImportFileEventIsRecorded() throws IOException
+    {
+        final Path file = Files.writeString(this.tempDir.resolve("input.txt"), "content");
+        final ImporterFactoryLoader factoryLoader = mock(ImporterFactoryLoader.class);
+        when(factoryLoader.getImporterFactory(any()))
+                .thenReturn(Optional.of(new OneItemImporterFactory()));
+        final ImporterServiceImpl importerService = new ImporterServiceImpl(factoryLoader,
+                ImportSettings.createDefault());
+        final List<RecordedEvent> events = record(() -> importerService.createImporter() //
+                .importFile(RealFileInput.forPath(file)));
+        final List<RecordedEvent> importEvents = filter(events, IMPORT_FILE_EVENT);
+        assertAll(() -> assertThat(importEvents, hasSize(1)),
+                () -> assertThat(importEvents.get(0).getString("path"),
+                        equalTo(file.toString())),
+                () -> assertThat(importEvents.get(0).getString("importer"),
+                        equalTo(OneItemImporter.class.getSimpleName())),
+                () -> assertThat(importEvents.get(0).getLong("size"), equalTo(7L)),
+                () -> assertThat(importEvents.get(0).getInt("items"), equalTo(1)));
+    }
+
+    @Test
+    void testReportEventIsRecorded() throws IOException
+    {
+        final Path output = this.tempDir.resolve("report.txt");
+        final ReporterFactory reporterFactory = mock(ReporterFactory.class);
+        when(reporterFactory.createImporter(any())).thenReturn(
+                outputStream -> new PrintStream(outputStream, true, StandardCharsets.UTF_8)
+                        .print("report"));
+        final ReporterFactoryLoader factoryLoader = mock(ReporterFactoryLoader.class);
+        when(factoryLoader.getReporterFactory("plain")).thenReturn(reporterFactory);
+        final List<LinkedSpecificationItem> items = new Linker(Arrays.asList(
+                SpecificationItem.builder().id(SpecificationItemId.parseId("req~a~1")).build()))
+                        .link();
+        final Trace trace = new Tracer().trace(items);
+        final List<RecordedEvent> events = record(
+                () -> new ReportService(factoryLoader).reportTraceToPath(trace, output, "plain"));
+        final List<RecordedEvent> reportEvents = filter(events, REPORT_EVENT);
+        assertAll(() -> assertThat(reportEvents, hasSize(1)),
+                () -> assertThat(reportEvents.get(0).getString("format"), equalTo("plain")),
+                () -> assertThat(reportEvents.get(0).getString("output"),
+                        equalTo(output.toString())),
+                () -> assertThat(reportEvents.get(0).getInt("items"), equalTo(1)));
+    }
+
+    private List<RecordedEvent> record(final Runnable action) throws IOException
+    {
+        final Path recordingFile = this.tempDir.resolve("recording.jfr");
+        try (final Recording recording = new Recording())
+        {
+            recording.enable(LINK_EVENT);
+            recording.enable(TRACE_EVENT);
+            recording.enable(IMPORT_FILE_EVENT);
+            recording.enable(REPORT_EVENT);
+            recording.start();
+            action.run();
+            recording.stop();
+            recording.dump(recordingFile);
+        }
+        return RecordingFile.readAllEvents(recordingFile);
+    }
+
+    private static List<RecordedEvent> filter(final List<RecordedEvent> events,
+            final String name)
+    {
+        return events.stream() //
+                .filter(event -> event.getEventType().getName().equals(name)) //
+                .collect(Collectors.toList());
+    }
+
+    private static class OneItemImporterFactory extends ImporterFactory
+    {
+        @Override
+        public boolean supportsFile(final InputFile file)
+        {
+            return true;
+        }
+
+        @Override
+        public Importer createImporter(final InputFile file, final ImportEventListener listener)
+        {
+            return new OneItemImporter(listener);
+        }
+    }
+
+    private static class OneItemImporter implements Importer
+    {
+        private final ImportEventListener listener;
+
+        private OneItemImporter(final ImportEventListener listener)
+        {
+            this.listener = listener;
+        }
+
+        @Override
+        public void runImport()
+        {
+            this.listener.beginSpecificationItem();
+            this.listener.setId(SpecificationItemId.parseId("req~imported~1"));
+            this.listener.endSpecificationItem();
+        }
+    }
+}
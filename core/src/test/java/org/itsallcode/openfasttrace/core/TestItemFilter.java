@@ -0,0 +1,95 @@
+package org.itsallcode.openfasttrace.core;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.itsallcode.openfasttrace.testutil.core.SampleArtifactTypes.DSN;
+import static org.itsallcode.openfasttrace.testutil.core.SampleArtifactTypes.IMPL;
+import static org.itsallcode.openfasttrace.testutil.core.SampleArtifactTypes.REQ;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.itsallcode.openfasttrace.api.FilterSettings;
+import org.itsallcode.openfasttrace.api.core.SpecificationItem;
+import org.itsallcode.openfasttrace.api.core.SpecificationItemId;
+import org.junit.jupiter.api.Test;
+
+class TestItemFilter
+{
+    private static final SpecificationItem REQUIREMENT = SpecificationItem.builder()
+            .id(REQ, "r", 1).title("Requirement").addNeedsArtifactType(DSN)
+            .addNeedsArtifactType(IMPL).addTag("release1").location("spec.md", 3).build();
+    private static final SpecificationItem DESIGN = SpecificationItem.builder().id(DSN, "d", 1)
+            .addCoveredId(REQ, "r", 1).addDependOnId(DSN, "other", 1).addNeedsArtifactType(IMPL)
+            .addTag("release2").build();
+    private static final SpecificationItem IMPLEMENTATION = SpecificationItem.builder()
+            .id(IMPL, "i", 1).addCoveredId(DSN, "d", 1).addCoveredId(REQ, "r", 1).build();
+    private static final List<SpecificationItem> ITEMS = List.of(REQUIREMENT, DESIGN,
+            IMPLEMENTATION);
+
+    @Test
+    void testFilterAllowingEverythingReturnsEqualCopies()
+    {
+        final List<SpecificationItem> filteredItems = filter(
+                FilterSettings.createAllowingEverything());
+        assertAll(() -> assertThat(filteredItems, equalTo(ITEMS)),
+                () -> assertThat(filteredItems.get(0), not(sameInstance(REQUIREMENT))),
+                () -> assertThat(filteredItems.get(0).getCoveredIds(),
+                        not(sameInstance(REQUIREMENT.getCoveredIds()))));
+    }
+
+    @Test
+    void testFilterByArtifactTypeRemovesLinksToUnwantedTypes()
+    {
+        final List<SpecificationItem> filteredItems = filter(
+                new FilterSettings.Builder().artifactTypes(Set.of(REQ, IMPL)).build());
+        assertAll(() -> assertThat(ids(filteredItems), contains("req~r~1", "impl~i~1")),
+                () -> assertThat(filteredItems.get(0).getNeedsArtifactTypes(), contains(IMPL)),
+                () -> assertThat(filteredItems.get(1).getCoveredIds(),
+                        contains(SpecificationItemId.parseId("req~r~1"))));
+    }
+
+    @Test
+    void testFilterByArtifactTypeRemovesDependencies()
+    {
+        final List<SpecificationItem> filteredItems = filter(
+                new FilterSettings.Builder().artifactTypes(Set.of(DSN)).build());
+        assertAll(() -> assertThat(ids(filteredItems), contains("dsn~d~1")),
+                () -> assertThat(filteredItems.get(0).getCoveredIds().isEmpty(), equalTo(true)),
+                () -> assertThat(filteredItems.get(0).getDependOnIds(),
+                        contains(SpecificationItemId.parseId("dsn~other~1"))));
+    }
+
+    @Test
+    void testFilterByTags()
+    {
+        final List<SpecificationItem> filteredItems = filter(new FilterSettings.Builder()
+                .tags(Set.of("release1")).withoutTags(false).build());
+        assertThat(ids(filteredItems), contains("req~r~1"));
+    }
+
+    @Test
+    void testFilterByTagsOrNoTags()
+    {
+        final List<SpecificationItem> filteredItems = filter(new FilterSettings.Builder()
+                .tags(Set.of("release1")).withoutTags(true).build());
+        assertThat(ids(filteredItems), contains("req~r~1", "impl~i~1"));
+    }
+
+    private static List<SpecificationItem> filter(final FilterSettings settings)
+    {
+        return new ItemFilter(settings).filter(ITEMS);
+    }
+
+    private static List<String> ids(final List<SpecificationItem> items)
+    {
+        return items.stream() //
+                .map(item -> item.getId().toString()) //
+                .collect(Collectors.toList());
+    }
+}
@@ -70,6 +70,29 @@ class TestLinkedSpecificationItem
         assertItemHasCoveredArtifactTypes(this.linkedItem, UMAN, REQ);
     }
 
+    @Test
+    void testRemoveLinkWithStatus()
+    {
+        when(this.coveredItemMock.getArtifactType()).thenReturn(UMAN);
+        when(this.otherItemMock.getArtifactType()).thenReturn(REQ);
+        this.linkedItem.addLinkToItemWithStatus(this.coveredLinkedItem, LinkStatus.COVERED_SHALLOW);
+        this.linkedItem.addLinkToItemWithStatus(this.otherLinkedItem, LinkStatus.COVERED_SHALLOW);
+        this.linkedItem.removeLinkToItemWithStatus(this.coveredLinkedItem,
+                LinkStatus.COVERED_SHALLOW);
+        assertAll( //
+                () -> assertThat(this.linkedItem.getLinksByStatus(LinkStatus.COVERED_SHALLOW),
+                        containsInAnyOrder(this.otherLinkedItem)),
+                () -> assertItemHasCoveredArtifactTypes(this.linkedItem, REQ));
+    }
+
+    @Test
+    void testRemoveLastLinkWithStatusRemovesStatus()
+    {
+        this.linkedItem.addLinkToItemWithStatus(this.otherLinkedItem, LinkStatus.ORPHANED);
+        this.linkedItem.removeLinkToItemWithStatus(this.otherLinkedItem, LinkStatus.ORPHANED);
+        assertThat(this.linkedItem.hasLinks(), equalTo(false));
+    }
+
     @Test
     void testGetUncoveredArtifactTypes()
     {
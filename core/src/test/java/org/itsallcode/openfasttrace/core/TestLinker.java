@@ -8,6 +8,7 @@ import static org.itsallcode.openfasttrace.api.core.SpecificationItemId.createId
 import static org.itsallcode.openfasttrace.testutil.core.SampleArtifactTypes.IMPL;
 import static org.itsallcode.openfasttrace.testutil.core.SampleArtifactTypes.REQ;
 import static org.itsallcode.openfasttrace.testutil.core.SampleArtifactTypes.UTEST;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.fail;
 
 import java.util.*;
@@ -314,4 +315,151 @@ class TestLinker
         }
     }
 
+    @Test
+    void testUpdateWithAddedCoveringItem()
+    {
+        final Linker linker = createLinkedLinker(requirement("a", 1));
+        final List<LinkedSpecificationItem> linkedItems = linker.update(List.of(),
+                List.of(implementation("x", "a", 1)));
+        assertLinksEqualFullLinking(linkedItems, requirement("a", 1), implementation("x", "a", 1));
+        assertThat(findLinkedItem(requirement("a", 1), linkedItems).get().isCoveredShallow(),
+                equalTo(true));
+    }
+
+    @Test
+    void testUpdateWithRemovedCoveredItemMakesLinkOrphaned()
+    {
+        final SpecificationItem covered = requirement("a", 1);
+        final Linker linker = createLinkedLinker(implementation("x", "a", 1), covered);
+        final List<LinkedSpecificationItem> linkedItems = linker.update(List.of(covered),
+                List.of());
+        assertLinksEqualFullLinking(linkedItems, implementation("x", "a", 1));
+        assertItemHasExactlyOneLinkWithStatus(linkedItems.get(0), ORPHANED);
+    }
+
+    @Test
+    void testUpdateWithRemovedCoveringItemUncoversItem()
+    {
+        final SpecificationItem covering = implementation("x", "a", 1);
+        final Linker linker = createLinkedLinker(covering, requirement("a", 1));
+        final List<LinkedSpecificationItem> linkedItems = linker.update(List.of(covering),
+                List.of());
+        assertLinksEqualFullLinking(linkedItems, requirement("a", 1));
+        assertThat(linkedItems.get(0).isCoveredShallow(), equalTo(false));
+        assertThat(linkedItems.get(0).getCoveredArtifactTypes(), empty());
+    }
+
+    @Test
+    void testUpdateWithChangedRevisionMakesLinkOutdated()
+    {
+        final SpecificationItem covered = requirement("a", 1);
+        final Linker linker = createLinkedLinker(implementation("x", "a", 1), covered);
+        final List<LinkedSpecificationItem> linkedItems = linker.update(List.of(covered),
+                List.of(requirement("a", 2)));
+        assertLinksEqualFullLinking(linkedItems, implementation("x", "a", 1), requirement("a", 2));
+    }
+
+    @Test
+    void testUpdateWithRevisionChangedBackRestoresCoverage()
+    {
+        final SpecificationItem covered = requirement("a", 1);
+        final SpecificationItem newerCovered = requirement("a", 2);
+        final Linker linker = createLinkedLinker(implementation("x", "a", 1), covered);
+        linker.update(List.of(covered), List.of(newerCovered));
+        final List<LinkedSpecificationItem> linkedItems = linker.update(List.of(newerCovered),
+                List.of(requirement("a", 1)));
+        assertLinksEqualFullLinking(linkedItems, implementation("x", "a", 1), requirement("a", 1));
+    }
+
+    @Test
+    void testUpdateWithAddedAndRemovedDuplicates()
+    {
+        final SpecificationItem original = requirement("a", 1);
+        final SpecificationItem duplicate = requirement("a", 1);
+        final Linker linker = createLinkedLinker(implementation("x", "a", 1), original);
+        List<LinkedSpecificationItem> linkedItems = linker.update(List.of(),
+                List.of(duplicate, requirement("a", 1)));
+        assertLinksEqualFullLinking(linkedItems, implementation("x", "a", 1), requirement("a", 1),
+                requirement("a", 1), requirement("a", 1));
+        linkedItems = linker.update(List.of(original), List.of());
+        assertLinksEqualFullLinking(linkedItems, implementation("x", "a", 1), requirement("a", 1),
+                requirement("a", 1));
+        assertItemHasExactlyOneLinkWithStatus(linkedItems.get(0), AMBIGUOUS);
+    }
+
+    @Test
+    void testUpdateKeepsUnaffectedLinkedItems()
+    {
+        final SpecificationItem covered = requirement("a", 1);
+        final Linker linker = createLinkedLinker(implementation("x", "a", 1), covered,
+                implementation("y", "b", 1), requirement("b", 1));
+        final List<LinkedSpecificationItem> before = List.copyOf(linker.link());
+        final List<LinkedSpecificationItem> linkedItems = linker.update(List.of(covered),
+                List.of(requirement("a", 1)));
+        assertThat(linkedItems.get(1) == before.get(2), equalTo(true));
+        assertThat(linkedItems.get(2) == before.get(3), equalTo(true));
+        assertLinksEqualFullLinking(linkedItems, implementation("x", "a", 1),
+                implementation("y", "b", 1), requirement("b", 1), requirement("a", 1));
+    }
+
+    @Test
+    void testUpdateWithUnknownItemThrowsException()
+    {
+        final Linker linker = createLinkedLinker(requirement("a", 1));
+        final List<SpecificationItem> unknownItems = List.of(requirement("a", 1));
+        final List<SpecificationItem> noItems = List.of();
+        assertThrows(IllegalArgumentException.class, () -> linker.update(unknownItems, noItems));
+    }
+
+    private static SpecificationItem requirement(final String name, final int revision)
+    {
+        return SpecificationItem.builder() //
+                .id(REQ, name, revision) //
+                .addNeedsArtifactType(IMPL) //
+                .build();
+    }
+
+    private static SpecificationItem implementation(final String name, final String coveredName,
+            final int coveredRevision)
+    {
+        return SpecificationItem.builder() //
+                .id(IMPL, name, 1) //
+                .addCoveredId(REQ, coveredName, coveredRevision) //
+                .build();
+    }
+
+    private static Linker createLinkedLinker(final SpecificationItem... items)
+    {
+        final Linker linker = new Linker(new ArrayList<>(Arrays.asList(items)));
+        linker.link();
+        return linker;
+    }
+
+    // The expected items must be new instances because linking modifies the
+    // covered IDs of the items.
+    private void assertLinksEqualFullLinking(final List<LinkedSpecificationItem> actualItems,
+            final SpecificationItem... expectedItems)
+    {
+        assertThat(describeLinks(actualItems), equalTo(describeLinks(linkItems(expectedItems))));
+    }
+
+    private static List<String> describeLinks(final List<LinkedSpecificationItem> linkedItems)
+    {
+        final List<String> links = new ArrayList<>();
+        for (final LinkedSpecificationItem item : linkedItems)
+        {
+            links.add(item.getId() + " covers " + item.getCoveredIds() + ", covered by "
+                    + new TreeSet<>(item.getCoveredArtifactTypes()));
+            for (final Map.Entry<LinkStatus, List<LinkedSpecificationItem>> entry : item.getLinks()
+                    .entrySet())
+            {
+                for (final LinkedSpecificationItem other : entry.getValue())
+                {
+                    links.add(item.getId() + " " + entry.getKey() + " " + other.getId());
+                }
+            }
+        }
+        Collections.sort(links);
+        return links;
+    }
 }
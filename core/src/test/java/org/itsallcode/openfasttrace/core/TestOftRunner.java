@@ -3,6 +3,7 @@ package org.itsallcode.openfasttrace.core;
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.sameInstance;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
@@ -12,14 +13,17 @@ import static org.mockito.Mockito.when;
 
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 import org.itsallcode.openfasttrace.api.ReportSettings;
 import org.itsallcode.openfasttrace.api.core.*;
 import org.itsallcode.openfasttrace.api.importer.ImportSettings;
 import org.itsallcode.openfasttrace.api.importer.ImporterService;
 import org.itsallcode.openfasttrace.api.importer.MultiFileImporter;
+import org.itsallcode.openfasttrace.api.progress.ProgressListener;
 import org.itsallcode.openfasttrace.core.exporter.ExporterService;
 import org.itsallcode.openfasttrace.core.report.ReportService;
 import org.junit.jupiter.api.BeforeEach;
@@ -113,12 +117,41 @@ class TestOftRunner
         assertThat(oftRunner.link(importedItems), sameInstance(linkedItems));
     }
 
+    @Test
+    void testLinkWithProgressListener()
+    {
+        final List<String> events = new ArrayList<>();
+        when(linkerMock.link(any())).thenReturn(linkedItems);
+        assertThat(oftRunner.link(importedItems, new PhaseRecorder(events)),
+                sameInstance(linkedItems));
+        assertThat(events, contains("started LINK", "finished LINK"));
+    }
+
     @Test
     void testTrace()
     {
         assertThat(oftRunner.trace(linkedItems), sameInstance(traceMock));
     }
 
+    @Test
+    void testTraceWithProgressListener()
+    {
+        final List<String> events = new ArrayList<>();
+        assertThat(oftRunner.trace(linkedItems, new PhaseRecorder(events)),
+                sameInstance(traceMock));
+        assertThat(events, contains("started TRACE", "finished TRACE"));
+    }
+
+    @Test
+    void testReportToPathReportsPhase()
+    {
+        final List<String> events = new ArrayList<>();
+        final ReportSettings settings = ReportSettings.builder()
+                .progressListener(new PhaseRecorder(events)).build();
+        oftRunner.reportToPath(traceMock, PATH, settings);
+        assertThat(events, contains("started REPORT", "finished REPORT"));
+    }
+
     @Test
     void testExportToPathListOfSpecificationItemPath()
     {
@@ -175,4 +208,33 @@ class TestOftRunner
         verify(reportServiceMock).reportTraceToPath(same(traceMock), same(PATH), eq("myFormat"));
     }
 
+    @Test
+    void testReportToPathsTracePathsReportSettings()
+    {
+        final Map<String, Path> paths = Map.of("format1", PATH, "format2", Paths.get("other"));
+        oftRunner.reportToPaths(traceMock, paths, ReportSettings.createDefault());
+        verify(reportServiceMock).reportTraceToPaths(same(traceMock), same(paths));
+    }
+
+    private static class PhaseRecorder implements ProgressListener
+    {
+        private final List<String> events;
+
+        private PhaseRecorder(final List<String> events)
+        {
+            this.events = events;
+        }
+
+        @Override
+        public void phaseStarted(final Phase phase)
+        {
+            this.events.add("started " + phase);
+        }
+
+        @Override
+        public void phaseFinished(final Phase phase, final Duration duration)
+        {
+            this.events.add("finished " + phase);
+        }
+    }
 }
@@ -20,6 +20,7 @@ import org.itsallcode.openfasttrace.core.matcher.SpecificationItemIdMatcher;
 import org.junit.jupiter.api.Test;
 
 import nl.jqno.equalsverifier.EqualsVerifier;
+import nl.jqno.equalsverifier.Warning;
 
 class TestSpecificationItem
 {
@@ -152,7 +153,10 @@ class TestSpecificationItem
     @Test
     void testEqualsAndHashContract()
     {
-        EqualsVerifier.forClass(SpecificationItem.class).verify();
+        // hashCode() leaves out the texts and the location on purpose.
+        EqualsVerifier.forClass(SpecificationItem.class) //
+                .suppress(Warning.STRICT_HASHCODE) //
+                .verify();
     }
 
     @Test
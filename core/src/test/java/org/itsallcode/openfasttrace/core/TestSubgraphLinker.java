@@ -0,0 +1,118 @@
+package org.itsallcode.openfasttrace.core;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.itsallcode.openfasttrace.api.core.SpecificationItemId.parseId;
+import static org.itsallcode.openfasttrace.testutil.core.SampleArtifactTypes.DSN;
+import static org.itsallcode.openfasttrace.testutil.core.SampleArtifactTypes.IMPL;
+import static org.itsallcode.openfasttrace.testutil.core.SampleArtifactTypes.REQ;
+
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.stream.Collectors;
+
+import org.itsallcode.openfasttrace.api.core.*;
+import org.junit.jupiter.api.Test;
+
+class TestSubgraphLinker
+{
+    private static final String FEAT = "feat";
+
+    @Test
+    void testLinkSelectsUpstreamAndDownstreamItems()
+    {
+        assertThat(ids(linkSubgraph("req~r~1")),
+                contains("feat~f~1", "req~r~1", "dsn~d~1", "impl~i~1", "impl~old~1"));
+    }
+
+    @Test
+    void testLinkIgnoresRevisionOfRootId()
+    {
+        assertThat(ids(linkSubgraph("dsn~d~7")), contains("feat~f~1", "req~r~1", "dsn~d~1",
+                "impl~i~1", "impl~old~1"));
+    }
+
+    @Test
+    void testLinkGivesSameResultAsLinkingAllItems()
+    {
+        final List<LinkedSpecificationItem> subgraph = linkSubgraph("req~r~1");
+        final Set<SpecificationItemId> subgraphIds = subgraph.stream()
+                .map(LinkedSpecificationItem::getId).collect(Collectors.toSet());
+        final List<LinkedSpecificationItem> allItems = new Linker(createItems()).link().stream()
+                .filter(item -> subgraphIds.contains(item.getId()))
+                .collect(Collectors.toList());
+        assertThat(describe(subgraph), equalTo(describe(allItems)));
+    }
+
+    @Test
+    void testLinkWithUnknownRootReturnsEmptyList()
+    {
+        assertThat(linkSubgraph("req~unknown~1"), empty());
+    }
+
+    @Test
+    void testFindIdsInFiles()
+    {
+        final SubgraphLinker linker = new SubgraphLinker(createItems());
+        assertThat(linker.findIdsInFiles(List.of(Paths.get("doc/./design.md"))),
+                contains(parseId("dsn~d~1"), parseId("dsn~d2~1")));
+    }
+
+    private static List<LinkedSpecificationItem> linkSubgraph(final String... rootIds)
+    {
+        return new SubgraphLinker(createItems()).link(
+                Arrays.stream(rootIds).map(SpecificationItemId::parseId)
+                        .collect(Collectors.toList()));
+    }
+
+    // Linking modifies the covered IDs of the items, so each test needs new
+    // instances.
+    private static List<SpecificationItem> createItems()
+    {
+        return List.of( //
+                SpecificationItem.builder().id(FEAT, "f", 1).addNeedsArtifactType(REQ).build(),
+                SpecificationItem.builder().id(REQ, "r", 1).addCoveredId(FEAT, "f", 1)
+                        .addNeedsArtifactType(DSN).build(),
+                SpecificationItem.builder().id(REQ, "r2", 1).addCoveredId(FEAT, "f", 1)
+                        .addNeedsArtifactType(DSN).build(),
+                SpecificationItem.builder().id(DSN, "d", 1).addCoveredId(REQ, "r", 1)
+                        .addNeedsArtifactType(IMPL).location("doc/design.md", 1).build(),
+                SpecificationItem.builder().id(DSN, "d2", 1).addCoveredId(REQ, "r2", 1)
+                        .addNeedsArtifactType(IMPL).location("doc/design.md", 5).build(),
+                SpecificationItem.builder().id(IMPL, "i", 1).addCoveredId(DSN, "d", 1)
+                        .addCoveredId(DSN, "other", 1).build(),
+                SpecificationItem.builder().id(IMPL, "old", 1).addCoveredId(DSN, "d", 0)
+                        .build(),
+                SpecificationItem.builder().id(DSN, "other", 1).addCoveredId(REQ, "x", 1)
+                        .addNeedsArtifactType(IMPL).build(),
+                SpecificationItem.builder().id(FEAT, "g", 1).addNeedsArtifactType(REQ).build());
+    }
+
+    private static List<String> ids(final List<LinkedSpecificationItem> items)
+    {
+        return items.stream().map(item -> item.getId().toString()).collect(Collectors.toList());
+    }
+
+    private static List<String> describe(final List<LinkedSpecificationItem> items)
+    {
+        final List<String> descriptions = new ArrayList<>();
+        for (final LinkedSpecificationItem item : items)
+        {
+            descriptions.add(item.getId() + " " + item.getDeepCoverageStatus() + " defect="
+                    + item.isDefect() + " covered by "
+                    + new TreeSet<>(item.getCoveredArtifactTypes()));
+            for (final Map.Entry<LinkStatus, List<LinkedSpecificationItem>> entry : item.getLinks()
+                    .entrySet())
+            {
+                for (final LinkedSpecificationItem other : entry.getValue())
+                {
+                    descriptions.add(item.getId() + " " + entry.getKey() + " " + other.getId());
+                }
+            }
+        }
+        Collections.sort(descriptions);
+        return descriptions;
+    }
+}
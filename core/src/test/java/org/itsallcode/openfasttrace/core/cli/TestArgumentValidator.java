@@ -4,11 +4,16 @@ import static java.util.Arrays.asList;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
 import org.itsallcode.openfasttrace.api.cli.DirectoryService;
 import org.itsallcode.openfasttrace.api.report.ReportVerbosity;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
@@ -29,7 +34,7 @@ class TestArgumentValidator
     @Test
     void testNoCommandGivenIsInvalid()
     {
-        assertValidatorResult("Missing command", "Add one of 'help','convert','trace'");
+        assertValidatorResult("Missing command", "Add one of 'help','convert','trace','watch','serve'");
     }
 
     @Test
@@ -58,6 +63,147 @@ class TestArgumentValidator
                 "remove output file parameter.");
     }
 
+    @Test
+    void testTraceCommandWithAdditionalReportsIsValid()
+    {
+        cliArgs.setUnnamedValues(asList("trace"));
+        cliArgs.setOutputFormat("html");
+        cliArgs.setOutputFile("report.html");
+        cliArgs.setReport("aspec=report.xml");
+        cliArgs.setReport("plain=report.txt");
+        assertValidatorResult("", "");
+    }
+
+    @Test
+    void testTraceCommandWithReportWithoutPathIsNotValid()
+    {
+        cliArgs.setUnnamedValues(asList("trace"));
+        cliArgs.setReport("html=");
+        assertValidatorResult("report 'html=' does not specify format and output path.",
+                "use '--report <format>=<path>'.");
+    }
+
+    @Test
+    void testTraceCommandWithReportWithoutFormatIsNotValid()
+    {
+        cliArgs.setUnnamedValues(asList("trace"));
+        cliArgs.setReport("report.html");
+        assertValidatorResult("report 'report.html' does not specify format and output path.",
+                "use '--report <format>=<path>'.");
+    }
+
+    @Test
+    void testTraceCommandWithDuplicateReportFormatIsNotValid()
+    {
+        cliArgs.setUnnamedValues(asList("trace"));
+        cliArgs.setOutputFormat("html");
+        cliArgs.setOutputFile("report.html");
+        cliArgs.setReport("html=other.html");
+        assertValidatorResult("report format 'html' is given more than once.",
+                "write each report format to only one output path.");
+    }
+
+    @Test
+    void testServeCommandWithPortIsValid()
+    {
+        cliArgs.setUnnamedValues(asList("serve"));
+        cliArgs.setPort("8080");
+        assertValidatorResult("", "");
+    }
+
+    @Test
+    void testServeCommandWithInvalidPortIsNotValid()
+    {
+        cliArgs.setUnnamedValues(asList("serve"));
+        cliArgs.setPort("http");
+        assertValidatorResult("port must be a number between 0 and 65535.",
+                "use '--port 0' to let the system choose a free port.");
+    }
+
+    @Test
+    void testTraceCommandWithProfilesIsValid(@TempDir final Path tempDir) throws IOException
+    {
+        cliArgs.setUnnamedValues(asList("trace"));
+        cliArgs.setProfiles(writeProfiles(tempDir, "all: -f all.txt",
+                "release: -t release -o html -f release.html"));
+        assertValidatorResult("", "");
+    }
+
+    @Test
+    void testTraceCommandWithProfilesAndOutputFileIsNotValid(@TempDir final Path tempDir)
+            throws IOException
+    {
+        cliArgs.setUnnamedValues(asList("trace"));
+        cliArgs.setOutputFile("report.txt");
+        cliArgs.setProfiles(writeProfiles(tempDir, "all: -f all.txt"));
+        assertValidatorResult("filters and output files are set per profile when using profiles.",
+                "move the filter, root and output options into the profile file.");
+    }
+
+    @Test
+    void testTraceCommandWithProfileWithoutOutputFileIsNotValid(@TempDir final Path tempDir)
+            throws IOException
+    {
+        cliArgs.setUnnamedValues(asList("trace"));
+        cliArgs.setProfiles(writeProfiles(tempDir, "all: -o html"));
+        assertValidatorResult("profile 'all' does not specify an output file.",
+                "add '-f <path>' to the profile.");
+    }
+
+    @Test
+    void testTraceCommandWithProfilesWritingToSameFileIsNotValid(@TempDir final Path tempDir)
+            throws IOException
+    {
+        cliArgs.setUnnamedValues(asList("trace"));
+        cliArgs.setProfiles(writeProfiles(tempDir, "a: -f report.txt", "b: -f report.txt"));
+        assertValidatorResult("output path 'report.txt' of profile 'b' is used by more than one report.",
+                "write each report to its own output path.");
+    }
+
+    @Test
+    void testTraceCommandWithRootsIsValid()
+    {
+        cliArgs.setUnnamedValues(asList("trace"));
+        cliArgs.setRootId("req~login~2");
+        cliArgs.setRootFile("doc/spec.md");
+        assertValidatorResult("", "");
+    }
+
+    @Test
+    void testTraceCommandWithInvalidRootIdIsNotValid()
+    {
+        cliArgs.setUnnamedValues(asList("trace"));
+        cliArgs.setRootId("login");
+        assertValidatorResult("root ID 'login' is not a valid specification item ID.",
+                "use IDs in the form '<artifact type>~<name>~<revision>'.");
+    }
+
+    @Test
+    void testServeCommandWithRootsIsNotValid()
+    {
+        cliArgs.setUnnamedValues(asList("serve"));
+        cliArgs.setRootId("req~login~2");
+        assertValidatorResult("root items are only supported by the 'trace' command.",
+                "remove the root ID and root file parameters.");
+    }
+
+    @Test
+    void testWatchCommandWithProfilesIsNotValid(@TempDir final Path tempDir) throws IOException
+    {
+        cliArgs.setUnnamedValues(asList("watch"));
+        cliArgs.setProfiles(writeProfiles(tempDir, "all: -f all.txt"));
+        assertValidatorResult("profiles are only supported by the 'trace' command.",
+                "remove the profiles parameter.");
+    }
+
+    private static String writeProfiles(final Path directory, final String... lines)
+            throws IOException
+    {
+        final Path file = directory.resolve("profiles.txt");
+        Files.write(file, asList(lines));
+        return file.toString();
+    }
+
     @Test
     void testConvertCommandGivenIsValid()
     {
@@ -71,7 +217,7 @@ class TestArgumentValidator
     {
         cliArgs.setUnnamedValues(asList("unknownCommand"));
         assertValidatorResult("'unknownCommand' is not an OFT command.",
-                "Choose one of 'help','convert','trace'.");
+                "Choose one of 'help','convert','trace','watch','serve'.");
     }
 
     private void assertValidatorResult(String expectedError, String expectedSuggestion)
@@ -6,6 +6,7 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
 
 import java.nio.file.Paths;
+import java.util.Map;
 
 import org.itsallcode.openfasttrace.api.core.Newline;
 import org.itsallcode.openfasttrace.api.report.ReportConstants;
@@ -232,4 +233,62 @@ class TestCliArguments
         this.arguments.setS(true);
         assertThat(this.arguments.getShowOrigin(), is(true));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testAdditionalReportsEmptyByDefault()
+    {
+        assertThat(this.arguments.getAdditionalReports().entrySet(), empty());
+    }
+
+    @Test
+    void testSetReport()
+    {
+        this.arguments.setReport("html=report.html");
+        this.arguments.setReport("aspec=out/report=1.xml");
+        this.arguments.setReport("invalid");
+        assertThat(AFTER_SETTER, this.arguments.getReports(),
+                contains("html=report.html", "aspec=out/report=1.xml", "invalid"));
+        assertThat(AFTER_SETTER, this.arguments.getAdditionalReports(),
+                equalTo(Map.of("html", Paths.get("report.html"), "aspec",
+                        Paths.get("out/report=1.xml"))));
+    }
+
+    @Test
+    void testImportStatsDisabledByDefault()
+    {
+        assertThat(this.arguments.getImportStats(), nullValue());
+    }
+
+    @Test
+    void testSetImportStats()
+    {
+        this.arguments.setImportStats("stats.csv");
+        assertThat(this.arguments.getImportStats(), equalTo("stats.csv"));
+    }
+
+    @Test
+    void testImportStatsTopDefault()
+    {
+        assertThat(this.arguments.getImportStatsTop(), equalTo(10));
+    }
+
+    @Test
+    void testSetImportStatsTop()
+    {
+        this.arguments.setImportStatsTop("3");
+        assertThat(this.arguments.getImportStatsTop(), equalTo(3));
+    }
+
+    @Test
+    void testSpillDirectoryDisabledByDefault()
+    {
+        assertThat(this.arguments.getSpillDirectory(), nullValue());
+    }
+
+    @Test
+    void testSetSpillDirectory()
+    {
+        this.arguments.setSpillDirectory("/tmp/oft");
+        assertThat(this.arguments.getSpillDirectory(), equalTo(Paths.get("/tmp/oft")));
+    }
+}
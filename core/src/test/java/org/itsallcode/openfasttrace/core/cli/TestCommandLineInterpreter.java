@@ -37,6 +37,13 @@ class TestCommandLineInterpreter
         assertThat(stub.getA(), equalTo("value_a"));
     }
 
+    @Test
+    void testSingleDashIsStringValue() throws CliException
+    {
+        final CommandLineArgumentsStub stub = parseArguments("--the-long-parameter", "-");
+        assertThat(stub.getTheLongParameter(), equalTo("-"));
+    }
+
     @Test
     void testMissingValueForStringParameter()
     {
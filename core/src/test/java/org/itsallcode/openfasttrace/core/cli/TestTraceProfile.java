@@ -0,0 +1,107 @@
+package org.itsallcode.openfasttrace.core.cli;
+
+import static java.util.Arrays.asList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+import org.itsallcode.openfasttrace.api.report.ReportVerbosity;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class TestTraceProfile
+{
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testReadProfiles() throws IOException, CliException
+    {
+        final List<TraceProfile> profiles = read("# Release variants", "",
+                "release-1: -t release1,_ -f \"release 1.txt\"",
+                "  requirements : -a feat,req -o html -v minimal -f req.html");
+        final CliArguments release = profiles.get(0).getArguments();
+        final CliArguments requirements = profiles.get(1).getArguments();
+        assertAll(() -> assertThat(profiles.size(), equalTo(2)),
+                () -> assertThat(profiles.get(0).getName(), equalTo("release-1")),
+                () -> assertThat(release.getWantedTags(), containsInAnyOrder("release1", "_")),
+                () -> assertThat(release.getOutputPath(), equalTo(Paths.get("release 1.txt"))),
+                () -> assertThat(release.getOutputFormat(), equalTo("plain")),
+                () -> assertThat(profiles.get(1).getName(), equalTo("requirements")),
+                () -> assertThat(requirements.getWantedArtifactTypes(),
+                        containsInAnyOrder("feat", "req")),
+                () -> assertThat(requirements.getOutputFormat(), equalTo("html")),
+                () -> assertThat(requirements.getReportVerbosity(),
+                        equalTo(ReportVerbosity.MINIMAL)));
+    }
+
+    @Test
+    void testReadLineWithoutNameFails() throws IOException
+    {
+        assertReadFails("Line 1 of profile file '" + profileFile()
+                + "' does not start with a profile name followed by ':'", "-f all.txt");
+    }
+
+    @Test
+    void testReadProfileWithInputFails() throws IOException
+    {
+        assertReadFails("Profile 'all' contains the value 'src' that is not an option."
+                + " Profiles must not contain commands or inputs", "all: -f all.txt src");
+    }
+
+    @Test
+    void testReadProfileWithUnknownOptionFails() throws IOException
+    {
+        assertReadFails("Profile 'all': Unexpected parameter 'unknown' is not allowed",
+                "all: --unknown");
+    }
+
+    @Test
+    void testReadDuplicateProfileFails() throws IOException
+    {
+        assertReadFails("Profile 'all' is defined more than once in profile file '"
+                + profileFile() + "'", "all: -f a.txt", "all: -f b.txt");
+    }
+
+    @Test
+    void testReadMissingFileFails()
+    {
+        final CliException exception = assertThrows(CliException.class,
+                () -> TraceProfile.readFile(profileFile()));
+        assertThat(exception.getMessage(),
+                equalTo("Error reading profile file '" + profileFile() + "'"));
+    }
+
+    private void assertReadFails(final String expectedMessage, final String... lines)
+            throws IOException
+    {
+        writeProfiles(lines);
+        final CliException exception = assertThrows(CliException.class,
+                () -> TraceProfile.readFile(profileFile()));
+        assertThat(exception.getMessage(), equalTo(expectedMessage));
+    }
+
+    private List<TraceProfile> read(final String... lines) throws IOException, CliException
+    {
+        writeProfiles(lines);
+        return TraceProfile.readFile(profileFile());
+    }
+
+    private void writeProfiles(final String... lines) throws IOException
+    {
+        Files.write(profileFile(), asList(lines));
+    }
+
+    private Path profileFile()
+    {
+        return this.tempDir.resolve("profiles.txt");
+    }
+}
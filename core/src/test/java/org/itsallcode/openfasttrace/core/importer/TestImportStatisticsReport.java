@@ -0,0 +1,81 @@
+package org.itsallcode.openfasttrace.core.importer;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import org.itsallcode.openfasttrace.api.importer.ImportStatistics;
+import org.itsallcode.openfasttrace.api.importer.ImportStatistics.FileStatistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class TestImportStatisticsReport
+{
+    private ImportStatisticsReport report;
+
+    @BeforeEach
+    void beforeEach()
+    {
+        final ImportStatistics statistics = new ImportStatistics();
+        statistics.add(new FileStatistics("small.md", "markdown", 10, 2, 1,
+                Duration.ofMillis(30)));
+        statistics.add(new FileStatistics("large.md", "markdown", 1000, 50, 4,
+                Duration.ofMillis(5)));
+        statistics.add(new FileStatistics("a,b.java", "tag", 100, 10, 2,
+                Duration.ofMillis(7)));
+        this.report = new ImportStatisticsReport(statistics);
+    }
+
+    @Test
+    void testWriteSummary()
+    {
+        final StringWriter writer = new StringWriter();
+        this.report.writeSummary(writer, 1);
+        final String summary = writer.toString();
+        assertAll(
+                () -> assertThat(summary, containsString(
+                        "Import statistics: 3 files, 1110 bytes, 62 lines, 7 items in 42 ms")),
+                () -> assertThat(summary, containsString(
+                        "Slowest files:")),
+                () -> assertThat(summary, containsString("small.md")),
+                () -> assertThat(summary, containsString("large.md")),
+                () -> assertThat(summary, not(containsString("a,b.java"))),
+                () -> assertThat(summary, containsString(
+                        String.format("%-24s %8s %10s %12s %10s %8s%n", "markdown", 2, 35, 1010,
+                                52, 5))));
+    }
+
+    @Test
+    void testWriteCsv() throws IOException
+    {
+        final StringWriter writer = new StringWriter();
+        this.report.writeCsv(writer);
+        assertThat(writer.toString(), equalTo("path,importer,bytes,lines,items,millis\n" //
+                + "small.md,markdown,10,2,1,30\n" //
+                + "large.md,markdown,1000,50,4,5\n" //
+                + "\"a,b.java\",tag,100,10,2,7\n"));
+    }
+
+    @Test
+    void testWriteToJsonPath(@TempDir final Path tempDir) throws IOException
+    {
+        final Path path = tempDir.resolve("stats.json");
+        this.report.writeToPath(path, 10);
+        final String json = Files.readString(path, StandardCharsets.UTF_8);
+        assertAll(
+                () -> assertThat(json, containsString("{\"path\":\"small.md\",\"importer\":"
+                        + "\"markdown\",\"bytes\":10,\"lines\":2,\"items\":1,\"millis\":30}")),
+                () -> assertThat(json, containsString("{\"importer\":\"tag\",\"files\":1,"
+                        + "\"bytes\":100,\"lines\":10,\"items\":2,\"millis\":7}")));
+    }
+}
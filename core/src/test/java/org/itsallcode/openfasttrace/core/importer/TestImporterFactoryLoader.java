@@ -4,7 +4,9 @@ import static java.util.Arrays.asList;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.sameInstance;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.same;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.nio.file.Paths;
@@ -82,6 +84,22 @@ class TestImporterFactoryLoader
         assertTrue(this.loader.getImporterFactory(this.file).isEmpty());
     }
 
+    @Test
+    void testCandidatesAreSelectedByFileExtension()
+    {
+        simulateFactories(this.supportedFactory1);
+        this.loader.supportsFile(RealFileInput.forPath(Paths.get("dir.d", "name.Md")));
+        verify(this.serviceLoaderMock).getCandidates("Md");
+    }
+
+    @Test
+    void testFileWithoutExtensionUsesEmptyKey()
+    {
+        simulateFactories(this.supportedFactory1);
+        this.loader.supportsFile(this.file);
+        verify(this.serviceLoaderMock).getCandidates("");
+    }
+
     private void assertFactoryFound(final ImporterFactory expectedFactory)
     {
         assertThat(this.loader.getImporterFactory(this.file).get(), sameInstance(expectedFactory));
@@ -89,6 +107,6 @@ class TestImporterFactoryLoader
 
     private void simulateFactories(final ImporterFactory... factories)
     {
-        when(this.serviceLoaderMock.spliterator()).thenReturn(asList(factories).spliterator());
+        when(this.serviceLoaderMock.getCandidates(any())).thenReturn(asList(factories));
     }
 }
@@ -0,0 +1,244 @@
+package org.itsallcode.openfasttrace.core.importer;
+
+import static java.util.Arrays.asList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import org.itsallcode.openfasttrace.api.core.ItemPayloadStore;
+import org.itsallcode.openfasttrace.api.core.SpecificationItem;
+import org.itsallcode.openfasttrace.api.core.SpecificationItemId;
+import org.itsallcode.openfasttrace.api.importer.*;
+import org.itsallcode.openfasttrace.api.importer.input.InputFile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class TestIncrementalImporter
+{
+    @TempDir
+    Path inputDir;
+    @Mock
+    private ImporterFactoryLoader factoryLoaderMock;
+
+    private IncrementalImporter importer;
+
+    @BeforeEach
+    void beforeEach()
+    {
+        final ImporterFactory factory = new LineImporterFactory();
+        when(this.factoryLoaderMock.supportsFile(any()))
+                .thenAnswer(invocation -> factory.supportsFile(invocation.getArgument(0)));
+        when(this.factoryLoaderMock.getImporterFactory(any())).thenReturn(Optional.of(factory));
+        this.importer = new IncrementalImporter(this.factoryLoaderMock,
+                ImportSettings.builder().addInputs(this.inputDir).build(), null);
+    }
+
+    @Test
+    void testImportAll() throws IOException
+    {
+        writeFile("a.md", "a1", "a2");
+        writeFile("sub/b.md", "b1");
+        writeFile("ignored.txt", "x");
+        this.importer.importAll();
+        assertThat(this.importer.getFileCount(), equalTo(2));
+        assertThat(getItemNames(), containsInAnyOrder("a1", "a2", "b1"));
+    }
+
+    @Test
+    void testUpdateModifiedFileKeepsOrder() throws IOException
+    {
+        final Path first = writeFile("a.md", "a1");
+        writeFile("b.md", "b1");
+        this.importer.importAll();
+        // Files.walk() does not guarantee an order, so only check that the
+        // file keeps its position.
+        final boolean firstFileImportedFirst = getItemNames().indexOf("a1") == 0;
+        writeFile("a.md", "a1", "a2");
+        assertThat(this.importer.update(first), equalTo(true));
+        final List<String> expected = firstFileImportedFirst ? asList("a1", "a2", "b1")
+                : asList("b1", "a1", "a2");
+        assertThat(getItemNames(), equalTo(expected));
+    }
+
+    @Test
+    void testUpdateUnchangedFileReturnsFalse() throws IOException
+    {
+        final Path file = writeFile("a.md", "a1");
+        this.importer.importAll();
+        assertThat(this.importer.update(file), equalTo(false));
+    }
+
+    @Test
+    void testUpdateUnchangedFileIgnoresCoveredIdsAddedByLinking() throws IOException
+    {
+        final Path file = writeFile("a.md", "a1");
+        this.importer.importAll();
+        // Linking adds items reached by forwarded coverage to the covered IDs.
+        this.importer.getItems().get(0).getCoveredIds()
+                .add(SpecificationItemId.createId("dsn", "forwarded", 1));
+        assertThat(this.importer.update(file), equalTo(false));
+    }
+
+    @Test
+    void testUpdateUnchangedFileDoesNotGrowPayloadStore(@TempDir final Path spillDir)
+            throws IOException
+    {
+        final Path file = writeFile("a.md", "a1", "a2");
+        try (ItemPayloadStore store = ItemPayloadStore.create(spillDir))
+        {
+            final IncrementalImporter spillingImporter = new IncrementalImporter(
+                    this.factoryLoaderMock, ImportSettings.builder().addInputs(this.inputDir)
+                            .payloadStore(store).build(),
+                    null);
+            spillingImporter.importAll();
+            final long importedSize = store.getSize();
+            assertAll(() -> assertThat(spillingImporter.update(file), equalTo(false)),
+                    () -> assertThat(store.getSize(), equalTo(importedSize)));
+        }
+    }
+
+    @Test
+    void testUpdateCreatedFile() throws IOException
+    {
+        this.importer.importAll();
+        final Path file = writeFile("new.md", "n1");
+        assertThat(this.importer.update(file), equalTo(true));
+        assertThat(getItemNames(), contains("n1"));
+    }
+
+    @Test
+    void testUpdateDeletedFile() throws IOException
+    {
+        final Path file = writeFile("a.md", "a1");
+        this.importer.importAll();
+        Files.delete(file);
+        assertThat(this.importer.update(file), equalTo(true));
+        assertThat(getItemNames(), empty());
+        assertThat(this.importer.getFileCount(), equalTo(0));
+    }
+
+    @Test
+    void testUpdateDeletedDirectory() throws IOException
+    {
+        final Path file = writeFile("sub/a.md", "a1");
+        writeFile("b.md", "b1");
+        this.importer.importAll();
+        Files.delete(file);
+        Files.delete(file.getParent());
+        assertThat(this.importer.update(file.getParent()), equalTo(true));
+        assertThat(getItemNames(), contains("b1"));
+    }
+
+    @Test
+    void testUpdateCreatedDirectory() throws IOException
+    {
+        this.importer.importAll();
+        final Path file = writeFile("sub/a.md", "a1");
+        assertThat(this.importer.update(file.getParent()), equalTo(true));
+        assertThat(getItemNames(), contains("a1"));
+    }
+
+    @Test
+    void testUpdateIgnoresPathOutsideOfInputs(@TempDir final Path otherDir) throws IOException
+    {
+        this.importer.importAll();
+        final Path file = otherDir.resolve("a.md");
+        Files.writeString(file, "a1");
+        assertThat(this.importer.update(file), equalTo(false));
+        assertThat(this.importer.isInput(file), equalTo(false));
+    }
+
+    @Test
+    void testMovePayloadsToNewStore(@TempDir final Path spillDir) throws IOException
+    {
+        writeFile("a.md", "a1", "a2");
+        final Path file = writeFile("b.md", "b1");
+        try (ItemPayloadStore oldStore = ItemPayloadStore.create(spillDir);
+                ItemPayloadStore newStore = ItemPayloadStore.create(spillDir))
+        {
+            final IncrementalImporter spillingImporter = new IncrementalImporter(
+                    this.factoryLoaderMock, ImportSettings.builder().addInputs(this.inputDir)
+                            .payloadStore(oldStore).build(),
+                    null);
+            spillingImporter.importAll();
+            spillingImporter.movePayloads(newStore);
+            oldStore.close();
+            final long movedSize = newStore.getSize();
+            writeFile("b.md", "b1", "b2");
+            spillingImporter.update(file);
+            assertAll(() -> assertThat(spillingImporter.getItems().stream() //
+                    .map(SpecificationItem::getTitle) //
+                    .collect(Collectors.toList()), everyItem(equalTo(""))),
+                    () -> assertThat(spillingImporter.getItems(), hasSize(4)),
+                    () -> assertThat(newStore.getSize(), greaterThan(movedSize)));
+        }
+    }
+
+    private Path writeFile(final String name, final String... lines) throws IOException
+    {
+        final Path file = this.inputDir.resolve(name);
+        Files.createDirectories(file.getParent());
+        Files.write(file, asList(lines));
+        return file;
+    }
+
+    private List<String> getItemNames()
+    {
+        return this.importer.getItems().stream() //
+                .map(SpecificationItem::getName) //
+                .collect(Collectors.toList());
+    }
+
+    private static class LineImporterFactory extends ImporterFactory
+    {
+        @Override
+        public boolean supportsFile(final InputFile file)
+        {
+            return file.getPath().endsWith(".md");
+        }
+
+        @Override
+        public Importer createImporter(final InputFile file, final ImportEventListener listener)
+        {
+            return () -> {
+                try
+                {
+                    for (final String line : Files.readAllLines(file.toPath()))
+                    {
+                        listener.beginSpecificationItem();
+                        listener.setId(SpecificationItemId.createId("req", line, 1));
+                        listener.endSpecificationItem();
+                    }
+                }
+                catch (final IOException exception)
+                {
+                    throw new UncheckedIOException(exception);
+                }
+            };
+        }
+    }
+}
@@ -2,9 +2,14 @@ package org.itsallcode.openfasttrace.core.importer;
 
 import static java.util.Arrays.asList;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.same;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -19,9 +24,13 @@ import org.itsallcode.openfasttrace.api.core.SpecificationItem;
 import org.itsallcode.openfasttrace.api.importer.*;
 import org.itsallcode.openfasttrace.api.importer.input.InputFile;
 import org.itsallcode.openfasttrace.api.importer.input.RealFileInput;
+import org.itsallcode.openfasttrace.api.progress.ProgressMonitor;
+import org.itsallcode.openfasttrace.core.importer.cache.CacheRecorder;
+import org.itsallcode.openfasttrace.core.importer.cache.ImportCache;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
@@ -44,6 +53,10 @@ class TestMultiFileImporter
     private Importer importerMock;
     @Mock
     private ImporterFactory importerFactoryMock;
+    @Mock
+    private ImportCache importCacheMock;
+    @Mock
+    private CacheRecorder cacheRecorderMock;
 
     private MultiFileImporter multiFileImporter;
 
@@ -103,4 +116,54 @@ class TestMultiFileImporter
 
         assertThat(this.multiFileImporter.getImportedItems(), sameInstance(expected));
     }
+
+    @Test
+    void testImportSingleFileReplaysFromCache()
+    {
+        when(this.importCacheMock.replay(PATH1, this.specItemBuilderMock)).thenReturn(true);
+        new MultiFileImporterImpl(this.specItemBuilderMock, this.factoryLoaderMock,
+                this.importCacheMock).importFile(FILE1);
+        verify(this.importerFactoryMock, never()).createImporter(any(), any());
+    }
+
+    @Test
+    void testImportSingleFileRecordsCacheEntry()
+    {
+        when(this.importCacheMock.replay(PATH1, this.specItemBuilderMock)).thenReturn(false);
+        when(this.importCacheMock.record(PATH1, this.specItemBuilderMock))
+                .thenReturn(this.cacheRecorderMock);
+        when(this.importerFactoryMock.createImporter(any(), same(this.cacheRecorderMock)))
+                .thenReturn(this.importerMock);
+        new MultiFileImporterImpl(this.specItemBuilderMock, this.factoryLoaderMock,
+                this.importCacheMock).importFile(FILE1);
+        final InOrder inOrder = inOrder(this.importerMock, this.cacheRecorderMock);
+        inOrder.verify(this.importerMock).runImport();
+        inOrder.verify(this.cacheRecorderMock).commit();
+    }
+
+    @Test
+    void testImportSingleFileRecordsStatistics()
+    {
+        final ImportStatistics statistics = new ImportStatistics();
+        new MultiFileImporterImpl(this.specItemBuilderMock, this.factoryLoaderMock, null,
+                ProgressMonitor.none(), statistics).importFile(FILE1);
+        final List<ImportStatistics.FileStatistics> files = statistics.getFiles();
+        assertAll(() -> assertThat(files, hasSize(1)),
+                () -> assertThat(files.get(0).getPath(), equalTo(FILE1.getPath())),
+                () -> assertThat(files.get(0).getBytes(), equalTo(472L)),
+                () -> assertThat(files.get(0).getLines(), equalTo(27L)));
+    }
+
+    @Test
+    void testReplayedFileStatisticsSkipLineCount()
+    {
+        when(this.importCacheMock.replay(PATH1, this.specItemBuilderMock)).thenReturn(true);
+        final ImportStatistics statistics = new ImportStatistics();
+        new MultiFileImporterImpl(this.specItemBuilderMock, this.factoryLoaderMock,
+                this.importCacheMock, ProgressMonitor.none(), statistics).importFile(FILE1);
+        final ImportStatistics.FileStatistics file = statistics.getFiles().get(0);
+        assertAll(() -> assertThat(file.getImporter(), equalTo("cache")),
+                () -> assertThat(file.getBytes(), equalTo(472L)),
+                () -> assertThat(file.getLines(), equalTo(-1L)));
+    }
 }
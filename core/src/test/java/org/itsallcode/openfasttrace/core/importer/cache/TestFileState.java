@@ -0,0 +1,56 @@
+package org.itsallcode.openfasttrace.core.importer.cache;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+import org.junit.jupiter.api.Test;
+
+class TestFileState
+{
+    private static final String GIT_BLOB = "git:0123456789abcdef0123456789abcdef01234567";
+    private static final String OTHER_GIT_BLOB = "git:1123456789abcdef0123456789abcdef01234567";
+    private static final String CRC = "crc32c:1234abcd";
+
+    @Test
+    void testSameGitBlobIgnoresModificationTime()
+    {
+        assertUnchanged(new FileState(1, 10, GIT_BLOB), new FileState(1, 20, GIT_BLOB), true,
+                true);
+    }
+
+    @Test
+    void testDifferentGitBlobIsChanged()
+    {
+        assertUnchanged(new FileState(1, 10, GIT_BLOB), new FileState(1, 10, OTHER_GIT_BLOB),
+                false, false);
+    }
+
+    @Test
+    void testDifferentSizeIsChanged()
+    {
+        assertUnchanged(new FileState(1, 10, GIT_BLOB), new FileState(2, 10, GIT_BLOB), false,
+                false);
+    }
+
+    @Test
+    void testDifferentKindsOfContentIdCompareModificationTime()
+    {
+        assertUnchanged(new FileState(1, 10, GIT_BLOB), new FileState(1, 10, CRC), true, false);
+        assertUnchanged(new FileState(1, 10, GIT_BLOB), new FileState(1, 20, CRC), false,
+                false);
+    }
+
+    @Test
+    void testMissingContentIdComparesModificationTime()
+    {
+        assertUnchanged(new FileState(1, 10, null), new FileState(1, 10, GIT_BLOB), true, false);
+        assertUnchanged(new FileState(1, 10, null), new FileState(1, 20, null), false, false);
+    }
+
+    private static void assertUnchanged(final FileState current, final FileState cached,
+            final boolean expectedWithoutChecksums, final boolean expectedWithChecksums)
+    {
+        assertThat(current.isUnchangedSince(cached, false), equalTo(expectedWithoutChecksums));
+        assertThat(current.isUnchangedSince(cached, true), equalTo(expectedWithChecksums));
+    }
+}
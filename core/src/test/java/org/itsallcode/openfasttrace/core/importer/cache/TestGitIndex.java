@@ -0,0 +1,276 @@
+package org.itsallcode.openfasttrace.core.importer.cache;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class TestGitIndex
+{
+    private static final String BLOB_ID = "0123456789abcdef0123456789abcdef01234567";
+    private static final int REGULAR_FILE = 0100644;
+    private static final int SYMLINK = 0120000;
+    private static final int FLAG_EXTENDED = 0x4000;
+    private static final int EXTENDED_FLAG_SKIP_WORKTREE = 0x4000;
+    private static final Instant FILE_TIME = Instant.ofEpochSecond(1_600_000_000L, 123_456_000);
+    private static final Instant INDEX_TIME = FILE_TIME.plusSeconds(1);
+    private static final long SIZE = 7;
+
+    @TempDir
+    Path workTree;
+    private Path indexFile;
+    private Path file;
+
+    @BeforeEach
+    void beforeEach()
+    {
+        this.indexFile = this.workTree.resolve("index");
+        this.file = this.workTree.resolve("doc").resolve("spec.md");
+    }
+
+    @Test
+    void testUnchangedFileReturnsBlobId() throws IOException
+    {
+        writeIndex(2, entry("doc/spec.md"));
+        assertThat(getBlobId(SIZE, FILE_TIME), equalTo(Optional.of(BLOB_ID)));
+    }
+
+    @Test
+    void testFileWithDifferentSizeReturnsEmpty() throws IOException
+    {
+        writeIndex(2, entry("doc/spec.md"));
+        assertThat(getBlobId(SIZE + 1, FILE_TIME), equalTo(Optional.empty()));
+    }
+
+    @Test
+    void testFileWithDifferentModificationTimeReturnsEmpty() throws IOException
+    {
+        writeIndex(2, entry("doc/spec.md"));
+        assertThat(getBlobId(SIZE, FILE_TIME.plusNanos(1000)), equalTo(Optional.empty()));
+    }
+
+    @Test
+    void testUntrackedFileReturnsEmpty() throws IOException
+    {
+        writeIndex(2, entry("doc/other.md"));
+        assertThat(getBlobId(SIZE, FILE_TIME), equalTo(Optional.empty()));
+    }
+
+    @Test
+    void testFileOutsideWorkTreeReturnsEmpty() throws IOException
+    {
+        writeIndex(2, entry("doc/spec.md"));
+        final GitIndex index = GitIndex.read(this.workTree, this.indexFile);
+        assertThat(index.getUnchangedBlobId(this.workTree.getParent().resolve("spec.md"), SIZE,
+                FileTime.from(FILE_TIME)), equalTo(Optional.empty()));
+    }
+
+    @Test
+    void testFileModifiedAfterIndexWasWrittenReturnsEmpty() throws IOException
+    {
+        writeIndex(2, entry("doc/spec.md"));
+        Files.setLastModifiedTime(this.indexFile, FileTime.from(FILE_TIME));
+        assertThat(getBlobId(SIZE, FILE_TIME), equalTo(Optional.empty()));
+    }
+
+    @Test
+    void testSymbolicLinkIsIgnored() throws IOException
+    {
+        writeIndex(2, entry("doc/spec.md").mode(SYMLINK));
+        assertThat(getBlobId(SIZE, FILE_TIME), equalTo(Optional.empty()));
+    }
+
+    @Test
+    void testMergeConflictIsIgnored() throws IOException
+    {
+        writeIndex(2, entry("doc/spec.md").flags(0x1000));
+        assertThat(getBlobId(SIZE, FILE_TIME), equalTo(Optional.empty()));
+    }
+
+    @Test
+    void testVersion3ReadsExtendedFlags() throws IOException
+    {
+        writeIndex(3, entry("doc/other.md").extendedFlags(0), entry("doc/spec.md"));
+        assertThat(getBlobId(SIZE, FILE_TIME), equalTo(Optional.of(BLOB_ID)));
+    }
+
+    @Test
+    void testVersion3IgnoresSkipWorktreeEntries() throws IOException
+    {
+        writeIndex(3, entry("doc/spec.md").extendedFlags(EXTENDED_FLAG_SKIP_WORKTREE));
+        assertThat(getBlobId(SIZE, FILE_TIME), equalTo(Optional.empty()));
+    }
+
+    @Test
+    void testVersion4ReadsPrefixCompressedPaths() throws IOException
+    {
+        writeIndex(4, entry("doc/a.md"), entry("doc/b/c.md"), entry("doc/spec.md"));
+        assertThat(getBlobId(SIZE, FILE_TIME), equalTo(Optional.of(BLOB_ID)));
+    }
+
+    @Test
+    void testInvalidSignatureThrowsException() throws IOException
+    {
+        Files.write(this.indexFile, "NOT AN INDEX".getBytes(StandardCharsets.US_ASCII));
+        assertThrows(IOException.class, () -> GitIndex.read(this.workTree, this.indexFile));
+    }
+
+    @Test
+    void testTruncatedIndexThrowsException() throws IOException
+    {
+        writeIndex(2, entry("doc/spec.md"));
+        final byte[] content = Files.readAllBytes(this.indexFile);
+        Files.write(this.indexFile, Arrays.copyOf(content, 40));
+        assertThrows(IOException.class, () -> GitIndex.read(this.workTree, this.indexFile));
+    }
+
+    @Test
+    void testWorkTreesFindIndexInParentDirectory() throws IOException
+    {
+        final Path gitDir = this.workTree.resolve(".git");
+        Files.createDirectories(gitDir);
+        this.indexFile = gitDir.resolve("index");
+        writeIndex(2, entry("doc/spec.md"));
+        assertThat(new GitWorkTrees().getUnchangedBlobId(this.file, SIZE,
+                FileTime.from(FILE_TIME)), equalTo(Optional.of(BLOB_ID)));
+    }
+
+    @Test
+    void testWorkTreesFollowGitDirFile() throws IOException
+    {
+        final Path repositoryDir = this.workTree.resolve("repository");
+        Files.createDirectories(repositoryDir);
+        Files.writeString(this.workTree.resolve(".git"), "gitdir: repository\n");
+        this.indexFile = repositoryDir.resolve("index");
+        writeIndex(2, entry("doc/spec.md"));
+        assertThat(new GitWorkTrees().getUnchangedBlobId(this.file, SIZE,
+                FileTime.from(FILE_TIME)), equalTo(Optional.of(BLOB_ID)));
+    }
+
+    private Optional<String> getBlobId(final long size, final Instant lastModified)
+            throws IOException
+    {
+        return GitIndex.read(this.workTree, this.indexFile).getUnchangedBlobId(this.file, size,
+                FileTime.from(lastModified));
+    }
+
+    private static IndexEntry entry(final String path)
+    {
+        return new IndexEntry(path);
+    }
+
+    private void writeIndex(final int version, final IndexEntry... entries) throws IOException
+    {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final DataOutputStream output = new DataOutputStream(bytes);
+        output.writeBytes("DIRC");
+        output.writeInt(version);
+        output.writeInt(entries.length);
+        String previousPath = "";
+        for (final IndexEntry entry : entries)
+        {
+            entry.write(output, version, previousPath);
+            previousPath = entry.path;
+        }
+        output.write(new byte[20]); // checksum is not verified
+        Files.write(this.indexFile, bytes.toByteArray());
+        Files.setLastModifiedTime(this.indexFile, FileTime.from(INDEX_TIME));
+    }
+
+    private static class IndexEntry
+    {
+        private final String path;
+        private int mode = REGULAR_FILE;
+        private int flags = 0;
+        private Integer extendedFlags = null;
+
+        private IndexEntry(final String path)
+        {
+            this.path = path;
+        }
+
+        private IndexEntry mode(final int mode)
+        {
+            this.mode = mode;
+            return this;
+        }
+
+        private IndexEntry flags(final int flags)
+        {
+            this.flags = flags;
+            return this;
+        }
+
+        private IndexEntry extendedFlags(final int extendedFlags)
+        {
+            this.extendedFlags = extendedFlags;
+            return this;
+        }
+
+        private void write(final DataOutputStream output, final int version,
+                final String previousPath) throws IOException
+        {
+            final int start = output.size();
+            output.writeInt(0); // ctime
+            output.writeInt(0);
+            output.writeInt((int) FILE_TIME.getEpochSecond());
+            output.writeInt(FILE_TIME.getNano());
+            output.writeInt(0); // device
+            output.writeInt(0); // inode
+            output.writeInt(this.mode);
+            output.writeInt(0); // uid
+            output.writeInt(0); // gid
+            output.writeInt((int) SIZE);
+            for (int i = 0; i < BLOB_ID.length(); i += 2)
+            {
+                output.writeByte(Integer.parseInt(BLOB_ID.substring(i, i + 2), 16));
+            }
+            final byte[] pathBytes = this.path.getBytes(StandardCharsets.UTF_8);
+            final int extendedFlag = this.extendedFlags == null ? 0 : FLAG_EXTENDED;
+            output.writeShort(this.flags | extendedFlag | pathBytes.length);
+            if (this.extendedFlags != null)
+            {
+                output.writeShort(this.extendedFlags);
+            }
+            if (version == 4)
+            {
+                final int common = commonPrefixLength(previousPath, this.path);
+                output.writeByte(previousPath.length() - common);
+                output.writeBytes(this.path.substring(common));
+                output.writeByte(0);
+            }
+            else
+            {
+                output.write(pathBytes);
+                final int length = output.size() - start;
+                final int paddedLength = (length + 8) & ~7;
+                output.write(new byte[paddedLength - length]);
+            }
+        }
+
+        private static int commonPrefixLength(final String first, final String second)
+        {
+            int length = 0;
+            while (length < first.length() && length < second.length()
+                    && first.charAt(length) == second.charAt(length))
+            {
+                ++length;
+            }
+            return length;
+        }
+    }
+}
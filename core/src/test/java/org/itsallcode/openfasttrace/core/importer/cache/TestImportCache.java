@@ -0,0 +1,209 @@
+package org.itsallcode.openfasttrace.core.importer.cache;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.startsWith;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.itsallcode.openfasttrace.api.core.*;
+import org.itsallcode.openfasttrace.api.importer.ImportEventListener;
+import org.itsallcode.openfasttrace.api.importer.ImportSettings;
+import org.itsallcode.openfasttrace.api.importer.SpecificationListBuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class TestImportCache
+{
+    private static final String SETTINGS = "settings";
+    private static final SpecificationItemId ID = SpecificationItemId.createId("dsn", "name", 1);
+    private static final SpecificationItemId COVERED_ID = SpecificationItemId.createId("req",
+            "covered", 2);
+
+    @TempDir
+    Path tempDir;
+    private Path cacheDir;
+    private Path file;
+
+    @BeforeEach
+    void beforeEach() throws IOException
+    {
+        this.cacheDir = this.tempDir.resolve("cache");
+        this.file = this.tempDir.resolve("input.md");
+        Files.writeString(this.file, "content");
+    }
+
+    @Test
+    void testOftVersionIsReadFromBuildResource()
+    {
+        final String version = ImportCache.getOftVersion();
+        assertThat(version, not(equalTo("unknown")));
+        assertThat(version, not(startsWith("$")));
+    }
+
+    @Test
+    void testReplayWithoutEntryFails()
+    {
+        assertReplayFails(createCache(false));
+    }
+
+    @Test
+    void testReplayRestoresRecordedItems()
+    {
+        final ImportCache cache = createCache(false);
+        final SpecificationListBuilder imported = SpecificationListBuilder.create();
+        final CacheRecorder recorder = cache.record(this.file, imported);
+        simulateImport(recorder);
+        recorder.commit();
+
+        final SpecificationListBuilder replayed = SpecificationListBuilder.create();
+        assertThat(cache.replay(this.file, replayed), equalTo(true));
+        assertThat(replayed.build(), equalTo(imported.build()));
+    }
+
+    @Test
+    void testReplayAfterModificationTimeChangedFails() throws IOException
+    {
+        final ImportCache cache = createCache(false);
+        recordImport(cache);
+        touchFile();
+        assertReplayFails(cache);
+    }
+
+    @Test
+    void testReplayWithChecksumsIgnoresModificationTime() throws IOException
+    {
+        final ImportCache cache = createCache(true);
+        recordImport(cache);
+        touchFile();
+        assertThat(cache.replay(this.file, SpecificationListBuilder.create()), equalTo(true));
+    }
+
+    @Test
+    void testReplayWithChecksumsAfterContentChangedFails() throws IOException
+    {
+        final ImportCache cache = createCache(true);
+        recordImport(cache);
+        final FileTime lastModified = Files.getLastModifiedTime(this.file);
+        Files.writeString(this.file, "CONTENT");
+        Files.setLastModifiedTime(this.file, lastModified);
+        assertReplayFails(cache);
+    }
+
+    @Test
+    void testReplayAfterSizeChangedFails() throws IOException
+    {
+        final ImportCache cache = createCache(false);
+        recordImport(cache);
+        final FileTime lastModified = Files.getLastModifiedTime(this.file);
+        Files.writeString(this.file, "changed content");
+        Files.setLastModifiedTime(this.file, lastModified);
+        assertReplayFails(cache);
+    }
+
+    @Test
+    void testReplayWithDifferentSettingsFails()
+    {
+        recordImport(createCache(false));
+        assertReplayFails(new ImportCache(this.cacheDir, false, "other settings"));
+    }
+
+    @Test
+    void testReplayOfCorruptEntryFails() throws IOException
+    {
+        final ImportCache cache = createCache(false);
+        recordImport(cache);
+        final Path entry = getEntries().get(0);
+        final byte[] content = Files.readAllBytes(entry);
+        content[content.length - 1] ^= 1;
+        Files.write(entry, content);
+        assertReplayFails(cache);
+    }
+
+    @Test
+    void testRecordingWithoutCommitDoesNotStoreEntry()
+    {
+        final ImportCache cache = createCache(false);
+        simulateImport(cache.record(this.file, SpecificationListBuilder.create()));
+        assertThat(Files.exists(this.cacheDir), equalTo(false));
+    }
+
+    @Test
+    void testSettingsDescriptionContainsVersion()
+    {
+        assertThat(ImportCache.describeSettings(ImportSettings.createDefault(), "1.2.3"),
+                equalTo("format=2\nversion=1.2.3"));
+    }
+
+    @Test
+    void testRecorderForwardsEvents()
+    {
+        final SpecificationListBuilder builder = SpecificationListBuilder.create();
+        simulateImport(createCache(false).record(this.file, builder));
+        assertThat(builder.build().stream().map(SpecificationItem::getId)
+                .collect(Collectors.toList()), contains(ID));
+    }
+
+    private ImportCache createCache(final boolean checksums)
+    {
+        return new ImportCache(this.cacheDir, checksums, SETTINGS);
+    }
+
+    private void recordImport(final ImportCache cache)
+    {
+        final CacheRecorder recorder = cache.record(this.file, SpecificationListBuilder.create());
+        simulateImport(recorder);
+        recorder.commit();
+    }
+
+    private void assertReplayFails(final ImportCache cache)
+    {
+        final SpecificationListBuilder builder = SpecificationListBuilder.create();
+        assertThat(cache.replay(this.file, builder), equalTo(false));
+        assertThat(builder.build(), empty());
+    }
+
+    private void touchFile() throws IOException
+    {
+        final FileTime lastModified = Files.getLastModifiedTime(this.file);
+        Files.setLastModifiedTime(this.file,
+                FileTime.fromMillis(lastModified.toMillis() + 2000));
+    }
+
+    private List<Path> getEntries() throws IOException
+    {
+        try (Stream<Path> entries = Files.list(this.cacheDir))
+        {
+            return entries.collect(Collectors.toList());
+        }
+    }
+
+    private static void simulateImport(final ImportEventListener listener)
+    {
+        listener.beginSpecificationItem();
+        listener.setId(ID);
+        listener.setTitle("Title");
+        listener.setStatus(ItemStatus.DRAFT);
+        listener.appendDescription("Description with ä\n");
+        listener.appendRationale("Rationale");
+        listener.appendComment("Comment");
+        listener.addCoveredId(COVERED_ID);
+        listener.addDependsOnId(COVERED_ID);
+        listener.addNeededArtifactType("impl");
+        listener.addTag("tag");
+        listener.setLocation("input.md", 3);
+        listener.setLocation(Location.create("input.md", 4, 2));
+        listener.setForwards(false);
+        listener.endSpecificationItem();
+    }
+}
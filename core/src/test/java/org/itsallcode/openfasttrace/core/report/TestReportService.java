@@ -1,13 +1,22 @@
 package org.itsallcode.openfasttrace.core.report;
 
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.same;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 import org.itsallcode.openfasttrace.api.core.Trace;
+import org.itsallcode.openfasttrace.api.report.MultiFileReportable;
+import org.itsallcode.openfasttrace.api.report.ReportException;
 import org.itsallcode.openfasttrace.api.report.Reportable;
 import org.itsallcode.openfasttrace.api.report.ReporterFactory;
 import org.junit.jupiter.api.BeforeEach;
@@ -21,6 +30,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 class TestReportService
 {
     private static final String OUTPUT_FORMAT = "format";
+    private static final String OTHER_OUTPUT_FORMAT = "other-format";
 
     @Mock
     private ReporterFactoryLoader reporterFactoryLoaderMock;
@@ -29,7 +39,11 @@ class TestReportService
     @Mock
     private ReporterFactory reporterFactoryMock;
     @Mock
+    private ReporterFactory otherReporterFactoryMock;
+    @Mock
     private Reportable reportableMock;
+    @Mock
+    private MultiFileReportable multiFileReportableMock;
 
     private ReportService service;
 
@@ -39,19 +53,77 @@ class TestReportService
         service = new ReportService(reporterFactoryLoaderMock);
         when(reporterFactoryLoaderMock.getReporterFactory(OUTPUT_FORMAT))
                 .thenReturn(reporterFactoryMock);
-        when(reporterFactoryMock.createImporter(same(traceMock))).thenReturn(reportableMock);
+    }
+
+    private void givenReportable(final Reportable reportable)
+    {
+        when(reporterFactoryMock.createImporter(same(traceMock))).thenReturn(reportable);
     }
 
     @Test
     void testReportTraceToPath(@TempDir Path tempDir)
     {
+        givenReportable(reportableMock);
         service.reportTraceToPath(traceMock, tempDir.resolve("output"), OUTPUT_FORMAT);
         verify(reportableMock).renderToStream(any());
     }
 
+    @Test
+    void testReportTraceToPathWithMultiFileReport(@TempDir Path tempDir)
+    {
+        givenReportable(multiFileReportableMock);
+        final Path outputPath = tempDir.resolve("output");
+        service.reportTraceToPath(traceMock, outputPath, OUTPUT_FORMAT);
+        verify(multiFileReportableMock).renderToDirectory(outputPath);
+    }
+
+    @Test
+    void testReportTraceToPaths(@TempDir Path tempDir)
+    {
+        givenReportable(reportableMock);
+        when(reporterFactoryLoaderMock.getReporterFactory(OTHER_OUTPUT_FORMAT))
+                .thenReturn(otherReporterFactoryMock);
+        when(otherReporterFactoryMock.createImporter(same(traceMock)))
+                .thenReturn(multiFileReportableMock);
+        final Path outputDirectory = tempDir.resolve("output-directory");
+        final Map<String, Path> outputPaths = new LinkedHashMap<>();
+        outputPaths.put(OUTPUT_FORMAT, tempDir.resolve("output"));
+        outputPaths.put(OTHER_OUTPUT_FORMAT, outputDirectory);
+        service.reportTraceToPaths(traceMock, outputPaths);
+        verify(reportableMock).renderToStream(any());
+        verify(multiFileReportableMock).renderToDirectory(outputDirectory);
+    }
+
+    @Test
+    void testReportTraceToPathsRethrowsReportException(@TempDir Path tempDir)
+    {
+        givenReportable(reportableMock);
+        final ReportException exception = new ReportException("expected");
+        doThrow(exception).when(reportableMock).renderToStream(any());
+        final Map<String, Path> outputPaths = Map.of(OUTPUT_FORMAT, tempDir.resolve("output"));
+        final ReportException thrown = assertThrows(ReportException.class,
+                () -> service.reportTraceToPaths(traceMock, outputPaths));
+        assertThat(thrown, sameInstance(exception));
+    }
+
+    @Test
+    void testReportTraceToPathsCreatesAllReportsBeforeRendering(@TempDir Path tempDir)
+    {
+        givenReportable(reportableMock);
+        when(reporterFactoryLoaderMock.getReporterFactory(OTHER_OUTPUT_FORMAT))
+                .thenThrow(new ReportException("unsupported"));
+        final Map<String, Path> outputPaths = new LinkedHashMap<>();
+        outputPaths.put(OUTPUT_FORMAT, tempDir.resolve("output"));
+        outputPaths.put(OTHER_OUTPUT_FORMAT, tempDir.resolve("other"));
+        assertThrows(ReportException.class,
+                () -> service.reportTraceToPaths(traceMock, outputPaths));
+        verify(reportableMock, never()).renderToStream(any());
+    }
+
     @Test
     void testReportTraceToStdOut()
     {
+        givenReportable(reportableMock);
         service.reportTraceToStdOut(traceMock, OUTPUT_FORMAT);
         verify(reportableMock).renderToStream(any());
     }
@@ -0,0 +1,124 @@
+package org.itsallcode.openfasttrace.core.serve;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.itsallcode.openfasttrace.api.core.SpecificationItemId.parseId;
+import static org.itsallcode.openfasttrace.testutil.core.SampleArtifactTypes.DSN;
+import static org.itsallcode.openfasttrace.testutil.core.SampleArtifactTypes.IMPL;
+import static org.itsallcode.openfasttrace.testutil.core.SampleArtifactTypes.REQ;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.itsallcode.openfasttrace.api.core.*;
+import org.itsallcode.openfasttrace.core.Linker;
+import org.itsallcode.openfasttrace.core.Tracer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class TestTraceIndex
+{
+    private static final String FEAT = "feat";
+
+    private TraceIndex index;
+
+    @BeforeEach
+    void beforeEach()
+    {
+        final List<SpecificationItem> items = List.of( //
+                SpecificationItem.builder().id(FEAT, "f", 1).addNeedsArtifactType(REQ)
+                        .location("doc/features.md", 1).build(),
+                SpecificationItem.builder().id(REQ, "r", 1).addCoveredId(FEAT, "f", 1)
+                        .addNeedsArtifactType(DSN).addTag("ui").location("doc/spec.md", 1)
+                        .build(),
+                SpecificationItem.builder().id(DSN, "d", 1).addCoveredId(REQ, "r", 1)
+                        .addNeedsArtifactType(IMPL).location("doc/spec.md", 10).build(),
+                SpecificationItem.builder().id(IMPL, "i", 1).addCoveredId(DSN, "d", 2)
+                        .location("src/Main.java", 5).build(),
+                SpecificationItem.builder().id(REQ, "other", 1).addTag("ui")
+                        .location("doc/other.md", 1).build());
+        final List<LinkedSpecificationItem> linkedItems = new Linker(items).link();
+        this.index = new TraceIndex(new Tracer().trace(linkedItems));
+    }
+
+    @Test
+    void testFindById()
+    {
+        assertFound(ItemQuery.builder().id(parseId("req~r~1")), "req~r~1");
+    }
+
+    @Test
+    void testFindUnknownIdReturnsEmptyList()
+    {
+        assertThat(this.index.find(ItemQuery.builder().id(parseId("req~unknown~1")).build()),
+                empty());
+    }
+
+    @Test
+    void testFindCoveringItems()
+    {
+        assertFound(ItemQuery.builder().covers(parseId("feat~f~1")), "req~r~1");
+    }
+
+    @Test
+    void testFindCoveringItemsWithOutdatedLink()
+    {
+        assertFound(ItemQuery.builder().covers(parseId("dsn~d~2")), "impl~i~1");
+    }
+
+    @Test
+    void testFindItemsBelow()
+    {
+        assertFound(ItemQuery.builder().below(parseId("feat~f~1")), "req~r~1", "dsn~d~1",
+                "impl~i~1");
+    }
+
+    @Test
+    void testFindUncoveredItemsBelow()
+    {
+        assertFound(ItemQuery.builder().below(parseId("feat~f~1")).uncovered(true), "req~r~1",
+                "dsn~d~1");
+    }
+
+    @Test
+    void testFindByPath()
+    {
+        assertFound(ItemQuery.builder().path("doc/./spec.md"), "req~r~1", "dsn~d~1");
+    }
+
+    @Test
+    void testFindDefectsByPath()
+    {
+        assertFound(ItemQuery.builder().path("src/Main.java").defect(true), "impl~i~1");
+    }
+
+    @Test
+    void testFindByTagAndArtifactType()
+    {
+        assertFound(ItemQuery.builder().tag("ui").artifactType(REQ), "req~r~1", "req~other~1");
+    }
+
+    @Test
+    void testFindWithoutCriteriaReturnsAllItems()
+    {
+        assertThat(this.index.find(ItemQuery.builder().build()).size(), equalTo(5));
+    }
+
+    @Test
+    void testCountByArtifactType()
+    {
+        assertThat(this.index.countByArtifactType(),
+                equalTo(Map.of(DSN, 1, FEAT, 1, IMPL, 1, REQ, 2)));
+    }
+
+    private void assertFound(final ItemQuery.Builder query, final String... expectedIds)
+    {
+        final List<String> ids = this.index.find(query.build()).stream() //
+                .map(item -> item.getId().toString()) //
+                .collect(Collectors.toList());
+        assertThat(ids, contains(expectedIds));
+    }
+}
@@ -0,0 +1,118 @@
+package org.itsallcode.openfasttrace.core.serve;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.itsallcode.openfasttrace.testutil.core.SampleArtifactTypes.IMPL;
+import static org.itsallcode.openfasttrace.testutil.core.SampleArtifactTypes.REQ;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.itsallcode.openfasttrace.api.core.SpecificationItem;
+import org.itsallcode.openfasttrace.core.Linker;
+import org.itsallcode.openfasttrace.core.Tracer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class TestTraceServer
+{
+    private TraceServer server;
+
+    @BeforeEach
+    void beforeEach() throws IOException
+    {
+        this.server = new TraceServer(0);
+        this.server.start();
+    }
+
+    @AfterEach
+    void afterEach()
+    {
+        this.server.stop();
+    }
+
+    @Test
+    void testRequestBeforeTraceIsSetReturnsServiceUnavailable() throws IOException
+    {
+        assertThat(getStatus("/summary"), equalTo(503));
+    }
+
+    @Test
+    void testSummary() throws IOException
+    {
+        setTrace();
+        assertThat(get("/summary"),
+                equalTo("{\"items\":2,\"defects\":0,\"artifactTypes\":{\"impl\":1,\"req\":1}}"));
+    }
+
+    @Test
+    void testFindCoveringItems() throws IOException
+    {
+        setTrace();
+        assertThat(get("/items?covers=req~r~1"), equalTo("[{\"id\":\"impl~i~1\",\"title\":\"\","
+                + "\"status\":\"approved\",\"deepCoverage\":\"COVERED\",\"defect\":false,"
+                + "\"location\":{\"path\":\"src/Main.java\",\"line\":3},\"tags\":[],\"needs\":[],"
+                + "\"uncoveredTypes\":[],\"links\":{\"COVERS\":[\"req~r~1\"]}}]"));
+    }
+
+    @Test
+    void testUnknownParameterReturnsBadRequest() throws IOException
+    {
+        setTrace();
+        assertThat(getStatus("/items?unknown=1"), equalTo(400));
+    }
+
+    @Test
+    void testInvalidIdReturnsBadRequest() throws IOException
+    {
+        setTrace();
+        assertThat(getStatus("/items?id=not-an-id"), equalTo(400));
+    }
+
+    private void setTrace()
+    {
+        final List<SpecificationItem> items = List.of( //
+                SpecificationItem.builder().id(REQ, "r", 1).addNeedsArtifactType(IMPL).build(),
+                SpecificationItem.builder().id(IMPL, "i", 1).addCoveredId(REQ, "r", 1)
+                        .location("src/Main.java", 3).build());
+        this.server.setTrace(new Tracer().trace(new Linker(items).link()));
+    }
+
+    private HttpURLConnection open(final String path) throws IOException
+    {
+        return (HttpURLConnection) new URL("http://localhost:" + this.server.getPort() + path)
+                .openConnection();
+    }
+
+    private int getStatus(final String path) throws IOException
+    {
+        final HttpURLConnection connection = open(path);
+        try
+        {
+            return connection.getResponseCode();
+        }
+        finally
+        {
+            connection.disconnect();
+        }
+    }
+
+    private String get(final String path) throws IOException
+    {
+        final HttpURLConnection connection = open(path);
+        try (InputStream stream = connection.getInputStream())
+        {
+            assertThat(connection.getResponseCode(), equalTo(200));
+            return new String(stream.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        finally
+        {
+            connection.disconnect();
+        }
+    }
+}
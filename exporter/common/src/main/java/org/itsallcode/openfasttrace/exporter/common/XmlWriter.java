@@ -0,0 +1,360 @@
+package org.itsallcode.openfasttrace.exporter.common;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Arrays;
+
+/**
+ * Minimal streaming XML writer for exporters and reporters.
+ * <p>
+ * Unlike an {@link javax.xml.stream.XMLStreamWriter} this writer supports
+ * only elements, attributes and text. It escapes text with a fixed table,
+ * collects the output in a reusable character buffer and writes the buffer
+ * directly to the underlying {@link Writer}. Indentation is built in instead
+ * of being added by a delegating writer.
+ * </p>
+ * <p>
+ * The output is the same as the one of the JDK's
+ * {@link javax.xml.stream.XMLStreamWriter} wrapped in an
+ * {@link IndentingXMLStreamWriter}. The writer does not check that the
+ * document is well-formed.
+ * </p>
+ */
+public class XmlWriter implements Closeable
+{
+    private static final int BUFFER_SIZE = 8 * 1024;
+    private static final String DECLARATION = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>";
+    private static final char NEWLINE = '\n';
+    private static final char[][] TEXT_ESCAPES = createEscapeTable(false);
+    private static final char[][] ATTRIBUTE_ESCAPES = createEscapeTable(true);
+
+    private final Writer writer;
+    private final String indentation;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private int position = 0;
+    private String[] openElements = new String[16];
+    private int depth = 0;
+    private boolean startTagOpen = false;
+    private boolean childElementWritten = false;
+
+    /**
+     * Create a new {@link XmlWriter} that writes the document without any
+     * whitespace between elements.
+     *
+     * @param writer
+     *            the writer to which the document is written
+     */
+    public XmlWriter(final Writer writer)
+    {
+        this(writer, null);
+    }
+
+    /**
+     * Create a new {@link XmlWriter}.
+     *
+     * @param writer
+     *            the writer to which the document is written
+     * @param indentation
+     *            the string used for indenting one level of nested elements,
+     *            e.g. two spaces, or <code>null</code> to write the document
+     *            without any whitespace between elements
+     */
+    public XmlWriter(final Writer writer, final String indentation)
+    {
+        this.writer = writer;
+        this.indentation = indentation;
+    }
+
+    private static char[][] createEscapeTable(final boolean escapeQuotes)
+    {
+        final char[][] escapes = new char[128][];
+        escapes['&'] = "&amp;".toCharArray();
+        escapes['<'] = "&lt;".toCharArray();
+        escapes['>'] = "&gt;".toCharArray();
+        if (escapeQuotes)
+        {
+            escapes['"'] = "&quot;".toCharArray();
+        }
+        return escapes;
+    }
+
+    /**
+     * Write the XML declaration for a UTF-8 encoded document.
+     *
+     * @throws IOException
+     *             if writing fails
+     */
+    public void writeStartDocument() throws IOException
+    {
+        write(DECLARATION);
+        if (isIndenting())
+        {
+            write(NEWLINE);
+        }
+    }
+
+    /**
+     * Write the start tag of an element.
+     *
+     * @param name
+     *            element name
+     * @throws IOException
+     *             if writing fails
+     */
+    public void writeStartElement(final String name) throws IOException
+    {
+        closeStartTag();
+        if (isIndenting())
+        {
+            if (this.depth > 0)
+            {
+                write(NEWLINE);
+            }
+            writeIndentation();
+            this.childElementWritten = false;
+        }
+        write('<');
+        write(name);
+        pushElement(name);
+        this.startTagOpen = true;
+    }
+
+    private void pushElement(final String name)
+    {
+        if (this.depth == this.openElements.length)
+        {
+            this.openElements = Arrays.copyOf(this.openElements, this.depth * 2);
+        }
+        this.openElements[this.depth] = name;
+        ++this.depth;
+    }
+
+    /**
+     * Write an attribute of the element whose start tag was written last.
+     *
+     * @param name
+     *            attribute name
+     * @param value
+     *            attribute value
+     * @throws IOException
+     *             if writing fails
+     */
+    public void writeAttribute(final String name, final String value) throws IOException
+    {
+        if (!this.startTagOpen)
+        {
+            throw new IllegalStateException(
+                    "Attribute '" + name + "' can only be written directly after a start tag");
+        }
+        write(' ');
+        write(name);
+        write("=\"");
+        writeEscaped(value, ATTRIBUTE_ESCAPES);
+        write('"');
+    }
+
+    /**
+     * Write text content of the current element.
+     *
+     * @param text
+     *            the text
+     * @throws IOException
+     *             if writing fails
+     */
+    public void writeCharacters(final String text) throws IOException
+    {
+        closeStartTag();
+        this.childElementWritten = false;
+        writeEscaped(text, TEXT_ESCAPES);
+    }
+
+    /**
+     * Write the end tag of the current element.
+     *
+     * @throws IOException
+     *             if writing fails
+     */
+    public void writeEndElement() throws IOException
+    {
+        closeStartTag();
+        --this.depth;
+        if (isIndenting())
+        {
+            if (this.childElementWritten)
+            {
+                write(NEWLINE);
+                writeIndentation();
+            }
+            this.childElementWritten = true;
+        }
+        write("</");
+        write(this.openElements[this.depth]);
+        write('>');
+        this.openElements[this.depth] = null;
+    }
+
+    /**
+     * Write an element that contains only text.
+     *
+     * @param name
+     *            element name
+     * @param text
+     *            text content of the element
+     * @throws IOException
+     *             if writing fails
+     */
+    public void writeElement(final String name, final String text) throws IOException
+    {
+        writeStartElement(name);
+        writeCharacters(text);
+        writeEndElement();
+    }
+
+    /**
+     * Write an element that contains only a number.
+     *
+     * @param name
+     *            element name
+     * @param value
+     *            content of the element
+     * @throws IOException
+     *             if writing fails
+     */
+    public void writeElement(final String name, final int value) throws IOException
+    {
+        writeElement(name, Integer.toString(value));
+    }
+
+    /**
+     * Close all open elements and flush the document to the underlying
+     * writer.
+     *
+     * @throws IOException
+     *             if writing fails
+     */
+    public void writeEndDocument() throws IOException
+    {
+        while (this.depth > 0)
+        {
+            writeEndElement();
+        }
+        flush();
+    }
+
+    /**
+     * Write the buffered output to the underlying writer and flush it.
+     *
+     * @throws IOException
+     *             if writing fails
+     */
+    public void flush() throws IOException
+    {
+        flushBuffer();
+        this.writer.flush();
+    }
+
+    /**
+     * Flush the buffered output and close the underlying writer.
+     */
+    @Override
+    public void close() throws IOException
+    {
+        try
+        {
+            flushBuffer();
+        }
+        finally
+        {
+            this.writer.close();
+        }
+    }
+
+    private boolean isIndenting()
+    {
+        return this.indentation != null;
+    }
+
+    private void closeStartTag() throws IOException
+    {
+        if (this.startTagOpen)
+        {
+            write('>');
+            this.startTagOpen = false;
+        }
+    }
+
+    private void writeIndentation() throws IOException
+    {
+        for (int i = 0; i < this.depth; ++i)
+        {
+            write(this.indentation);
+        }
+    }
+
+    private void writeEscaped(final String text, final char[][] escapes) throws IOException
+    {
+        int unescapedStart = 0;
+        final int length = text.length();
+        for (int i = 0; i < length; ++i)
+        {
+            final char c = text.charAt(i);
+            if (c < escapes.length && escapes[c] != null)
+            {
+                write(text, unescapedStart, i);
+                write(escapes[c]);
+                unescapedStart = i + 1;
+            }
+        }
+        write(text, unescapedStart, length);
+    }
+
+    private void write(final String text) throws IOException
+    {
+        write(text, 0, text.length());
+    }
+
+    private void write(final String text, final int start, final int end) throws IOException
+    {
+        int offset = start;
+        while (offset < end)
+        {
+            if (this.position == this.buffer.length)
+            {
+                flushBuffer();
+            }
+            final int count = Math.min(end - offset, this.buffer.length - this.position);
+            text.getChars(offset, offset + count, this.buffer, this.position);
+            this.position += count;
+            offset += count;
+        }
+    }
+
+    private void write(final char[] chars) throws IOException
+    {
+        if (this.position + chars.length > this.buffer.length)
+        {
+            flushBuffer();
+        }
+        System.arraycopy(chars, 0, this.buffer, this.position, chars.length);
+        this.position += chars.length;
+    }
+
+    private void write(final char c) throws IOException
+    {
+        if (this.position == this.buffer.length)
+        {
+            flushBuffer();
+        }
+        this.buffer[this.position++] = c;
+    }
+
+    private void flushBuffer() throws IOException
+    {
+        if (this.position > 0)
+        {
+            this.writer.write(this.buffer, 0, this.position);
+            this.position = 0;
+        }
+    }
+}
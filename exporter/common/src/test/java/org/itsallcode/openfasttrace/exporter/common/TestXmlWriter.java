@@ -0,0 +1,122 @@
+package org.itsallcode.openfasttrace.exporter.common;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+
+import org.junit.jupiter.api.Test;
+
+class TestXmlWriter
+{
+    private static final String DECLARATION = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>";
+    private static final String SPECIAL_CHARACTERS = "a&b<c>d\"e'f\ng";
+
+    @Test
+    void testWriteCompactDocument() throws IOException
+    {
+        final StringWriter output = new StringWriter();
+        final XmlWriter writer = new XmlWriter(output);
+        writer.writeStartDocument();
+        writer.writeStartElement("root");
+        writer.writeAttribute("type", "t");
+        writer.writeElement("child", 42);
+        writer.writeStartElement("empty");
+        writer.writeEndElement();
+        writer.writeEndDocument();
+        assertThat(output.toString(), equalTo(DECLARATION
+                + "<root type=\"t\"><child>42</child><empty></empty></root>"));
+    }
+
+    @Test
+    void testWriteIndentedDocument() throws IOException
+    {
+        final StringWriter output = new StringWriter();
+        final XmlWriter writer = new XmlWriter(output, "  ");
+        writer.writeStartDocument();
+        writer.writeStartElement("root");
+        writer.writeStartElement("parent");
+        writer.writeElement("child", "text");
+        writer.writeEndElement();
+        writer.writeElement("sibling", "");
+        writer.writeEndDocument();
+        assertThat(output.toString(), equalTo(DECLARATION + "\n" //
+                + "<root>\n" //
+                + "  <parent>\n" //
+                + "    <child>text</child>\n" //
+                + "  </parent>\n" //
+                + "  <sibling></sibling>\n" //
+                + "</root>"));
+    }
+
+    @Test
+    void testEscapeTextAndAttributes() throws IOException
+    {
+        final StringWriter output = new StringWriter();
+        final XmlWriter writer = new XmlWriter(output);
+        writer.writeStartElement("e");
+        writer.writeAttribute("a", SPECIAL_CHARACTERS);
+        writer.writeCharacters(SPECIAL_CHARACTERS);
+        writer.writeEndDocument();
+        assertThat(output.toString(),
+                equalTo("<e a=\"a&amp;b&lt;c&gt;d&quot;e'f\ng\">a&amp;b&lt;c&gt;d\"e'f\ng</e>"));
+    }
+
+    @Test
+    void testOutputMatchesIndentingXmlStreamWriter() throws IOException, XMLStreamException
+    {
+        final StringWriter expected = new StringWriter();
+        final XMLStreamWriter streamWriter = new IndentingXMLStreamWriter(
+                XMLOutputFactory.newFactory().createXMLStreamWriter(expected));
+        streamWriter.writeStartDocument("UTF-8", "1.0");
+        streamWriter.writeStartElement("specdocument");
+        streamWriter.writeStartElement("specobjects");
+        streamWriter.writeAttribute("doctype", SPECIAL_CHARACTERS);
+        streamWriter.writeStartElement("specobject");
+        streamWriter.writeStartElement("description");
+        streamWriter.writeCharacters(SPECIAL_CHARACTERS);
+        streamWriter.writeEndElement();
+        streamWriter.writeEndElement();
+        streamWriter.writeEndElement();
+        streamWriter.writeEndElement();
+        streamWriter.writeEndDocument();
+        streamWriter.close();
+
+        final StringWriter actual = new StringWriter();
+        final XmlWriter writer = new XmlWriter(actual, "  ");
+        writer.writeStartDocument();
+        writer.writeStartElement("specdocument");
+        writer.writeStartElement("specobjects");
+        writer.writeAttribute("doctype", SPECIAL_CHARACTERS);
+        writer.writeStartElement("specobject");
+        writer.writeElement("description", SPECIAL_CHARACTERS);
+        writer.writeEndDocument();
+        assertThat(actual.toString(), equalTo(expected.toString()));
+    }
+
+    @Test
+    void testWriteTextLongerThanBuffer() throws IOException
+    {
+        final String text = "x&".repeat(10_000);
+        final StringWriter output = new StringWriter();
+        final XmlWriter writer = new XmlWriter(output);
+        writer.writeElement("e", text);
+        writer.flush();
+        assertThat(output.toString(), equalTo("<e>" + "x&amp;".repeat(10_000) + "</e>"));
+    }
+
+    @Test
+    void testWriteAttributeAfterContentThrowsException() throws IOException
+    {
+        final XmlWriter writer = new XmlWriter(new StringWriter());
+        writer.writeStartElement("e");
+        writer.writeCharacters("text");
+        assertThrows(IllegalStateException.class, () -> writer.writeAttribute("a", "b"));
+    }
+}
@@ -0,0 +1,10 @@
+/**
+ * This provides an exporter for the OFT binary snapshot format.
+ */
+module org.itsallcode.openfasttrace.exporter.oftbin
+{
+    exports org.itsallcode.openfasttrace.exporter.oftbin;
+
+    requires java.logging;
+    requires org.itsallcode.openfasttrace.api;
+}
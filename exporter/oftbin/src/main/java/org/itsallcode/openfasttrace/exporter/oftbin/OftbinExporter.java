@@ -0,0 +1,166 @@
+package org.itsallcode.openfasttrace.exporter.oftbin;
+
+import java.io.*;
+import java.util.*;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+import org.itsallcode.openfasttrace.api.core.*;
+import org.itsallcode.openfasttrace.api.exporter.Exporter;
+import org.itsallcode.openfasttrace.api.exporter.ExporterException;
+import org.itsallcode.openfasttrace.api.oftbin.OftbinFormat;
+import org.itsallcode.openfasttrace.api.oftbin.OftbinOutput;
+
+/**
+ * Exporter that writes specification items as binary snapshot.
+ * <p>
+ * The items are written in a single pass over the item stream. The
+ * dictionaries for repeated strings and IDs are built on the fly, so that
+ * they never need to be written up front. See {@link OftbinFormat} for the
+ * layout of the file.
+ * </p>
+ */
+class OftbinExporter implements Exporter
+{
+    private static final Logger LOG = Logger.getLogger(OftbinExporter.class.getName());
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Stream<SpecificationItem> itemStream;
+    private final OutputStream output;
+    private final OftbinOutput out;
+    private final Map<String, Integer> stringDictionary = new HashMap<>();
+    private final Map<SpecificationItemId, Integer> idDictionary = new HashMap<>();
+    private int itemCount = 0;
+
+    /**
+     * Create a new {@link OftbinExporter}.
+     *
+     * @param itemStream
+     *            items to export
+     * @param outputStream
+     *            stream to which the snapshot is written. The exporter closes
+     *            the stream when the export is done.
+     */
+    OftbinExporter(final Stream<SpecificationItem> itemStream, final OutputStream outputStream)
+    {
+        this.itemStream = itemStream;
+        this.output = new BufferedOutputStream(outputStream, BUFFER_SIZE);
+        this.out = new OftbinOutput(this.output);
+    }
+
+    @Override
+    public void runExport()
+    {
+        try (OutputStream stream = this.output)
+        {
+            writeHeader();
+            final Iterator<SpecificationItem> iterator = this.itemStream.iterator();
+            while (iterator.hasNext())
+            {
+                writeItem(iterator.next());
+            }
+            this.out.writeByte(OftbinFormat.RECORD_END);
+        }
+        catch (final IOException exception)
+        {
+            throw new ExporterException("Error writing binary snapshot", exception);
+        }
+        LOG.fine(() -> "Wrote " + this.itemCount + " items with " + this.stringDictionary.size()
+                + " distinct strings and " + this.idDictionary.size() + " distinct IDs");
+    }
+
+    private void writeHeader() throws IOException
+    {
+        this.out.writeBytes(OftbinFormat.MAGIC);
+        this.out.writeVarint(OftbinFormat.VERSION);
+    }
+
+    private void writeItem(final SpecificationItem item) throws IOException
+    {
+        final ItemPayloadStore.Payload payload = item.getPayload();
+        final Location location = payload.getLocation();
+        this.out.writeByte(OftbinFormat.RECORD_ITEM);
+        writeIdReference(item.getId());
+        this.out.writeByte(item.getStatus().ordinal());
+        this.out.writeByte(getFlags(item, location));
+        this.out.writeString(payload.getTitle());
+        this.out.writeString(payload.getDescription());
+        this.out.writeString(payload.getRationale());
+        this.out.writeString(payload.getComment());
+        if (location != null)
+        {
+            writeStringReference(location.getPath());
+            this.out.writeSignedVarint(location.getLine());
+            this.out.writeSignedVarint(location.getColumn());
+        }
+        writeStringReferences(item.getNeedsArtifactTypes());
+        writeStringReferences(item.getTags());
+        writeIdReferences(item.getCoveredIds());
+        writeIdReferences(item.getDependOnIds());
+        ++this.itemCount;
+    }
+
+    private static int getFlags(final SpecificationItem item, final Location location)
+    {
+        int flags = 0;
+        if (location != null)
+        {
+            flags |= OftbinFormat.FLAG_LOCATION;
+        }
+        if (item.isForwarding())
+        {
+            flags |= OftbinFormat.FLAG_FORWARDS;
+        }
+        return flags;
+    }
+
+    private void writeIdReferences(final List<SpecificationItemId> ids) throws IOException
+    {
+        this.out.writeVarint(ids.size());
+        for (final SpecificationItemId id : ids)
+        {
+            writeIdReference(id);
+        }
+    }
+
+    private void writeIdReference(final SpecificationItemId id) throws IOException
+    {
+        final Integer index = this.idDictionary.get(id);
+        if (index == null)
+        {
+            this.out.writeVarint(OftbinFormat.NEW_ENTRY);
+            writeStringReference(id.getArtifactType());
+            writeStringReference(id.getName());
+            this.out.writeSignedVarint(id.getRevision());
+            this.idDictionary.put(id, this.idDictionary.size());
+        }
+        else
+        {
+            this.out.writeVarint(index + 1);
+        }
+    }
+
+    private void writeStringReferences(final List<String> strings) throws IOException
+    {
+        this.out.writeVarint(strings.size());
+        for (final String string : strings)
+        {
+            writeStringReference(string);
+        }
+    }
+
+    private void writeStringReference(final String string) throws IOException
+    {
+        final Integer index = this.stringDictionary.get(string);
+        if (index == null)
+        {
+            this.out.writeVarint(OftbinFormat.NEW_ENTRY);
+            this.out.writeString(string);
+            this.stringDictionary.put(string, this.stringDictionary.size());
+        }
+        else
+        {
+            this.out.writeVarint(index + 1);
+        }
+    }
+}
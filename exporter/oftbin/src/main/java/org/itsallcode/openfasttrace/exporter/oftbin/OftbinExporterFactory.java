@@ -0,0 +1,78 @@
+package org.itsallcode.openfasttrace.exporter.oftbin;
+
+import java.io.*;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+import org.itsallcode.openfasttrace.api.core.Newline;
+import org.itsallcode.openfasttrace.api.core.SpecificationItem;
+import org.itsallcode.openfasttrace.api.exporter.*;
+
+/**
+ * {@link ExporterFactory} for creating {@link Exporter}s that write binary
+ * snapshots of specification items.
+ * <p>
+ * Snapshots are binary, so the exporter writes to an {@link OutputStream}
+ * instead of a {@link Writer}. Character set and newline format do not apply:
+ * texts are always stored as UTF-8 exactly as they were imported.
+ * </p>
+ */
+public class OftbinExporterFactory extends ExporterFactory
+{
+    private static final Logger LOG = Logger.getLogger(OftbinExporterFactory.class.getName());
+    private static final String SUPPORTED_FORMAT = "oftbin";
+
+    /** Creates a new instance. */
+    public OftbinExporterFactory()
+    {
+        super(SUPPORTED_FORMAT);
+    }
+
+    @Override
+    public Exporter createExporter(final Path file, final String format, final Charset charset,
+            final Newline newline, final Stream<SpecificationItem> itemStream)
+    {
+        if (!supportsFormat(format))
+        {
+            throw new ExporterException("Output format '" + format + "' not supported for export");
+        }
+        return new OftbinExporter(itemStream, createOutputStream(file));
+    }
+
+    private static OutputStream createOutputStream(final Path file)
+    {
+        if (file == null)
+        {
+            LOG.finest("Creating binary snapshot exporter for STDOUT");
+            return getStdOutStream();
+        }
+        LOG.finest(() -> "Creating binary snapshot exporter for file " + file);
+        try
+        {
+            return Files.newOutputStream(file);
+        }
+        catch (final IOException exception)
+        {
+            throw new ExporterException("Error creating output stream for file " + file,
+                    exception);
+        }
+    }
+
+    // Using System.out by intention
+    @SuppressWarnings("squid:S106")
+    private static PrintStream getStdOutStream()
+    {
+        return System.out;
+    }
+
+    @Override
+    protected Exporter createExporter(final Writer writer,
+            final Stream<SpecificationItem> itemStream, final Newline newline)
+    {
+        throw new ExporterException(
+                "Binary format '" + SUPPORTED_FORMAT + "' can not be written to a character stream");
+    }
+}
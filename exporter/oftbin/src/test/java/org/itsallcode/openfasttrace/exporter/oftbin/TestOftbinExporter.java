@@ -0,0 +1,134 @@
+package org.itsallcode.openfasttrace.exporter.oftbin;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Stream;
+
+import org.itsallcode.openfasttrace.api.core.*;
+import org.itsallcode.openfasttrace.api.exporter.ExporterException;
+import org.junit.jupiter.api.Test;
+
+class TestOftbinExporter
+{
+    private static final byte[] HEADER = { 'O', 'F', 'T', 'B', 1 };
+
+    @Test
+    void testExportEmptyStream()
+    {
+        assertThat(export(), equalTo(bytes(HEADER, 0)));
+    }
+
+    @Test
+    void testExportMinimalItem()
+    {
+        final SpecificationItem item = SpecificationItem.builder().id("a", "b", 1).build();
+        assertThat(export(item), equalTo(bytes(HEADER, //
+                1, // item record
+                0, 0, 2, 'a', 0, 2, 'b', 2, // new ID with new strings, revision 1
+                0, // status approved
+                0, // no flags
+                1, 1, 1, 1, // empty title, description, rationale, comment
+                0, 0, 0, 0, // no needs, tags, covered IDs, depends-on IDs
+                0)));
+    }
+
+    @Test
+    void testExportReusesDictionaryEntries()
+    {
+        final SpecificationItem first = SpecificationItem.builder().id("a", "b", 1).build();
+        final SpecificationItem second = SpecificationItem.builder() //
+                .id("a", "c", 2) //
+                .status(ItemStatus.DRAFT) //
+                .addCoveredId("a", "b", 1) //
+                .addTag("a") //
+                .build();
+        final byte[] firstItem = { 1, 0, 0, 2, 'a', 0, 2, 'b', 2, 0, 0, 1, 1, 1, 1, 0, 0, 0, 0 };
+        assertThat(export(first, second), equalTo(bytes(HEADER, firstItem, //
+                1, //
+                0, 1, 0, 2, 'c', 4, // new ID with known artifact type, revision 2
+                2, // status draft
+                0, //
+                1, 1, 1, 1, //
+                0, //
+                1, 1, // one tag: known string "a"
+                1, 1, // one covered ID: known ID a~b~1
+                0, //
+                0)));
+    }
+
+    @Test
+    void testExportLocationAndForwarding()
+    {
+        final SpecificationItem item = SpecificationItem.builder() //
+                .id("a", "b", -1) //
+                .location(Location.create("p", 300)) //
+                .forwards(true) //
+                .build();
+        assertThat(export(item), equalTo(bytes(HEADER, //
+                1, 0, 0, 2, 'a', 0, 2, 'b', 1, //
+                0, //
+                3, // location and forwards
+                1, 1, 1, 1, //
+                0, 2, 'p', (byte) 0xD8, 0x04, 1, // path, line 300, column -1
+                0, 0, 0, 0, //
+                0)));
+    }
+
+    @Test
+    void testExportStoresTextsAsUtf8()
+    {
+        final SpecificationItem item = SpecificationItem.builder() //
+                .id("a", "b", 1) //
+                .description("ä\r\n") //
+                .build();
+        final byte[] description = "ä\r\n".getBytes(StandardCharsets.UTF_8);
+        assertThat(export(item), equalTo(bytes(HEADER, //
+                1, 0, 0, 2, 'a', 0, 2, 'b', 2, 0, 0, //
+                1, description.length + 1, description, 1, 1, //
+                0, 0, 0, 0, //
+                0)));
+    }
+
+    @Test
+    void testCreateExporterForWriterThrowsException()
+    {
+        final OftbinExporterFactory factory = new OftbinExporterFactory();
+        final Writer writer = Writer.nullWriter();
+        final Stream<SpecificationItem> items = Stream.empty();
+        assertThrows(ExporterException.class,
+                () -> factory.createExporter(writer, items, Newline.UNIX));
+    }
+
+    private static byte[] export(final SpecificationItem... items)
+    {
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        new OftbinExporter(Stream.of(items), outputStream).runExport();
+        return outputStream.toByteArray();
+    }
+
+    private static byte[] bytes(final Object... parts)
+    {
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        for (final Object part : parts)
+        {
+            if (part instanceof byte[])
+            {
+                outputStream.writeBytes((byte[]) part);
+            }
+            else if (part instanceof Character)
+            {
+                outputStream.write((Character) part);
+            }
+            else
+            {
+                outputStream.write(((Number) part).intValue());
+            }
+        }
+        return outputStream.toByteArray();
+    }
+}
@@ -1,51 +1,45 @@
 package org.itsallcode.openfasttrace.exporter.specobject;
 
-import static java.util.stream.Collectors.groupingBy;
-import static java.util.stream.Collectors.toList;
-
 import java.io.IOException;
-import java.io.Writer;
-import java.util.LinkedHashMap;
-import java.util.List;
-import java.util.Map;
+import java.util.*;
 import java.util.Map.Entry;
 import java.util.logging.Logger;
 import java.util.regex.Matcher;
 import java.util.stream.Stream;
 
-import javax.xml.stream.XMLStreamException;
-import javax.xml.stream.XMLStreamWriter;
-
 import org.itsallcode.openfasttrace.api.core.*;
 import org.itsallcode.openfasttrace.api.exporter.Exporter;
 import org.itsallcode.openfasttrace.api.exporter.ExporterException;
+import org.itsallcode.openfasttrace.exporter.common.XmlWriter;
 
 /**
  * An {@link Exporter} for the specobject XML format.
+ * <p>
+ * The exporter consumes the item stream only once and does not keep the items
+ * in memory. Items of the first artifact type are written directly to its
+ * <code>specobjects</code> block. Items of all other artifact types are
+ * spilled to one temporary file per artifact type and written at the end. So
+ * each artifact type gets exactly one block, in the order in which the
+ * artifact types first appear in the stream.
+ * </p>
  */
 class SpecobjectExporter implements Exporter
 {
     private static final Logger LOG = Logger.getLogger(SpecobjectExporter.class.getName());
 
-    private final XMLStreamWriter writer;
-    private final Writer originalWriter;
-    private final Map<String, List<SpecificationItem>> items;
+    private final XmlWriter writer;
+    private final Stream<SpecificationItem> itemStream;
     private final Newline newline;
+    private final Map<String, SpillFile> spillFiles = new LinkedHashMap<>();
+    private String currentDoctype = null;
+    private int currentItemCount = 0;
 
     public SpecobjectExporter(final Stream<SpecificationItem> itemStream,
-            final XMLStreamWriter xmlWriter, final Writer originalWriter, final Newline newline)
+            final XmlWriter xmlWriter, final Newline newline)
     {
         this.newline = newline;
-        this.items = groupByDoctype(itemStream);
+        this.itemStream = itemStream;
         this.writer = xmlWriter;
-        this.originalWriter = originalWriter;
-    }
-
-    private Map<String, List<SpecificationItem>> groupByDoctype(
-            final Stream<SpecificationItem> itemStream)
-    {
-        return itemStream.collect(
-                groupingBy(SpecificationItem::getArtifactType, LinkedHashMap::new, toList()));
     }
 
     @Override
@@ -56,70 +50,141 @@ class SpecobjectExporter implements Exporter
         {
             writeOutput();
         }
-        catch (final XMLStreamException e)
+        catch (final IOException e)
         {
             throw new ExporterException("Error exporting to specobject format", e);
         }
         finally
         {
+            deleteSpillFiles();
             closeXmlWriter();
         }
     }
 
+    private void deleteSpillFiles()
+    {
+        for (final SpillFile spillFile : this.spillFiles.values())
+        {
+            try
+            {
+                spillFile.close();
+            }
+            catch (final IOException e)
+            {
+                LOG.warning(() -> "Unable to delete temporary file: " + e.getMessage());
+            }
+        }
+        this.spillFiles.clear();
+    }
+
     private void closeXmlWriter()
     {
         try
         {
             LOG.finest(() -> "Closing xml writer");
             this.writer.close();
-            this.originalWriter.close();
         }
-        catch (final XMLStreamException | IOException e)
+        catch (final IOException e)
         {
             throw new ExporterException("Error closing writer", e);
         }
     }
 
-    private void writeOutput() throws XMLStreamException
+    private void writeOutput() throws IOException
     {
-        this.writer.writeStartDocument("UTF-8", "1.0");
+        this.writer.writeStartDocument();
         this.writer.writeStartElement("specdocument");
 
-        for (final Entry<String, List<SpecificationItem>> entry : this.items.entrySet())
+        final Iterator<SpecificationItem> iterator = this.itemStream.iterator();
+        while (iterator.hasNext())
         {
-            final String doctype = entry.getKey();
-            final List<SpecificationItem> specItems = entry.getValue();
-            writeItems(doctype, specItems);
+            exportItem(iterator.next());
         }
+        closeCurrentDoctype();
+        writeSpilledItems();
 
         this.writer.writeEndElement();
         this.writer.writeEndDocument();
     }
 
-    private void writeItems(final String doctype, final List<SpecificationItem> specItems)
-            throws XMLStreamException
+    // The block of the first doctype stays open until the end of the stream,
+    // so that its items never need to be spilled. A block that was closed
+    // cannot be continued, so all other doctypes wait in spill files.
+    private void exportItem(final SpecificationItem item) throws IOException
+    {
+        final String doctype = item.getArtifactType();
+        if (this.currentDoctype == null)
+        {
+            openDoctype(doctype);
+        }
+        if (doctype.equals(this.currentDoctype))
+        {
+            writeItem(item);
+            ++this.currentItemCount;
+        }
+        else
+        {
+            spill(doctype, item);
+        }
+    }
+
+    private void openDoctype(final String doctype) throws IOException
     {
-        LOG.finest(() -> "Writing " + specItems.size() + " items with doctype " + doctype);
         this.writer.writeStartElement("specobjects");
         this.writer.writeAttribute("doctype", doctype);
-        for (final SpecificationItem item : specItems)
+        this.currentDoctype = doctype;
+        this.currentItemCount = 0;
+    }
+
+    private void closeCurrentDoctype() throws IOException
+    {
+        if (this.currentDoctype != null)
         {
-            writeItem(item);
+            final String doctype = this.currentDoctype;
+            final int itemCount = this.currentItemCount;
+            LOG.finest(() -> "Wrote " + itemCount + " items with doctype " + doctype);
+            this.writer.writeEndElement();
+            this.currentDoctype = null;
         }
-        this.writer.writeEndElement();
     }
 
-    private void writeItem(final SpecificationItem item) throws XMLStreamException
+    private void spill(final String doctype, final SpecificationItem item) throws IOException
     {
-        final String description = processMultilineText(item.getDescription());
-        final String rationale = processMultilineText(item.getRationale());
-        final String comment = processMultilineText(item.getComment());
+        SpillFile spillFile = this.spillFiles.get(doctype);
+        if (spillFile == null)
+        {
+            LOG.finest(() -> "Spilling items with doctype " + doctype + " to temporary file");
+            spillFile = SpillFile.create();
+            this.spillFiles.put(doctype, spillFile);
+        }
+        spillFile.append(item);
+    }
+
+    private void writeSpilledItems() throws IOException
+    {
+        for (final Entry<String, SpillFile> entry : this.spillFiles.entrySet())
+        {
+            final String doctype = entry.getKey();
+            final SpillFile spillFile = entry.getValue();
+            openDoctype(doctype);
+            spillFile.replay(this::writeItem);
+            this.currentItemCount = spillFile.getItemCount();
+            closeCurrentDoctype();
+        }
+    }
+
+    private void writeItem(final SpecificationItem item) throws IOException
+    {
+        final ItemPayloadStore.Payload payload = item.getPayload();
+        final String description = processMultilineText(payload.getDescription());
+        final String rationale = processMultilineText(payload.getRationale());
+        final String comment = processMultilineText(payload.getComment());
         this.writer.writeStartElement("specobject");
         writeElement("id", item.getName());
-        writeElementIfPresent("shortdesc", item.getTitle());
+        writeElementIfPresent("shortdesc", payload.getTitle());
         writeElement("status", item.getStatus().toString());
         writeElement("version", item.getRevision());
-        writeLocation(item.getLocation());
+        writeLocation(payload.getLocation());
         writeElementIfPresent("description", description);
         writeElementIfPresent("rationale", rationale);
         writeElementIfPresent("comment", comment);
@@ -143,7 +208,7 @@ class SpecobjectExporter implements Exporter
         return matcher.replaceAll(this.newline.toString());
     }
 
-    private void writeTags(final List<String> tags) throws XMLStreamException
+    private void writeTags(final List<String> tags) throws IOException
     {
         if (tags.isEmpty())
         {
@@ -158,7 +223,7 @@ class SpecobjectExporter implements Exporter
     }
 
     private void writeDependsOnIds(final List<SpecificationItemId> dependOnIds)
-            throws XMLStreamException
+            throws IOException
     {
         if (dependOnIds.isEmpty())
         {
@@ -173,7 +238,7 @@ class SpecobjectExporter implements Exporter
     }
 
     private void writeCoveredIds(final List<SpecificationItemId> coveredIds)
-            throws XMLStreamException
+            throws IOException
     {
         if (coveredIds.isEmpty())
         {
@@ -191,7 +256,7 @@ class SpecobjectExporter implements Exporter
     }
 
     private void writeNeedsArtifactTypes(final List<String> needsArtifactTypes)
-            throws XMLStreamException
+            throws IOException
     {
         if (needsArtifactTypes.isEmpty())
         {
@@ -205,13 +270,13 @@ class SpecobjectExporter implements Exporter
         this.writer.writeEndElement();
     }
 
-    private void writeElement(final String elementName, final int content) throws XMLStreamException
+    private void writeElement(final String elementName, final int content) throws IOException
     {
-        writeElement(elementName, String.valueOf(content));
+        this.writer.writeElement(elementName, content);
     }
 
     private void writeElementIfPresent(final String elementName, final String content)
-            throws XMLStreamException
+            throws IOException
     {
         if (content != null && !content.isEmpty())
         {
@@ -220,14 +285,12 @@ class SpecobjectExporter implements Exporter
     }
 
     private void writeElement(final String elementName, final String content)
-            throws XMLStreamException
+            throws IOException
     {
-        this.writer.writeStartElement(elementName);
-        this.writer.writeCharacters(content);
-        this.writer.writeEndElement();
+        this.writer.writeElement(elementName, content);
     }
 
-    private void writeLocation(final Location location) throws XMLStreamException
+    private void writeLocation(final Location location) throws IOException
     {
         if (location != null && location.getPath() != null && !location.getPath().isEmpty())
         {
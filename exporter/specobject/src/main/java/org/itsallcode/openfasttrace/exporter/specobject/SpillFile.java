@@ -0,0 +1,265 @@
+package org.itsallcode.openfasttrace.exporter.specobject;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.itsallcode.openfasttrace.api.core.*;
+
+/**
+ * Temporary file that holds specification items until they can be exported.
+ * <p>
+ * Only the fields written by the {@link SpecobjectExporter} are stored, in a
+ * compact binary form. The file is deleted when the {@link SpillFile} is
+ * closed.
+ * </p>
+ */
+class SpillFile implements Closeable
+{
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int NULL_LENGTH = -1;
+
+    private final Path path;
+    private DataOutputStream output;
+    private int itemCount = 0;
+
+    private SpillFile(final Path path, final DataOutputStream output)
+    {
+        this.path = path;
+        this.output = output;
+    }
+
+    /**
+     * Create a new, empty {@link SpillFile} in the default temporary
+     * directory.
+     *
+     * @return the new spill file
+     * @throws IOException
+     *             if the temporary file could not be created
+     */
+    static SpillFile create() throws IOException
+    {
+        final Path path = Files.createTempFile("oft-specobject-", ".spill");
+        try
+        {
+            return new SpillFile(path, new DataOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(path), BUFFER_SIZE)));
+        }
+        catch (final IOException exception)
+        {
+            Files.deleteIfExists(path);
+            throw exception;
+        }
+    }
+
+    int getItemCount()
+    {
+        return this.itemCount;
+    }
+
+    /**
+     * Append an item to the end of the file.
+     *
+     * @param item
+     *            the item to store
+     * @throws IOException
+     *             if writing fails
+     */
+    void append(final SpecificationItem item) throws IOException
+    {
+        final ItemPayloadStore.Payload payload = item.getPayload();
+        writeId(item.getId());
+        writeString(payload.getTitle());
+        this.output.writeByte(item.getStatus().ordinal());
+        writeString(payload.getDescription());
+        writeString(payload.getRationale());
+        writeString(payload.getComment());
+        writeLocation(payload.getLocation());
+        writeStrings(item.getTags());
+        writeStrings(item.getNeedsArtifactTypes());
+        writeIds(item.getCoveredIds());
+        writeIds(item.getDependOnIds());
+        ++this.itemCount;
+    }
+
+    private void writeLocation(final Location location) throws IOException
+    {
+        if (location == null)
+        {
+            this.output.writeBoolean(false);
+        }
+        else
+        {
+            this.output.writeBoolean(true);
+            writeString(location.getPath());
+            this.output.writeInt(location.getLine());
+            this.output.writeInt(location.getColumn());
+        }
+    }
+
+    private void writeIds(final List<SpecificationItemId> ids) throws IOException
+    {
+        this.output.writeInt(ids.size());
+        for (final SpecificationItemId id : ids)
+        {
+            writeId(id);
+        }
+    }
+
+    private void writeId(final SpecificationItemId id) throws IOException
+    {
+        writeString(id.getArtifactType());
+        writeString(id.getName());
+        this.output.writeInt(id.getRevision());
+    }
+
+    private void writeStrings(final List<String> strings) throws IOException
+    {
+        this.output.writeInt(strings.size());
+        for (final String string : strings)
+        {
+            writeString(string);
+        }
+    }
+
+    // DataOutput.writeUTF() is limited to 64 KiB, which is not enough for
+    // long descriptions.
+    private void writeString(final String string) throws IOException
+    {
+        if (string == null)
+        {
+            this.output.writeInt(NULL_LENGTH);
+        }
+        else
+        {
+            final byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+            this.output.writeInt(bytes.length);
+            this.output.write(bytes);
+        }
+    }
+
+    /**
+     * Read all items back in the order they were appended and hand them to
+     * the given consumer one by one.
+     * <p>
+     * No more items can be appended after calling this method.
+     * </p>
+     *
+     * @param consumer
+     *            consumer for the stored items
+     * @throws IOException
+     *             if reading fails or the consumer fails to write an item
+     */
+    void replay(final ItemConsumer consumer) throws IOException
+    {
+        closeOutput();
+        try (DataInputStream input = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(this.path), BUFFER_SIZE)))
+        {
+            for (int i = 0; i < this.itemCount; ++i)
+            {
+                consumer.accept(readItem(input));
+            }
+        }
+    }
+
+    private static SpecificationItem readItem(final DataInputStream input) throws IOException
+    {
+        final SpecificationItem.Builder builder = SpecificationItem.builder() //
+                .id(readId(input)) //
+                .title(readString(input)) //
+                .status(ItemStatus.values()[input.readByte()]) //
+                .description(readString(input)) //
+                .rationale(readString(input)) //
+                .comment(readString(input)) //
+                .location(readLocation(input));
+        final int tagCount = input.readInt();
+        for (int i = 0; i < tagCount; ++i)
+        {
+            builder.addTag(readString(input));
+        }
+        final int needsCount = input.readInt();
+        for (int i = 0; i < needsCount; ++i)
+        {
+            builder.addNeedsArtifactType(readString(input));
+        }
+        final int coveredCount = input.readInt();
+        for (int i = 0; i < coveredCount; ++i)
+        {
+            builder.addCoveredId(readId(input));
+        }
+        final int dependOnCount = input.readInt();
+        for (int i = 0; i < dependOnCount; ++i)
+        {
+            builder.addDependOnId(readId(input));
+        }
+        return builder.build();
+    }
+
+    private static Location readLocation(final DataInputStream input) throws IOException
+    {
+        if (!input.readBoolean())
+        {
+            return null;
+        }
+        return Location.builder() //
+                .path(readString(input)) //
+                .line(input.readInt()) //
+                .column(input.readInt()) //
+                .build();
+    }
+
+    private static SpecificationItemId readId(final DataInputStream input) throws IOException
+    {
+        return new SpecificationItemId.Builder() //
+                .artifactType(readString(input)) //
+                .name(readString(input)) //
+                .revision(input.readInt()) //
+                .build();
+    }
+
+    private static String readString(final DataInputStream input) throws IOException
+    {
+        final int length = input.readInt();
+        if (length == NULL_LENGTH)
+        {
+            return null;
+        }
+        final byte[] bytes = new byte[length];
+        input.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private void closeOutput() throws IOException
+    {
+        if (this.output != null)
+        {
+            this.output.close();
+            this.output = null;
+        }
+    }
+
+    @Override
+    public void close() throws IOException
+    {
+        try
+        {
+            closeOutput();
+        }
+        finally
+        {
+            Files.deleteIfExists(this.path);
+        }
+    }
+
+    /**
+     * Consumer for items read from a {@link SpillFile}.
+     */
+    @FunctionalInterface
+    interface ItemConsumer
+    {
+        void accept(SpecificationItem item) throws IOException;
+    }
+}
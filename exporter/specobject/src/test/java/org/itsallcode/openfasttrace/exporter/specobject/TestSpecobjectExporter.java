@@ -2,26 +2,24 @@ package org.itsallcode.openfasttrace.exporter.specobject;
 
 import static java.util.Arrays.asList;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
 import static org.itsallcode.openfasttrace.testutil.matcher.MultilineTextMatcher.matchesAllLines;
-import static org.mockito.Mockito.inOrder;
+import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 
 import java.io.*;
-import java.nio.charset.StandardCharsets;
 import java.util.stream.Stream;
 
-import javax.xml.stream.*;
-
 import org.itsallcode.openfasttrace.api.core.*;
-import org.itsallcode.openfasttrace.testutil.xml.IndentingXMLStreamWriter;
+import org.itsallcode.openfasttrace.exporter.common.XmlWriter;
 import org.junit.jupiter.api.Test;
-import org.mockito.InOrder;
 
 class TestSpecobjectExporter
 {
     // [itest->dsn~conversion.reqm2-export~1]
     @Test
-    void testExportSimpleSpecObjectWithMandatoryElements() throws IOException, XMLStreamException
+    void testExportSimpleSpecObjectWithMandatoryElements()
     {
         final SpecificationItem item = SpecificationItem.builder() //
                 .id(SpecificationItemId.createId("foo", "bar", 1)) //
@@ -37,13 +35,13 @@ class TestSpecobjectExporter
                 + "   <description>the description</description>\n" //
                 + "  </specobject>\n" //
                 + " </specobjects>\n" //
-                + "</specdocument>\n";
+                + "</specdocument>";
         final String actual = exportToString(item);
         assertThat(actual, matchesAllLines(expected));
     }
 
     @Test
-    void testExportSpecObjectWithOptionalElements() throws IOException, XMLStreamException
+    void testExportSpecObjectWithOptionalElements()
     {
         final SpecificationItem item = SpecificationItem.builder() //
                 .id(SpecificationItemId.createId("req", "me", 2)) //
@@ -88,13 +86,13 @@ class TestSpecobjectExporter
                 + "   </dependencies>\n" //
                 + "  </specobject>\n" //
                 + " </specobjects>\n" //
-                + "</specdocument>\n";
+                + "</specdocument>";
         final String actual = exportToString(item);
         assertThat(actual, matchesAllLines(expected));
     }
 
     @Test
-    void testExportTwoSpecObjects() throws IOException, XMLStreamException
+    void testExportTwoSpecObjects()
     {
         final SpecificationItem itemA = SpecificationItem.builder() //
                 .id(SpecificationItemId.createId("foo", "bar", 1)) //
@@ -132,39 +130,138 @@ class TestSpecobjectExporter
                 + "   <comment>another\ncomment</comment>\n" //
                 + "  </specobject>\n" //
                 + " </specobjects>\n" //
-                + "</specdocument>\n";
+                + "</specdocument>";
         final String actual = exportToString(itemA, itemB);
         assertThat(actual, matchesAllLines(expected));
     }
 
     @Test
-    void testExportClosesWriters() throws XMLStreamException, IOException
+    void testExportItemsGroupedByDoctype()
     {
-        final XMLStreamWriter xmlWriterMock = mock(XMLStreamWriter.class);
-        final Writer writerMock = mock(Writer.class);
-        new SpecobjectExporter(Stream.empty(), xmlWriterMock, writerMock, Newline.UNIX).runExport();
+        final String expected = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" //
+                + "<specdocument>\n" //
+                + " <specobjects doctype=\"foo\">\n" //
+                + "  <specobject>\n" //
+                + "   <id>a</id>\n" //
+                + "   <status>approved</status>\n" //
+                + "   <version>1</version>\n" //
+                + "  </specobject>\n" //
+                + "  <specobject>\n" //
+                + "   <id>b</id>\n" //
+                + "   <status>approved</status>\n" //
+                + "   <version>1</version>\n" //
+                + "  </specobject>\n" //
+                + " </specobjects>\n" //
+                + " <specobjects doctype=\"bar\">\n" //
+                + "  <specobject>\n" //
+                + "   <id>c</id>\n" //
+                + "   <status>approved</status>\n" //
+                + "   <version>1</version>\n" //
+                + "  </specobject>\n" //
+                + " </specobjects>\n" //
+                + " <specobjects doctype=\"baz\">\n" //
+                + "  <specobject>\n" //
+                + "   <id>d</id>\n" //
+                + "   <status>approved</status>\n" //
+                + "   <version>1</version>\n" //
+                + "  </specobject>\n" //
+                + " </specobjects>\n" //
+                + "</specdocument>";
+        final String actual = exportToString(createItem("foo", "a"), createItem("foo", "b"),
+                createItem("bar", "c"), createItem("baz", "d"));
+        assertThat(actual, matchesAllLines(expected));
+    }
+
+    @Test
+    void testExportItemsNotGroupedByDoctype()
+    {
+        final String expected = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" //
+                + "<specdocument>\n" //
+                + " <specobjects doctype=\"foo\">\n" //
+                + "  <specobject>\n" //
+                + "   <id>a</id>\n" //
+                + "   <status>approved</status>\n" //
+                + "   <version>1</version>\n" //
+                + "  </specobject>\n" //
+                + "  <specobject>\n" //
+                + "   <id>c</id>\n" //
+                + "   <status>approved</status>\n" //
+                + "   <version>1</version>\n" //
+                + "  </specobject>\n" //
+                + " </specobjects>\n" //
+                + " <specobjects doctype=\"bar\">\n" //
+                + "  <specobject>\n" //
+                + "   <id>b</id>\n" //
+                + "   <status>approved</status>\n" //
+                + "   <version>1</version>\n" //
+                + "  </specobject>\n" //
+                + "  <specobject>\n" //
+                + "   <id>d</id>\n" //
+                + "   <status>approved</status>\n" //
+                + "   <version>1</version>\n" //
+                + "  </specobject>\n" //
+                + " </specobjects>\n" //
+                + " <specobjects doctype=\"baz\">\n" //
+                + "  <specobject>\n" //
+                + "   <id>e</id>\n" //
+                + "   <status>approved</status>\n" //
+                + "   <version>1</version>\n" //
+                + "  </specobject>\n" //
+                + " </specobjects>\n" //
+                + "</specdocument>";
+        final String actual = exportToString(createItem("foo", "a"), createItem("bar", "b"),
+                createItem("foo", "c"), createItem("baz", "e"), createItem("bar", "d"));
+        assertThat(actual, matchesAllLines(expected));
+    }
+
+    @Test
+    void testExportInterleavedItemsWritesOneBlockPerDoctype()
+    {
+        final String actual = exportToString(createItem("foo", "a"), createItem("bar", "b"),
+                createItem("foo", "c"), createItem("bar", "d"), createItem("baz", "e"),
+                createItem("foo", "f"), createItem("baz", "g"), createItem("bar", "h"));
+        assertAll(() -> assertThat(countBlocks(actual, "foo"), equalTo(1)),
+                () -> assertThat(countBlocks(actual, "bar"), equalTo(1)),
+                () -> assertThat(countBlocks(actual, "baz"), equalTo(1)),
+                () -> assertThat(countOccurrences(actual, "<specobject>"), equalTo(8)));
+    }
 
-        final InOrder inOrder = inOrder(xmlWriterMock, writerMock);
-        inOrder.verify(xmlWriterMock).close();
-        inOrder.verify(writerMock).close();
-        inOrder.verifyNoMoreInteractions();
+    private static int countBlocks(final String xml, final String doctype)
+    {
+        return countOccurrences(xml, "<specobjects doctype=\"" + doctype + "\">");
     }
 
-    private String exportToString(final SpecificationItem... items)
+    private static int countOccurrences(final String text, final String fragment)
     {
-        try (final ByteArrayOutputStream stream = new ByteArrayOutputStream())
+        int count = 0;
+        for (int index = text.indexOf(fragment); index >= 0; index = text.indexOf(fragment,
+                index + fragment.length()))
         {
-            final XMLOutputFactory outputFactory = XMLOutputFactory.newInstance();
-            final XMLStreamWriter xmlWriter = outputFactory.createXMLStreamWriter(stream,
-                    StandardCharsets.UTF_8.name());
-            new SpecobjectExporter(asList(items).stream(),
-                    new IndentingXMLStreamWriter(xmlWriter, " ", Newline.UNIX.toString()),
-                    new OutputStreamWriter(stream), Newline.UNIX).runExport();
-            return new String(stream.toByteArray(), StandardCharsets.UTF_8);
-        }
-        catch (IOException | XMLStreamException | FactoryConfigurationError e)
-        {
-            throw new AssertionError("Error exporting items", e);
+            ++count;
         }
+        return count;
+    }
+
+    private static SpecificationItem createItem(final String artifactType, final String name)
+    {
+        return SpecificationItem.builder() //
+                .id(SpecificationItemId.createId(artifactType, name, 1)) //
+                .build();
+    }
+
+    @Test
+    void testExportClosesWriter() throws IOException
+    {
+        final Writer writerMock = mock(Writer.class);
+        new SpecobjectExporter(Stream.empty(), new XmlWriter(writerMock), Newline.UNIX).runExport();
+        verify(writerMock).close();
+    }
+
+    private String exportToString(final SpecificationItem... items)
+    {
+        final StringWriter writer = new StringWriter();
+        new SpecobjectExporter(asList(items).stream(), new XmlWriter(writer, " "), Newline.UNIX)
+                .runExport();
+        return writer.toString();
     }
 }
@@ -0,0 +1,89 @@
+package org.itsallcode.openfasttrace.exporter.specobject;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.xml.stream.XMLStreamException;
+
+import org.itsallcode.openfasttrace.api.core.*;
+import org.junit.jupiter.api.Test;
+
+class TestSpillFile
+{
+    @Test
+    void testReplayReturnsItemsInOrder() throws IOException, XMLStreamException
+    {
+        final SpecificationItem first = SpecificationItem.builder() //
+                .id(SpecificationItemId.createId("req", "first", 1)) //
+                .build();
+        final SpecificationItem second = SpecificationItem.builder() //
+                .id(SpecificationItemId.createId("req", "second", 2)) //
+                .build();
+        final List<SpecificationItem> replayed = spillAndReplay(first, second);
+        assertThat(replayed, contains(first, second));
+    }
+
+    @Test
+    void testReplayKeepsExportedFields() throws IOException, XMLStreamException
+    {
+        final String longDescription = "x".repeat(70_000) + "ä€";
+        final SpecificationItem item = SpecificationItem.builder() //
+                .id(SpecificationItemId.createId("dsn", "the-item", 3)) //
+                .title("The title") //
+                .status(ItemStatus.PROPOSED) //
+                .description(longDescription) //
+                .rationale("the rationale") //
+                .comment("the\ncomment") //
+                .location(Location.create("/the/file", 42, 7)) //
+                .addTag("tag1") //
+                .addTag("tag2") //
+                .addNeedsArtifactType("impl") //
+                .addCoveredId(SpecificationItemId.createId("req", "covered", 1)) //
+                .addDependOnId(SpecificationItemId.createId("dsn", "other", 4)) //
+                .build();
+        final SpecificationItem replayed = spillAndReplay(item).get(0);
+        assertAll(() -> assertThat(replayed.getId(), equalTo(item.getId())),
+                () -> assertThat(replayed.getTitle(), equalTo("The title")),
+                () -> assertThat(replayed.getStatus(), equalTo(ItemStatus.PROPOSED)),
+                () -> assertThat(replayed.getDescription(), equalTo(longDescription)),
+                () -> assertThat(replayed.getRationale(), equalTo("the rationale")),
+                () -> assertThat(replayed.getComment(), equalTo("the\ncomment")),
+                () -> assertThat(replayed.getLocation(), equalTo(item.getLocation())),
+                () -> assertThat(replayed.getTags(), contains("tag1", "tag2")),
+                () -> assertThat(replayed.getNeedsArtifactTypes(), contains("impl")),
+                () -> assertThat(replayed.getCoveredIds(), equalTo(item.getCoveredIds())),
+                () -> assertThat(replayed.getDependOnIds(), equalTo(item.getDependOnIds())));
+    }
+
+    @Test
+    void testReplayItemWithoutLocation() throws IOException, XMLStreamException
+    {
+        final SpecificationItem item = SpecificationItem.builder() //
+                .id(SpecificationItemId.createId("req", "no-location", 1)) //
+                .build();
+        assertThat(spillAndReplay(item).get(0).getLocation(), nullValue());
+    }
+
+    private static List<SpecificationItem> spillAndReplay(final SpecificationItem... items)
+            throws IOException, XMLStreamException
+    {
+        final List<SpecificationItem> replayed = new ArrayList<>();
+        try (SpillFile spillFile = SpillFile.create())
+        {
+            for (final SpecificationItem item : items)
+            {
+                spillFile.append(item);
+            }
+            assertThat(spillFile.getItemCount(), equalTo(items.length));
+            spillFile.replay(replayed::add);
+        }
+        return replayed;
+    }
+}
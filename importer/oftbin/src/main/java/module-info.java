@@ -0,0 +1,10 @@
+/**
+ * This provides an importer for the OFT binary snapshot format.
+ */
+module org.itsallcode.openfasttrace.importer.oftbin
+{
+    exports org.itsallcode.openfasttrace.importer.oftbin;
+
+    requires java.logging;
+    requires transitive org.itsallcode.openfasttrace.api;
+}
@@ -0,0 +1,208 @@
+package org.itsallcode.openfasttrace.importer.oftbin;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+
+import org.itsallcode.openfasttrace.api.core.*;
+import org.itsallcode.openfasttrace.api.importer.*;
+import org.itsallcode.openfasttrace.api.oftbin.OftbinFormat;
+import org.itsallcode.openfasttrace.api.oftbin.OftbinInput;
+
+/**
+ * Importer for binary snapshots of specification items.
+ * <p>
+ * The snapshot file is memory-mapped and decoded directly from the mapped
+ * buffer, so that the operating system can serve it from the page cache
+ * without copying it through a stream first. See {@link OftbinFormat} for the
+ * layout of the file.
+ * </p>
+ */
+class OftbinImporter implements Importer
+{
+    private static final Logger LOG = Logger.getLogger(OftbinImporter.class.getName());
+    private static final ItemStatus[] STATUS_VALUES = ItemStatus.values();
+
+    private final Path file;
+    private final ImportEventListener listener;
+    private final List<String> stringDictionary = new ArrayList<>();
+    private final List<SpecificationItemId> idDictionary = new ArrayList<>();
+    private OftbinInput input;
+    private int itemCount = 0;
+
+    /**
+     * Create a new {@link OftbinImporter}.
+     *
+     * @param file
+     *            the snapshot file to import
+     * @param listener
+     *            the listener to be informed about the imported items
+     */
+    OftbinImporter(final Path file, final ImportEventListener listener)
+    {
+        this.file = file;
+        this.listener = listener;
+    }
+
+    @Override
+    public void runImport()
+    {
+        this.input = new OftbinInput(mapFile());
+        try
+        {
+            readHeader();
+            byte record = this.input.readByte();
+            while (record == OftbinFormat.RECORD_ITEM)
+            {
+                readItem();
+                record = this.input.readByte();
+            }
+            if (record != OftbinFormat.RECORD_END)
+            {
+                throw new ImporterException("Binary snapshot '" + this.file
+                        + "' contains unknown record type " + record);
+            }
+        }
+        catch (final BufferUnderflowException | IndexOutOfBoundsException
+                | IllegalArgumentException exception)
+        {
+            throw new ImporterException(
+                    "Binary snapshot '" + this.file + "' is truncated or corrupt", exception);
+        }
+        LOG.fine(() -> "Imported " + this.itemCount + " items from binary snapshot '" + this.file
+                + "'");
+    }
+
+    private ByteBuffer mapFile()
+    {
+        try (FileChannel channel = FileChannel.open(this.file, StandardOpenOption.READ))
+        {
+            final long size = channel.size();
+            if (size > Integer.MAX_VALUE)
+            {
+                throw new ImporterException("Binary snapshot '" + this.file + "' is larger than "
+                        + Integer.MAX_VALUE + " bytes and can not be mapped");
+            }
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        }
+        catch (final IOException exception)
+        {
+            throw new ImporterException("Error mapping binary snapshot '" + this.file + "'",
+                    exception);
+        }
+    }
+
+    private void readHeader()
+    {
+        for (final byte expected : OftbinFormat.MAGIC)
+        {
+            if (this.input.readByte() != expected)
+            {
+                throw new ImporterException("File '" + this.file + "' is not a binary snapshot");
+            }
+        }
+        final int version = this.input.readVarint();
+        if (version != OftbinFormat.VERSION)
+        {
+            throw new ImporterException("Binary snapshot '" + this.file + "' has version "
+                    + version + " but only version " + OftbinFormat.VERSION + " is supported");
+        }
+    }
+
+    private void readItem()
+    {
+        this.listener.beginSpecificationItem();
+        this.listener.setId(readIdReference());
+        this.listener.setStatus(readStatus());
+        final int flags = this.input.readByte();
+        this.listener.setTitle(this.input.readString());
+        appendIfNotEmpty(this.input.readString(), this.listener::appendDescription);
+        appendIfNotEmpty(this.input.readString(), this.listener::appendRationale);
+        appendIfNotEmpty(this.input.readString(), this.listener::appendComment);
+        if ((flags & OftbinFormat.FLAG_LOCATION) != 0)
+        {
+            this.listener.setLocation(Location.builder() //
+                    .path(readStringReference()) //
+                    .line(this.input.readSignedVarint()) //
+                    .column(this.input.readSignedVarint()) //
+                    .build());
+        }
+        this.listener.setForwards((flags & OftbinFormat.FLAG_FORWARDS) != 0);
+        final int needsCount = this.input.readVarint();
+        for (int i = 0; i < needsCount; ++i)
+        {
+            this.listener.addNeededArtifactType(readStringReference());
+        }
+        final int tagCount = this.input.readVarint();
+        for (int i = 0; i < tagCount; ++i)
+        {
+            this.listener.addTag(readStringReference());
+        }
+        final int coveredCount = this.input.readVarint();
+        for (int i = 0; i < coveredCount; ++i)
+        {
+            this.listener.addCoveredId(readIdReference());
+        }
+        final int dependOnCount = this.input.readVarint();
+        for (int i = 0; i < dependOnCount; ++i)
+        {
+            this.listener.addDependsOnId(readIdReference());
+        }
+        this.listener.endSpecificationItem();
+        ++this.itemCount;
+    }
+
+    private ItemStatus readStatus()
+    {
+        final int ordinal = this.input.readByte();
+        if (ordinal < 0 || ordinal >= STATUS_VALUES.length)
+        {
+            throw new ImporterException(
+                    "Binary snapshot '" + this.file + "' contains unknown status " + ordinal);
+        }
+        return STATUS_VALUES[ordinal];
+    }
+
+    private static void appendIfNotEmpty(final String text, final Consumer<String> appender)
+    {
+        if (text != null && !text.isEmpty())
+        {
+            appender.accept(text);
+        }
+    }
+
+    private SpecificationItemId readIdReference()
+    {
+        final int reference = this.input.readVarint();
+        if (reference == OftbinFormat.NEW_ENTRY)
+        {
+            final SpecificationItemId id = new SpecificationItemId.Builder() //
+                    .artifactType(readStringReference()) //
+                    .name(readStringReference()) //
+                    .revision(this.input.readSignedVarint()) //
+                    .build();
+            this.idDictionary.add(id);
+            return id;
+        }
+        return this.idDictionary.get(reference - 1);
+    }
+
+    private String readStringReference()
+    {
+        final int reference = this.input.readVarint();
+        if (reference == OftbinFormat.NEW_ENTRY)
+        {
+            final String string = this.input.readString();
+            this.stringDictionary.add(string);
+            return string;
+        }
+        return this.stringDictionary.get(reference - 1);
+    }
+}
@@ -0,0 +1,51 @@
+package org.itsallcode.openfasttrace.importer.oftbin;
+
+import java.util.logging.Logger;
+
+import org.itsallcode.openfasttrace.api.importer.*;
+import org.itsallcode.openfasttrace.api.importer.input.InputFile;
+
+/**
+ * {@link ImporterFactory} for binary snapshots of specification items written
+ * by the {@code oftbin} exporter.
+ * <p>
+ * Snapshots are memory-mapped, so only real files are supported. Snapshots
+ * inside of ZIP files are skipped.
+ * </p>
+ */
+public class OftbinImporterFactory extends RegexMatchingImporterFactory
+{
+    private static final Logger LOG = Logger.getLogger(OftbinImporterFactory.class.getName());
+
+    /** Creates a new instance. */
+    public OftbinImporterFactory()
+    {
+        super("(?i).*\\.oftbin");
+    }
+
+    @Override
+    public boolean supportsFile(final InputFile file)
+    {
+        if (!super.supportsFile(file))
+        {
+            return false;
+        }
+        if (!file.isRealFile())
+        {
+            LOG.warning(() -> "Binary snapshot '" + file.getPath()
+                    + "' is not a real file and can not be imported");
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    public Importer createImporter(final InputFile file, final ImportEventListener listener)
+    {
+        if (!supportsFile(file))
+        {
+            throw new ImporterException("File '" + file + "' not supported for import");
+        }
+        return new OftbinImporter(file.toPath(), listener);
+    }
+}
@@ -0,0 +1,147 @@
+package org.itsallcode.openfasttrace.importer.oftbin;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.itsallcode.openfasttrace.api.core.*;
+import org.itsallcode.openfasttrace.api.importer.ImportEventListener;
+import org.itsallcode.openfasttrace.api.importer.ImporterException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InOrder;
+
+class TestOftbinImporter
+{
+    private static final byte[] HEADER = { 'O', 'F', 'T', 'B', 1 };
+    private static final byte[] MINIMAL_ITEM = { 1, 0, 0, 2, 'a', 0, 2, 'b', 2, 0, 0, 1, 1, 1, 1,
+            0, 0, 0, 0 };
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testImportEmptySnapshot() throws IOException
+    {
+        final ImportEventListener listenerMock = importBytes(bytes(HEADER, 0));
+        verifyNoInteractions(listenerMock);
+    }
+
+    @Test
+    void testImportMinimalItem() throws IOException
+    {
+        final ImportEventListener listenerMock = importBytes(bytes(HEADER, MINIMAL_ITEM, 0));
+        final InOrder inOrder = inOrder(listenerMock);
+        inOrder.verify(listenerMock).beginSpecificationItem();
+        inOrder.verify(listenerMock).setId(SpecificationItemId.parseId("a~b~1"));
+        inOrder.verify(listenerMock).setStatus(ItemStatus.APPROVED);
+        inOrder.verify(listenerMock).setTitle("");
+        inOrder.verify(listenerMock).setForwards(false);
+        inOrder.verify(listenerMock).endSpecificationItem();
+        verifyNoMoreInteractions(listenerMock);
+    }
+
+    @Test
+    void testImportResolvesDictionaryReferences() throws IOException
+    {
+        final byte[] description = "ä\r\n".getBytes(StandardCharsets.UTF_8);
+        final ImportEventListener listenerMock = importBytes(bytes(HEADER, MINIMAL_ITEM, //
+                1, //
+                0, 1, 0, 2, 'c', 1, // new ID with known artifact type, revision -1
+                2, // status draft
+                3, // location and forwards
+                2, 'T', 1 + description.length, description, 1, 1, //
+                0, 2, 'p', (byte) 0xD8, 0x04, 1, // path, line 300, column -1
+                1, 1, // needs known string "a"
+                1, 0, 2, 't', // new tag
+                1, 1, // covers known ID a~b~1
+                1, 0, 0, 4, 'i', 'm', 'p', 2, 2, // depends on new ID with new artifact type
+                0));
+        verify(listenerMock).setId(SpecificationItemId.createId("a", "c", -1));
+        verify(listenerMock).setStatus(ItemStatus.DRAFT);
+        verify(listenerMock).setTitle("T");
+        verify(listenerMock).appendDescription("ä\r\n");
+        verify(listenerMock).setLocation(Location.create("p", 300));
+        verify(listenerMock).setForwards(true);
+        verify(listenerMock).addNeededArtifactType("a");
+        verify(listenerMock).addTag("t");
+        verify(listenerMock).addCoveredId(SpecificationItemId.parseId("a~b~1"));
+        verify(listenerMock).addDependsOnId(SpecificationItemId.parseId("imp~b~1"));
+        verify(listenerMock, times(2)).endSpecificationItem();
+    }
+
+    @Test
+    void testImportWrongMagicThrowsException() throws IOException
+    {
+        assertImportFails(bytes('O', 'F', 'T', 'X', 1, 0));
+    }
+
+    @Test
+    void testImportUnsupportedVersionThrowsException() throws IOException
+    {
+        assertImportFails(bytes('O', 'F', 'T', 'B', 2, 0));
+    }
+
+    @Test
+    void testImportTruncatedSnapshotThrowsException() throws IOException
+    {
+        assertImportFails(bytes(HEADER, 1, 0, 0, 2, 'a'));
+    }
+
+    @Test
+    void testImportUnknownRecordTypeThrowsException() throws IOException
+    {
+        assertImportFails(bytes(HEADER, 7));
+    }
+
+    @Test
+    void testImportUnknownDictionaryReferenceThrowsException() throws IOException
+    {
+        assertImportFails(bytes(HEADER, 1, 5));
+    }
+
+    private void assertImportFails(final byte[] content) throws IOException
+    {
+        final Path file = writeFile(content);
+        final OftbinImporter importer = new OftbinImporter(file, mock(ImportEventListener.class));
+        assertThrows(ImporterException.class, importer::runImport);
+    }
+
+    private ImportEventListener importBytes(final byte[] content) throws IOException
+    {
+        final ImportEventListener listenerMock = mock(ImportEventListener.class);
+        new OftbinImporter(writeFile(content), listenerMock).runImport();
+        return listenerMock;
+    }
+
+    private Path writeFile(final byte[] content) throws IOException
+    {
+        return Files.write(this.tempDir.resolve("items.oftbin"), content);
+    }
+
+    private static byte[] bytes(final Object... parts)
+    {
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        for (final Object part : parts)
+        {
+            if (part instanceof byte[])
+            {
+                outputStream.writeBytes((byte[]) part);
+            }
+            else if (part instanceof Character)
+            {
+                outputStream.write((Character) part);
+            }
+            else
+            {
+                outputStream.write(((Number) part).intValue());
+            }
+        }
+        return outputStream.toByteArray();
+    }
+}
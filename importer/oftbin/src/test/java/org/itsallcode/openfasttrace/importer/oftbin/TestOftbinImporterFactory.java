@@ -0,0 +1,47 @@
+package org.itsallcode.openfasttrace.importer.oftbin;
+
+import static java.util.Arrays.asList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.nio.file.Paths;
+import java.util.List;
+
+import org.itsallcode.openfasttrace.api.importer.input.InputFile;
+import org.itsallcode.openfasttrace.testutil.importer.ImporterFactoryTestBase;
+import org.itsallcode.openfasttrace.testutil.importer.input.StreamInput;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link OftbinImporterFactory}
+ */
+class TestOftbinImporterFactory extends ImporterFactoryTestBase<OftbinImporterFactory>
+{
+    @Override
+    protected OftbinImporterFactory createFactory()
+    {
+        return new OftbinImporterFactory();
+    }
+
+    @Override
+    protected List<String> getSupportedFilenames()
+    {
+        return asList("file.oftbin", "file.OFTBIN", "file.xml.oftbin");
+    }
+
+    @Override
+    protected List<String> getUnsupportedFilenames()
+    {
+        return asList("file.oftbin.xml", "file.bin", "file_oftbin", "fileoftbin");
+    }
+
+    @Test
+    void testStreamInputIsNotSupported()
+    {
+        final InputFile file = StreamInput.forReader(Paths.get("file.oftbin"),
+                new BufferedReader(new StringReader("")));
+        assertThat(createFactory().supportsFile(file), equalTo(false));
+    }
+}
@@ -33,7 +33,7 @@ class LongTagImportingLineConsumer extends RegexLineConsumer
             + OPTIONAL_WHITESPACE + optional(NEEDS_COVERAGE + OPTIONAL_WHITESPACE) //
             + TAG_SUFFIX;
 
-    private final InputFile file;
+    private final String path;
     private final ImportEventListener listener;
 
     private static String optional(String regex)
@@ -44,7 +44,7 @@ class LongTagImportingLineConsumer extends RegexLineConsumer
     LongTagImportingLineConsumer(final InputFile file, final ImportEventListener listener)
     {
         super(TAG_REGEX);
-        this.file = file;
+        this.path = file.getPath();
         this.listener = listener;
     }
 
@@ -52,7 +52,7 @@ class LongTagImportingLineConsumer extends RegexLineConsumer
     public void processMatch(final Matcher matcher, final int lineNumber, final int lineMatchCount)
     {
         this.listener.beginSpecificationItem();
-        this.listener.setLocation(this.file.getPath(), lineNumber);
+        this.listener.setLocation(this.path, lineNumber);
         final SpecificationItemId coveredId = SpecificationItemId.parseId(matcher.group(2));
         final List<String> neededArtifactTypes = parseCommaSeparatedList(matcher.group(6));
         final SpecificationItemId generatedId = generateItemId(lineNumber, lineMatchCount, coveredId, matcher.group(1),
@@ -60,12 +60,12 @@ class LongTagImportingLineConsumer extends RegexLineConsumer
 
         if (neededArtifactTypes.isEmpty())
         {
-            LOG.finest(() -> "File " + this.file + ":" + lineNumber + ": found '" + generatedId
+            LOG.finest(() -> "File " + this.path + ":" + lineNumber + ": found '" + generatedId
                     + "' covering id '" + coveredId);
         }
         else
         {
-            LOG.finest(() -> "File " + this.file + ":" + lineNumber + ": found '" + generatedId
+            LOG.finest(() -> "File " + this.path + ":" + lineNumber + ": found '" + generatedId
                     + "' covering id '" + coveredId + "', needs artifact types " + neededArtifactTypes);
         }
         this.listener.setId(generatedId);
@@ -109,7 +109,7 @@ class LongTagImportingLineConsumer extends RegexLineConsumer
             final int counter)
     {
         final String uniqueName = new StringBuilder() //
-                .append(this.file.getPath()) //
+                .append(this.path) //
                 .append(lineNumber) //
                 .append(counter) //
                 .append(coveredId) //
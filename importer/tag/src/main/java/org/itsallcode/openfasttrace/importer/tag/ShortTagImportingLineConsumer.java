@@ -25,14 +25,14 @@ class ShortTagImportingLineConsumer extends RegexLineConsumer
 
     private final PathConfig pathConfig;
     private final ImportEventListener listener;
-    private final InputFile file;
+    private final String path;
 
     ShortTagImportingLineConsumer(final PathConfig pathConfig, final InputFile file,
             final ImportEventListener listener)
     {
         super(TAG_REGEX);
         this.pathConfig = pathConfig;
-        this.file = file;
+        this.path = file.toString();
         this.listener = listener;
     }
 
@@ -48,7 +48,7 @@ class ShortTagImportingLineConsumer extends RegexLineConsumer
         final SpecificationItemId tagItemId = SpecificationItemId
                 .createId(this.pathConfig.getTagArtifactType(), generatedName);
 
-        LOG.finest(() -> "File " + this.file + ":" + lineNumber + ": found '" + tagItemId
+        LOG.finest(() -> "File " + this.path + ":" + lineNumber + ": found '" + tagItemId
                 + "' covering id '" + coveredId + "'");
 
         addItem(lineNumber, coveredId, tagItemId);
@@ -58,7 +58,7 @@ class ShortTagImportingLineConsumer extends RegexLineConsumer
             final SpecificationItemId tagItemId)
     {
         this.listener.beginSpecificationItem();
-        this.listener.setLocation(this.file.toString(), lineNumber);
+        this.listener.setLocation(this.path, lineNumber);
         this.listener.setId(tagItemId);
         this.listener.addCoveredId(coveredId);
         this.listener.endSpecificationItem();
@@ -95,7 +95,7 @@ class ShortTagImportingLineConsumer extends RegexLineConsumer
     private String generateName(final SpecificationItemId coveredId, final int lineNumber,
             final int counter)
     {
-        final String uniqueName = this.file.toString() + lineNumber + counter
+        final String uniqueName = this.path + lineNumber + counter
                 + coveredId.toString();
         final String checksum = Long.toString(ChecksumCalculator.calculateCrc32(uniqueName));
         return coveredId.getName() + "-" + checksum;
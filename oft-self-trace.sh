@@ -16,6 +16,7 @@ $oft_script trace \
     "$base_dir/doc/spec" \
     "$base_dir/importer/markdown/src" \
     "$base_dir/importer/specobject/src" \
+    "$base_dir/importer/oftbin/src" \
     "$base_dir/importer/zip/src" \
     "$base_dir/importer/tag/src" \
     "$base_dir/core/src/main" \
@@ -23,8 +24,10 @@ $oft_script trace \
     "$base_dir/reporter/plaintext/src" \
     "$base_dir/reporter/html/src" \
     "$base_dir/reporter/aspec/src" \
+    "$base_dir/reporter/jsonl/src" \
     "$base_dir/product/src/test/java" \
     "$base_dir/api/src" \
     "$base_dir/exporter/specobject/src" \
+    "$base_dir/exporter/oftbin/src" \
     "$base_dir/exporter/common/src" \
     "$base_dir/testutil/src"
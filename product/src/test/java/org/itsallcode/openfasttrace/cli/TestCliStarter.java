@@ -361,6 +361,37 @@ class TestCliStarter
         assertExitOkWithOutputFileStart(runnable, "ok - 3 total");
     }
 
+    @Test
+    void testTraceSubgraphOfRootItem() throws IOException
+    {
+        final Runnable runnable = () -> runCliStarter( //
+                TRACE_COMMAND, this.DOC_DIR.toString(), //
+                OUTPUT_FILE_PARAMETER, this.outputFile.toString(), //
+                "--root-id", "req~sample.first_requirement~1" //
+        );
+        assertExitOkWithOutputFileStart(runnable, "ok - 3 total");
+    }
+
+    @Test
+    void testTraceWithProfiles() throws IOException
+    {
+        final Path directory = this.outputFile.getParent();
+        final Path profilesFile = directory.resolve("profiles.txt");
+        final Path allItemsReport = directory.resolve("all.txt");
+        final Path filteredReport = directory.resolve("filtered.txt");
+        Files.writeString(profilesFile, String.join(NEWLINE, //
+                "# Report for all items", //
+                "all: -f \"" + allItemsReport + "\"", //
+                "filtered: -a feat,req -f \"" + filteredReport + "\""));
+        assertExitWithStatus(ExitStatus.OK.getCode(), () -> runCliStarter( //
+                TRACE_COMMAND, this.DOC_DIR.toString(), //
+                "--profiles", profilesFile.toString() //
+        ));
+        assertAll( //
+                () -> assertThat(Files.readString(allItemsReport), startsWith("ok - 5 total")),
+                () -> assertThat(Files.readString(filteredReport), startsWith("ok - 3 total")));
+    }
+
     private void assertOutputFileContentStartsWith(final String content)
     {
         assertThat(getOutputFileContent(), startsWith(content));
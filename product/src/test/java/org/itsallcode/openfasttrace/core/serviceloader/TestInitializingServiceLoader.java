@@ -7,16 +7,22 @@ import static org.hamcrest.Matchers.*;
 import java.util.List;
 import java.util.stream.StreamSupport;
 
+import org.itsallcode.openfasttrace.api.ReportSettings;
 import org.itsallcode.openfasttrace.api.core.serviceloader.Initializable;
 import org.itsallcode.openfasttrace.api.exporter.ExporterContext;
 import org.itsallcode.openfasttrace.api.exporter.ExporterFactory;
 import org.itsallcode.openfasttrace.api.importer.ImporterContext;
 import org.itsallcode.openfasttrace.api.importer.ImporterFactory;
+import org.itsallcode.openfasttrace.api.report.ReporterContext;
+import org.itsallcode.openfasttrace.api.report.ReporterFactory;
+import org.itsallcode.openfasttrace.exporter.oftbin.OftbinExporterFactory;
 import org.itsallcode.openfasttrace.exporter.specobject.SpecobjectExporterFactory;
 import org.itsallcode.openfasttrace.importer.markdown.MarkdownImporterFactory;
+import org.itsallcode.openfasttrace.importer.oftbin.OftbinImporterFactory;
 import org.itsallcode.openfasttrace.importer.specobject.SpecobjectImporterFactory;
 import org.itsallcode.openfasttrace.importer.tag.TagImporterFactory;
 import org.itsallcode.openfasttrace.importer.zip.ZipFileImporterFactory;
+import org.itsallcode.openfasttrace.report.plaintext.PlaintextReporterFactory;
 import org.junit.jupiter.api.Test;
 
 /**
@@ -43,8 +49,9 @@ class TestInitializingServiceLoader
         final ImporterContext context = new ImporterContext(null);
         final List<ImporterFactory> services = getRegisteredServices(ImporterFactory.class,
                 context);
-        assertThat(services, hasSize(4));
-        assertThat(services, contains(instanceOf(MarkdownImporterFactory.class), //
+        assertThat(services, hasSize(5));
+        assertThat(services, containsInAnyOrder(instanceOf(MarkdownImporterFactory.class), //
+                instanceOf(OftbinImporterFactory.class), //
                 instanceOf(SpecobjectImporterFactory.class), //
                 instanceOf(TagImporterFactory.class), //
                 instanceOf(ZipFileImporterFactory.class)));
@@ -54,20 +61,51 @@ class TestInitializingServiceLoader
         }
     }
 
+    @SuppressWarnings("unchecked")
     @Test
     void testExporterFactoriesRegistered()
     {
         final ExporterContext context = new ExporterContext();
         final List<ExporterFactory> services = getRegisteredServices(ExporterFactory.class,
                 context);
-        assertThat(services, hasSize(1));
-        assertThat(services, contains(instanceOf(SpecobjectExporterFactory.class)));
+        assertThat(services, hasSize(2));
+        assertThat(services, containsInAnyOrder(instanceOf(SpecobjectExporterFactory.class), //
+                instanceOf(OftbinExporterFactory.class)));
         for (final ExporterFactory factory : services)
         {
             assertThat(factory.getContext(), sameInstance(context));
         }
     }
 
+    @SuppressWarnings("unchecked")
+    @Test
+    void testImporterCandidatesForFileExtension()
+    {
+        final InitializingServiceLoader<ImporterFactory, ImporterContext> serviceLoader = InitializingServiceLoader
+                .load(ImporterFactory.class, new ImporterContext(null));
+        assertThat(serviceLoader.getCandidates("MD"),
+                containsInAnyOrder(instanceOf(MarkdownImporterFactory.class), //
+                        instanceOf(TagImporterFactory.class)));
+    }
+
+    @Test
+    void testReporterCandidatesForFormat()
+    {
+        final InitializingServiceLoader<ReporterFactory, ReporterContext> serviceLoader = InitializingServiceLoader
+                .load(ReporterFactory.class, new ReporterContext(ReportSettings.createDefault()));
+        assertThat(serviceLoader.getCandidates("plain"),
+                contains(instanceOf(PlaintextReporterFactory.class)));
+    }
+
+    @Test
+    void testCandidatesAreSameInstancesAsAllServices()
+    {
+        final InitializingServiceLoader<ExporterFactory, ExporterContext> serviceLoader = InitializingServiceLoader
+                .load(ExporterFactory.class, new ExporterContext());
+        final ExporterFactory candidate = serviceLoader.getCandidates("oftbin").get(0);
+        assertThat(serviceLoader, hasItem(sameInstance(candidate)));
+    }
+
     private <T extends Initializable<C>, C> List<T> getRegisteredServices(final Class<T> type,
             final C context)
     {
@@ -0,0 +1,71 @@
+package org.itsallcode.openfasttrace.core.serviceloader;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+
+import java.nio.file.Paths;
+import java.util.ServiceLoader;
+import java.util.function.BiPredicate;
+
+import org.itsallcode.openfasttrace.api.ReportSettings;
+import org.itsallcode.openfasttrace.api.core.serviceloader.Initializable;
+import org.itsallcode.openfasttrace.api.exporter.ExporterContext;
+import org.itsallcode.openfasttrace.api.exporter.ExporterFactory;
+import org.itsallcode.openfasttrace.api.importer.ImporterContext;
+import org.itsallcode.openfasttrace.api.importer.ImporterFactory;
+import org.itsallcode.openfasttrace.api.importer.input.RealFileInput;
+import org.itsallcode.openfasttrace.api.report.ReporterContext;
+import org.itsallcode.openfasttrace.api.report.ReporterFactory;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test that the service index of each plugin matches its factories.
+ */
+class TestServiceIndex
+{
+    @Test
+    void testImporterFactoriesSupportIndexedExtensions()
+    {
+        assertIndexMatches(ImporterFactory.class, new ImporterContext(null),
+                (factory, extension) -> factory
+                        .supportsFile(RealFileInput.forPath(Paths.get("file." + extension))));
+    }
+
+    @Test
+    void testExporterFactoriesSupportIndexedFormats()
+    {
+        assertIndexMatches(ExporterFactory.class, new ExporterContext(),
+                ExporterFactory::supportsFormat);
+    }
+
+    @Test
+    void testReporterFactoriesSupportIndexedFormats()
+    {
+        assertIndexMatches(ReporterFactory.class,
+                new ReporterContext(ReportSettings.createDefault()),
+                ReporterFactory::supportsFormat);
+    }
+
+    private static <T extends Initializable<C>, C> void assertIndexMatches(
+            final Class<T> serviceType, final C context, final BiPredicate<T, String> supportsKey)
+    {
+        final ServiceIndex index = ServiceIndex.load(serviceType,
+                TestServiceIndex.class.getClassLoader());
+        for (final T factory : ServiceLoader.load(serviceType))
+        {
+            factory.init(context);
+            final String name = factory.getClass().getName();
+            assertThat(name + " is indexed", index.getKeys(name), not(empty()));
+            for (final String key : index.getKeys(name))
+            {
+                if (!ServiceIndex.ANY_KEY.equals(key))
+                {
+                    assertThat(name + " supports " + key, supportsKey.test(factory, key),
+                            is(true));
+                }
+            }
+        }
+    }
+}
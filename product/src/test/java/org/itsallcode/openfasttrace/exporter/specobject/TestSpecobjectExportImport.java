@@ -3,22 +3,17 @@ package org.itsallcode.openfasttrace.exporter.specobject;
 import static java.util.Arrays.asList;
 import static org.hamcrest.MatcherAssert.assertThat;
 
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
-import java.io.OutputStreamWriter;
-import java.nio.charset.StandardCharsets;
+import java.io.StringWriter;
 import java.nio.file.Paths;
 import java.util.List;
 
-import javax.xml.stream.*;
-
 import org.itsallcode.openfasttrace.api.core.*;
 import org.itsallcode.openfasttrace.api.core.Location;
 import org.itsallcode.openfasttrace.api.importer.SpecificationListBuilder;
 import org.itsallcode.openfasttrace.api.importer.input.InputFile;
+import org.itsallcode.openfasttrace.exporter.common.XmlWriter;
 import org.itsallcode.openfasttrace.importer.specobject.SpecobjectImporterFactory;
 import org.itsallcode.openfasttrace.testutil.importer.input.StreamInput;
-import org.itsallcode.openfasttrace.testutil.xml.IndentingXMLStreamWriter;
 import org.junit.jupiter.api.Test;
 
 import com.github.hamstercommunity.matcher.auto.AutoMatcher;
@@ -27,7 +22,6 @@ class TestSpecobjectExportImport
 {
     @Test
     void testExportImportSimpleSpecObjectWithMandatoryElements()
-            throws IOException, XMLStreamException
     {
         final SpecificationItem item = SpecificationItem.builder() //
                 .id(SpecificationItemId.createId("foo", "bar", 1)) //
@@ -38,7 +32,7 @@ class TestSpecobjectExportImport
     }
 
     @Test
-    void testExportImportSpecObjectWithOptionalElements() throws IOException, XMLStreamException
+    void testExportImportSpecObjectWithOptionalElements()
     {
         final SpecificationItem item = SpecificationItem.builder() //
                 .id(SpecificationItemId.createId("req", "me", 2)) //
@@ -57,7 +51,7 @@ class TestSpecobjectExportImport
     }
 
     @Test
-    void testExportImportTwoSpecObjects() throws IOException, XMLStreamException
+    void testExportImportTwoSpecObjects()
     {
         final SpecificationItem itemA = SpecificationItem.builder() //
                 .id(SpecificationItemId.createId("foo", "bar", 1)) //
@@ -98,19 +92,9 @@ class TestSpecobjectExportImport
 
     private String exportToString(final SpecificationItem... items)
     {
-        try (final ByteArrayOutputStream stream = new ByteArrayOutputStream())
-        {
-            final XMLOutputFactory outputFactory = XMLOutputFactory.newInstance();
-            final XMLStreamWriter xmlWriter = outputFactory.createXMLStreamWriter(stream,
-                    StandardCharsets.UTF_8.name());
-            new SpecobjectExporter(asList(items).stream(),
-                    new IndentingXMLStreamWriter(xmlWriter, " ", Newline.UNIX.toString()),
-                    new OutputStreamWriter(stream), Newline.UNIX).runExport();
-            return new String(stream.toByteArray(), StandardCharsets.UTF_8);
-        }
-        catch (IOException | XMLStreamException | FactoryConfigurationError e)
-        {
-            throw new AssertionError("Error exporting items", e);
-        }
+        final StringWriter writer = new StringWriter();
+        new SpecobjectExporter(asList(items).stream(), new XmlWriter(writer, " "), Newline.UNIX)
+                .runExport();
+        return writer.toString();
     }
 }
@@ -1,12 +1,22 @@
 package org.itsallcode.openfasttrace.mode;
 
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+
 import java.io.IOException;
 import java.io.UnsupportedEncodingException;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import org.itsallcode.openfasttrace.api.core.SpecificationItem;
 import org.itsallcode.openfasttrace.api.importer.ImportSettings;
+import org.itsallcode.openfasttrace.core.ExportSettings;
 import org.itsallcode.openfasttrace.core.Oft;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -33,9 +43,45 @@ class ITestOftAsConverter extends AbstractOftTest
         assertStandardFileExportResult();
     }
 
+    @Test
+    void testConvertToBinarySnapshotAndImportAgain(@TempDir final Path tempDir)
+    {
+        final ImportSettings settings = ImportSettings.builder().addInputs(this.docDir).build();
+        final List<SpecificationItem> items = this.oft.importItems(settings);
+        final Path snapshot = tempDir.resolve("items.oftbin");
+        this.oft.exportToPath(items, snapshot,
+                ExportSettings.builder().outputFormat("oftbin").build());
+        final List<SpecificationItem> reimportedItems = this.oft
+                .importItems(ImportSettings.builder().addInputs(snapshot).build());
+        assertThat(reimportedItems, equalTo(items));
+    }
+
+    @Test
+    void testImportWithCacheReturnsSameItems(@TempDir final Path tempDir)
+    {
+        final List<SpecificationItem> expectedItems = this.oft
+                .importItems(ImportSettings.builder().addInputs(this.docDir).build());
+        final ImportSettings cachedSettings = ImportSettings.builder() //
+                .addInputs(this.docDir) //
+                .cacheDirectory(tempDir.resolve(".oft-cache")) //
+                .build();
+        assertThat(this.oft.importItems(cachedSettings), equalTo(expectedItems));
+        assertThat(this.oft.importItems(cachedSettings), equalTo(expectedItems));
+    }
+
     private void assertStandardFileExportResult() throws IOException
     {
         assertOutputFileExists(true);
-        assertOutputFileContentStartsWith(SPECOBJECT_PREAMBLE + "\n  <specobjects doctype=\"dsn\">");
+        // The doctype order depends on the order of the directory walk.
+        assertOutputFileContentStartsWith(SPECOBJECT_PREAMBLE + "\n  <specobjects doctype=\"");
+        final String content = Files.readString(this.outputFile);
+        final Matcher doctypes = Pattern.compile("<specobjects doctype=\"([^\"]*)\">")
+                .matcher(content);
+        final List<String> blocks = new ArrayList<>();
+        while (doctypes.find())
+        {
+            blocks.add(doctypes.group(1));
+        }
+        assertThat(blocks, hasSize(new HashSet<>(blocks).size()));
     }
 }
\ No newline at end of file
@@ -5,7 +5,6 @@ module org.itsallcode.openfasttrace.report.aspec
 {
     exports org.itsallcode.openfasttrace.report.aspec;
 
-    requires java.xml;
     requires java.logging;
     requires org.itsallcode.openfasttrace.api;
     requires org.itsallcode.openfasttrace.exporter.common;
@@ -2,24 +2,20 @@ package org.itsallcode.openfasttrace.report.aspec;
 
 import org.itsallcode.openfasttrace.api.core.*;
 import org.itsallcode.openfasttrace.api.exporter.ExporterException;
+import org.itsallcode.openfasttrace.api.progress.ProgressCounter;
+import org.itsallcode.openfasttrace.api.progress.ProgressListener.Counter;
+import org.itsallcode.openfasttrace.api.progress.ProgressMonitor;
 import org.itsallcode.openfasttrace.api.report.Reportable;
 import org.itsallcode.openfasttrace.api.report.ReporterContext;
-import org.itsallcode.openfasttrace.exporter.common.IndentingXMLStreamWriter;
-
-import javax.xml.stream.XMLOutputFactory;
-import javax.xml.stream.XMLStreamException;
-import javax.xml.stream.XMLStreamWriter;
-import java.io.OutputStream;
-import java.io.OutputStreamWriter;
-import java.io.Writer;
+import org.itsallcode.openfasttrace.exporter.common.XmlWriter;
+
+import java.io.*;
 import java.nio.charset.StandardCharsets;
 import java.util.*;
 import java.util.logging.Logger;
 import java.util.regex.Matcher;
 import java.util.stream.Collectors;
-
-import static java.util.stream.Collectors.groupingBy;
-import static java.util.stream.Collectors.toList;
+import java.util.zip.GZIPOutputStream;
 
 class ASpecReport implements Reportable
 {
@@ -29,14 +25,19 @@ class ASpecReport implements Reportable
     private static final String VALUE_COVERED = "COVERED";
     private static final String ATTRIBUTE_DOCTYPE = "doctype";
 
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final String INDENTATION = "  ";
+
     private static final Logger LOG = Logger.getLogger(ASpecReport.class.getName());
 
     private final Trace trace;
-    private final XMLOutputFactory xmlOutputFactory;
     private final Newline newline;
+    private final boolean indent;
+    private final boolean compress;
+    private final ProgressMonitor progressMonitor;
 
     /**
-     * Create a new instance of an {@link ASpecReport}
+     * Create a new instance of an indenting, uncompressed {@link ASpecReport}
      *
      * @param trace
      *            trace to be reported on
@@ -44,87 +45,119 @@ class ASpecReport implements Reportable
      *            configuration options
      */
     ASpecReport(final Trace trace, final ReporterContext context)
+    {
+        this(trace, context, true, false);
+    }
+
+    /**
+     * Create a new instance of an {@link ASpecReport}
+     *
+     * @param trace
+     *            trace to be reported on
+     * @param context
+     *            configuration options
+     * @param indent
+     *            <code>true</code> if the XML output should be indented,
+     *            <code>false</code> to write it without any whitespace between
+     *            elements
+     * @param compress
+     *            <code>true</code> if the output should be GZIP compressed
+     */
+    ASpecReport(final Trace trace, final ReporterContext context, final boolean indent,
+            final boolean compress)
     {
         this.trace = trace;
         this.newline = context.getSettings().getNewline();
-        this.xmlOutputFactory = XMLOutputFactory.newFactory();
+        this.indent = indent;
+        this.compress = compress;
+        this.progressMonitor = context.getProgressMonitor();
     }
 
     @Override
     public void renderToStream(final OutputStream outputStream)
     {
-        final XMLStreamWriter xmlWriter = createXmlWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
-        final IndentingXMLStreamWriter indentingXmlWriter = new IndentingXMLStreamWriter(xmlWriter);
-
-        LOG.fine("aspec starting");
-        try (indentingXmlWriter)
+        LOG.fine(() -> "aspec starting (indent: " + this.indent + ", compress: " + this.compress + ")");
+        try
         {
-            writeOutput(indentingXmlWriter);
+            if (this.compress)
+            {
+                final GZIPOutputStream compressedStream = new GZIPOutputStream(outputStream, BUFFER_SIZE);
+                renderUncompressed(compressedStream);
+                compressedStream.finish();
+            }
+            else
+            {
+                renderUncompressed(outputStream);
+            }
         }
-        catch (final XMLStreamException exception)
+        catch (final IOException exception)
         {
-            throw new ExporterException("Generating document", exception);
+            throw new ExporterException("Writing document", exception);
         }
     }
 
-    private XMLStreamWriter createXmlWriter(final Writer writer)
+    // The XML writer flushes but does not close the caller's stream.
+    private void renderUncompressed(final OutputStream outputStream) throws IOException
     {
-        try
-        {
-            return this.xmlOutputFactory.createXMLStreamWriter(writer);
-        }
-        catch (final XMLStreamException exception)
-        {
-            throw new ExporterException("Error creating XML stream writer for writer " + writer, exception);
-        }
+        final Writer writer = new OutputStreamWriter(outputStream, StandardCharsets.UTF_8);
+        writeOutput(new XmlWriter(writer, this.indent ? INDENTATION : null));
     }
 
-    private void writeOutput(final XMLStreamWriter writer)
-            throws XMLStreamException
+    private void writeOutput(final XmlWriter writer) throws IOException
     {
-        writer.writeStartDocument("UTF-8", "1.0");
+        writer.writeStartDocument();
         writeSpecDocument(writer);
         writer.writeEndDocument();
     }
 
-    private void writeSpecDocument(XMLStreamWriter writer)
-            throws XMLStreamException
+    private void writeSpecDocument(XmlWriter writer)
+            throws IOException
     {
         writer.writeStartElement("specdocument");
 
-        for (final Map.Entry<String, List<LinkedSpecificationItem>> entry : groupItemsByAttributeType(
-                this.trace.getItems()).entrySet())
+        final List<LinkedSpecificationItem> items = this.trace.getItems();
+        final ProgressCounter renderedItems = this.progressMonitor
+                .startCounter(Counter.ITEMS_RENDERED, items.size());
+        for (final String doctype : getDoctypesInOrderOfAppearance(items))
         {
-            final String doctype = entry.getKey();
-            final List<LinkedSpecificationItem> specItems = entry.getValue();
-            writeItems(writer, doctype, specItems);
+            writeItems(writer, doctype, items, renderedItems);
         }
 
         writer.writeEndElement();
+        renderedItems.finish();
     }
 
-    private Map<String, List<LinkedSpecificationItem>> groupItemsByAttributeType(
-            final List<LinkedSpecificationItem> items)
+    // There are only a handful of doctypes, so scanning the item list once per
+    // doctype is cheaper than copying all items into per-doctype lists.
+    private Set<String> getDoctypesInOrderOfAppearance(final List<LinkedSpecificationItem> items)
     {
-        return items.stream().collect(
-                groupingBy(LinkedSpecificationItem::getArtifactType, LinkedHashMap::new, toList()));
+        final Set<String> doctypes = new LinkedHashSet<>();
+        for (final LinkedSpecificationItem item : items)
+        {
+            doctypes.add(item.getArtifactType());
+        }
+        return doctypes;
     }
 
-    private void writeItems(final XMLStreamWriter writer, final String doctype,
-            final List<LinkedSpecificationItem> specItems)
-            throws XMLStreamException
+    private void writeItems(final XmlWriter writer, final String doctype,
+            final List<LinkedSpecificationItem> items, final ProgressCounter renderedItems)
+            throws IOException
     {
-        LOG.finest(() -> "Writing " + specItems.size() + " items with doctype " + doctype);
+        LOG.finest(() -> "Writing items with doctype " + doctype);
         writer.writeStartElement("specobjects");
         writer.writeAttribute(ATTRIBUTE_DOCTYPE, doctype);
-        for (final LinkedSpecificationItem item : specItems)
+        for (final LinkedSpecificationItem item : items)
         {
-            writeItem(writer, item);
+            if (doctype.equals(item.getArtifactType()))
+            {
+                writeItem(writer, item);
+                renderedItems.increment();
+            }
         }
         writer.writeEndElement();
     }
 
-    private void writeItem(final XMLStreamWriter writer, final LinkedSpecificationItem item) throws XMLStreamException
+    private void writeItem(final XmlWriter writer, final LinkedSpecificationItem item) throws IOException
     {
 
         writer.writeStartElement("specobject");
@@ -138,17 +171,18 @@ class ASpecReport implements Reportable
         writer.writeEndElement();
     }
 
-    private void writeItemValues(XMLStreamWriter writer, LinkedSpecificationItem item) throws XMLStreamException
+    private void writeItemValues(XmlWriter writer, LinkedSpecificationItem item) throws IOException
     {
-        final String description = processMultilineText(item.getDescription());
-        final String rationale = processMultilineText(item.getItem().getRationale());
-        final String comment = processMultilineText(item.getItem().getComment());
+        final ItemPayloadStore.Payload payload = item.getItem().getPayload();
+        final String description = processMultilineText(payload.getDescription());
+        final String rationale = processMultilineText(payload.getRationale());
+        final String comment = processMultilineText(payload.getComment());
 
         writeElement(writer, "id", item.getName());
         writeElement(writer, ELEMENT_VERSION, item.getRevision());
-        writeElementIfPresent(writer, "shortdesc", item.getTitle());
+        writeElementIfPresent(writer, "shortdesc", payload.getTitle());
         writeElement(writer, "status", item.getStatus().toString());
-        writeLocation(writer, item.getLocation());
+        writeLocation(writer, payload.getLocation());
         writeElementIfPresent(writer, "description", description);
         writeElementIfPresent(writer, "rationale", rationale);
         writeElementIfPresent(writer, "comment", comment);
@@ -166,7 +200,7 @@ class ASpecReport implements Reportable
         return matcher.replaceAll(this.newline.toString());
     }
 
-    private void writeTags(final XMLStreamWriter writer, final List<String> tags) throws XMLStreamException
+    private void writeTags(final XmlWriter writer, final List<String> tags) throws IOException
     {
         if (tags.isEmpty())
         {
@@ -180,7 +214,7 @@ class ASpecReport implements Reportable
         writer.writeEndElement();
     }
 
-    private void writeItemCoverage(XMLStreamWriter writer, LinkedSpecificationItem item) throws XMLStreamException
+    private void writeItemCoverage(XmlWriter writer, LinkedSpecificationItem item) throws IOException
     {
         writer.writeStartElement("coverage");
         writeNeedsArtifactTypes(writer, item.getNeedsArtifactTypes());
@@ -195,8 +229,8 @@ class ASpecReport implements Reportable
         writer.writeEndElement();
     }
 
-    private void writeCoveringSpecObjects(XMLStreamWriter writer, LinkedSpecificationItem item)
-            throws XMLStreamException
+    private void writeCoveringSpecObjects(XmlWriter writer, LinkedSpecificationItem item)
+            throws IOException
     {
         writer.writeStartElement("coveringSpecObjects");
         for (final Map.Entry<LinkStatus, List<LinkedSpecificationItem>> entry : item.getLinks().entrySet().stream()
@@ -211,8 +245,8 @@ class ASpecReport implements Reportable
         writer.writeEndElement();
     }
 
-    private void writeCoveringSpecObject(final XMLStreamWriter writer, final LinkStatus linkStatus,
-            final LinkedSpecificationItem item) throws XMLStreamException
+    private void writeCoveringSpecObject(final XmlWriter writer, final LinkStatus linkStatus,
+            final LinkedSpecificationItem item) throws IOException
     {
         writer.writeStartElement("coveringSpecObject");
 
@@ -231,9 +265,9 @@ class ASpecReport implements Reportable
         writer.writeEndElement();
     }
 
-    private void writeCoveringStatus(XMLStreamWriter writer, LinkStatus linkStatus,
+    private void writeCoveringStatus(XmlWriter writer, LinkStatus linkStatus,
             DeepCoverageStatus deepCoverageStatus)
-            throws XMLStreamException
+            throws IOException
     {
         if (linkStatus == LinkStatus.COVERED_SHALLOW && deepCoverageStatus == DeepCoverageStatus.COVERED)
         {
@@ -253,8 +287,8 @@ class ASpecReport implements Reportable
         }
     }
 
-    private void writeDependsOnIds(final XMLStreamWriter writer, final List<SpecificationItemId> dependOnIds)
-            throws XMLStreamException
+    private void writeDependsOnIds(final XmlWriter writer, final List<SpecificationItemId> dependOnIds)
+            throws IOException
     {
         if (dependOnIds.isEmpty())
         {
@@ -272,8 +306,8 @@ class ASpecReport implements Reportable
         writer.writeEndElement();
     }
 
-    private void writeCoveredIds(final XMLStreamWriter writer, final List<SpecificationItemId> coveredIds)
-            throws XMLStreamException
+    private void writeCoveredIds(final XmlWriter writer, final List<SpecificationItemId> coveredIds)
+            throws IOException
     {
         if (coveredIds.isEmpty())
         {
@@ -291,8 +325,8 @@ class ASpecReport implements Reportable
         writer.writeEndElement();
     }
 
-    private void writeNeedsArtifactTypes(final XMLStreamWriter writer, final List<String> needsArtifactTypes)
-            throws XMLStreamException
+    private void writeNeedsArtifactTypes(final XmlWriter writer, final List<String> needsArtifactTypes)
+            throws IOException
     {
         if (needsArtifactTypes.isEmpty())
         {
@@ -306,7 +340,7 @@ class ASpecReport implements Reportable
         writer.writeEndElement();
     }
 
-    private void writeCoveredTypes(final XMLStreamWriter writer, final Set<String> types) throws XMLStreamException
+    private void writeCoveredTypes(final XmlWriter writer, final Set<String> types) throws IOException
     {
         if (types.isEmpty())
         {
@@ -320,7 +354,7 @@ class ASpecReport implements Reportable
         writer.writeEndElement();
     }
 
-    private void writeUncoveredTypes(final XMLStreamWriter writer, final List<String> types) throws XMLStreamException
+    private void writeUncoveredTypes(final XmlWriter writer, final List<String> types) throws IOException
     {
         if (types.isEmpty())
         {
@@ -334,14 +368,14 @@ class ASpecReport implements Reportable
         writer.writeEndElement();
     }
 
-    private void writeElement(final XMLStreamWriter writer, final String elementName, final int content)
-            throws XMLStreamException
+    private void writeElement(final XmlWriter writer, final String elementName, final int content)
+            throws IOException
     {
-        writeElement(writer, elementName, String.valueOf(content));
+        writer.writeElement(elementName, content);
     }
 
-    private void writeElementIfPresent(final XMLStreamWriter writer, final String elementName, final String content)
-            throws XMLStreamException
+    private void writeElementIfPresent(final XmlWriter writer, final String elementName, final String content)
+            throws IOException
     {
         if (content != null && !content.isEmpty())
         {
@@ -349,15 +383,13 @@ class ASpecReport implements Reportable
         }
     }
 
-    private void writeElement(final XMLStreamWriter writer, final String elementName, final String content)
-            throws XMLStreamException
+    private void writeElement(final XmlWriter writer, final String elementName, final String content)
+            throws IOException
     {
-        writer.writeStartElement(elementName);
-        writer.writeCharacters(content);
-        writer.writeEndElement();
+        writer.writeElement(elementName, content);
     }
 
-    private void writeLocation(final XMLStreamWriter writer, final Location location) throws XMLStreamException
+    private void writeLocation(final XmlWriter writer, final Location location) throws IOException
     {
         if (location != null && location.getPath() != null && !location.getPath().isEmpty())
         {
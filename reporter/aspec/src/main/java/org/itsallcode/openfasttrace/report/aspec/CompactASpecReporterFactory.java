@@ -0,0 +1,26 @@
+package org.itsallcode.openfasttrace.report.aspec;
+
+import org.itsallcode.openfasttrace.api.core.Trace;
+import org.itsallcode.openfasttrace.api.report.Reportable;
+import org.itsallcode.openfasttrace.api.report.ReporterFactory;
+
+/**
+ * A {@link ReporterFactory} for augmented SpecObject reports without
+ * indentation. This supports the <code>aspec-compact</code> format.
+ */
+public class CompactASpecReporterFactory extends ReporterFactory
+{
+    private static final String COMPACT_ASPEC_REPORT_FORMAT = "aspec-compact";
+
+    @Override
+    public boolean supportsFormat(String format)
+    {
+        return COMPACT_ASPEC_REPORT_FORMAT.equalsIgnoreCase(format);
+    }
+
+    @Override
+    public Reportable createImporter(Trace trace)
+    {
+        return new ASpecReport(trace, getContext(), false, false);
+    }
+}
@@ -0,0 +1,26 @@
+package org.itsallcode.openfasttrace.report.aspec;
+
+import org.itsallcode.openfasttrace.api.core.Trace;
+import org.itsallcode.openfasttrace.api.report.Reportable;
+import org.itsallcode.openfasttrace.api.report.ReporterFactory;
+
+/**
+ * A {@link ReporterFactory} for GZIP compressed augmented SpecObject reports
+ * without indentation. This supports the <code>aspec-gz</code> format.
+ */
+public class GzipASpecReporterFactory extends ReporterFactory
+{
+    private static final String GZIP_ASPEC_REPORT_FORMAT = "aspec-gz";
+
+    @Override
+    public boolean supportsFormat(String format)
+    {
+        return GZIP_ASPEC_REPORT_FORMAT.equalsIgnoreCase(format);
+    }
+
+    @Override
+    public Reportable createImporter(Trace trace)
+    {
+        return new ASpecReport(trace, getContext(), false, true);
+    }
+}
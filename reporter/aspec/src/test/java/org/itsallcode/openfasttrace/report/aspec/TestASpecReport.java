@@ -3,14 +3,21 @@ package org.itsallcode.openfasttrace.report.aspec;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.endsWith;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.startsWith;
 import static org.itsallcode.openfasttrace.testutil.core.SampleArtifactTypes.*;
 import static org.junit.jupiter.api.Assertions.assertAll;
 
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
 import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
 
 import org.hamcrest.Factory;
 import org.hamcrest.Matcher;
@@ -433,6 +440,52 @@ class TestASpecReport
                 () -> assertThat(reportString, endsWith("</specdocument>")));
     }
 
+    @Test
+    void testCompactReportContainsNoIndentation()
+    {
+        createGroupedItems();
+        final String compactReport = renderToString(false, false);
+        assertAll(() -> assertThat(compactReport, not(containsString("\n"))),
+                () -> assertThat(compactReport, equalTo(removeIndentation(renderToString()))));
+    }
+
+    @Test
+    void testItemsAreGroupedByDoctypeInOrderOfAppearance()
+    {
+        createGroupedItems();
+        final String compactReport = renderToString(false, false);
+        assertThat(compactReport, containsRegexp(".*<specobjects doctype=\"dsn\">"
+                + "<specobject><id>dsn-1</id>.*<specobject><id>dsn-2</id>.*</specobjects>"
+                + "<specobjects doctype=\"impl\"><specobject><id>impl-1</id>.*</specobjects>"
+                + "</specdocument>"));
+    }
+
+    @Test
+    void testCompressedReport() throws IOException
+    {
+        createGroupedItems();
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        new ASpecReport(getTrace(), reportContext, false, true).renderToStream(outputStream);
+        try (InputStream inputStream = new GZIPInputStream(
+                new ByteArrayInputStream(outputStream.toByteArray())))
+        {
+            final String uncompressedReport = new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
+            assertThat(uncompressedReport, equalTo(renderToString(false, false)));
+        }
+    }
+
+    private void createGroupedItems()
+    {
+        createItem(createItemBuilder().id(SpecificationItemId.createId("dsn", "dsn-1", 1)));
+        createItem(createItemBuilder().id(SpecificationItemId.createId("impl", "impl-1", 1)));
+        createItem(createItemBuilder().id(SpecificationItemId.createId("dsn", "dsn-2", 1)));
+    }
+
+    private static String removeIndentation(final String report)
+    {
+        return report.replaceAll("\n *", "");
+    }
+
     private SpecificationItem.Builder createItemBuilder()
     {
         return SpecificationItem.builder();
@@ -453,6 +506,13 @@ class TestASpecReport
         return outputStream.toString();
     }
 
+    private String renderToString(final boolean indent, final boolean compress)
+    {
+        final OutputStream outputStream = new ByteArrayOutputStream();
+        new ASpecReport(getTrace(), reportContext, indent, compress).renderToStream(outputStream);
+        return outputStream.toString();
+    }
+
     private Trace getTrace()
     {
         final Trace.Builder builder = Trace.builder();
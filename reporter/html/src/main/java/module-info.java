@@ -8,4 +8,5 @@ module org.itsallcode.openfasttrace.report.html
     exports org.itsallcode.openfasttrace.report.html.view.html;
 
     requires transitive org.itsallcode.openfasttrace.api;
+    requires java.logging;
 }
@@ -2,14 +2,17 @@ package org.itsallcode.openfasttrace.report.html;
 
 import java.io.OutputStream;
 import java.net.URL;
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
 
 import org.itsallcode.openfasttrace.api.core.LinkedSpecificationItem;
 import org.itsallcode.openfasttrace.api.core.Trace;
+import org.itsallcode.openfasttrace.api.progress.ProgressCounter;
+import org.itsallcode.openfasttrace.api.progress.ProgressListener.Counter;
+import org.itsallcode.openfasttrace.api.progress.ProgressMonitor;
 import org.itsallcode.openfasttrace.api.report.Reportable;
 import org.itsallcode.openfasttrace.report.html.view.ViewFactory;
-import org.itsallcode.openfasttrace.report.html.view.Viewable;
 import org.itsallcode.openfasttrace.report.html.view.ViewableContainer;
 import org.itsallcode.openfasttrace.report.html.view.html.HtmlViewFactory;
 
@@ -19,6 +22,7 @@ import org.itsallcode.openfasttrace.report.html.view.html.HtmlViewFactory;
 public class HtmlReport implements Reportable
 {
     private final Trace trace;
+    private final ProgressMonitor progressMonitor;
     private static final String REPORT_CSS_FILE = "/css/report.css";
 
     /**
@@ -28,8 +32,22 @@ public class HtmlReport implements Reportable
      *            trace to be reported on
      */
     public HtmlReport(final Trace trace)
+    {
+        this(trace, ProgressMonitor.none());
+    }
+
+    /**
+     * Create a new instance of an {@link HtmlReport}
+     * 
+     * @param trace
+     *            trace to be reported on
+     * @param progressMonitor
+     *            monitor that receives the number of rendered items
+     */
+    public HtmlReport(final Trace trace, final ProgressMonitor progressMonitor)
     {
         this.trace = trace;
+        this.progressMonitor = progressMonitor;
     }
 
     /**
@@ -45,7 +63,10 @@ public class HtmlReport implements Reportable
     @Override
     public void renderToStream(final OutputStream outputStream)
     {
-        final ViewFactory factory = HtmlViewFactory.create(outputStream, getCssUrl());
+        final ProgressCounter renderedItems = this.progressMonitor
+                .startCounter(Counter.ITEMS_RENDERED, this.trace.count());
+        final ViewFactory factory = HtmlViewFactory.create(outputStream, getCssUrl(),
+                renderedItems);
         final ViewableContainer view = factory.createView("",
                 "Specification items by artifact type");
         final ViewableContainer details = createDetails(factory);
@@ -53,6 +74,7 @@ public class HtmlReport implements Reportable
         view.add(details);
         view.add(summary);
         view.render();
+        renderedItems.finish();
     }
 
     private ViewableContainer createDetails(final ViewFactory factory)
@@ -65,28 +87,63 @@ public class HtmlReport implements Reportable
 
     private List<LinkedSpecificationItem> getSortedItems()
     {
-        final List<LinkedSpecificationItem> items = this.trace.getItems();
-        items.sort(Comparator.comparing(LinkedSpecificationItem::getArtifactType)
-                .thenComparing(LinkedSpecificationItem::getTitleWithFallback));
-        return items;
+        return sortByArtifactTypeAndTitle(this.trace.getItems());
     }
 
-    private void addSectionedItems(final ViewFactory factory, final ViewableContainer view,
+    // Returns a sorted copy, since other reports may be rendered from the same
+    // trace concurrently. Items in an ItemPayloadStore read their title from
+    // the store, so each title is read only once instead of on each
+    // comparison.
+    static List<LinkedSpecificationItem> sortByArtifactTypeAndTitle(
             final List<LinkedSpecificationItem> items)
     {
-        String artifactType = "\0";
-        ViewableContainer section = factory.createSection(artifactType, artifactType);
+        final List<SortKey> keys = new ArrayList<>(items.size());
         for (final LinkedSpecificationItem item : items)
         {
-            final String currentArtifactType = item.getArtifactType();
-            if (!artifactType.equals(currentArtifactType))
+            keys.add(new SortKey(item));
+        }
+        keys.sort(Comparator.comparing((final SortKey key) -> key.artifactType)
+                .thenComparing(key -> key.title));
+        final List<LinkedSpecificationItem> sortedItems = new ArrayList<>(keys.size());
+        for (final SortKey key : keys)
+        {
+            sortedItems.add(key.item);
+        }
+        return sortedItems;
+    }
+
+    private static final class SortKey
+    {
+        private final LinkedSpecificationItem item;
+        private final String artifactType;
+        private final String title;
+
+        private SortKey(final LinkedSpecificationItem item)
+        {
+            this.item = item;
+            this.artifactType = item.getArtifactType();
+            this.title = item.getTitleWithFallback();
+        }
+    }
+
+    // The view tree only holds one section per artifact type. The views for
+    // the items in a section are created on the fly while rendering.
+    private void addSectionedItems(final ViewFactory factory, final ViewableContainer view,
+            final List<LinkedSpecificationItem> items)
+    {
+        int start = 0;
+        while (start < items.size())
+        {
+            final String artifactType = items.get(start).getArtifactType();
+            int end = start + 1;
+            while (end < items.size() && artifactType.equals(items.get(end).getArtifactType()))
             {
-                artifactType = currentArtifactType;
-                section = factory.createSection(artifactType, artifactType);
-                view.add(section);
+                ++end;
             }
-            final Viewable itemView = factory.createSpecificationItem(item);
-            section.add(itemView);
+            final ViewableContainer section = factory.createSection(artifactType, artifactType);
+            section.add(factory.createSpecificationItems(items.subList(start, end)));
+            view.add(section);
+            start = end;
         }
     }
 
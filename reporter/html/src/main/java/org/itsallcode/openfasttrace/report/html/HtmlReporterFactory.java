@@ -21,6 +21,6 @@ public class HtmlReporterFactory extends ReporterFactory
     @Override
     public Reportable createImporter(Trace trace)
     {
-        return new HtmlReport(trace);
+        return new HtmlReport(trace, getContext().getProgressMonitor());
     }
 }
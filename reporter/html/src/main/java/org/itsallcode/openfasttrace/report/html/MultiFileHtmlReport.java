@@ -0,0 +1,283 @@
+package org.itsallcode.openfasttrace.report.html;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.logging.Logger;
+
+import org.itsallcode.openfasttrace.api.concurrent.ConcurrentTasks;
+import org.itsallcode.openfasttrace.api.core.*;
+import org.itsallcode.openfasttrace.api.report.MultiFileReportable;
+import org.itsallcode.openfasttrace.api.report.ReportException;
+import org.itsallcode.openfasttrace.report.html.view.*;
+import org.itsallcode.openfasttrace.report.html.view.html.HtmlViewFactory;
+
+/**
+ * An HTML report that is split into an index page and one or more detail pages
+ * per artifact type.
+ * <p>
+ * Very large traces result in single-page HTML reports that browsers cannot
+ * handle anymore. This report keeps each page small by limiting the number of
+ * specification items per page. Pages are written in parallel.
+ * </p>
+ */
+public class MultiFileHtmlReport implements MultiFileReportable
+{
+    private static final Logger LOG = Logger.getLogger(MultiFileHtmlReport.class.getName());
+    /** Default maximum number of specification items on a single detail page. */
+    public static final int DEFAULT_ITEMS_PER_PAGE = 1000;
+    static final String INDEX_FILE_NAME = "index.html";
+    private static final String REPORT_TITLE = "Specification items by artifact type";
+    private final Trace trace;
+    private final int itemsPerPage;
+
+    /**
+     * Create a new instance of an {@link MultiFileHtmlReport}
+     *
+     * @param trace
+     *            trace to be reported on
+     */
+    public MultiFileHtmlReport(final Trace trace)
+    {
+        this(trace, DEFAULT_ITEMS_PER_PAGE);
+    }
+
+    /**
+     * Create a new instance of an {@link MultiFileHtmlReport}
+     *
+     * @param trace
+     *            trace to be reported on
+     * @param itemsPerPage
+     *            maximum number of specification items on a single detail page
+     */
+    public MultiFileHtmlReport(final Trace trace, final int itemsPerPage)
+    {
+        if (itemsPerPage <= 0)
+        {
+            throw new IllegalArgumentException("Illegal value for items per page: " + itemsPerPage);
+        }
+        this.trace = trace;
+        this.itemsPerPage = itemsPerPage;
+    }
+
+    /**
+     * Render the report as a single page, since a stream can only hold one
+     * file.
+     */
+    @Override
+    public void renderToStream(final OutputStream outputStream)
+    {
+        new HtmlReport(this.trace).renderToStream(outputStream);
+    }
+
+    @Override
+    public void renderToDirectory(final Path outputDirectory)
+    {
+        createDirectory(outputDirectory);
+        final List<Page> pages = createPages();
+        final Map<SpecificationItemId, String> pageIndex = createPageIndex(pages);
+        final List<Callable<Void>> tasks = new ArrayList<>(pages.size() + 1);
+        tasks.add(() -> writeIndex(outputDirectory, pages));
+        for (int i = 0; i < pages.size(); ++i)
+        {
+            final Page page = pages.get(i);
+            final Page previous = (i > 0) ? pages.get(i - 1) : null;
+            final Page next = (i < pages.size() - 1) ? pages.get(i + 1) : null;
+            tasks.add(() -> writePage(outputDirectory, page, previous, next, pageIndex));
+        }
+        ConcurrentTasks.runAll(tasks, "writing HTML report pages", ReportException::new);
+        LOG.fine(() -> "Wrote HTML report with " + pages.size() + " detail pages to '"
+                + outputDirectory + "'");
+    }
+
+    private static void createDirectory(final Path outputDirectory)
+    {
+        try
+        {
+            Files.createDirectories(outputDirectory);
+        }
+        catch (final IOException exception)
+        {
+            throw new ReportException(
+                    "Unable to create report directory '" + outputDirectory + "'", exception);
+        }
+    }
+
+    private List<Page> createPages()
+    {
+        final List<LinkedSpecificationItem> items = HtmlReport
+                .sortByArtifactTypeAndTitle(this.trace.getItems());
+        final List<Page> pages = new ArrayList<>();
+        final Set<String> usedBaseNames = new HashSet<>();
+        int start = 0;
+        while (start < items.size())
+        {
+            final String artifactType = items.get(start).getArtifactType();
+            final int end = findEndOfArtifactType(items, start, artifactType);
+            addPagesForArtifactType(pages, items.subList(start, end), artifactType,
+                    createBaseName(artifactType, usedBaseNames));
+            start = end;
+        }
+        return pages;
+    }
+
+    private static int findEndOfArtifactType(final List<LinkedSpecificationItem> items,
+            final int start, final String artifactType)
+    {
+        int end = start;
+        while (end < items.size() && artifactType.equals(items.get(end).getArtifactType()))
+        {
+            ++end;
+        }
+        return end;
+    }
+
+    private void addPagesForArtifactType(final List<Page> pages,
+            final List<LinkedSpecificationItem> items, final String artifactType,
+            final String baseName)
+    {
+        final int pageCount = (items.size() + this.itemsPerPage - 1) / this.itemsPerPage;
+        for (int pageNumber = 1; pageNumber <= pageCount; ++pageNumber)
+        {
+            final int from = (pageNumber - 1) * this.itemsPerPage;
+            final int to = Math.min(from + this.itemsPerPage, items.size());
+            final String title = (pageCount == 1) ? artifactType
+                    : (artifactType + " " + pageNumber);
+            pages.add(new Page(baseName + "-" + pageNumber + ".html", artifactType, title,
+                    items.subList(from, to)));
+        }
+    }
+
+    // Replacing special characters can map different artifact types to the
+    // same name, e.g. "a.b" and "a_b". Names are compared case-insensitively
+    // because some file systems are, so that no page overwrites another.
+    private static String createBaseName(final String artifactType,
+            final Set<String> usedBaseNames)
+    {
+        final String sanitized = artifactType.replaceAll("[^\\w-]", "_");
+        String baseName = sanitized;
+        int suffix = 2;
+        while (!usedBaseNames.add(baseName.toLowerCase(Locale.ROOT)))
+        {
+            baseName = sanitized + "_" + suffix;
+            ++suffix;
+        }
+        return baseName;
+    }
+
+    private static Map<SpecificationItemId, String> createPageIndex(final List<Page> pages)
+    {
+        final Map<SpecificationItemId, String> pageIndex = new HashMap<>();
+        for (final Page page : pages)
+        {
+            for (final LinkedSpecificationItem item : page.items)
+            {
+                pageIndex.putIfAbsent(item.getId(), page.link.getFileName());
+            }
+        }
+        return pageIndex;
+    }
+
+    private Void writeIndex(final Path outputDirectory, final List<Page> pages)
+    {
+        try (OutputStream outputStream = openPage(outputDirectory, INDEX_FILE_NAME))
+        {
+            final ViewFactory factory = HtmlViewFactory.create(outputStream,
+                    HtmlReport.getCssUrl());
+            final ViewableContainer view = factory.createView("", REPORT_TITLE);
+            final ViewableContainer summary = factory.createReportSummary();
+            summary.add(factory.createTraceSummary(this.trace));
+            summary.add(factory.createPageLinks(getLinks(pages)));
+            view.add(summary);
+            view.render();
+        }
+        catch (final IOException exception)
+        {
+            throw createWriteException(outputDirectory, INDEX_FILE_NAME, exception);
+        }
+        return null;
+    }
+
+    private static List<PageLink> getLinks(final List<Page> pages)
+    {
+        final List<PageLink> links = new ArrayList<>(pages.size());
+        for (final Page page : pages)
+        {
+            links.add(page.link);
+        }
+        return links;
+    }
+
+    private Void writePage(final Path outputDirectory, final Page page, final Page previous,
+            final Page next, final Map<SpecificationItemId, String> pageIndex)
+    {
+        final String fileName = page.link.getFileName();
+        try (OutputStream outputStream = openPage(outputDirectory, fileName))
+        {
+            final ViewFactory factory = HtmlViewFactory.create(outputStream,
+                    HtmlReport.getCssUrl(), id -> pageIndex.getOrDefault(id, ""));
+            final ViewableContainer view = factory.createView("", page.link.getTitle());
+            final ViewableContainer details = factory.createReportDetails();
+            final ViewableContainer section = factory.createSection(page.artifactType,
+                    page.link.getTitle());
+            section.add(factory.createSpecificationItems(page.items));
+            details.add(section);
+            view.add(details);
+            final ViewableContainer navigation = factory.createReportSummary();
+            navigation.add(factory.createPageLinks(getNavigationLinks(previous, next)));
+            view.add(navigation);
+            view.render();
+        }
+        catch (final IOException exception)
+        {
+            throw createWriteException(outputDirectory, fileName, exception);
+        }
+        return null;
+    }
+
+    private static List<PageLink> getNavigationLinks(final Page previous, final Page next)
+    {
+        final List<PageLink> links = new ArrayList<>(3);
+        links.add(new PageLink(INDEX_FILE_NAME, "Index"));
+        if (previous != null)
+        {
+            links.add(new PageLink(previous.link.getFileName(),
+                    "&larr; " + previous.link.getTitle()));
+        }
+        if (next != null)
+        {
+            links.add(new PageLink(next.link.getFileName(), next.link.getTitle() + " &rarr;"));
+        }
+        return links;
+    }
+
+    private static OutputStream openPage(final Path outputDirectory, final String fileName)
+            throws IOException
+    {
+        return new BufferedOutputStream(Files.newOutputStream(outputDirectory.resolve(fileName)));
+    }
+
+    private static ReportException createWriteException(final Path outputDirectory,
+            final String fileName, final IOException cause)
+    {
+        return new ReportException("Unable to write report page '"
+                + outputDirectory.resolve(fileName) + "'", cause);
+    }
+
+    private static final class Page
+    {
+        private final PageLink link;
+        private final String artifactType;
+        private final List<LinkedSpecificationItem> items;
+
+        private Page(final String fileName, final String artifactType, final String title,
+                final List<LinkedSpecificationItem> items)
+        {
+            this.link = new PageLink(fileName, title);
+            this.artifactType = artifactType;
+            this.items = items;
+        }
+    }
+}
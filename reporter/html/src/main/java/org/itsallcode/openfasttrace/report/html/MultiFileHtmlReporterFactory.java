@@ -0,0 +1,26 @@
+package org.itsallcode.openfasttrace.report.html;
+
+import org.itsallcode.openfasttrace.api.core.Trace;
+import org.itsallcode.openfasttrace.api.report.Reportable;
+import org.itsallcode.openfasttrace.api.report.ReporterFactory;
+
+/**
+ * A {@link ReporterFactory} for HTML reports that are split into multiple
+ * files. This supports the <code>htmldir</code> format.
+ */
+public class MultiFileHtmlReporterFactory extends ReporterFactory
+{
+    private static final String MULTI_FILE_HTML_REPORT_FORMAT = "htmldir";
+
+    @Override
+    public boolean supportsFormat(String format)
+    {
+        return MULTI_FILE_HTML_REPORT_FORMAT.equalsIgnoreCase(format);
+    }
+
+    @Override
+    public Reportable createImporter(Trace trace)
+    {
+        return new MultiFileHtmlReport(trace);
+    }
+}
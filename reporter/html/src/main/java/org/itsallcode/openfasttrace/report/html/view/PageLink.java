@@ -0,0 +1,45 @@
+package org.itsallcode.openfasttrace.report.html.view;
+
+/**
+ * A link to a page of a report that consists of multiple files.
+ */
+public final class PageLink
+{
+    private final String fileName;
+    private final String title;
+
+    /**
+     * Create a new instance of a {@link PageLink}.
+     * 
+     * @param fileName
+     *            name of the file the link points to, relative to the report
+     *            directory
+     * @param title
+     *            link text
+     */
+    public PageLink(final String fileName, final String title)
+    {
+        this.fileName = fileName;
+        this.title = title;
+    }
+
+    /**
+     * Get the name of the file the link points to.
+     * 
+     * @return file name relative to the report directory
+     */
+    public String getFileName()
+    {
+        return this.fileName;
+    }
+
+    /**
+     * Get the link text.
+     * 
+     * @return link text
+     */
+    public String getTitle()
+    {
+        return this.title;
+    }
+}
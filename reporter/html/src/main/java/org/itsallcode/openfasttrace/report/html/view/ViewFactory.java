@@ -1,5 +1,7 @@
 package org.itsallcode.openfasttrace.report.html.view;
 
+import java.util.List;
+
 import org.itsallcode.openfasttrace.api.core.LinkedSpecificationItem;
 import org.itsallcode.openfasttrace.api.core.Trace;
 
@@ -17,6 +19,21 @@ public interface ViewFactory
      */
     Viewable createSpecificationItem(final LinkedSpecificationItem item);
 
+    /**
+     * Create a view element that represents a sequence of
+     * {@link LinkedSpecificationItem}s.
+     * <p>
+     * In contrast to adding one view per item to a container, the views for
+     * the individual items are only created while rendering. This keeps the
+     * memory footprint of the view tree independent of the number of items.
+     * </p>
+     * 
+     * @param items
+     *            linked specification items in the order they are rendered
+     * @return view representing the linked specification items
+     */
+    Viewable createSpecificationItems(final List<LinkedSpecificationItem> items);
+
     /**
      * Create a section.
      * 
@@ -72,4 +89,14 @@ public interface ViewFactory
      * @return table of contents
      */
     Viewable createTableOfContents(final ViewableContainer from);
+
+    /**
+     * Create a list of links to other pages of a multi-file report.
+     * 
+     * @param links
+     *            links to other pages
+     * 
+     * @return list of page links
+     */
+    Viewable createPageLinks(final List<PageLink> links);
 }
@@ -0,0 +1,45 @@
+package org.itsallcode.openfasttrace.report.html.view.html;
+
+import java.io.PrintStream;
+import java.util.List;
+
+import org.itsallcode.openfasttrace.report.html.view.PageLink;
+import org.itsallcode.openfasttrace.report.html.view.Viewable;
+
+class HtmlPageLinks implements Viewable
+{
+    private final PrintStream stream;
+    private final List<PageLink> links;
+
+    HtmlPageLinks(final PrintStream stream, final List<PageLink> links)
+    {
+        this.stream = stream;
+        this.links = links;
+    }
+
+    @Override
+    public void render(final int level)
+    {
+        boolean first = true;
+        for (final PageLink link : this.links)
+        {
+            renderSeparator(first);
+            renderLink(link);
+            first = false;
+        }
+    }
+
+    private void renderSeparator(final boolean first)
+    {
+        this.stream.print(first ? " | " : " &middot; ");
+    }
+
+    private void renderLink(final PageLink link)
+    {
+        this.stream.print("<a href=\"");
+        this.stream.print(link.getFileName());
+        this.stream.print("\">");
+        this.stream.print(link.getTitle());
+        this.stream.print("</a>");
+    }
+}
@@ -6,6 +6,7 @@ import static org.itsallcode.openfasttrace.report.html.view.html.CharacterConsta
 import java.io.PrintStream;
 import java.util.Comparator;
 import java.util.List;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -19,11 +20,14 @@ class HtmlSpecificationItem implements Viewable
     private final LinkedSpecificationItem item;
     private final PrintStream stream;
     private final MarkdownConverter converter = new MarkdownConverter();
+    private final Function<SpecificationItemId, String> itemPageResolver;
 
-    HtmlSpecificationItem(final PrintStream stream, final LinkedSpecificationItem item)
+    HtmlSpecificationItem(final PrintStream stream, final LinkedSpecificationItem item,
+            final Function<SpecificationItemId, String> itemPageResolver)
     {
         this.stream = stream;
         this.item = item;
+        this.itemPageResolver = itemPageResolver;
     }
 
     @Override
@@ -31,14 +35,15 @@ class HtmlSpecificationItem implements Viewable
     {
         final String indentation = IndentationHelper.createIndentationPrefix(level);
         final SpecificationItemId id = this.item.getId();
+        final ItemPayloadStore.Payload payload = this.item.getItem().getPayload();
         renderStart(indentation, id);
         renderSummary(indentation, id);
         renderId(indentation, id);
-        renderDescription(indentation);
-        renderRationale(indentation);
-        renderComment(indentation);
+        renderDescription(indentation, payload.getDescription());
+        renderRationale(indentation, payload.getRationale());
+        renderComment(indentation, payload.getComment());
         renderNeeds(indentation);
-        renderOrigin(indentation);
+        renderOrigin(indentation, payload.getLocation());
         renderLinks(indentation);
         renderEnd(indentation);
     }
@@ -77,9 +82,8 @@ class HtmlSpecificationItem implements Viewable
         this.stream.println("</small></summary>");
     }
 
-    protected void renderDescription(final String indentation)
+    protected void renderDescription(final String indentation, final String description)
     {
-        final String description = this.item.getDescription();
         if (description != null && !description.isEmpty())
         {
             renderMultilineText(indentation, description);
@@ -93,9 +97,8 @@ class HtmlSpecificationItem implements Viewable
         this.stream.println(this.converter.convert(text));
     }
 
-    private void renderRationale(final String indentation)
+    private void renderRationale(final String indentation, final String rationale)
     {
-        final String rationale = this.item.getItem().getRationale();
         if (rationale != null && !rationale.isEmpty())
         {
             this.stream.print(indentation);
@@ -104,9 +107,8 @@ class HtmlSpecificationItem implements Viewable
         }
     }
 
-    private void renderComment(final String indentation)
+    private void renderComment(final String indentation, final String comment)
     {
-        final String comment = this.item.getItem().getComment();
         if (comment != null && !comment.isEmpty())
         {
             this.stream.print(indentation);
@@ -148,9 +150,9 @@ class HtmlSpecificationItem implements Viewable
                 .collect(Collectors.joining(", "));
     }
 
-    private void renderOrigin(final String indentation)
+    private void renderOrigin(final String indentation, final Location location)
     {
-        final String origin = OriginLinkFormatter.formatAsBlock(this.item.getLocation());
+        final String origin = OriginLinkFormatter.formatAsBlock(location);
         if (!origin.isEmpty())
         {
             this.stream.print(indentation);
@@ -206,7 +208,9 @@ class HtmlSpecificationItem implements Viewable
         {
             final SpecificationItemId otherId = link.getOtherLinkEnd().getId();
             this.stream.print(indentation);
-            this.stream.print("        <li><a href=\"#");
+            this.stream.print("        <li><a href=\"");
+            this.stream.print(this.itemPageResolver.apply(otherId));
+            this.stream.print("#");
             this.stream.print(otherId);
             this.stream.print("\">");
             this.stream.print(otherId);
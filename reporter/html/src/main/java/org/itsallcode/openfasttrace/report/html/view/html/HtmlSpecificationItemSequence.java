@@ -0,0 +1,56 @@
+package org.itsallcode.openfasttrace.report.html.view.html;
+
+import java.io.PrintStream;
+import java.util.List;
+import java.util.function.Function;
+
+import org.itsallcode.openfasttrace.api.core.LinkedSpecificationItem;
+import org.itsallcode.openfasttrace.api.core.SpecificationItemId;
+import org.itsallcode.openfasttrace.api.progress.ProgressCounter;
+import org.itsallcode.openfasttrace.api.progress.ProgressListener.Counter;
+import org.itsallcode.openfasttrace.api.progress.ProgressMonitor;
+import org.itsallcode.openfasttrace.report.html.view.Viewable;
+
+/**
+ * Renders a sequence of specification items one after another.
+ * <p>
+ * The view for each item only exists while the item is rendered, so that the
+ * view tree does not grow with the number of items in the report.
+ * </p>
+ */
+class HtmlSpecificationItemSequence implements Viewable
+{
+    private final PrintStream stream;
+    private final List<LinkedSpecificationItem> items;
+    private final Function<SpecificationItemId, String> itemPageResolver;
+    private final ProgressCounter renderedItems;
+
+    HtmlSpecificationItemSequence(final PrintStream stream,
+            final List<LinkedSpecificationItem> items,
+            final Function<SpecificationItemId, String> itemPageResolver)
+    {
+        this(stream, items, itemPageResolver,
+                ProgressMonitor.none().startCounter(Counter.ITEMS_RENDERED, -1));
+    }
+
+    HtmlSpecificationItemSequence(final PrintStream stream,
+            final List<LinkedSpecificationItem> items,
+            final Function<SpecificationItemId, String> itemPageResolver,
+            final ProgressCounter renderedItems)
+    {
+        this.stream = stream;
+        this.items = items;
+        this.itemPageResolver = itemPageResolver;
+        this.renderedItems = renderedItems;
+    }
+
+    @Override
+    public void render(final int level)
+    {
+        for (final LinkedSpecificationItem item : this.items)
+        {
+            new HtmlSpecificationItem(this.stream, item, this.itemPageResolver).render(level);
+            this.renderedItems.increment();
+        }
+    }
+}
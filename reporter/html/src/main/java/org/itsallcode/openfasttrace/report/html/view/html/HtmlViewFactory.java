@@ -6,11 +6,18 @@ import java.io.UnsupportedEncodingException;
 import java.net.URL;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.function.Function;
 
 import org.itsallcode.openfasttrace.api.core.LinkedSpecificationItem;
+import org.itsallcode.openfasttrace.api.core.SpecificationItemId;
 import org.itsallcode.openfasttrace.api.core.Trace;
 import org.itsallcode.openfasttrace.api.exporter.ExporterException;
+import org.itsallcode.openfasttrace.api.progress.ProgressCounter;
+import org.itsallcode.openfasttrace.api.progress.ProgressListener.Counter;
+import org.itsallcode.openfasttrace.api.progress.ProgressMonitor;
 import org.itsallcode.openfasttrace.report.html.view.AbstractViewFactory;
+import org.itsallcode.openfasttrace.report.html.view.PageLink;
 import org.itsallcode.openfasttrace.report.html.view.Viewable;
 import org.itsallcode.openfasttrace.report.html.view.ViewableContainer;
 
@@ -21,12 +28,19 @@ import org.itsallcode.openfasttrace.report.html.view.ViewableContainer;
 public class HtmlViewFactory extends AbstractViewFactory
 {
     private static final Charset DEFAULT_CHARSET = StandardCharsets.UTF_8;
+    private static final Function<SpecificationItemId, String> SAME_PAGE = id -> "";
     private final URL cssUrl;
+    private final Function<SpecificationItemId, String> itemPageResolver;
+    private final ProgressCounter renderedItems;
 
-    private HtmlViewFactory(final PrintStream stream, final URL cssUrl)
+    private HtmlViewFactory(final PrintStream stream, final URL cssUrl,
+            final Function<SpecificationItemId, String> itemPageResolver,
+            final ProgressCounter renderedItems)
     {
         super(stream);
         this.cssUrl = cssUrl;
+        this.itemPageResolver = itemPageResolver;
+        this.renderedItems = renderedItems;
     }
 
     /**
@@ -39,14 +53,61 @@ public class HtmlViewFactory extends AbstractViewFactory
      * @return a new {@link HtmlViewFactory}.
      */
     public static HtmlViewFactory create(final OutputStream stream, final URL cssURL)
+    {
+        return create(stream, cssURL, SAME_PAGE);
+    }
+
+    /**
+     * Create a new instance for a report that spans multiple pages.
+     * 
+     * @param stream
+     *            the output stream.
+     * @param cssURL
+     *            the URL of the CSS file to include in the HTML report.
+     * @param itemPageResolver
+     *            function that returns the name of the page file on which the
+     *            item with the given ID is rendered or an empty string if the
+     *            item is not on any page.
+     * @return a new {@link HtmlViewFactory}.
+     */
+    public static HtmlViewFactory create(final OutputStream stream, final URL cssURL,
+            final Function<SpecificationItemId, String> itemPageResolver)
+    {
+        return create(stream, cssURL, itemPageResolver,
+                ProgressMonitor.none().startCounter(Counter.ITEMS_RENDERED, -1));
+    }
+
+    /**
+     * Create a new instance for a single page report that counts the rendered
+     * specification items.
+     * 
+     * @param stream
+     *            the output stream.
+     * @param cssURL
+     *            the URL of the CSS file to include in the HTML report.
+     * @param renderedItems
+     *            counter that is incremented for each rendered item.
+     * @return a new {@link HtmlViewFactory}.
+     */
+    public static HtmlViewFactory create(final OutputStream stream, final URL cssURL,
+            final ProgressCounter renderedItems)
+    {
+        return create(stream, cssURL, SAME_PAGE, renderedItems);
+    }
+
+    private static HtmlViewFactory create(final OutputStream stream, final URL cssURL,
+            final Function<SpecificationItemId, String> itemPageResolver,
+            final ProgressCounter renderedItems)
     {
         if (stream instanceof PrintStream)
         {
-            return new HtmlViewFactory((PrintStream) stream, cssURL);
+            return new HtmlViewFactory((PrintStream) stream, cssURL, itemPageResolver,
+                    renderedItems);
         }
         else
         {
-            return new HtmlViewFactory(createPrintStream(stream, DEFAULT_CHARSET), cssURL);
+            return new HtmlViewFactory(createPrintStream(stream, DEFAULT_CHARSET), cssURL,
+                    itemPageResolver, renderedItems);
         }
     }
 
@@ -83,7 +144,14 @@ public class HtmlViewFactory extends AbstractViewFactory
     @Override
     public Viewable createSpecificationItem(final LinkedSpecificationItem item)
     {
-        return new HtmlSpecificationItem(this.outputStream, item);
+        return new HtmlSpecificationItem(this.outputStream, item, this.itemPageResolver);
+    }
+
+    @Override
+    public Viewable createSpecificationItems(final List<LinkedSpecificationItem> items)
+    {
+        return new HtmlSpecificationItemSequence(this.outputStream, items, this.itemPageResolver,
+                this.renderedItems);
     }
 
     @Override
@@ -103,4 +171,10 @@ public class HtmlViewFactory extends AbstractViewFactory
     {
         return new HtmlTableOfContents(this.outputStream, from);
     }
-}
\ No newline at end of file
+
+    @Override
+    public Viewable createPageLinks(final List<PageLink> links)
+    {
+        return new HtmlPageLinks(this.outputStream, links);
+    }
+}
@@ -0,0 +1,134 @@
+package org.itsallcode.openfasttrace.report.html;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.itsallcode.openfasttrace.api.core.*;
+import org.itsallcode.openfasttrace.api.report.ReportException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class TestMultiFileHtmlReport
+{
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testRenderEmptyTraceCreatesOnlyIndex() throws IOException
+    {
+        final Path outputDirectory = this.tempDir.resolve("report");
+        new MultiFileHtmlReport(createTrace()).renderToDirectory(outputDirectory);
+        final String index = readFile(outputDirectory, "index.html");
+        assertAll(() -> assertThat(index, startsWith("<!DOCTYPE html>")),
+                () -> assertThat(index, containsString("0 total")),
+                () -> assertThat(listFileNames(outputDirectory), contains("index.html")));
+    }
+
+    @Test
+    void testRenderSplitsArtifactTypesIntoPages() throws IOException
+    {
+        final LinkedSpecificationItem feat = createItem("feat", "a");
+        final LinkedSpecificationItem req1 = createItem("req", "b");
+        final LinkedSpecificationItem req2 = createItem("req", "c");
+        final LinkedSpecificationItem req3 = createItem("req", "d");
+        feat.addLinkToItemWithStatus(req3, LinkStatus.COVERED_UNWANTED);
+        new MultiFileHtmlReport(createTrace(req3, feat, req1, req2), 2)
+                .renderToDirectory(this.tempDir);
+        final String index = readFile(this.tempDir, "index.html");
+        final String reqPage1 = readFile(this.tempDir, "req-1.html");
+        final String featPage = readFile(this.tempDir, "feat-1.html");
+        assertAll(
+                () -> assertThat(listFileNames(this.tempDir),
+                        containsInAnyOrder("index.html", "feat-1.html", "req-1.html",
+                                "req-2.html")),
+                () -> assertThat(index, containsString("4 total")),
+                () -> assertThat(index, containsString("<a href=\"req-2.html\">req 2</a>")),
+                () -> assertThat(reqPage1, containsString("id=\"req~b~1\"")),
+                () -> assertThat(reqPage1, containsString("id=\"req~c~1\"")),
+                () -> assertThat(reqPage1, not(containsString("id=\"req~d~1\""))),
+                () -> assertThat(reqPage1, containsString("<a href=\"req-2.html\">req 2 &rarr;</a>")),
+                () -> assertThat(featPage, containsString("<a href=\"req-2.html#req~d~1\">")));
+    }
+
+    @Test
+    void testArtifactTypesWithSameSanitizedNameGetSeparatePages() throws IOException
+    {
+        new MultiFileHtmlReport(createTrace(createItem("a.b", "x"), createItem("a_b", "y"),
+                createItem("A_B", "z"))).renderToDirectory(this.tempDir);
+        assertAll(
+                () -> assertThat(listFileNames(this.tempDir),
+                        containsInAnyOrder("index.html", "A_B-1.html", "a_b_2-1.html",
+                                "a_b_3-1.html")),
+                () -> assertThat(readFile(this.tempDir, "A_B-1.html"),
+                        containsString("id=\"A_B~z~1\"")),
+                () -> assertThat(readFile(this.tempDir, "a_b_2-1.html"),
+                        containsString("id=\"a.b~x~1\"")),
+                () -> assertThat(readFile(this.tempDir, "a_b_3-1.html"),
+                        containsString("id=\"a_b~y~1\"")));
+    }
+
+    @Test
+    void testRenderToStreamFallsBackToSinglePage()
+    {
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        new MultiFileHtmlReport(createTrace(createItem("req", "a"))).renderToStream(outputStream);
+        final String output = outputStream.toString(StandardCharsets.UTF_8);
+        assertAll(() -> assertThat(output, startsWith("<!DOCTYPE html>")),
+                () -> assertThat(output, containsString("<section id=\"req\">")));
+    }
+
+    @Test
+    void testIllegalPageSizeThrowsException()
+    {
+        final Trace trace = createTrace();
+        assertThrows(IllegalArgumentException.class, () -> new MultiFileHtmlReport(trace, 0));
+    }
+
+    @Test
+    void testRenderToFileInsteadOfDirectoryThrowsException() throws IOException
+    {
+        final Path file = Files.createFile(this.tempDir.resolve("file"));
+        final MultiFileHtmlReport report = new MultiFileHtmlReport(createTrace());
+        assertThrows(ReportException.class, () -> report.renderToDirectory(file));
+    }
+
+    private static LinkedSpecificationItem createItem(final String artifactType,
+            final String name)
+    {
+        return new LinkedSpecificationItem(SpecificationItem.builder() //
+                .id(SpecificationItemId.createId(artifactType, name, 1)) //
+                .build());
+    }
+
+    private static Trace createTrace(final LinkedSpecificationItem... items)
+    {
+        final List<LinkedSpecificationItem> itemList = new ArrayList<>(List.of(items));
+        return Trace.builder().items(itemList).defectItems(new ArrayList<>()).build();
+    }
+
+    private static String readFile(final Path directory, final String fileName) throws IOException
+    {
+        return Files.readString(directory.resolve(fileName));
+    }
+
+    private static List<String> listFileNames(final Path directory) throws IOException
+    {
+        final List<String> fileNames = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory))
+        {
+            files.forEach(file -> fileNames.add(file.getFileName().toString()));
+        }
+        return fileNames;
+    }
+}
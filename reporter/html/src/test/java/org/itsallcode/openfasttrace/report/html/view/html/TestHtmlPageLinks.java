@@ -0,0 +1,29 @@
+package org.itsallcode.openfasttrace.report.html.view.html;
+
+import java.util.List;
+
+import org.itsallcode.openfasttrace.report.html.view.PageLink;
+import org.itsallcode.openfasttrace.report.html.view.Viewable;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class TestHtmlPageLinks extends AbstractTestHtmlRenderer
+{
+    @Override
+    @BeforeEach
+    public void prepareEachTest()
+    {
+        super.prepareEachTest();
+    }
+
+    @Test
+    void testRender()
+    {
+        final Viewable links = this.factory.createPageLinks(List.of( //
+                new PageLink("index.html", "Index"), //
+                new PageLink("dsn-1.html", "dsn")));
+        links.render(1);
+        assertOutputLines(
+                " | <a href=\"index.html\">Index</a> &middot; <a href=\"dsn-1.html\">dsn</a>");
+    }
+}
@@ -0,0 +1,53 @@
+package org.itsallcode.openfasttrace.report.html.view.html;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.isEmptyString;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+import java.util.List;
+
+import org.itsallcode.openfasttrace.api.core.LinkedSpecificationItem;
+import org.itsallcode.openfasttrace.api.core.SpecificationItem;
+import org.itsallcode.openfasttrace.api.core.SpecificationItemId;
+import org.itsallcode.openfasttrace.report.html.view.Viewable;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class TestHtmlSpecificationItemSequence extends AbstractTestHtmlRenderer
+{
+    @Override
+    @BeforeEach
+    public void prepareEachTest()
+    {
+        super.prepareEachTest();
+    }
+
+    @Test
+    void testRenderEmptySequence()
+    {
+        this.factory.createSpecificationItems(List.of()).render(1);
+        assertThat(this.outputStream.toString(), isEmptyString());
+    }
+
+    @Test
+    void testRenderRendersAllItemsInOrder()
+    {
+        final Viewable view = this.factory.createSpecificationItems(List.of( //
+                createItem("dsn~first~1"), createItem("dsn~second~1")));
+        view.render(1);
+        final String output = this.outputStream.toString();
+        assertAll(
+                () -> assertThat(output,
+                        containsString("  <section class=\"sitem\" id=\"dsn~first~1\">")),
+                () -> assertThat(output.indexOf("dsn~first~1"),
+                        lessThan(output.indexOf("dsn~second~1"))));
+    }
+
+    private static LinkedSpecificationItem createItem(final String id)
+    {
+        return new LinkedSpecificationItem(
+                SpecificationItem.builder().id(SpecificationItemId.parseId(id)).build());
+    }
+}
@@ -6,10 +6,12 @@ import static org.hamcrest.Matchers.notNullValue;
 
 import java.io.*;
 import java.nio.charset.StandardCharsets;
+import java.util.List;
 
 import org.itsallcode.openfasttrace.api.core.LinkedSpecificationItem;
 import org.itsallcode.openfasttrace.api.core.Trace;
 import org.itsallcode.openfasttrace.report.html.HtmlReport;
+import org.itsallcode.openfasttrace.report.html.view.PageLink;
 import org.itsallcode.openfasttrace.report.html.view.ViewFactory;
 import org.itsallcode.openfasttrace.report.html.view.Viewable;
 import org.itsallcode.openfasttrace.report.html.view.ViewableContainer;
@@ -58,6 +60,13 @@ class TestHtmlViewFactory
         assertThat(view, instanceOf(HtmlSpecificationItem.class));
     }
 
+    @Test
+    void testCreateSpecificationItems()
+    {
+        final Viewable view = this.factory.createSpecificationItems(List.of());
+        assertThat(view, instanceOf(HtmlSpecificationItemSequence.class));
+    }
+
     @Test
     void testCreateTraceSummary()
     {
@@ -80,4 +89,11 @@ class TestHtmlViewFactory
         final Viewable view = this.factory.createTableOfContents(parent);
         assertThat(view, instanceOf(HtmlTableOfContents.class));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testCreatePageLinks()
+    {
+        final Viewable view = this.factory.createPageLinks(List.of(new PageLink("a.html", "a")));
+        assertThat(view, instanceOf(HtmlPageLinks.class));
+    }
+}
@@ -0,0 +1,10 @@
+/**
+ * This provides a report generator for the JSON Lines format.
+ */
+module org.itsallcode.openfasttrace.report.jsonl
+{
+    exports org.itsallcode.openfasttrace.report.jsonl;
+
+    requires java.logging;
+    requires transitive org.itsallcode.openfasttrace.api;
+}
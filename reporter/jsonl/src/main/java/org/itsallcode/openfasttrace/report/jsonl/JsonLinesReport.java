@@ -0,0 +1,82 @@
+package org.itsallcode.openfasttrace.report.jsonl;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.logging.Logger;
+
+import org.itsallcode.openfasttrace.api.core.*;
+import org.itsallcode.openfasttrace.api.json.JsonItemWriter;
+import org.itsallcode.openfasttrace.api.json.JsonWriter;
+import org.itsallcode.openfasttrace.api.progress.ProgressCounter;
+import org.itsallcode.openfasttrace.api.progress.ProgressListener.Counter;
+import org.itsallcode.openfasttrace.api.progress.ProgressMonitor;
+import org.itsallcode.openfasttrace.api.report.ReportException;
+import org.itsallcode.openfasttrace.api.report.Reportable;
+
+/**
+ * Renders a trace as <a href="https://jsonlines.org/">JSON Lines</a>.
+ * <p>
+ * Each specification item is written as a single JSON object on its own line
+ * in the order of the trace, so that consumers can process the report
+ * incrementally.
+ * </p>
+ */
+class JsonLinesReport implements Reportable
+{
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final Logger LOG = Logger.getLogger(JsonLinesReport.class.getName());
+
+    private final Trace trace;
+    private final ProgressMonitor progressMonitor;
+
+    /**
+     * Create a new instance of a {@link JsonLinesReport}
+     *
+     * @param trace
+     *            trace to be reported on
+     */
+    JsonLinesReport(final Trace trace)
+    {
+        this(trace, ProgressMonitor.none());
+    }
+
+    /**
+     * Create a new instance of a {@link JsonLinesReport}
+     *
+     * @param trace
+     *            trace to be reported on
+     * @param progressMonitor
+     *            monitor that receives the number of rendered items
+     */
+    JsonLinesReport(final Trace trace, final ProgressMonitor progressMonitor)
+    {
+        this.trace = trace;
+        this.progressMonitor = progressMonitor;
+    }
+
+    @Override
+    public void renderToStream(final OutputStream outputStream)
+    {
+        final Writer writer = new BufferedWriter(
+                new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), BUFFER_SIZE);
+        final JsonWriter json = new JsonWriter(writer);
+        final ProgressCounter renderedItems = this.progressMonitor
+                .startCounter(Counter.ITEMS_RENDERED, this.trace.count());
+        try
+        {
+            for (final LinkedSpecificationItem item : this.trace.getItems())
+            {
+                JsonItemWriter.writeItem(json, item);
+                json.endLine();
+                renderedItems.increment();
+            }
+            writer.flush();
+        }
+        catch (final IOException exception)
+        {
+            throw new ReportException("Error writing JSON Lines report", exception);
+        }
+        renderedItems.finish();
+        LOG.fine(() -> "Wrote " + this.trace.count() + " items to JSON Lines report");
+    }
+}
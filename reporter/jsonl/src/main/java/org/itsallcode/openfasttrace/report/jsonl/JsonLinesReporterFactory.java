@@ -0,0 +1,26 @@
+package org.itsallcode.openfasttrace.report.jsonl;
+
+import org.itsallcode.openfasttrace.api.core.Trace;
+import org.itsallcode.openfasttrace.api.report.Reportable;
+import org.itsallcode.openfasttrace.api.report.ReporterFactory;
+
+/**
+ * A {@link ReporterFactory} for JSON Lines reports. This supports the
+ * <code>jsonl</code> format.
+ */
+public class JsonLinesReporterFactory extends ReporterFactory
+{
+    private static final String JSONL_REPORT_FORMAT = "jsonl";
+
+    @Override
+    public boolean supportsFormat(String format)
+    {
+        return JSONL_REPORT_FORMAT.equalsIgnoreCase(format);
+    }
+
+    @Override
+    public Reportable createImporter(Trace trace)
+    {
+        return new JsonLinesReport(trace, getContext().getProgressMonitor());
+    }
+}
@@ -0,0 +1,74 @@
+package org.itsallcode.openfasttrace.report.jsonl;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.isEmptyString;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.itsallcode.openfasttrace.api.core.*;
+import org.junit.jupiter.api.Test;
+
+class TestJsonLinesReport
+{
+    @Test
+    void testEmptyTrace()
+    {
+        assertThat(renderToString(), isEmptyString());
+    }
+
+    @Test
+    void testUncoveredItem()
+    {
+        final LinkedSpecificationItem item = createItem(SpecificationItem.builder() //
+                .id(SpecificationItemId.createId("req", "a", 1)) //
+                .addNeedsArtifactType("impl") //
+                .location("doc/spec.md", 13));
+        assertThat(renderToString(item), equalTo("{\"id\":\"req~a~1\",\"title\":\"\","
+                + "\"status\":\"approved\",\"deepCoverage\":\"UNCOVERED\",\"defect\":true,"
+                + "\"location\":{\"path\":\"doc/spec.md\",\"line\":13},\"tags\":[],"
+                + "\"needs\":[\"impl\"],\"uncoveredTypes\":[\"impl\"],\"links\":{}}\n"));
+    }
+
+    @Test
+    void testLinkedItemsOnSeparateLines()
+    {
+        final LinkedSpecificationItem req = createItem(SpecificationItem.builder() //
+                .id(SpecificationItemId.createId("req", "a", 1)) //
+                .addNeedsArtifactType("impl"));
+        final LinkedSpecificationItem impl = createItem(SpecificationItem.builder() //
+                .id(SpecificationItemId.createId("impl", "b", 2)) //
+                .status(ItemStatus.DRAFT) //
+                .addCoveredId(SpecificationItemId.createId("req", "a", 1)));
+        req.addLinkToItemWithStatus(impl, LinkStatus.COVERED_SHALLOW);
+        impl.addLinkToItemWithStatus(req, LinkStatus.COVERS);
+        assertThat(renderToString(req, impl), equalTo(
+                "{\"id\":\"req~a~1\",\"title\":\"\",\"status\":\"approved\","
+                        + "\"deepCoverage\":\"COVERED\",\"defect\":false,\"tags\":[],"
+                        + "\"needs\":[\"impl\"],\"uncoveredTypes\":[],"
+                        + "\"links\":{\"COVERED_SHALLOW\":[\"impl~b~2\"]}}\n"
+                        + "{\"id\":\"impl~b~2\",\"title\":\"\",\"status\":\"draft\","
+                        + "\"deepCoverage\":\"COVERED\",\"defect\":false,\"tags\":[],"
+                        + "\"needs\":[],\"uncoveredTypes\":[],"
+                        + "\"links\":{\"COVERS\":[\"req~a~1\"]}}\n"));
+    }
+
+    private static LinkedSpecificationItem createItem(final SpecificationItem.Builder builder)
+    {
+        return new LinkedSpecificationItem(builder.build());
+    }
+
+    private static String renderToString(final LinkedSpecificationItem... items)
+    {
+        final Trace trace = Trace.builder() //
+                .items(new ArrayList<>(List.of(items))) //
+                .defectItems(new ArrayList<>()) //
+                .build();
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        new JsonLinesReport(trace).renderToStream(outputStream);
+        return outputStream.toString(StandardCharsets.UTF_8);
+    }
+}
@@ -13,6 +13,9 @@ import java.util.stream.Stream;
 
 import org.itsallcode.openfasttrace.api.ReportSettings;
 import org.itsallcode.openfasttrace.api.core.*;
+import org.itsallcode.openfasttrace.api.progress.ProgressCounter;
+import org.itsallcode.openfasttrace.api.progress.ProgressListener.Counter;
+import org.itsallcode.openfasttrace.api.progress.ProgressMonitor;
 import org.itsallcode.openfasttrace.api.report.ReportException;
 import org.itsallcode.openfasttrace.api.report.Reportable;
 
@@ -27,6 +30,8 @@ public class PlainTextReport implements Reportable
             .comparing(LinkedSpecificationItem::getId);
     private int nonEmptySections = 0;
     private final ReportSettings settings;
+    private final ProgressMonitor progressMonitor;
+    private ProgressCounter renderedItems;
 
     /**
      * Create a new instance of {@link PlainTextReport}
@@ -38,15 +43,34 @@ public class PlainTextReport implements Reportable
      */
     // [impl->dsn~newline-format~1]
     public PlainTextReport(final Trace trace, final ReportSettings settings)
+    {
+        this(trace, settings, ProgressMonitor.none());
+    }
+
+    /**
+     * Create a new instance of {@link PlainTextReport}
+     *
+     * @param trace
+     *            the trace that will be reported.
+     * @param settings
+     *            report settings
+     * @param progressMonitor
+     *            monitor that receives the number of rendered items
+     */
+    public PlainTextReport(final Trace trace, final ReportSettings settings,
+            final ProgressMonitor progressMonitor)
     {
         this.trace = trace;
         this.settings = settings;
+        this.progressMonitor = progressMonitor;
     }
 
     @Override
     public void renderToStream(final OutputStream outputStream)
     {
         final Charset charset = StandardCharsets.UTF_8;
+        this.renderedItems = this.progressMonitor.startCounter(Counter.ITEMS_RENDERED,
+                countItemsToRender());
         try (final PrintStream report = new PrintStream(outputStream, false, charset.displayName()))
         {
             renderToPrintStream(report);
@@ -55,6 +79,21 @@ public class PlainTextReport implements Reportable
         {
             throw new ReportException("Encoding charset '" + charset + "' not supported", e);
         }
+        this.renderedItems.finish();
+    }
+
+    private int countItemsToRender()
+    {
+        switch (this.settings.getReportVerbosity())
+        {
+        case FAILURE_SUMMARIES:
+        case FAILURE_DETAILS:
+            return this.trace.countDefects();
+        case ALL:
+            return this.trace.count();
+        default:
+            return 0;
+        }
     }
 
     private void renderToPrintStream(final PrintStream report)
@@ -157,6 +196,7 @@ public class PlainTextReport implements Reportable
         renderMaturity(report, item);
         report.print(translateArtifactTypeCoverage(item));
         report.print(this.settings.getNewline());
+        this.renderedItems.increment();
     }
 
     private String translateArtifactTypeCoverage(final LinkedSpecificationItem item)
@@ -21,6 +21,7 @@ public class PlaintextReporterFactory extends ReporterFactory
     @Override
     public Reportable createImporter(Trace trace)
     {
-        return new PlainTextReport(trace, getContext().getSettings());
+        return new PlainTextReport(trace, getContext().getSettings(),
+                getContext().getProgressMonitor());
     }
 }
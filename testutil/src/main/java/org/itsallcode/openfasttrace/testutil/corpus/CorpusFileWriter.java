@@ -0,0 +1,243 @@
+package org.itsallcode.openfasttrace.testutil.corpus;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Writer;
+
+import org.itsallcode.openfasttrace.api.core.SpecificationItem;
+import org.itsallcode.openfasttrace.api.core.SpecificationItemId;
+
+/**
+ * Writes specification items in one of the input formats of OFT.
+ * <p>
+ * Closing the writer writes the end of the document and closes the underlying
+ * {@link Writer}.
+ * </p>
+ */
+public abstract class CorpusFileWriter implements Closeable
+{
+    private static final int CODE_LINES_PER_TAG = 8;
+
+    /** The writer to which the document is written. */
+    protected final Writer writer;
+
+    private CorpusFileWriter(final Writer writer)
+    {
+        this.writer = writer;
+    }
+
+    /**
+     * Create a writer for a Markdown specification.
+     *
+     * @param writer
+     *            the writer to which the document is written
+     * @return the new corpus file writer
+     * @throws IOException
+     *             if writing the start of the document fails
+     */
+    public static CorpusFileWriter createMarkdownWriter(final Writer writer) throws IOException
+    {
+        writer.write("# Specification\n\n");
+        return new MarkdownWriter(writer);
+    }
+
+    /**
+     * Create a writer for a ReqM2 specobject XML document.
+     *
+     * @param writer
+     *            the writer to which the document is written
+     * @return the new corpus file writer
+     * @throws IOException
+     *             if writing the start of the document fails
+     */
+    public static CorpusFileWriter createSpecobjectWriter(final Writer writer) throws IOException
+    {
+        writer.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<specdocument>\n");
+        return new SpecobjectWriter(writer);
+    }
+
+    /**
+     * Create a writer for Java source code with coverage tags.
+     * <p>
+     * The writer writes one tag per covered ID of an item. Each item is
+     * followed by lines of code without tags. The tag importer generates the
+     * IDs of the items, so the IDs of the written items are lost.
+     * </p>
+     *
+     * @param writer
+     *            the writer to which the document is written
+     * @return the new corpus file writer
+     * @throws IOException
+     *             if writing the start of the document fails
+     */
+    public static CorpusFileWriter createTagWriter(final Writer writer) throws IOException
+    {
+        writer.write("public class Sample\n{\n");
+        return new TagWriter(writer);
+    }
+
+    /**
+     * Write an item.
+     *
+     * @param item
+     *            the item to write
+     * @throws IOException
+     *             if writing fails
+     */
+    public abstract void write(final SpecificationItem item) throws IOException;
+
+    /**
+     * Write the end of the document.
+     *
+     * @throws IOException
+     *             if writing fails
+     */
+    protected abstract void writeEnd() throws IOException;
+
+    @Override
+    public void close() throws IOException
+    {
+        try
+        {
+            writeEnd();
+        }
+        finally
+        {
+            this.writer.close();
+        }
+    }
+
+    private static class MarkdownWriter extends CorpusFileWriter
+    {
+        private MarkdownWriter(final Writer writer)
+        {
+            super(writer);
+        }
+
+        @Override
+        public void write(final SpecificationItem item) throws IOException
+        {
+            this.writer.write("## " + item.getTitle() + "\n\n");
+            this.writer.write("`" + item.getId() + "`\n\n");
+            this.writer.write(item.getDescription() + "\n\n");
+            if (!item.getCoveredIds().isEmpty())
+            {
+                this.writer.write("Covers:\n\n");
+                for (final SpecificationItemId coveredId : item.getCoveredIds())
+                {
+                    this.writer.write("* `" + coveredId + "`\n");
+                }
+                this.writer.write("\n");
+            }
+            if (!item.getNeedsArtifactTypes().isEmpty())
+            {
+                this.writer.write(
+                        "Needs: " + String.join(", ", item.getNeedsArtifactTypes()) + "\n\n");
+            }
+        }
+
+        @Override
+        protected void writeEnd()
+        {
+            // Markdown has no end marker.
+        }
+    }
+
+    private static class SpecobjectWriter extends CorpusFileWriter
+    {
+        private String doctype = null;
+
+        private SpecobjectWriter(final Writer writer)
+        {
+            super(writer);
+        }
+
+        @Override
+        public void write(final SpecificationItem item) throws IOException
+        {
+            if (!item.getArtifactType().equals(this.doctype))
+            {
+                writeSpecobjectsEnd();
+                this.doctype = item.getArtifactType();
+                this.writer.write("  <specobjects doctype=\"" + this.doctype + "\">\n");
+            }
+            this.writer.write("    <specobject>\n");
+            this.writer.write("      <id>" + item.getName() + "</id>\n");
+            this.writer.write("      <version>" + item.getRevision() + "</version>\n");
+            this.writer.write("      <shortdesc>" + item.getTitle() + "</shortdesc>\n");
+            this.writer.write("      <description>" + item.getDescription() + "</description>\n");
+            if (!item.getNeedsArtifactTypes().isEmpty())
+            {
+                this.writer.write("      <needscoverage>\n");
+                for (final String neededType : item.getNeedsArtifactTypes())
+                {
+                    this.writer.write(
+                            "        <needscov><needsobj>" + neededType + "</needsobj></needscov>\n");
+                }
+                this.writer.write("      </needscoverage>\n");
+            }
+            if (!item.getCoveredIds().isEmpty())
+            {
+                this.writer.write("      <providescoverage>\n");
+                for (final SpecificationItemId coveredId : item.getCoveredIds())
+                {
+                    this.writer.write("        <provcov>\n");
+                    this.writer.write("          <linksto>" + coveredId.getArtifactType() + ":"
+                            + coveredId.getName() + "</linksto>\n");
+                    this.writer.write(
+                            "          <dstversion>" + coveredId.getRevision() + "</dstversion>\n");
+                    this.writer.write("        </provcov>\n");
+                }
+                this.writer.write("      </providescoverage>\n");
+            }
+            this.writer.write("    </specobject>\n");
+        }
+
+        private void writeSpecobjectsEnd() throws IOException
+        {
+            if (this.doctype != null)
+            {
+                this.writer.write("  </specobjects>\n");
+            }
+        }
+
+        @Override
+        protected void writeEnd() throws IOException
+        {
+            writeSpecobjectsEnd();
+            this.writer.write("</specdocument>\n");
+        }
+    }
+
+    private static class TagWriter extends CorpusFileWriter
+    {
+        private TagWriter(final Writer writer)
+        {
+            super(writer);
+        }
+
+        @Override
+        public void write(final SpecificationItem item) throws IOException
+        {
+            final String needs = item.getNeedsArtifactTypes().isEmpty() ? ""
+                    : ">>" + String.join(",", item.getNeedsArtifactTypes());
+            for (final SpecificationItemId coveredId : item.getCoveredIds())
+            {
+                this.writer.write("    // [" + item.getArtifactType() + "->" + coveredId + needs
+                        + "]\n");
+            }
+            final String fieldPrefix = item.getName().replaceAll("\\W", "_");
+            for (int line = 0; line < CODE_LINES_PER_TAG; ++line)
+            {
+                this.writer.write("    private int " + fieldPrefix + "_" + line + " = " + line
+                        + ";\n");
+            }
+        }
+
+        @Override
+        protected void writeEnd() throws IOException
+        {
+            this.writer.write("}\n");
+        }
+    }
+}
@@ -0,0 +1,305 @@
+package org.itsallcode.openfasttrace.testutil.corpus;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.function.Consumer;
+
+import org.itsallcode.openfasttrace.api.core.SpecificationItem;
+import org.itsallcode.openfasttrace.api.core.SpecificationItemId;
+
+/**
+ * Generates a synthetic corpus of specification items for scalability tests
+ * and benchmarks.
+ * <p>
+ * The corpus consists of coverage trees. Each item except for the leaves
+ * needs the artifact type of the next level and is covered by
+ * {@link CorpusSettings#getFanOut()} items of that type. Each item except for
+ * the roots covers its parent. Cycles, duplicate IDs and orphaned links are
+ * added at the configured rates. A cycle is a root that also covers its first
+ * covering item. The same settings always generate the same corpus.
+ * </p>
+ */
+public class CorpusGenerator
+{
+    private static final String[] ARTIFACT_TYPES = { "feat", "req", "arch", "dsn", "impl",
+            "utest", "itest", "stest" };
+    private static final String DOC_DIRECTORY = "doc";
+    private static final String SOURCE_DIRECTORY = "src";
+
+    private final CorpusSettings settings;
+
+    /**
+     * Create a new {@link CorpusGenerator}.
+     *
+     * @param settings
+     *            the settings of the corpus
+     */
+    public CorpusGenerator(final CorpusSettings settings)
+    {
+        this.settings = settings;
+    }
+
+    /**
+     * Get the artifact type of a level of the coverage trees.
+     *
+     * @param level
+     *            the level starting with 0 for the roots
+     * @return the artifact type
+     */
+    public static String getArtifactType(final int level)
+    {
+        if (level < ARTIFACT_TYPES.length)
+        {
+            return ARTIFACT_TYPES[level];
+        }
+        final StringBuilder suffix = new StringBuilder();
+        int remainder = level - ARTIFACT_TYPES.length;
+        do
+        {
+            suffix.append((char) ('a' + remainder % 26));
+            remainder /= 26;
+        } while (remainder > 0);
+        return "level" + suffix;
+    }
+
+    /**
+     * Generate the items of the corpus.
+     *
+     * @return the items in depth-first order of the coverage trees
+     */
+    public List<SpecificationItem> generateItems()
+    {
+        final List<SpecificationItem> items = new ArrayList<>();
+        generate(items::add);
+        return items;
+    }
+
+    /**
+     * Generate the items of the corpus one by one without keeping them in
+     * memory.
+     *
+     * @param consumer
+     *            receives the items in depth-first order of the coverage trees
+     */
+    public void generate(final Consumer<SpecificationItem> consumer)
+    {
+        new Generation(consumer).run();
+    }
+
+    /**
+     * Write the corpus as files into a directory.
+     * <p>
+     * The leaves of the coverage trees are written as coverage tags into Java
+     * source files in the directory <code>src</code>. All other items are
+     * written into the directory <code>doc</code>, alternating between
+     * Markdown and specobject files.
+     * </p>
+     *
+     * @param directory
+     *            the directory into which the files are written. It is created
+     *            if it does not exist.
+     * @return the paths of the written files
+     * @throws IOException
+     *             if writing a file fails
+     */
+    public List<Path> writeFiles(final Path directory) throws IOException
+    {
+        Files.createDirectories(directory.resolve(DOC_DIRECTORY));
+        Files.createDirectories(directory.resolve(SOURCE_DIRECTORY));
+        final String leafType = getArtifactType(this.settings.getChainDepth() - 1);
+        try (final RollingFileWriter specificationWriter = new RollingFileWriter(
+                directory.resolve(DOC_DIRECTORY), false);
+                final RollingFileWriter sourceWriter = new RollingFileWriter(
+                        directory.resolve(SOURCE_DIRECTORY), true))
+        {
+            generate(item -> {
+                if (item.getArtifactType().equals(leafType))
+                {
+                    sourceWriter.write(item);
+                }
+                else
+                {
+                    specificationWriter.write(item);
+                }
+            });
+            final List<Path> files = new ArrayList<>(specificationWriter.getFiles());
+            files.addAll(sourceWriter.getFiles());
+            return files;
+        }
+        catch (final UncheckedIOException exception)
+        {
+            throw exception.getCause();
+        }
+    }
+
+    private class Generation
+    {
+        private final Consumer<SpecificationItem> consumer;
+        private final Random random;
+        private int itemCount = 0;
+
+        private Generation(final Consumer<SpecificationItem> consumer)
+        {
+            this.consumer = consumer;
+            this.random = new Random(CorpusGenerator.this.settings.getSeed());
+        }
+
+        private void run()
+        {
+            while (this.itemCount < CorpusGenerator.this.settings.getItemCount())
+            {
+                addItem(0, null);
+            }
+        }
+
+        private void addItem(final int level, final SpecificationItemId parentId)
+        {
+            final int number = this.itemCount++;
+            final SpecificationItem.Builder builder = SpecificationItem.builder()
+                    .id(getArtifactType(level), "item-" + number, 1) //
+                    .title("Item " + number) //
+                    .description("Description of item " + number
+                            + " with `inline code`, *emphasis* and a [link](https://example.org).");
+            if (parentId != null)
+            {
+                addCoveredParent(builder, number, parentId);
+            }
+            final int depth = CorpusGenerator.this.settings.getChainDepth();
+            final boolean isLeaf = level == depth - 1;
+            if (!isLeaf)
+            {
+                builder.addNeedsArtifactType(getArtifactType(level + 1));
+                if (level == 0 && depth > 2
+                        && number + 1 < CorpusGenerator.this.settings.getItemCount()
+                        && isChosen(CorpusGenerator.this.settings.getCycleRate()))
+                {
+                    builder.addCoveredId(getArtifactType(level + 1), "item-" + (number + 1), 1);
+                }
+            }
+            final SpecificationItem item = builder.build();
+            this.consumer.accept(item);
+            if (!isLeaf && isChosen(CorpusGenerator.this.settings.getDuplicateRate()))
+            {
+                this.consumer.accept(item);
+            }
+            if (!isLeaf)
+            {
+                addChildren(level, item.getId());
+            }
+        }
+
+        private void addCoveredParent(final SpecificationItem.Builder builder, final int number,
+                final SpecificationItemId parentId)
+        {
+            if (isChosen(CorpusGenerator.this.settings.getOrphanRate()))
+            {
+                builder.addCoveredId(parentId.getArtifactType(), "missing-" + number,
+                        parentId.getRevision());
+            }
+            else
+            {
+                builder.addCoveredId(parentId);
+            }
+        }
+
+        private void addChildren(final int level, final SpecificationItemId id)
+        {
+            for (int child = 0; child < CorpusGenerator.this.settings.getFanOut()
+                    && this.itemCount < CorpusGenerator.this.settings.getItemCount(); ++child)
+            {
+                addItem(level + 1, id);
+            }
+        }
+
+        private boolean isChosen(final double rate)
+        {
+            return rate > 0 && this.random.nextDouble() < rate;
+        }
+    }
+
+    @FunctionalInterface
+    private interface WriterFactory
+    {
+        CorpusFileWriter create(final Writer writer) throws IOException;
+    }
+
+    private class RollingFileWriter implements AutoCloseable
+    {
+        private final Path directory;
+        private final boolean sourceFiles;
+        private final List<Path> files = new ArrayList<>();
+        private CorpusFileWriter writer = null;
+        private int itemsInFile = 0;
+
+        private RollingFileWriter(final Path directory, final boolean sourceFiles)
+        {
+            this.directory = directory;
+            this.sourceFiles = sourceFiles;
+        }
+
+        private void write(final SpecificationItem item)
+        {
+            try
+            {
+                if (this.writer == null
+                        || this.itemsInFile >= CorpusGenerator.this.settings.getItemsPerFile())
+                {
+                    startNextFile();
+                }
+                this.writer.write(item);
+                ++this.itemsInFile;
+            }
+            catch (final IOException exception)
+            {
+                throw new UncheckedIOException(exception);
+            }
+        }
+
+        private void startNextFile() throws IOException
+        {
+            close();
+            final int fileNumber = this.files.size();
+            if (this.sourceFiles)
+            {
+                startFile("Source" + fileNumber + ".java", CorpusFileWriter::createTagWriter);
+            }
+            else if (fileNumber % 2 == 0)
+            {
+                startFile("spec" + fileNumber + ".md", CorpusFileWriter::createMarkdownWriter);
+            }
+            else
+            {
+                startFile("spec" + fileNumber + ".xml", CorpusFileWriter::createSpecobjectWriter);
+            }
+        }
+
+        private void startFile(final String fileName, final WriterFactory factory)
+                throws IOException
+        {
+            final Path file = this.directory.resolve(fileName);
+            this.writer = factory.create(Files.newBufferedWriter(file, StandardCharsets.UTF_8));
+            this.files.add(file);
+            this.itemsInFile = 0;
+        }
+
+        private List<Path> getFiles()
+        {
+            return this.files;
+        }
+
+        @Override
+        public void close() throws IOException
+        {
+            if (this.writer != null)
+            {
+                this.writer.close();
+                this.writer = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,286 @@
+package org.itsallcode.openfasttrace.testutil.corpus;
+
+/**
+ * Configuration for a {@link CorpusGenerator}.
+ */
+public class CorpusSettings
+{
+    private final long seed;
+    private final int itemCount;
+    private final int chainDepth;
+    private final int fanOut;
+    private final double cycleRate;
+    private final double duplicateRate;
+    private final double orphanRate;
+    private final int itemsPerFile;
+
+    private CorpusSettings(final Builder builder)
+    {
+        this.seed = builder.seed;
+        this.itemCount = builder.itemCount;
+        this.chainDepth = builder.chainDepth;
+        this.fanOut = builder.fanOut;
+        this.cycleRate = builder.cycleRate;
+        this.duplicateRate = builder.duplicateRate;
+        this.orphanRate = builder.orphanRate;
+        this.itemsPerFile = builder.itemsPerFile;
+    }
+
+    /**
+     * Get the seed of the random number generator
+     *
+     * @return seed
+     */
+    public long getSeed()
+    {
+        return this.seed;
+    }
+
+    /**
+     * Get the number of distinct specification items
+     *
+     * @return number of items
+     */
+    public int getItemCount()
+    {
+        return this.itemCount;
+    }
+
+    /**
+     * Get the number of artifact types in a coverage chain
+     *
+     * @return depth of the coverage trees
+     */
+    public int getChainDepth()
+    {
+        return this.chainDepth;
+    }
+
+    /**
+     * Get the number of items that cover an item that is not a leaf
+     *
+     * @return number of covering items per item
+     */
+    public int getFanOut()
+    {
+        return this.fanOut;
+    }
+
+    /**
+     * Get the rate of coverage trees whose root also covers its first
+     * covering item
+     *
+     * @return rate between 0 and 1
+     */
+    public double getCycleRate()
+    {
+        return this.cycleRate;
+    }
+
+    /**
+     * Get the rate of items that are defined twice
+     *
+     * @return rate between 0 and 1
+     */
+    public double getDuplicateRate()
+    {
+        return this.duplicateRate;
+    }
+
+    /**
+     * Get the rate of items that cover a non-existing item instead of their
+     * parent
+     *
+     * @return rate between 0 and 1
+     */
+    public double getOrphanRate()
+    {
+        return this.orphanRate;
+    }
+
+    /**
+     * Get the maximum number of items written to one file
+     *
+     * @return number of items per file
+     */
+    public int getItemsPerFile()
+    {
+        return this.itemsPerFile;
+    }
+
+    /**
+     * Create a new builder for {@link CorpusSettings}
+     *
+     * @return corpus settings builder
+     */
+    public static Builder builder()
+    {
+        return new Builder();
+    }
+
+    /**
+     * Builder for {@link CorpusSettings}
+     */
+    public static class Builder
+    {
+        private long seed = 1;
+        private int itemCount = 10000;
+        private int chainDepth = 4;
+        private int fanOut = 2;
+        private double cycleRate = 0;
+        private double duplicateRate = 0;
+        private double orphanRate = 0;
+        private int itemsPerFile = 1000;
+
+        private Builder()
+        {
+        }
+
+        /**
+         * Set the seed of the random number generator. The same settings
+         * always generate the same corpus.
+         *
+         * @param seed
+         *            seed
+         * @return <code>this</code> for fluent programming
+         */
+        public Builder seed(final long seed)
+        {
+            this.seed = seed;
+            return this;
+        }
+
+        /**
+         * Set the number of distinct specification items. The last coverage
+         * tree is incomplete if the number is not a multiple of the tree size.
+         *
+         * @param itemCount
+         *            number of items
+         * @return <code>this</code> for fluent programming
+         */
+        public Builder itemCount(final int itemCount)
+        {
+            this.itemCount = itemCount;
+            return this;
+        }
+
+        /**
+         * Set the number of artifact types in a coverage chain
+         *
+         * @param chainDepth
+         *            depth of the coverage trees
+         * @return <code>this</code> for fluent programming
+         */
+        public Builder chainDepth(final int chainDepth)
+        {
+            this.chainDepth = chainDepth;
+            return this;
+        }
+
+        /**
+         * Set the number of items that cover an item that is not a leaf
+         *
+         * @param fanOut
+         *            number of covering items per item
+         * @return <code>this</code> for fluent programming
+         */
+        public Builder fanOut(final int fanOut)
+        {
+            this.fanOut = fanOut;
+            return this;
+        }
+
+        /**
+         * Set the rate of coverage trees whose root also covers its first
+         * covering item, which creates a coverage cycle. Cycles need a chain
+         * depth of at least three, because the tag importer generates the IDs
+         * of the leaves.
+         *
+         * @param cycleRate
+         *            rate between 0 and 1
+         * @return <code>this</code> for fluent programming
+         */
+        public Builder cycleRate(final double cycleRate)
+        {
+            this.cycleRate = cycleRate;
+            return this;
+        }
+
+        /**
+         * Set the rate of items that are defined twice with the same ID
+         *
+         * @param duplicateRate
+         *            rate between 0 and 1
+         * @return <code>this</code> for fluent programming
+         */
+        public Builder duplicateRate(final double duplicateRate)
+        {
+            this.duplicateRate = duplicateRate;
+            return this;
+        }
+
+        /**
+         * Set the rate of items that cover a non-existing item instead of
+         * their parent
+         *
+         * @param orphanRate
+         *            rate between 0 and 1
+         * @return <code>this</code> for fluent programming
+         */
+        public Builder orphanRate(final double orphanRate)
+        {
+            this.orphanRate = orphanRate;
+            return this;
+        }
+
+        /**
+         * Set the maximum number of items written to one file
+         *
+         * @param itemsPerFile
+         *            number of items per file
+         * @return <code>this</code> for fluent programming
+         */
+        public Builder itemsPerFile(final int itemsPerFile)
+        {
+            this.itemsPerFile = itemsPerFile;
+            return this;
+        }
+
+        /**
+         * Create a new instance of {@link CorpusSettings}
+         *
+         * @return corpus settings instance
+         * @throws IllegalArgumentException
+         *             if a setting is out of range
+         */
+        public CorpusSettings build()
+        {
+            validateAtLeastOne("item count", this.itemCount);
+            validateAtLeastOne("chain depth", this.chainDepth);
+            validateAtLeastOne("fan-out", this.fanOut);
+            validateAtLeastOne("items per file", this.itemsPerFile);
+            validateRate("cycle rate", this.cycleRate);
+            validateRate("duplicate rate", this.duplicateRate);
+            validateRate("orphan rate", this.orphanRate);
+            return new CorpusSettings(this);
+        }
+
+        private static void validateAtLeastOne(final String name, final int value)
+        {
+            if (value < 1)
+            {
+                throw new IllegalArgumentException(
+                        "The " + name + " must be at least 1 but was " + value);
+            }
+        }
+
+        private static void validateRate(final String name, final double rate)
+        {
+            if (rate < 0 || rate > 1)
+            {
+                throw new IllegalArgumentException(
+                        "The " + name + " must be between 0 and 1 but was " + rate);
+            }
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package org.itsallcode.openfasttrace.testutil.corpus;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class TestCorpusGenerator
+{
+    @Test
+    void testSameSeedGeneratesSameFiles(@TempDir final Path tempDir) throws IOException
+    {
+        final Map<String, String> first = writeCorpus(tempDir.resolve("first"), 42);
+        final Map<String, String> second = writeCorpus(tempDir.resolve("second"), 42);
+        assertThat(second, equalTo(first));
+    }
+
+    @Test
+    void testDifferentSeedGeneratesDifferentFiles(@TempDir final Path tempDir)
+            throws IOException
+    {
+        final Map<String, String> first = writeCorpus(tempDir.resolve("first"), 42);
+        final Map<String, String> second = writeCorpus(tempDir.resolve("second"), 43);
+        assertThat(second, not(equalTo(first)));
+    }
+
+    @Test
+    void testSameSeedGeneratesSameItems()
+    {
+        final CorpusSettings settings = createSettings(7);
+        final List<String> first = describeItems(new CorpusGenerator(settings));
+        final List<String> second = describeItems(new CorpusGenerator(settings));
+        assertThat(first, not(empty()));
+        assertThat(second, equalTo(first));
+    }
+
+    private static Map<String, String> writeCorpus(final Path directory, final long seed)
+            throws IOException
+    {
+        final List<Path> files = new CorpusGenerator(createSettings(seed)).writeFiles(directory);
+        final Map<String, String> contents = new LinkedHashMap<>();
+        for (final Path file : files)
+        {
+            contents.put(directory.relativize(file).toString(), Files.readString(file));
+        }
+        return contents;
+    }
+
+    private static List<String> describeItems(final CorpusGenerator generator)
+    {
+        return generator.generateItems().stream() //
+                .map(item -> item.getId() + " " + item.getDescription() + " "
+                        + item.getCoveredIds() + " " + item.getNeedsArtifactTypes()) //
+                .collect(Collectors.toList());
+    }
+
+    private static CorpusSettings createSettings(final long seed)
+    {
+        return CorpusSettings.builder() //
+                .seed(seed) //
+                .itemCount(200) //
+                .itemsPerFile(50) //
+                .cycleRate(0.05) //
+                .duplicateRate(0.05) //
+                .orphanRate(0.05) //
+                .build();
+    }
+}